@@ -1,5 +1,7 @@
 package org.semanticweb.owl.explanation.api;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 /*
  * Copyright (C) 2008, University of Manchester
@@ -55,6 +57,49 @@ public interface ExplanationGenerator<E> {
      * @throws ExplanationException if there was a problem generating the explanation.
      */
     Set<Explanation<E>> getExplanations(E entailment, int limit) throws ExplanationException;
+
+
+    /**
+     * Gets an iterator that generates explanations for an entailment as they are pulled from it.  Explanations are
+     * returned in the order in which they are found, and the generator does no more work than is needed to find
+     * the next explanation.  The default implementation generates all of the explanations up front; generators
+     * that can suspend explanation finding override it.
+     * <p>
+     * <b>The iterator must be closed</b>, for example with a try-with-resources statement, once no more
+     * explanations are wanted.  Generators that suspend explanation finding keep a thread waiting for the next pull,
+     * together with the module, the hitting set tree and the reasoners that they use, until the iterator is closed
+     * or, if it is dropped without being closed, until it has been garbage collected.
+     * </p>
+     *
+     * @param entailment The entailment for which explanations will be generated.
+     * @return An iterator over the explanations.  There will be no explanations if the entailment does not hold.
+     * @throws ExplanationException if there was a problem generating the explanations.
+     */
+    default ExplanationIterator<E> getExplanationIterator(E entailment) throws ExplanationException {
+        final Iterator<Explanation<E>> iterator = getExplanations(entailment).iterator();
+        return new ExplanationIterator<E>() {
+
+            private boolean closed = false;
+
+            @Override
+            public boolean hasNext() {
+                return !closed && iterator.hasNext();
+            }
+
+            @Override
+            public Explanation<E> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+    }
     
 
 }
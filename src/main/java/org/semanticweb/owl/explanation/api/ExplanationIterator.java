@@ -0,0 +1,45 @@
+package org.semanticweb.owl.explanation.api;
+
+import java.util.Iterator;
+import java.util.Set;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An iterator over the explanations for an entailment, which generates explanations as they are pulled from it.
+ * The state of the generator, such as the module and the hitting set tree, is kept between calls to
+ * {@link #hasNext()}, so pulling one more explanation only costs the work needed to find that explanation.
+ * <p>
+ * An iterator that is not iterated to the end should be closed, so that the resources that it holds on to are
+ * released.
+ * </p>
+ */
+public interface ExplanationIterator<E> extends Iterator<Explanation<E>>, AutoCloseable {
+
+    /**
+     * Stops generating explanations and releases any resources held by this iterator.  After an iterator has been
+     * closed {@link #hasNext()} returns <code>false</code>.
+     */
+    @Override
+    void close();
+}
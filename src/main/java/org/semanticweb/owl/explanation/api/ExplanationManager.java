@@ -7,8 +7,14 @@ import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntai
 
 import java.util.function.Supplier;
 
+import org.semanticweb.owl.explanation.impl.blackbox.CachingEntailmentCheckerFactory;
 import org.semanticweb.owl.explanation.impl.blackbox.Configuration;
 import org.semanticweb.owl.explanation.impl.blackbox.EntailmentCheckerFactory;
+import org.semanticweb.owl.explanation.impl.blackbox.LocalityFilteringEntailmentCheckerFactory;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.BreadthFirstStrategy;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.HittingSetTreeConstructionStrategy;
+import org.semanticweb.owl.explanation.impl.el.ELPinpointingExplanationGeneratorFactory;
+import org.semanticweb.owl.explanation.impl.equivalence.EquivalentClassesSplittingExplanationGeneratorFactory;
 import org.semanticweb.owl.explanation.impl.laconic.LaconicExplanationGeneratorFactory;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 
@@ -62,11 +68,75 @@ public class ExplanationManager {
      *
      */
     public static ExplanationGeneratorFactory<OWLAxiom> createExplanationGeneratorFactory(OWLReasonerFactory reasonerFactory, ExplanationProgressMonitor<OWLAxiom> progressMonitor, Supplier<OWLOntologyManager> m) {
+        return createExplanationGeneratorFactory(reasonerFactory, new BreadthFirstStrategy<>(), progressMonitor, m);
+    }
+
+    /**
+     * Creates an explanation generator factory that will produce explanation generators that generate explanations
+     * as to why an checker is entailed by a set of axioms, using a specific strategy to build the hitting set tree.
+     * @param reasonerFactory A reasoner factory that can be used for creating new reasoners if necessary
+     * @param constructionStrategy The strategy that builds the hitting set tree, for example a
+     * {@link org.semanticweb.owl.explanation.impl.blackbox.hst.DepthFirstStrategy}, whose stack of unfinished nodes is bounded by the longest path rather than by the width of the tree
+     * @param progressMonitor An explanation progress monitor
+     * @return An explanation generatory factory that creates explanation generators for entailed axioms
+     */
+    public static ExplanationGeneratorFactory<OWLAxiom> createExplanationGeneratorFactory(OWLReasonerFactory reasonerFactory, HittingSetTreeConstructionStrategy<OWLAxiom> constructionStrategy, ExplanationProgressMonitor<OWLAxiom> progressMonitor, Supplier<OWLOntologyManager> m) {
         EntailmentCheckerFactory<OWLAxiom> checker = new SatisfiabilityEntailmentCheckerFactory(reasonerFactory, m);
-        Configuration<OWLAxiom> config = new Configuration<>(checker, progressMonitor, m);
+        Configuration<OWLAxiom> config = new Configuration<>(checker, constructionStrategy, progressMonitor, m);
+        return new BlackBoxExplanationGeneratorFactory<>(config);
+    }
+
+    /**
+     * Creates an explanation generator factory like {@link #createExplanationGeneratorFactory(OWLReasonerFactory,
+     * Supplier)}, except that entailment checks are first answered, where possible, from the results of earlier
+     * checks for the same entailment, and then by a syntactic locality test, before the reasoner is asked.
+     * @param reasonerFactory A reasoner factory that can be used for creating new reasoners if necessary
+     * @return An explanation generator factory that creates explanation generators for entailed axioms
+     */
+    public static ExplanationGeneratorFactory<OWLAxiom> createCachingExplanationGeneratorFactory(OWLReasonerFactory reasonerFactory, Supplier<OWLOntologyManager> m) {
+        return createCachingExplanationGeneratorFactory(reasonerFactory, new BreadthFirstStrategy<>(), null, m);
+    }
+
+    /**
+     * Creates an explanation generator factory like {@link #createExplanationGeneratorFactory(OWLReasonerFactory,
+     * HittingSetTreeConstructionStrategy, ExplanationProgressMonitor, Supplier)}, except that entailment checks are
+     * first answered, where possible, from the results of earlier checks for the same entailment, and then by a
+     * syntactic locality test, before the reasoner is asked.
+     * @param reasonerFactory A reasoner factory that can be used for creating new reasoners if necessary
+     * @param constructionStrategy The strategy that builds the hitting set tree
+     * @param progressMonitor An explanation progress monitor
+     * @return An explanation generator factory that creates explanation generators for entailed axioms
+     */
+    public static ExplanationGeneratorFactory<OWLAxiom> createCachingExplanationGeneratorFactory(OWLReasonerFactory reasonerFactory, HittingSetTreeConstructionStrategy<OWLAxiom> constructionStrategy, ExplanationProgressMonitor<OWLAxiom> progressMonitor, Supplier<OWLOntologyManager> m) {
+        EntailmentCheckerFactory<OWLAxiom> checker = new CachingEntailmentCheckerFactory<>(new LocalityFilteringEntailmentCheckerFactory<>(new SatisfiabilityEntailmentCheckerFactory(reasonerFactory, m)));
+        Configuration<OWLAxiom> config = new Configuration<>(checker, constructionStrategy, progressMonitor, m);
         return new BlackBoxExplanationGeneratorFactory<>(config);
     }
 
+    /**
+     * Creates an explanation generator factory whose generators compute all of the justifications for subclass and
+     * unsatisfiability entailments over EL axioms in one traced saturation, and which fall back to the black box
+     * explanation generators created by {@link #createExplanationGeneratorFactory(OWLReasonerFactory, Supplier)}
+     * for any other entailment or for modules that contain axioms outside of EL.
+     * @param reasonerFactory A reasoner factory that is used by the fallback generators
+     * @return An explanation generator factory that creates explanation generators for entailed axioms
+     */
+    public static ExplanationGeneratorFactory<OWLAxiom> createELPinpointingExplanationGeneratorFactory(OWLReasonerFactory reasonerFactory, Supplier<OWLOntologyManager> m) {
+        return new ELPinpointingExplanationGeneratorFactory(createExplanationGeneratorFactory(reasonerFactory, m), m);
+    }
+
+    /**
+     * Creates an explanation generator factory whose generators explain an equivalent classes entailment through
+     * the subclass entailments that it is made up of, which are explained by the black box explanation generators
+     * created by {@link #createExplanationGeneratorFactory(OWLReasonerFactory, Supplier)}, as are all other
+     * entailments.
+     * @param reasonerFactory A reasoner factory that is used by the black box generators
+     * @return An explanation generator factory that creates explanation generators for entailed axioms
+     */
+    public static ExplanationGeneratorFactory<OWLAxiom> createEquivalentClassesSplittingExplanationGeneratorFactory(OWLReasonerFactory reasonerFactory, Supplier<OWLOntologyManager> m) {
+        return new EquivalentClassesSplittingExplanationGeneratorFactory(createExplanationGeneratorFactory(reasonerFactory, m), m);
+    }
+
 
     public static ExplanationGeneratorFactory<OWLAxiom> createLaconicExplanationGeneratorFactory(OWLReasonerFactory reasonerFactory, Supplier<OWLOntologyManager> m) {
         return createLaconicExplanationGeneratorFactory(reasonerFactory, null, m);
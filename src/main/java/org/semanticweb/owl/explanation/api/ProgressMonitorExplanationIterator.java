@@ -0,0 +1,263 @@
+package org.semanticweb.owl.explanation.api;
+
+import java.lang.ref.WeakReference;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An explanation iterator for generators that report the explanations that they find to a progress monitor.
+ * <p>
+ * The generator runs on a thread of its own.  Each explanation that the generator reports is handed over to the
+ * thread that pulls from the iterator, and the generator is then held inside the progress monitor until the next
+ * explanation is asked for.  The generator therefore never runs ahead of the consumer, and all of its state, such
+ * as the module, the hitting set tree and the entailment checkers, is kept between pulls.  Closing the iterator
+ * cancels the generator through its progress monitor.
+ * </p>
+ * <p>
+ * The generator thread only holds the iterator weakly.  While it waits for the next pull it checks every
+ * {@link #ABANDONED_CHECK_INTERVAL_MILLIS} milliseconds whether the iterator has been garbage collected, and if so
+ * cancels the generator and ends, so that an iterator that is dropped without being closed does not keep the
+ * generator state alive for good.  It is kept until the garbage collector gets round to the iterator though, so
+ * iterators should still be closed.
+ * </p>
+ */
+public class ProgressMonitorExplanationIterator<E> implements ExplanationIterator<E> {
+
+    /**
+     * How often a waiting generator thread checks whether its iterator has been abandoned.
+     */
+    public static final long ABANDONED_CHECK_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Marks the end of the explanations on the hand over queue.
+     */
+    private static final Object END = new Object();
+
+    private final E entailment;
+
+    private final Function<ExplanationProgressMonitor<E>, ExplanationGenerator<E>> generatorFactory;
+
+    private final HandOver<E> handOver;
+
+    private Thread generatorThread = null;
+
+    /**
+     * The next explanation, or null if the next explanation has not been pulled from the generator yet.
+     */
+    private Explanation<E> next = null;
+
+    private boolean finished = false;
+
+    /**
+     * Creates an iterator.
+     * @param entailment The entailment to generate explanations for
+     * @param generatorFactory A function that creates the generator, given the progress monitor that the generator
+     * should report explanations to
+     * @param progressMonitor A progress monitor that is also told about the explanations that are found, and that
+     * can cancel the generator.  May be <code>null</code>.
+     */
+    public ProgressMonitorExplanationIterator(E entailment, Function<ExplanationProgressMonitor<E>, ExplanationGenerator<E>> generatorFactory, ExplanationProgressMonitor<E> progressMonitor) {
+        this.entailment = entailment;
+        this.generatorFactory = generatorFactory;
+        this.handOver = new HandOver<>(this, progressMonitor != null ? progressMonitor : new NullExplanationProgressMonitor<>());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished || handOver.closed) {
+            return false;
+        }
+        if (generatorThread == null) {
+            startGenerator();
+        }
+        handOver.demand.release();
+        Object item = take();
+        if (item instanceof Explanation) {
+            @SuppressWarnings("unchecked")
+            Explanation<E> explanation = (Explanation<E>) item;
+            next = explanation;
+            return true;
+        }
+        finished = true;
+        if (item instanceof RuntimeException) {
+            throw (RuntimeException) item;
+        }
+        if (item instanceof Error) {
+            throw (Error) item;
+        }
+        return false;
+    }
+
+    @Override
+    public Explanation<E> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Explanation<E> result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        next = null;
+        handOver.close();
+    }
+
+    private void startGenerator() {
+        // The thread must not refer to this iterator, so that the iterator can be collected if it is abandoned
+        HandOver<E> handOver = this.handOver;
+        E entailment = this.entailment;
+        ExplanationGenerator<E> generator = generatorFactory.apply(new HandOverProgressMonitor<>(handOver));
+        generatorThread = new Thread(() -> {
+            Object result = END;
+            try {
+                handOver.awaitDemand();
+                if (!handOver.closed) {
+                    generator.getExplanations(entailment);
+                }
+            }
+            catch (InterruptedException e) {
+                result = new ExplanationGeneratorInterruptedException();
+            }
+            catch (RuntimeException | Error e) {
+                result = e;
+            }
+            if (!handOver.closed) {
+                handOver.put(result);
+            }
+        }, "explanation-iterator");
+        generatorThread.setDaemon(true);
+        generatorThread.start();
+    }
+
+    private Object take() {
+        try {
+            return handOver.queue.take();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ExplanationGeneratorInterruptedException();
+        }
+    }
+
+    /**
+     * The state that is shared between the iterator and the generator thread.
+     */
+    private static class HandOver<E> {
+
+        private final WeakReference<ProgressMonitorExplanationIterator<E>> iterator;
+
+        private final ExplanationProgressMonitor<E> progressMonitor;
+
+        private final SynchronousQueue<Object> queue = new SynchronousQueue<>();
+
+        /**
+         * Permits for the generator to look for the next explanation.
+         */
+        private final Semaphore demand = new Semaphore(0);
+
+        private volatile boolean closed = false;
+
+        private HandOver(ProgressMonitorExplanationIterator<E> iterator, ExplanationProgressMonitor<E> progressMonitor) {
+            this.iterator = new WeakReference<>(iterator);
+            this.progressMonitor = progressMonitor;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Wake the generator up so that it sees that it has been cancelled
+            demand.release();
+        }
+
+        /**
+         * Waits until the next explanation is asked for, or until the iterator is closed or abandoned.
+         */
+        private void awaitDemand() throws InterruptedException {
+            while (!demand.tryAcquire(ABANDONED_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (iterator.get() == null) {
+                    closed = true;
+                    return;
+                }
+            }
+        }
+
+        private void put(Object item) {
+            try {
+                queue.put(item);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Hands each explanation over to the consumer, and then waits until the consumer asks for another one.
+     */
+    private static class HandOverProgressMonitor<E> implements ExplanationProgressMonitor<E> {
+
+        private final HandOver<E> handOver;
+
+        private HandOverProgressMonitor(HandOver<E> handOver) {
+            this.handOver = handOver;
+        }
+
+        @Override
+        public void foundExplanation(ExplanationGenerator<E> generator, Explanation<E> explanation, Set<Explanation<E>> allFoundExplanations) {
+            handOver.progressMonitor.foundExplanation(generator, explanation, allFoundExplanations);
+            if (handOver.closed) {
+                throw new ExplanationGeneratorInterruptedException();
+            }
+            handOver.put(explanation);
+            try {
+                handOver.awaitDemand();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExplanationGeneratorInterruptedException();
+            }
+            if (handOver.closed) {
+                throw new ExplanationGeneratorInterruptedException();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return handOver.closed || handOver.progressMonitor.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owl.explanation.api.ExplanationProgressMonitor;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A contraction strategy that removes windows of axioms whose size adapts to the outcome of each check.
+ * <p>
+ * The axioms are tried in one pass.  The axioms of the window at the current position are removed if the
+ * entailment still holds without them, after which the window moves on and grows by a fixed amount.  If the
+ * entailment does not hold, the window is halved and tried again at the same position, and a single axiom that
+ * cannot be removed is necessary and is kept.  Because entailment is monotonic an axiom that is kept is still
+ * necessary once later axioms have been removed, so the contraction is minimal without a final pass over single
+ * axioms.  The window therefore grows large on expansions that are mostly redundant, and stays small on
+ * expansions that are nearly minimal.
+ * </p>
+ * <p>
+ * The strategy remembers the average size of the windows that it removed in a contraction, and starts the next
+ * contraction with that size, so a generator that uses one strategy for all of its justifications carries what it
+ * has learned about its expansions from one justification to the next.  Necessary axioms from
+ * {@link ContractionHints} are kept without being tried, and relevant axioms are tried last.
+ * </p>
+ */
+public class AdaptiveWindowContractionStrategy<E> implements ContractionStrategy<E> {
+
+    private final int initialWindowSize;
+
+    private final int windowIncrease;
+
+    /**
+     * The window size that the next contraction starts with.
+     */
+    private volatile int learnedWindowSize;
+
+    private final StepCounter count = new StepCounter();
+
+    public AdaptiveWindowContractionStrategy() {
+        this(20, 2);
+    }
+
+    /**
+     * @param initialWindowSize The size of the window that the first contraction starts with.  Must be at least 1.
+     * @param windowIncrease The amount by which the window grows after each removal.  Must be at least 1.
+     */
+    public AdaptiveWindowContractionStrategy(int initialWindowSize, int windowIncrease) {
+        if (initialWindowSize < 1 || windowIncrease < 1) {
+            throw new IllegalArgumentException("The initial window size and the window increase must be at least 1");
+        }
+        this.initialWindowSize = initialWindowSize;
+        this.windowIncrease = windowIncrease;
+        this.learnedWindowSize = initialWindowSize;
+    }
+
+    /**
+     * Gets the window size that the next contraction starts with.
+     */
+    public int getLearnedWindowSize() {
+        return learnedWindowSize;
+    }
+
+    /**
+     * Forgets the learned window size, so that the next contraction starts with the initial window size.
+     */
+    public void resetLearnedWindowSize() {
+        learnedWindowSize = initialWindowSize;
+    }
+
+    @Override
+    public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
+        return doPruning(axioms, checker, ContractionHints.getEmptyHints(), progressMonitor);
+    }
+
+    @Override
+    public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ContractionHints hints, ExplanationProgressMonitor<?> progressMonitor) {
+        count.reset();
+        List<OWLAxiom> candidates = new ArrayList<>(axioms.size());
+        List<OWLAxiom> relevantCandidates = new ArrayList<>();
+        for (OWLAxiom ax : axioms) {
+            if (hints.getRelevantAxioms().contains(ax)) {
+                relevantCandidates.add(ax);
+            }
+            else if (!hints.getNecessaryAxioms().contains(ax)) {
+                candidates.add(ax);
+            }
+        }
+        relevantCandidates.removeAll(hints.getNecessaryAxioms());
+        candidates.addAll(relevantCandidates);
+
+        Set<OWLAxiom> contraction = new HashSet<>(axioms);
+        int windowSize = learnedWindowSize;
+        int removedWindowCount = 0;
+        int removedAxiomCount = 0;
+        int position = 0;
+        while (position < candidates.size()) {
+            if (progressMonitor.isCancelled()) {
+                throw new ExplanationGeneratorInterruptedException();
+            }
+            List<OWLAxiom> window = candidates.subList(position, Math.min(position + windowSize, candidates.size()));
+            Set<OWLAxiom> candidate = new HashSet<>(contraction);
+            candidate.removeAll(window);
+            count.increment();
+            if (checker.isEntailed(candidate)) {
+                contraction = candidate;
+                removedWindowCount++;
+                removedAxiomCount += window.size();
+                position += window.size();
+                windowSize += windowIncrease;
+            }
+            else if (window.size() == 1) {
+                // Necessary
+                position++;
+            }
+            else {
+                windowSize = Math.max(1, window.size() / 2);
+            }
+        }
+        if (removedWindowCount > 0) {
+            learnedWindowSize = Math.max(1, removedAxiomCount / removedWindowCount);
+        }
+        return contraction;
+    }
+
+    @Override
+    public int getNumberOfSteps() {
+        return count.get();
+    }
+}
@@ -37,6 +37,13 @@ import java.util.function.Supplier;
  * The University of Manchester<br>
  * Information Management Group<br>
  * Date: 18-Feb-2010
+ * <p>
+ * A generator may be shared between threads.  Each call to {@link #getExplanations(Object, int)} works on a copy
+ * of the generator that has its own module, hitting set tree path, explanation cache and entailment checker, so
+ * concurrent calls do not see each other's state.  The entailment checker factory, the strategies and the
+ * progress monitor are shared by all calls, and must be safe to share if the generator is.  The strategies of this
+ * package keep their step counts per thread, so the counts that each call records as telemetry are its own.
+ * </p>
  */
 public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>, ExplanationGeneratorMediator<E> {
 
@@ -51,16 +58,81 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
 
     private Set<OWLAxiom> module;
 
+    /**
+     * The module of the entailment that is currently being explained, interned so that paths and explanations can
+     * be represented as bit sets.
+     */
+    private AxiomUniverse axiomUniverse;
+
+    /**
+     * The indexes of the axioms in the module.
+     */
+    private BitSet moduleAxioms;
+
+    /**
+     * The indexes of the axioms that are currently removed from the working axioms and the module.
+     */
+    private BitSet path = new BitSet();
+
     private ExplanationProgressMonitor<E> progressMonitor;
 
-    private Set<Explanation<E>> cache = new HashSet<>();
+    /**
+     * The explanations that have been found for the entailment that is currently being explained.  Explanations
+     * that are generated by worker mediators are only added when they are recorded on the calling thread.
+     */
+    private Map<Explanation<E>, BitSet> cache = new HashMap<>();
+
+    /**
+     * A copy of the cache that the worker mediators reuse explanations from.  It is replaced, rather than
+     * modified, each time that the workers are updated, so that it can be read by the workers while the cache
+     * changes.
+     */
+    private volatile Map<Explanation<E>, BitSet> workerCache = Collections.emptyMap();
+
+    /**
+     * The generator that created this generator as a worker mediator, or <code>null</code> if this generator is
+     * not a worker mediator.
+     */
+    private BlackBoxExplanationGenerator2<E> creator;
+
+    /**
+     * Whether this generator is a worker mediator that has been disposed of.  A worker that is disposed of while it
+     * is generating an explanation sees itself as cancelled, and releases its entailment checker when it stops.
+     */
+    private volatile boolean disposed = false;
+
+    /**
+     * Whether this generator is a worker mediator that is generating an explanation.  Guarded by this generator.
+     */
+    private boolean busy = false;
+
+    /**
+     * The paths for which an explanation has been found.
+     */
+    private Set<BitSet> entailingPaths = new HashSet<>();
+
+    /**
+     * For each axiom that is known to be necessary below some paths, those paths.  The entailment does not hold in
+     * the module without one of these paths and the axiom, so the axiom is in every justification that can be found
+     * for any path that contains one of them.
+     */
+    private Map<Integer, Set<BitSet>> necessaryAxiomPaths = new HashMap<>();
+
+    /**
+     * The checker for the entailment that is currently being explained.  One checker is used for the whole of a
+     * call to {@link #getExplanations(Object, int)} so that checkers that hold on to reasoners between checks can
+     * be reused across the nodes of the hitting set tree.
+     */
+    private EntailmentChecker<E> checker;
 
     private TelemetryTimer generatorTimer = new TelemetryTimer();
 
     private Supplier<OWLOntologyManager> m;
 
+    private HittingSetTreeConstructionStrategy<E> constructionStrategy;
+
     /**
-     * Constructs a blackbox explanation generator.
+     * Constructs a blackbox explanation generator.  The hitting set tree is built breadth first.
      * @param axioms The ontologies that provide the source axioms for the explanation
      * @param checkerFactory A factory that creates the appropriate entailment checkers for the
      * type of entailment being explained.
@@ -69,7 +141,22 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
      * @param progressMonitor A progress monitor - may be <code>null</code>
      */
     public BlackBoxExplanationGenerator2(Set<? extends OWLAxiom> axioms, EntailmentCheckerFactory<E> checkerFactory, ExpansionStrategy<E> expansionStrategy, ContractionStrategy<E> contractionStrategy, ExplanationProgressMonitor<E> progressMonitor, Supplier<OWLOntologyManager> m) {
+        this(axioms, checkerFactory, expansionStrategy, contractionStrategy, new BreadthFirstStrategy<>(), progressMonitor, m);
+    }
+
+    /**
+     * Constructs a blackbox explanation generator.
+     * @param axioms The ontologies that provide the source axioms for the explanation
+     * @param checkerFactory A factory that creates the appropriate entailment checkers for the
+     * type of entailment being explained.
+     * @param expansionStrategy The strategy used during the expansion phase
+     * @param contractionStrategy The strategy to be used during the contraction phase
+     * @param constructionStrategy The strategy used to build the hitting set tree
+     * @param progressMonitor A progress monitor - may be <code>null</code>
+     */
+    public BlackBoxExplanationGenerator2(Set<? extends OWLAxiom> axioms, EntailmentCheckerFactory<E> checkerFactory, ExpansionStrategy<E> expansionStrategy, ContractionStrategy<E> contractionStrategy, HittingSetTreeConstructionStrategy<E> constructionStrategy, ExplanationProgressMonitor<E> progressMonitor, Supplier<OWLOntologyManager> m) {
         workingAxioms = new HashSet<>(axioms);
+        this.constructionStrategy = constructionStrategy;
         this.checkerFactory = checkerFactory;
         this.expansionStrategy = expansionStrategy;
         this.contractionStrategy = contractionStrategy;
@@ -82,6 +169,53 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
         this.m = m;
     }
 
+    /**
+     * Creates a generator for a single call to {@link #getExplanations(Object, int)}, which shares the
+     * configuration of a generator but not its state.
+     */
+    private BlackBoxExplanationGenerator2(BlackBoxExplanationGenerator2<E> generator, ExplanationProgressMonitor<E> progressMonitor) {
+        this.workingAxioms = generator.workingAxioms;
+        this.checkerFactory = generator.checkerFactory;
+        this.expansionStrategy = generator.expansionStrategy;
+        this.contractionStrategy = generator.contractionStrategy;
+        this.constructionStrategy = generator.constructionStrategy;
+        this.progressMonitor = progressMonitor;
+        this.m = generator.m;
+    }
+
+    /**
+     * Creates a worker that shares the module and axiom universe of a generator that is in the middle of a call to
+     * {@link #getExplanations(Object, int)}, but that has its own path and its own entailment checker.  The worker
+     * reuses the explanations in the worker cache of the generator, and keeps none of the explanations that it
+     * generates.  The worker is cancelled if the progress monitor of the generator is cancelled or if the worker
+     * is disposed of.
+     */
+    private BlackBoxExplanationGenerator2(BlackBoxExplanationGenerator2<E> generator) {
+        this.workingAxioms = generator.workingAxioms;
+        this.checkerFactory = generator.checkerFactory;
+        this.expansionStrategy = generator.expansionStrategy;
+        this.contractionStrategy = generator.contractionStrategy;
+        this.constructionStrategy = generator.constructionStrategy;
+        ExplanationProgressMonitor<E> creatorProgressMonitor = generator.progressMonitor;
+        this.progressMonitor = new ExplanationProgressMonitor<E>() {
+            @Override
+            public void foundExplanation(ExplanationGenerator<E> explanationGenerator, Explanation<E> explanation, Set<Explanation<E>> allFoundExplanations) {
+                creatorProgressMonitor.foundExplanation(explanationGenerator, explanation, allFoundExplanations);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return disposed || creatorProgressMonitor.isCancelled();
+            }
+        };
+        this.m = generator.m;
+        this.module = generator.module;
+        this.axiomUniverse = generator.axiomUniverse;
+        this.moduleAxioms = generator.moduleAxioms;
+        this.creator = generator;
+        this.checker = checkerFactory.createEntailementChecker(generator.checker.getEntailment());
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     //
     //  Implementation of interfaces
@@ -95,30 +229,55 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
     }
 
 
+    /**
+     * Gets an iterator that runs the hitting set tree construction on its own copy of this generator, and that suspends
+     * the construction each time that an explanation is found until the next explanation is asked for.  The copy
+     * reports explanations to the progress monitor of this generator, and stops if the progress monitor is
+     * cancelled or the iterator is closed.  This generator can still be used while the iterator is open.
+     */
+    @Override
+    public ExplanationIterator<E> getExplanationIterator(E entailment) throws ExplanationException {
+        return new ProgressMonitorExplanationIterator<>(entailment,
+                monitor -> new BlackBoxExplanationGenerator2<>(this, monitor),
+                progressMonitor);
+    }
+
+
     @Override
     public Set<Explanation<E>> getExplanations(E entailment, int limit) throws ExplanationException {
+        return new BlackBoxExplanationGenerator2<>(this, progressMonitor).computeExplanations(entailment, limit);
+    }
+
+    /**
+     * Computes the explanations for an entailment using the state of this generator, which must not be used by
+     * any other call.
+     */
+    private Set<Explanation<E>> computeExplanations(E entailment, int limit) {
         TelemetryInfo justificationsInfo = new DefaultTelemetryInfo("justifications");
         TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
 
         try {
-            cache.clear();
             transmitter.beginTransmission(justificationsInfo);
             transmitter.recordMeasurement(justificationsInfo, "entailment", entailment.toString());
             transmitter.recordMeasurement(justificationsInfo, "input size", workingAxioms.size());
 
-            EntailmentChecker<E> checker = checkerFactory.createEntailementChecker(entailment);
+            checker = checkerFactory.createEntailementChecker(entailment);
 
             extractModule(checker);
+            axiomUniverse = new AxiomUniverse(module);
+            moduleAxioms = new BitSet(axiomUniverse.size());
+            moduleAxioms.set(0, axiomUniverse.size());
+            path = new BitSet();
 
 
             generatorTimer.reset();
             generatorTimer.start();
-            HittingSetTreeConstructionStrategy<E> strategy = new BreadthFirstStrategy<>();
-            HittingSetTree<E> hittingSetTree = new HittingSetTree<>(strategy, progressMonitor);
+            HittingSetTree<E> hittingSetTree = new HittingSetTree<>(constructionStrategy, progressMonitor);
             hittingSetTree.buildHittingSetTree(entailment, limit, this);
             return hittingSetTree.getExplanations();
         }
         finally {
+            dispose();
             transmitter.endTransmission(justificationsInfo);
         }
     }
@@ -145,7 +304,32 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
     }
 
     public Set<OWLAxiom> getWorkingAxioms() {
-        return workingAxioms;
+        if (path.isEmpty()) {
+            return workingAxioms;
+        }
+        Set<OWLAxiom> result = new HashSet<>(workingAxioms);
+        result.removeAll(axiomUniverse.toAxioms(path));
+        return result;
+    }
+
+    private boolean isWorkingAxiom(OWLAxiom axiom) {
+        if (!workingAxioms.contains(axiom)) {
+            return false;
+        }
+        int index = axiomUniverse != null ? axiomUniverse.getIndexIfPresent(axiom) : -1;
+        return index == -1 || !path.get(index);
+    }
+
+    /**
+     * Gets the axioms in the module that are not on the current path.
+     */
+    private Set<OWLAxiom> getCurrentModule() {
+        if (path.isEmpty()) {
+            return module;
+        }
+        BitSet currentModuleAxioms = (BitSet) moduleAxioms.clone();
+        currentModuleAxioms.andNot(path);
+        return axiomUniverse.toAxioms(currentModuleAxioms);
     }
 
 
@@ -166,11 +350,13 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
 
         boolean entailed = false;
 
+        Set<OWLAxiom> currentModule = getCurrentModule();
+
         try {
             justificationTimer.start();
 
             // Quick get out!
-            if (entailment instanceof OWLAxiom && workingAxioms.contains(entailment)) {
+            if (entailment instanceof OWLAxiom && isWorkingAxiom((OWLAxiom) entailment)) {
                 entailed = true;
                 result = new Explanation<>(entailment, Collections.singleton((OWLAxiom) entailment));
             }
@@ -178,15 +364,23 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
                 if (progressMonitor.isCancelled()) {
                     throw new ExplanationGeneratorInterruptedException();
                 }
-                EntailmentChecker<E> checker = checkerFactory.createEntailementChecker(entailment);
-                // Expansion phase
-                Set<OWLAxiom> expandedAxioms = doExpansion(checker);
-
-                if (!expandedAxioms.isEmpty()) {
-                    // Contraction phase
-                    Set<OWLAxiom> justificationAxioms = doContraction(checker, expandedAxioms);
-
-                    result = new Explanation<>(entailment, justificationAxioms);
+                boolean reuseChecker = checker != null && checker.getEntailment().equals(entailment);
+                EntailmentChecker<E> entailmentChecker = reuseChecker ? checker : checkerFactory.createEntailementChecker(entailment);
+                try {
+                    // Expansion phase
+                    Set<OWLAxiom> expandedAxioms = doExpansion(entailmentChecker, currentModule);
+
+                    if (!expandedAxioms.isEmpty()) {
+                        // Contraction phase
+                        Set<OWLAxiom> justificationAxioms = doContraction(entailmentChecker, expandedAxioms, getContractionHints(entailment));
+
+                        result = new Explanation<>(entailment, justificationAxioms);
+                    }
+                }
+                finally {
+                    if (!reuseChecker) {
+                        entailmentChecker.dispose();
+                    }
                 }
 
             }
@@ -206,7 +400,7 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
             throw e;
         }
         finally {
-            transmitter.recordMeasurement(findOneInfo, "input size", module.size());
+            transmitter.recordMeasurement(findOneInfo, "input size", currentModule.size());
             transmitter.recordMeasurement(findOneInfo, "entailed", entailed);
             transmitter.recordMeasurement(findOneInfo, "self justification", result.isJustificationEntailment());
             transmitter.recordMeasurement(findOneInfo, "justification size", result.getSize());
@@ -229,7 +423,59 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
         }
     }
 
-    private Set<OWLAxiom> doContraction(EntailmentChecker<E> checker, Set<OWLAxiom> expandedAxioms) {
+    /**
+     * Gets what is known about the justifications for the current path from the explanations and paths that have
+     * been seen so far: the axioms of the explanations that have been found, apart from those on the path, are
+     * likely to be relevant, and axioms that are necessary below a path that the current path contains are
+     * necessary.  There are no hints if the construction strategy requires repeatable explanations.
+     */
+    private ContractionHints getContractionHints(E entailment) {
+        if (axiomUniverse == null || constructionStrategy.isRepeatableExplanationsRequired()) {
+            return ContractionHints.getEmptyHints();
+        }
+        BitSet relevantAxioms = new BitSet();
+        for (Map.Entry<Explanation<E>, BitSet> entry : cache.entrySet()) {
+            if (entry.getKey().getEntailment().equals(entailment)) {
+                relevantAxioms.or(entry.getValue());
+            }
+        }
+        relevantAxioms.andNot(path);
+        BitSet necessaryAxioms = new BitSet();
+        for (Map.Entry<Integer, Set<BitSet>> entry : necessaryAxiomPaths.entrySet()) {
+            int axiomIndex = entry.getKey();
+            if (path.get(axiomIndex)) {
+                continue;
+            }
+            for (BitSet necessaryPath : entry.getValue()) {
+                if (AxiomUniverse.isSubset(necessaryPath, path)) {
+                    necessaryAxioms.set(axiomIndex);
+                    break;
+                }
+            }
+        }
+        return new ContractionHints(axiomUniverse.toAxioms(relevantAxioms), axiomUniverse.toAxioms(necessaryAxioms));
+    }
+
+    /**
+     * Records whether the entailment holds for a path.  If it does not, each axiom on the path whose removal from
+     * an entailing path gives the path is necessary below that entailing path.
+     */
+    private void recordPathOutcome(BitSet explainedPath, boolean entailed) {
+        BitSet currentPath = (BitSet) explainedPath.clone();
+        if (entailed) {
+            entailingPaths.add(currentPath);
+            return;
+        }
+        for (int i = currentPath.nextSetBit(0); i != -1; i = currentPath.nextSetBit(i + 1)) {
+            BitSet parentPath = (BitSet) currentPath.clone();
+            parentPath.clear(i);
+            if (entailingPaths.contains(parentPath)) {
+                necessaryAxiomPaths.computeIfAbsent(i, axiomIndex -> new HashSet<>()).add(parentPath);
+            }
+        }
+    }
+
+    private Set<OWLAxiom> doContraction(EntailmentChecker<E> checker, Set<OWLAxiom> expandedAxioms, ContractionHints hints) {
         TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
         TelemetryTimer contractionTimer = new TelemetryTimer();
         TelemetryInfo contractionInfo = new DefaultTelemetryInfo("contraction", contractionTimer);
@@ -237,9 +483,11 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
         try {
             contractionTimer.start();
             transmitter.beginTransmission(contractionInfo);
-            justificationAxioms = contractionStrategy.doPruning(expandedAxioms, checker, progressMonitor);
+            justificationAxioms = contractionStrategy.doPruning(expandedAxioms, checker, hints, progressMonitor);
             contractionTimer.stop();
             transmitter.recordMeasurement(contractionInfo, "contraction strategy", contractionStrategy.getClass().getName());
+            transmitter.recordMeasurement(contractionInfo, "relevant hint axioms", hints.getRelevantAxioms().size());
+            transmitter.recordMeasurement(contractionInfo, "necessary hint axioms", hints.getNecessaryAxioms().size());
             transmitter.recordMeasurement(contractionInfo, "contraction size", justificationAxioms.size());
             transmitter.recordTiming(contractionInfo, "contraction time", contractionTimer);
             transmitter.recordMeasurement(contractionInfo, "contraction entailment check count", contractionStrategy.getNumberOfSteps());
@@ -251,7 +499,7 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
         return justificationAxioms;
     }
 
-    private Set<OWLAxiom> doExpansion(EntailmentChecker<E> checker) {
+    private Set<OWLAxiom> doExpansion(EntailmentChecker<E> checker, Set<OWLAxiom> module) {
         TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
         TelemetryTimer expansionTimer = new TelemetryTimer();
         TelemetryInfo expansionInfo = new DefaultTelemetryInfo("expansion", expansionTimer);
@@ -282,30 +530,139 @@ public class BlackBoxExplanationGenerator2<E> implements ExplanationGenerator<E>
 
     @Override
     public Explanation<E> generateExplanation(E entailment) {
-        for (Explanation<E> expl : cache) {
-            if (expl.getEntailment().equals(entailment) && module.containsAll(expl.getAxioms())) {
+        if (creator != null) {
+            return generateWorkerExplanation(entailment);
+        }
+        Explanation<E> expl = getReusableExplanation(cache, entailment);
+        if (expl != null) {
+            recordPathOutcome(path, true);
+            return expl;
+        }
+        expl = computeExplanation(entailment);
+        recordExplanation(path, expl);
+        return expl;
+    }
+
+    private Explanation<E> generateWorkerExplanation(E entailment) {
+        synchronized (this) {
+            if (disposed) {
+                throw new ExplanationGeneratorInterruptedException();
+            }
+            busy = true;
+        }
+        try {
+            Explanation<E> expl = getReusableExplanation(creator.workerCache, entailment);
+            if (expl != null) {
+                return expl;
+            }
+            return computeExplanation(entailment);
+        }
+        finally {
+            boolean release;
+            synchronized (this) {
+                busy = false;
+                release = disposed;
+            }
+            if (release) {
+                releaseChecker();
+            }
+        }
+    }
+
+    private Explanation<E> getReusableExplanation(Map<Explanation<E>, BitSet> explanations, E entailment) {
+        for (Map.Entry<Explanation<E>, BitSet> entry : explanations.entrySet()) {
+            Explanation<E> expl = entry.getKey();
+            BitSet explAxioms = entry.getValue();
+            if (!explAxioms.intersects(path) && AxiomUniverse.isSubset(explAxioms, moduleAxioms) && expl.getEntailment().equals(entailment)) {
                 cacheHitCounter++;
                 return expl;
             }
         }
+        return null;
+    }
 
-        Explanation<E> expl = computeExplanation(entailment);
-        if (!expl.isEmpty()) {
-            cache.add(expl);
+    @Override
+    public void recordExplanation(BitSet explainedPath, Explanation<E> explanation) {
+        if (!explanation.isEmpty()) {
+            cache.put(explanation, axiomUniverse.toBitSet(explanation.getAxioms()));
+        }
+        // An expansion that is cancelled gives no explanation whether or not the entailment holds
+        if (!progressMonitor.isCancelled()) {
+            recordPathOutcome(explainedPath, !explanation.isEmpty());
         }
-        return expl;
+    }
+
+    @Override
+    public void updateWorkerMediators() {
+        workerCache = new HashMap<>(cache);
     }
 
     @Override
     public void removeAxiom(OWLAxiom axiom) {
-        module.remove(axiom);
-        workingAxioms.remove(axiom);
+        path.set(axiomUniverse.getIndex(axiom));
     }
 
     @Override
     public void addAxiom(OWLAxiom axiom) {
-        module.add(axiom);
-        workingAxioms.add(axiom);
+        path.clear(axiomUniverse.getIndex(axiom));
+    }
+
+    @Override
+    public AxiomUniverse getAxiomUniverse() {
+        return axiomUniverse;
+    }
+
+    @Override
+    public void setPath(BitSet path) {
+        this.path = (BitSet) path.clone();
+    }
+
+    @Override
+    public BitSet getModuleAxioms() {
+        return moduleAxioms;
+    }
+
+    @Override
+    public boolean isEntailed(E entailment, BitSet axioms) {
+        if (progressMonitor.isCancelled()) {
+            throw new ExplanationGeneratorInterruptedException();
+        }
+        boolean reuseChecker = checker != null && checker.getEntailment().equals(entailment);
+        EntailmentChecker<E> entailmentChecker = reuseChecker ? checker : checkerFactory.createEntailementChecker(entailment);
+        try {
+            return entailmentChecker.isEntailed(axiomUniverse.toAxioms(axioms));
+        }
+        finally {
+            if (!reuseChecker) {
+                entailmentChecker.dispose();
+            }
+        }
+    }
+
+    @Override
+    public ExplanationGeneratorMediator<E> createWorkerMediator() {
+        return new BlackBoxExplanationGenerator2<>(this);
+    }
+
+    @Override
+    public void dispose() {
+        if (creator != null) {
+            synchronized (this) {
+                disposed = true;
+                if (busy) {
+                    // The thread that is generating an explanation releases the checker when it stops
+                    return;
+                }
+            }
+        }
+        releaseChecker();
+    }
+
+    private void releaseChecker() {
+        if (checker != null) {
+            checker.dispose();
+            checker = null;
+        }
     }
 
 
@@ -0,0 +1,324 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import org.semanticweb.owl.explanation.impl.blackbox.hst.SetTrie;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An entailment checker that answers entailment checks from the results of previous checks where possible, and
+ * only passes a check on to its delegate when the answer cannot be deduced from these results.
+ * <p>
+ * Entailment is monotonic: any superset of a set of axioms that entails the entailment also entails it, and any
+ * subset of a set of axioms that does not entail the entailment does not entail it either.  The checker therefore
+ * indexes the entailing sets and the non-entailing sets that it has seen in set-tries.  A check on a set of
+ * axioms that contains a known entailing set, or that is contained in a known non-entailing set, is a cache hit,
+ * and both lookups only visit the branches of a trie that can lead to such a set.
+ * </p>
+ * <p>
+ * The number of hits and misses is transmitted as telemetry when the checker is disposed of.
+ * </p>
+ * <p>
+ * The cache may be shared between threads if the delegate may be.  Lookups and updates of the cache are
+ * synchronized, but checks that are passed on to the delegate are not, so threads share the results of each
+ * other's checks without waiting for them.
+ * </p>
+ */
+public class CachingEntailmentChecker<E> implements EntailmentChecker<E> {
+
+    private final EntailmentChecker<E> delegate;
+
+    /**
+     * Maps each axiom that has been seen in a check to its index in the bit sets below.
+     */
+    private final Map<OWLAxiom, Integer> axiomIndex = new HashMap<>();
+
+    private final List<OWLAxiom> indexedAxioms = new ArrayList<>();
+
+    /**
+     * Sets of axioms that are known to entail the entailment.  A set is only added if no stored set is a subset of
+     * it.  Stored sets that a later set makes redundant are kept, as they never change an answer.
+     */
+    private final SetTrie entailingSets = new SetTrie();
+
+    /**
+     * Sets of axioms that are known not to entail the entailment.  A set is only added if no stored set is a
+     * superset of it.
+     */
+    private final SetTrie nonEntailingSets = new SetTrie();
+
+    /**
+     * The set of axioms that was last passed on to the delegate, so that requests for the entailing axioms of
+     * that set can be answered by the delegate.
+     */
+    private volatile BitSet lastDelegatedAxioms = null;
+
+    private final AtomicInteger hitCount = new AtomicInteger();
+
+    private final AtomicInteger missCount = new AtomicInteger();
+
+    public CachingEntailmentChecker(EntailmentChecker<E> delegate) {
+        this.delegate = delegate;
+    }
+
+    public EntailmentChecker<E> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the number of entailment checks that were answered without consulting the delegate.
+     * @return The number of cache hits
+     */
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of entailment checks that were passed on to the delegate.
+     * @return The number of cache misses
+     */
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public int getCounter() {
+        return delegate.getCounter();
+    }
+
+    @Override
+    public void resetCounter() {
+        delegate.resetCounter();
+    }
+
+    @Override
+    public E getEntailment() {
+        return delegate.getEntailment();
+    }
+
+    @Override
+    public Set<OWLEntity> getEntailmentSignature() {
+        return delegate.getEntailmentSignature();
+    }
+
+    @Override
+    public Set<OWLEntity> getSeedSignature() {
+        return delegate.getSeedSignature();
+    }
+
+    @Override
+    public boolean isEntailed(Set<OWLAxiom> axioms) {
+        BitSet query = toBitSet(axioms);
+        if (containsEntailingSubset(query)) {
+            hitCount.incrementAndGet();
+            return true;
+        }
+        if (isContainedInNonEntailingSet(query)) {
+            hitCount.incrementAndGet();
+            return false;
+        }
+        missCount.incrementAndGet();
+        boolean entailed = delegate.isEntailed(axioms);
+        lastDelegatedAxioms = query;
+        if (entailed) {
+            addEntailingSet(getDelegateEntailingSet(axioms, query));
+        }
+        else {
+            addNonEntailingSet(query);
+        }
+        return entailed;
+    }
+
+    /**
+     * Answers the checks that can be answered from the cache, and passes the rest on to the delegate as one batch.
+     */
+    @Override
+    public BitSet isEntailed(List<Set<OWLAxiom>> axiomSets, boolean firstEntailedOnly) {
+        BitSet result = new BitSet(axiomSets.size());
+        List<BitSet> queries = new ArrayList<>(axiomSets.size());
+        List<Integer> unknownIndexes = new ArrayList<>();
+        for (int i = 0; i < axiomSets.size(); i++) {
+            BitSet query = toBitSet(axiomSets.get(i));
+            queries.add(query);
+            if (containsEntailingSubset(query)) {
+                hitCount.incrementAndGet();
+                result.set(i);
+                if (firstEntailedOnly) {
+                    break;
+                }
+            }
+            else if (isContainedInNonEntailingSet(query)) {
+                hitCount.incrementAndGet();
+            }
+            else {
+                unknownIndexes.add(i);
+            }
+        }
+        if (unknownIndexes.isEmpty()) {
+            return result;
+        }
+        missCount.addAndGet(unknownIndexes.size());
+        List<Set<OWLAxiom>> unknownSets = new ArrayList<>(unknownIndexes.size());
+        for (int i : unknownIndexes) {
+            unknownSets.add(axiomSets.get(i));
+        }
+        BitSet delegateResult = delegate.isEntailed(unknownSets, firstEntailedOnly);
+        lastDelegatedAxioms = null;
+        int firstEntailed = delegateResult.nextSetBit(0);
+        for (int j = 0; j < unknownIndexes.size(); j++) {
+            BitSet query = queries.get(unknownIndexes.get(j));
+            if (delegateResult.get(j)) {
+                addEntailingSet(query);
+            }
+            else if (!firstEntailedOnly || firstEntailed == -1 || j < firstEntailed) {
+                // When only the first entailing set was asked for, the sets after it may not have been checked
+                addNonEntailingSet(query);
+            }
+        }
+        if (firstEntailedOnly) {
+            if (firstEntailed != -1) {
+                // The delegate only checked sets before any set that was answered from the cache
+                result.clear();
+                result.set(unknownIndexes.get(firstEntailed));
+            }
+        }
+        else {
+            for (int j = delegateResult.nextSetBit(0); j >= 0; j = delegateResult.nextSetBit(j + 1)) {
+                result.set(unknownIndexes.get(j));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
+        BitSet query = toBitSet(axioms);
+        if (!query.equals(lastDelegatedAxioms)) {
+            BitSet entailingSubset = getEntailingSubset(query);
+            if (entailingSubset != null) {
+                return toAxioms(entailingSubset);
+            }
+        }
+        return delegate.getEntailingAxioms(axioms);
+    }
+
+    @Override
+    public Set<OWLAxiom> getModule(Set<OWLAxiom> axioms) {
+        return delegate.getModule(axioms);
+    }
+
+    @Override
+    public String getModularisationTypeDescription() {
+        return delegate.getModularisationTypeDescription();
+    }
+
+    @Override
+    public boolean isUseModularisation() {
+        return delegate.isUseModularisation();
+    }
+
+    @Override
+    public void dispose() {
+        TelemetryInfo info = new DefaultTelemetryInfo("entailmentcheckcache");
+        TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        try {
+            transmitter.beginTransmission(info);
+            transmitter.recordMeasurement(info, "cache hits", hitCount.get());
+            transmitter.recordMeasurement(info, "cache misses", missCount.get());
+            synchronized (this) {
+                transmitter.recordMeasurement(info, "entailing sets", entailingSets.size());
+                transmitter.recordMeasurement(info, "non-entailing sets", nonEntailingSets.size());
+            }
+        }
+        finally {
+            transmitter.endTransmission(info);
+            delegate.dispose();
+        }
+    }
+
+    /**
+     * Gets the set of axioms that the delegate reports as entailing the entailment, provided that this set is a
+     * subset of the axioms that were checked.  Some checkers do not report such a set, or report one that contains
+     * axioms of their own, in which case the checked axioms are used.
+     */
+    private BitSet getDelegateEntailingSet(Set<OWLAxiom> axioms, BitSet query) {
+        Set<OWLAxiom> entailingAxioms = delegate.getEntailingAxioms(axioms);
+        if (entailingAxioms == null || entailingAxioms.isEmpty() || !axioms.containsAll(entailingAxioms)) {
+            return query;
+        }
+        return toBitSet(entailingAxioms);
+    }
+
+    private synchronized boolean containsEntailingSubset(BitSet query) {
+        return entailingSets.containsSubsetOf(query);
+    }
+
+    private synchronized BitSet getEntailingSubset(BitSet query) {
+        return entailingSets.getSubsetOf(query);
+    }
+
+    private synchronized boolean isContainedInNonEntailingSet(BitSet query) {
+        return nonEntailingSets.containsSupersetOf(query);
+    }
+
+    private synchronized void addEntailingSet(BitSet entailingSet) {
+        if (!entailingSets.containsSubsetOf(entailingSet)) {
+            entailingSets.add(entailingSet);
+        }
+    }
+
+    private synchronized void addNonEntailingSet(BitSet nonEntailingSet) {
+        if (!nonEntailingSets.containsSupersetOf(nonEntailingSet)) {
+            nonEntailingSets.add(nonEntailingSet);
+        }
+    }
+
+    private synchronized BitSet toBitSet(Set<OWLAxiom> axioms) {
+        BitSet bitSet = new BitSet(indexedAxioms.size());
+        for (OWLAxiom ax : axioms) {
+            Integer index = axiomIndex.get(ax);
+            if (index == null) {
+                index = indexedAxioms.size();
+                axiomIndex.put(ax, index);
+                indexedAxioms.add(ax);
+            }
+            bitSet.set(index);
+        }
+        return bitSet;
+    }
+
+    private synchronized Set<OWLAxiom> toAxioms(BitSet bitSet) {
+        Set<OWLAxiom> axioms = new HashSet<>(bitSet.cardinality());
+        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+            axioms.add(indexedAxioms.get(i));
+        }
+        return axioms;
+    }
+}
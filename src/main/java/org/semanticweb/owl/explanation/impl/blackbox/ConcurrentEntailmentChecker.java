@@ -0,0 +1,267 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+import java.util.*;
+import java.util.concurrent.*;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An entailment checker that performs the checks of a batch concurrently.
+ * <p>
+ * Checkers may be shared between threads, but a shared checker need not run several checks at the same time; an
+ * incremental checker, for example, has a single reasoner that checks take turns to use.  This checker therefore
+ * creates a primary checker, which performs single checks and extracts modules, and a pool of worker checkers for
+ * the same entailment, using a delegate factory.  The checks of a batch are submitted to an executor, and each
+ * check borrows a worker checker for as long as it runs, so no more than the pool size of checks run at once.  When
+ * only the first entailing set of a batch is needed, the checks of the sets after an entailing set are cancelled as
+ * soon as it is found.  Checks that have already started are left to finish in the background.
+ * </p>
+ * <p>
+ * The worker that finds that a set entails the entailment also gets the entailing axioms for that set, while it
+ * still has the results of its check, and the entailing axioms of the sets of the most recent batch are kept.
+ * {@link #getEntailingAxioms(Set)} answers from these, so asking for the entailing axioms of a set from a batch
+ * does not check it again.  Other sets are passed on to the primary checker.
+ * </p>
+ */
+public class ConcurrentEntailmentChecker<E> implements EntailmentChecker<E> {
+
+    private final EntailmentCheckerFactory<E> checkerFactory;
+
+    private final ExecutorService executor;
+
+    private final int parallelism;
+
+    private final EntailmentChecker<E> primaryChecker;
+
+    /**
+     * The checkers that perform the checks of batches.
+     */
+    private final List<EntailmentChecker<E>> workerCheckers = new ArrayList<>();
+
+    /**
+     * The worker checkers that are not currently being used by a check.
+     */
+    private final BlockingQueue<EntailmentChecker<E>> idleCheckers = new LinkedBlockingQueue<>();
+
+    /**
+     * The entailing axioms of the entailing sets of the batch that finished most recently.
+     */
+    private volatile Map<Set<OWLAxiom>, Set<OWLAxiom>> batchEntailingAxioms = Collections.emptyMap();
+
+    /**
+     * Creates a checker.
+     * @param entailment The entailment
+     * @param checkerFactory The factory that creates the checkers that perform the checks
+     * @param executor The executor that runs the checks of a batch
+     * @param parallelism The maximum number of checks that run at once, which is also the maximum number of
+     * checkers that are created.  Must be at least 1.
+     */
+    public ConcurrentEntailmentChecker(E entailment, EntailmentCheckerFactory<E> checkerFactory, ExecutorService executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+        this.checkerFactory = checkerFactory;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.primaryChecker = checkerFactory.createEntailementChecker(entailment);
+    }
+
+    @Override
+    public int getCounter() {
+        int counter = primaryChecker.getCounter();
+        for (EntailmentChecker<E> checker : workerCheckers) {
+            counter += checker.getCounter();
+        }
+        return counter;
+    }
+
+    @Override
+    public void resetCounter() {
+        primaryChecker.resetCounter();
+        for (EntailmentChecker<E> checker : workerCheckers) {
+            checker.resetCounter();
+        }
+    }
+
+    @Override
+    public E getEntailment() {
+        return primaryChecker.getEntailment();
+    }
+
+    @Override
+    public Set<OWLEntity> getEntailmentSignature() {
+        return primaryChecker.getEntailmentSignature();
+    }
+
+    @Override
+    public Set<OWLEntity> getSeedSignature() {
+        return primaryChecker.getSeedSignature();
+    }
+
+    @Override
+    public boolean isEntailed(Set<OWLAxiom> axioms) {
+        return primaryChecker.isEntailed(axioms);
+    }
+
+    @Override
+    public BitSet isEntailed(List<Set<OWLAxiom>> axiomSets, boolean firstEntailedOnly) {
+        int numberOfSets = axiomSets.size();
+        if (parallelism == 1 || numberOfSets < 2) {
+            return EntailmentChecker.super.isEntailed(axiomSets, firstEntailedOnly);
+        }
+        // Checkers are created on the calling thread, because factories need not be thread safe
+        while (workerCheckers.size() < Math.min(parallelism, numberOfSets)) {
+            EntailmentChecker<E> checker = checkerFactory.createEntailementChecker(primaryChecker.getEntailment());
+            workerCheckers.add(checker);
+            idleCheckers.add(checker);
+        }
+        // Each future gives the entailing axioms of its set, or null if the set does not entail the entailment
+        CompletionService<Set<OWLAxiom>> completionService = new ExecutorCompletionService<>(executor);
+        Map<Future<Set<OWLAxiom>>, Integer> indexes = new IdentityHashMap<>();
+        List<Future<Set<OWLAxiom>>> futures = new ArrayList<>(numberOfSets);
+        Map<Set<OWLAxiom>, Set<OWLAxiom>> entailingAxioms = new HashMap<>();
+        BitSet result = new BitSet(numberOfSets);
+        try {
+            for (int i = 0; i < numberOfSets; i++) {
+                Set<OWLAxiom> axioms = axiomSets.get(i);
+                Future<Set<OWLAxiom>> future = completionService.submit(() -> check(axioms));
+                futures.add(future);
+                indexes.put(future, i);
+            }
+            BitSet finished = new BitSet(numberOfSets);
+            // The index of the first set that is known to entail the entailment, if only the first one is needed
+            int firstEntailed = numberOfSets;
+            while (finished.nextClearBit(0) < firstEntailed) {
+                Future<Set<OWLAxiom>> future = completionService.take();
+                int index = indexes.get(future);
+                finished.set(index);
+                if (future.isCancelled()) {
+                    continue;
+                }
+                Set<OWLAxiom> entailing = getResult(future);
+                if (entailing == null) {
+                    continue;
+                }
+                result.set(index);
+                entailingAxioms.put(axiomSets.get(index), entailing);
+                if (firstEntailedOnly && index < firstEntailed) {
+                    firstEntailed = index;
+                    // Abandon the checks of the later sets
+                    for (int i = index + 1; i < numberOfSets; i++) {
+                        futures.get(i).cancel(false);
+                    }
+                }
+            }
+            if (firstEntailedOnly && firstEntailed < numberOfSets) {
+                result.clear();
+                result.set(firstEntailed);
+            }
+            batchEntailingAxioms = entailingAxioms;
+            return result;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExplanationGeneratorInterruptedException();
+        }
+        finally {
+            // Checks that are already running are left to finish, and return their checkers to the pool
+            for (Future<Set<OWLAxiom>> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Checks a set with a worker checker.
+     * @return The entailing axioms of the set, or <code>null</code> if the set does not entail the entailment
+     */
+    private Set<OWLAxiom> check(Set<OWLAxiom> axioms) throws InterruptedException {
+        EntailmentChecker<E> checker = idleCheckers.take();
+        try {
+            return checker.isEntailed(axioms) ? checker.getEntailingAxioms(axioms) : null;
+        }
+        finally {
+            idleCheckers.add(checker);
+        }
+    }
+
+    private Set<OWLAxiom> getResult(Future<Set<OWLAxiom>> future) throws InterruptedException {
+        try {
+            return future.get();
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    @Override
+    public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
+        Set<OWLAxiom> entailingAxioms = batchEntailingAxioms.get(axioms);
+        if (entailingAxioms != null) {
+            return entailingAxioms;
+        }
+        return primaryChecker.getEntailingAxioms(axioms);
+    }
+
+    @Override
+    public Set<OWLAxiom> getModule(Set<OWLAxiom> axioms) {
+        return primaryChecker.getModule(axioms);
+    }
+
+    @Override
+    public String getModularisationTypeDescription() {
+        return primaryChecker.getModularisationTypeDescription();
+    }
+
+    @Override
+    public boolean isUseModularisation() {
+        return primaryChecker.isUseModularisation();
+    }
+
+    @Override
+    public void dispose() {
+        primaryChecker.dispose();
+        // Wait for any abandoned checks that are still running before their checkers are disposed of
+        for (int i = 0; i < workerCheckers.size(); i++) {
+            try {
+                idleCheckers.take().dispose();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        workerCheckers.clear();
+    }
+}
@@ -0,0 +1,94 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A factory that creates {@link ConcurrentEntailmentChecker}s, which perform the checks of a batch concurrently
+ * using checkers created by another factory.
+ */
+public class ConcurrentEntailmentCheckerFactory<E> implements EntailmentCheckerFactory<E> {
+
+    private final EntailmentCheckerFactory<E> delegate;
+
+    private final ExecutorService executor;
+
+    private final int parallelism;
+
+    /**
+     * Whether the executor was created by this factory, and so should be shut down by it.
+     */
+    private final boolean ownsExecutor;
+
+    /**
+     * Creates a factory whose checkers share a pool of daemon threads, one for each of the checks that may run at
+     * once.  The pool belongs to the factory and is shut down by {@link #dispose()}.
+     * @param delegate The factory that creates the checkers that perform the checks
+     * @param parallelism The maximum number of checks of a batch that run at once
+     */
+    public ConcurrentEntailmentCheckerFactory(EntailmentCheckerFactory<E> delegate, int parallelism) {
+        this(delegate, Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "entailment-checker");
+            thread.setDaemon(true);
+            return thread;
+        }), parallelism, true);
+    }
+
+    /**
+     * Creates a factory whose checkers run the checks of batches on the specified executor.  The executor belongs
+     * to the caller, who is responsible for shutting it down.
+     * @param delegate The factory that creates the checkers that perform the checks
+     * @param executor The executor
+     * @param parallelism The maximum number of checks of a batch that run at once
+     */
+    public ConcurrentEntailmentCheckerFactory(EntailmentCheckerFactory<E> delegate, ExecutorService executor, int parallelism) {
+        this(delegate, executor, parallelism, false);
+    }
+
+    private ConcurrentEntailmentCheckerFactory(EntailmentCheckerFactory<E> delegate, ExecutorService executor, int parallelism, boolean ownsExecutor) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Shuts down the pool of threads that this factory created, if any, and disposes of the delegate factory.
+     * Checks that are running finish, but the checkers that this factory created must not be given any further
+     * batches.  An executor that was passed in is left running.
+     */
+    @Override
+    public void dispose() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+        delegate.dispose();
+    }
+
+    @Override
+    public EntailmentChecker<E> createEntailementChecker(E entailment) {
+        return new ConcurrentEntailmentChecker<>(entailment, delegate, executor, parallelism);
+    }
+}
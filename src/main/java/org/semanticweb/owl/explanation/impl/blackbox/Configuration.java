@@ -3,6 +3,8 @@ package org.semanticweb.owl.explanation.impl.blackbox;
 import java.util.function.Supplier;
 
 import org.semanticweb.owl.explanation.api.ExplanationProgressMonitor;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.BreadthFirstStrategy;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.HittingSetTreeConstructionStrategy;
 /*
  * Copyright (C) 2008, University of Manchester
  *
@@ -33,8 +35,9 @@ import org.semanticweb.owlapi.model.OWLOntologyManager;
  * 03-Sep-2008<br><br>
  *
  * A configuration that describes how a black box explanation generator should be configured.
- * There are three main options: 1) The type of entailment checker that should be used, 2) The
- * expansion strategy that should be used, 3) The contraction strategy that should be used
+ * There are four main options: 1) The type of entailment checker that should be used, 2) The
+ * expansion strategy that should be used, 3) The contraction strategy that should be used, 4) The
+ * strategy that should be used to construct the hitting set tree, which is breadth first by default
  */
 public class Configuration<E> {
 
@@ -44,6 +47,8 @@ public class Configuration<E> {
 
     private ContractionStrategy<E> contractionStrategy;
 
+    private HittingSetTreeConstructionStrategy<E> constructionStrategy;
+
     private final Supplier<OWLOntologyManager> m;
 
     public Configuration(EntailmentCheckerFactory<E> checkerFactory, ExpansionStrategy<E> expansionStrategy, ContractionStrategy<E> contractionStrategy, Supplier<OWLOntologyManager> m) {
@@ -52,9 +57,15 @@ public class Configuration<E> {
 
 
     public Configuration(EntailmentCheckerFactory<E> checkerFactory, ExpansionStrategy<E> expansionStrategy, ContractionStrategy<E> contractionStrategy, ExplanationProgressMonitor<E> progressMonitor, Supplier<OWLOntologyManager> m) {
+        this(checkerFactory, expansionStrategy, contractionStrategy, new BreadthFirstStrategy<E>(), progressMonitor, m);
+    }
+
+
+    public Configuration(EntailmentCheckerFactory<E> checkerFactory, ExpansionStrategy<E> expansionStrategy, ContractionStrategy<E> contractionStrategy, HittingSetTreeConstructionStrategy<E> constructionStrategy, ExplanationProgressMonitor<E> progressMonitor, Supplier<OWLOntologyManager> m) {
         this.checkerFactory = checkerFactory;
         this.contractionStrategy = contractionStrategy;
         this.expansionStrategy = expansionStrategy;
+        this.constructionStrategy = constructionStrategy;
         this.m = m;
     }
 
@@ -69,6 +80,11 @@ public class Configuration<E> {
     }
 
 
+    public Configuration(EntailmentCheckerFactory<E> checkerFactory, HittingSetTreeConstructionStrategy<E> constructionStrategy, ExplanationProgressMonitor<E> progressMonitor, Supplier<OWLOntologyManager> m) {
+        this(checkerFactory, new StructuralTypePriorityExpansionStrategy<E>(null, m), new DivideAndConquerContractionStrategy<E>(), constructionStrategy, progressMonitor, m);
+    }
+
+
     public EntailmentCheckerFactory<E> getCheckerFactory() {
         return checkerFactory;
     }
@@ -83,6 +99,11 @@ public class Configuration<E> {
         return expansionStrategy;
     }
 
+
+    public HittingSetTreeConstructionStrategy<E> getConstructionStrategy() {
+        return constructionStrategy;
+    }
+
     public Supplier<OWLOntologyManager> getOntologyManagerSupplier() {
         return this.m;
     }
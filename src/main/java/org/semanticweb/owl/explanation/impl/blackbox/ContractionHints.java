@@ -0,0 +1,74 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.Collections;
+import java.util.Set;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * What is already known about the justifications of an entailment when a set of axioms is contracted, which a
+ * {@link ContractionStrategy} can use to make fewer entailment checks.
+ * <p>
+ * The relevant axioms are axioms that are likely to be in the justification, such as the axioms of justifications
+ * that were found earlier for the same entailment.  The necessary axioms are axioms that are known to be in every
+ * justification that is a subset of the axioms being contracted, because the entailment does not hold without
+ * them.  Hints may mention axioms that are not being contracted, and these should be ignored.
+ * </p>
+ */
+public class ContractionHints {
+
+    private static final ContractionHints EMPTY = new ContractionHints(Collections.emptySet(), Collections.emptySet());
+
+    private final Set<OWLAxiom> relevantAxioms;
+
+    private final Set<OWLAxiom> necessaryAxioms;
+
+    public ContractionHints(Set<OWLAxiom> relevantAxioms, Set<OWLAxiom> necessaryAxioms) {
+        this.relevantAxioms = Collections.unmodifiableSet(relevantAxioms);
+        this.necessaryAxioms = Collections.unmodifiableSet(necessaryAxioms);
+    }
+
+    public static ContractionHints getEmptyHints() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets the axioms that are likely to be in the justification.
+     */
+    public Set<OWLAxiom> getRelevantAxioms() {
+        return relevantAxioms;
+    }
+
+    /**
+     * Gets the axioms that are in every justification that is a subset of the axioms being contracted.
+     */
+    public Set<OWLAxiom> getNecessaryAxioms() {
+        return necessaryAxioms;
+    }
+
+    public boolean isEmpty() {
+        return relevantAxioms.isEmpty() && necessaryAxioms.isEmpty();
+    }
+}
@@ -39,5 +39,24 @@ public interface ContractionStrategy<E> {
 
     Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor);
 
+    /**
+     * Contracts a set of axioms using what is already known about the justifications of the entailment.  The
+     * default implementation ignores the hints.
+     * @param axioms The axioms, which entail the entailment
+     * @param checker The entailment checker
+     * @param hints The hints.  Strategies may rely on the necessary axioms of the hints being in every
+     * justification that is a subset of the axioms.
+     * @param progressMonitor The progress monitor
+     * @return A minimal subset of the axioms that entails the entailment
+     */
+    default Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ContractionHints hints, ExplanationProgressMonitor<?> progressMonitor) {
+        return doPruning(axioms, checker, progressMonitor);
+    }
+
+    /**
+     * Gets the number of steps, usually entailment checks, of the most recent contraction that was made on the
+     * calling thread.  A strategy may be used by several threads at once, so the count is kept per thread.
+     * @return The number of steps
+     */
     int getNumberOfSteps();
 }
@@ -39,16 +39,53 @@ import java.util.*;
  */
 public class DivideAndConquerContractionStrategy<E> implements ContractionStrategy<E> {
 
-    private int count;
+    private final StepCounter count = new StepCounter();
 
     @Override
     public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
-        count = 0;
+        count.reset();
         List<OWLAxiom> axiomList = new ArrayList<>(axioms);
         List<OWLAxiom> result = extract(new ArrayList<OWLAxiom>(), axiomList, checker, progressMonitor);
         return new HashSet<>(result);
     }
 
+    /**
+     * Contracts a set of axioms.  The necessary axioms of the hints are kept out of the halving, and the relevant
+     * axioms are put next to each other at the start of the list, so that the halves that can be dropped are found
+     * with fewer checks.
+     */
+    @Override
+    public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ContractionHints hints, ExplanationProgressMonitor<?> progressMonitor) {
+        if (hints.isEmpty()) {
+            return doPruning(axioms, checker, progressMonitor);
+        }
+        count.reset();
+        List<OWLAxiom> necessaryAxioms = new ArrayList<>();
+        List<OWLAxiom> relevantAxioms = new ArrayList<>();
+        List<OWLAxiom> otherAxioms = new ArrayList<>();
+        for (OWLAxiom ax : axioms) {
+            if (hints.getNecessaryAxioms().contains(ax)) {
+                necessaryAxioms.add(ax);
+            }
+            else if (hints.getRelevantAxioms().contains(ax)) {
+                relevantAxioms.add(ax);
+            }
+            else {
+                otherAxioms.add(ax);
+            }
+        }
+        if (!necessaryAxioms.isEmpty() && isEntailed(necessaryAxioms, Collections.emptyList(), checker)) {
+            return new HashSet<>(necessaryAxioms);
+        }
+        List<OWLAxiom> axiomList = new ArrayList<>(relevantAxioms);
+        axiomList.addAll(otherAxioms);
+        Set<OWLAxiom> result = new HashSet<>(necessaryAxioms);
+        if (!axiomList.isEmpty()) {
+            result.addAll(extract(necessaryAxioms, axiomList, checker, progressMonitor));
+        }
+        return result;
+    }
+
     public List<OWLAxiom> extract(List<OWLAxiom> listS, List<OWLAxiom> listO, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
         if(progressMonitor.isCancelled()) {
             throw new ExplanationGeneratorInterruptedException();
@@ -76,7 +113,7 @@ public class DivideAndConquerContractionStrategy<E> implements ContractionStrate
     }
 
     private boolean isEntailed(List<OWLAxiom> listA, List<OWLAxiom> listB, EntailmentChecker<E> checker) {
-        count++;
+        count.increment();
         Set<OWLAxiom> axioms = new HashSet<>((int)((listA.size() + listB.size()) * 1.3));
         axioms.addAll(listA);
         axioms.addAll(listB);
@@ -89,7 +126,7 @@ public class DivideAndConquerContractionStrategy<E> implements ContractionStrate
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
     }
 
     private class ListHalves {
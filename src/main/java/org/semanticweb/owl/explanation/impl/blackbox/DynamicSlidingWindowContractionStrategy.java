@@ -37,7 +37,7 @@ public class DynamicSlidingWindowContractionStrategy<E> implements ContractionSt
 
     final private int windowSize;
 
-    private int count;
+    private final StepCounter count = new StepCounter();
 
     public DynamicSlidingWindowContractionStrategy() {
         windowSize = 20;
@@ -49,7 +49,7 @@ public class DynamicSlidingWindowContractionStrategy<E> implements ContractionSt
 
     @Override
     public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
-        count = 0;
+        count.reset();
 
 
         Set<OWLAxiom> contraction = new HashSet<>(axioms);
@@ -72,21 +72,14 @@ public class DynamicSlidingWindowContractionStrategy<E> implements ContractionSt
 
 
         // Slow
-        Set<OWLAxiom> contractionCopy = new HashSet<>(contraction);
-        for(OWLAxiom ax : contractionCopy) {
-            contraction.remove(ax);
-            count++;
-            if(!checker.isEntailed(contraction)) {
-                contraction.add(ax);
-            }
-        }
+        count.add(WindowRemoval.removeAxioms(contraction, checker));
 
         return contraction;
     }
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
     }
 
     private void doFastPruning(EntailmentChecker<E> checker,
@@ -94,16 +87,13 @@ public class DynamicSlidingWindowContractionStrategy<E> implements ContractionSt
                                int roundWindowSize) {
         List<OWLAxiom> axiomList = new ArrayList<>(contraction);
         int windowCount = axiomList.size() / roundWindowSize;
+        List<List<OWLAxiom>> windows = new ArrayList<>(windowCount);
         for(int windowIndex = 0; windowIndex < windowCount; windowIndex++) {
             int start = windowIndex * roundWindowSize;
             int end = start + roundWindowSize;
-            List<OWLAxiom> cur = axiomList.subList(start, end);
-            contraction.removeAll(cur);
-            count++;
-            if(!checker.isEntailed(contraction)) {
-                contraction.addAll(cur);
-            }
+            windows.add(axiomList.subList(start, end));
         }
+        count.add(WindowRemoval.removeWindows(contraction, windows, checker));
     }
 }
 
@@ -3,6 +3,8 @@ package org.semanticweb.owl.explanation.impl.blackbox;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 
+import java.util.BitSet;
+import java.util.List;
 import java.util.Set;
 /*
  * Copyright (C) 2008, University of Manchester
@@ -34,6 +36,11 @@ import java.util.Set;
  *
  * An interface to an object that checks to see if an entailment holds in a particular set
  * of axioms.
+ * <p>
+ * Checkers that may be shared between threads say so.  For such a checker, {@link #getEntailingAxioms(Set)}
+ * must answer for the axioms that it is given, even if other threads have performed checks since those axioms
+ * were checked, and the counter must count the checks of all threads.
+ * </p>
  */
 public interface EntailmentChecker<E> {
 
@@ -51,9 +58,40 @@ public interface EntailmentChecker<E> {
 
     Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms);
 
+    /**
+     * Checks whether each of several sets of axioms entails the entailment.  The checks are independent of each
+     * other, so checkers may perform them concurrently; see {@link ConcurrentEntailmentChecker}.  The default
+     * implementation performs the checks one after another with {@link #isEntailed(Set)}.
+     * @param axiomSets The sets of axioms to check
+     * @param firstEntailedOnly If <code>true</code> the caller only needs to know which is the first set, in list
+     * order, that entails the entailment, and checks of the sets after it may be skipped or abandoned.
+     * @return A bit set that has the indexes of the sets that entail the entailment set.  If
+     * <code>firstEntailedOnly</code> is <code>true</code> at most one index is set, which is the index of the first
+     * set that entails the entailment, and none of the sets before it entail the entailment.
+     */
+    default BitSet isEntailed(List<Set<OWLAxiom>> axiomSets, boolean firstEntailedOnly) {
+        BitSet result = new BitSet(axiomSets.size());
+        for (int i = 0; i < axiomSets.size(); i++) {
+            if (isEntailed(axiomSets.get(i))) {
+                result.set(i);
+                if (firstEntailedOnly) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
     Set<OWLAxiom> getModule(Set<OWLAxiom> axioms);
 
     String getModularisationTypeDescription();
 
     boolean isUseModularisation();
+
+    /**
+     * Releases any resources, such as reasoners, that this checker holds on to between entailment checks.
+     * The checker should not be used after it has been disposed of.
+     */
+    default void dispose() {
+    }
 }
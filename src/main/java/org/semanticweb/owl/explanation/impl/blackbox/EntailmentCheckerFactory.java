@@ -30,4 +30,13 @@ package org.semanticweb.owl.explanation.impl.blackbox;
 public interface EntailmentCheckerFactory<E> {
 
     EntailmentChecker<E> createEntailementChecker(E entailment);
+
+    /**
+     * Releases any resources, such as threads, that the factory holds.  A factory belongs to whoever created it,
+     * and explanation generators never dispose of the factories in their configurations, so the creator should
+     * dispose of a factory once no more checkers are created from it and the checkers it created are no longer
+     * used.  Factories that wrap other factories pass this on to them.  The default implementation does nothing.
+     */
+    default void dispose() {
+    }
 }
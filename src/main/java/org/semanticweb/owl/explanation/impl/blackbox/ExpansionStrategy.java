@@ -47,5 +47,10 @@ public interface ExpansionStrategy<E> {
      */
     Set<OWLAxiom> doExpansion(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor);
 
+    /**
+     * Gets the number of steps, usually entailment checks, of the most recent expansion that was made on the
+     * calling thread.  A strategy may be used by several threads at once, so the count is kept per thread.
+     * @return The number of steps
+     */
     int getNumberOfSteps();
 }
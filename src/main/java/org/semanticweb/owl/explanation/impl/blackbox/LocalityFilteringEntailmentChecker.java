@@ -0,0 +1,231 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
+import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
+
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An entailment checker that proves non-entailment syntactically where it can, and only passes the other checks on
+ * to its delegate.
+ * <p>
+ * If every axiom of a set is bottom-local with respect to a seed signature, the set has an empty bottom module: any
+ * interpretation of the seed signature can be extended to a model of the set by interpreting every other entity as
+ * empty.  Such a set is disconnected from the entailment, and entails it only if the empty set does.  The seed
+ * signature is the seed signature of the delegate together with the signature of the subclass for a subclass
+ * entailment that has a named superclass, and with the whole signature of the entailment for any other
+ * entailment.  Whether the empty set entails the entailment is asked of the delegate once, when it is first needed.
+ * </p>
+ * <p>
+ * Contraction strategies often check sets of axioms that no longer mention the subclass of an entailment, such as
+ * one half of a set in {@link DivideAndConquerContractionStrategy}, and this checker answers these checks with one
+ * pass over the axioms.  The numbers of checks that were answered syntactically and that were passed on to the
+ * delegate are transmitted as telemetry when the checker is disposed of.
+ * </p>
+ * <p>
+ * The checker may be shared between threads if the delegate may be.
+ * </p>
+ */
+public class LocalityFilteringEntailmentChecker<E> implements EntailmentChecker<E> {
+
+    private final EntailmentChecker<E> delegate;
+
+    private final Set<OWLEntity> seedSignature;
+
+    /**
+     * Whether the empty set of axioms entails the entailment, or <code>null</code> if the delegate has not been
+     * asked yet.
+     */
+    private volatile Boolean entailedByEmptySet = null;
+
+    private final AtomicInteger filteredCount = new AtomicInteger();
+
+    private final AtomicInteger delegatedCount = new AtomicInteger();
+
+    public LocalityFilteringEntailmentChecker(EntailmentChecker<E> delegate) {
+        this.delegate = delegate;
+        this.seedSignature = new HashSet<>(delegate.getSeedSignature());
+        E entailment = delegate.getEntailment();
+        if (entailment instanceof OWLSubClassOfAxiom && ((OWLSubClassOfAxiom) entailment).getSuperClass().isOWLClass()) {
+            seedSignature.addAll(asSet(((OWLSubClassOfAxiom) entailment).getSubClass().signature()));
+        }
+        else {
+            seedSignature.addAll(delegate.getEntailmentSignature());
+        }
+    }
+
+    public EntailmentChecker<E> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the number of entailment checks that were answered without consulting the delegate.
+     * @return The number of avoided delegate checks
+     */
+    public int getFilteredCount() {
+        return filteredCount.get();
+    }
+
+    /**
+     * Gets the number of entailment checks that were passed on to the delegate.
+     * @return The number of delegated checks
+     */
+    public int getDelegatedCount() {
+        return delegatedCount.get();
+    }
+
+    @Override
+    public int getCounter() {
+        return delegate.getCounter();
+    }
+
+    @Override
+    public void resetCounter() {
+        delegate.resetCounter();
+    }
+
+    @Override
+    public E getEntailment() {
+        return delegate.getEntailment();
+    }
+
+    @Override
+    public Set<OWLEntity> getEntailmentSignature() {
+        return delegate.getEntailmentSignature();
+    }
+
+    @Override
+    public Set<OWLEntity> getSeedSignature() {
+        return delegate.getSeedSignature();
+    }
+
+    @Override
+    public boolean isEntailed(Set<OWLAxiom> axioms) {
+        if (isDisconnected(axioms) && !isEntailedByEmptySet()) {
+            filteredCount.incrementAndGet();
+            return false;
+        }
+        delegatedCount.incrementAndGet();
+        return delegate.isEntailed(axioms);
+    }
+
+    /**
+     * Answers the checks that can be answered syntactically, and passes the rest on to the delegate as one batch.
+     */
+    @Override
+    public BitSet isEntailed(List<Set<OWLAxiom>> axiomSets, boolean firstEntailedOnly) {
+        List<Integer> unknownIndexes = new ArrayList<>();
+        List<Set<OWLAxiom>> unknownSets = new ArrayList<>();
+        for (int i = 0; i < axiomSets.size(); i++) {
+            Set<OWLAxiom> axioms = axiomSets.get(i);
+            if (isDisconnected(axioms) && !isEntailedByEmptySet()) {
+                filteredCount.incrementAndGet();
+            }
+            else {
+                unknownIndexes.add(i);
+                unknownSets.add(axioms);
+            }
+        }
+        BitSet result = new BitSet(axiomSets.size());
+        if (unknownSets.isEmpty()) {
+            return result;
+        }
+        delegatedCount.addAndGet(unknownSets.size());
+        BitSet delegateResult = delegate.isEntailed(unknownSets, firstEntailedOnly);
+        for (int j = delegateResult.nextSetBit(0); j >= 0; j = delegateResult.nextSetBit(j + 1)) {
+            result.set(unknownIndexes.get(j));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
+        return delegate.getEntailingAxioms(axioms);
+    }
+
+    @Override
+    public Set<OWLAxiom> getModule(Set<OWLAxiom> axioms) {
+        return delegate.getModule(axioms);
+    }
+
+    @Override
+    public String getModularisationTypeDescription() {
+        return delegate.getModularisationTypeDescription();
+    }
+
+    @Override
+    public boolean isUseModularisation() {
+        return delegate.isUseModularisation();
+    }
+
+    @Override
+    public void dispose() {
+        TelemetryInfo info = new DefaultTelemetryInfo("entailmentcheckfilter");
+        TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        try {
+            transmitter.beginTransmission(info);
+            transmitter.recordMeasurement(info, "avoided checks", filteredCount.get());
+            transmitter.recordMeasurement(info, "delegated checks", delegatedCount.get());
+        }
+        finally {
+            transmitter.endTransmission(info);
+            delegate.dispose();
+        }
+    }
+
+    /**
+     * Determines whether every axiom in a set is bottom-local with respect to the seed signature, in which case the
+     * bottom module of the set for the seed signature is empty.
+     */
+    private boolean isDisconnected(Set<OWLAxiom> axioms) {
+        // The evaluator keeps state while it visits an axiom, so each check uses one of its own
+        SyntacticLocalityEvaluator evaluator = new SyntacticLocalityEvaluator(LocalityClass.BOTTOM_BOTTOM);
+        for (OWLAxiom ax : axioms) {
+            if (!evaluator.isLocal(ax, seedSignature)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isEntailedByEmptySet() {
+        Boolean entailed = entailedByEmptySet;
+        if (entailed == null) {
+            entailed = delegate.isEntailed(Collections.emptySet());
+            entailedByEmptySet = entailed;
+        }
+        return entailed;
+    }
+}
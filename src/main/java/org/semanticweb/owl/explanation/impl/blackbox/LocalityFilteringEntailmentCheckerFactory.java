@@ -0,0 +1,45 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A factory that wraps the checkers created by another factory in {@link LocalityFilteringEntailmentChecker}s.
+ */
+public class LocalityFilteringEntailmentCheckerFactory<E> implements EntailmentCheckerFactory<E> {
+
+    private final EntailmentCheckerFactory<E> delegate;
+
+    public LocalityFilteringEntailmentCheckerFactory(EntailmentCheckerFactory<E> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public EntailmentChecker<E> createEntailementChecker(E entailment) {
+        return new LocalityFilteringEntailmentChecker<>(delegate.createEntailementChecker(entailment));
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+}
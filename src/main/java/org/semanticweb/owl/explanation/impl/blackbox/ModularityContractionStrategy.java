@@ -37,7 +37,7 @@ import java.util.function.Supplier;
  */
 public class ModularityContractionStrategy<E> implements ContractionStrategy<E> {
 
-    private int count = 0;
+    private final StepCounter count = new StepCounter();
 
     private int windowSize;
 
@@ -51,7 +51,7 @@ public class ModularityContractionStrategy<E> implements ContractionStrategy<E>
 
     @Override
     public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
-        count = 0;
+        count.reset();
         windowSize = axioms.size() / 20;
         if (windowSize == 0) {
             windowSize = 1;
@@ -68,7 +68,7 @@ public class ModularityContractionStrategy<E> implements ContractionStrategy<E>
             if(!contraction.removeAll(picked)) {
                 continue;
             }
-            count++;
+            count.increment();
             if (!checker.isEntailed(contraction)) {
                 contraction.addAll(picked);
             }
@@ -92,7 +92,7 @@ public class ModularityContractionStrategy<E> implements ContractionStrategy<E>
         // Slow
         Set<OWLAxiom> contractionCopy = new HashSet<>(contraction);
         for (OWLAxiom ax : contractionCopy) {
-            count++;
+            count.increment();
             contraction.remove(ax);
             if (!checker.isEntailed(contraction)) {
                 contraction.add(ax);
@@ -103,7 +103,7 @@ public class ModularityContractionStrategy<E> implements ContractionStrategy<E>
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
     }
 
     private Set<OWLAxiom> computeModule(Set<OWLAxiom> contraction, EntailmentChecker<E> checker) {
@@ -35,27 +35,19 @@ import java.util.Set;/*
  */
 public class OrderedAxiomWithWindowContractionStrategy<E> implements ContractionStrategy<E> {
 
-    private Object lastEntailment;
-
-    private Set<OWLAxiom> lastJustification;
-
-    private int count = 0;
+    private final StepCounter count = new StepCounter();
 
 
     public OrderedAxiomWithWindowContractionStrategy() {
-        lastJustification = new HashSet<>();
     }
 
     @Override
     public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
 
-        count = 0;
+        count.reset();
         int windowSize = 10;
 
         List<OWLAxiom> orderedAxioms = new ArrayList<>(axioms);
-        if(!checker.getEntailment().equals(lastEntailment)) {
-            lastJustification.clear();
-        }
 
         int windowCount = orderedAxioms.size() / windowSize;
         Set<OWLAxiom> contraction = new HashSet<>(axioms);
@@ -65,7 +57,7 @@ public class OrderedAxiomWithWindowContractionStrategy<E> implements Contraction
             int end = start + windowSize;
             List<OWLAxiom> cur = orderedAxioms.subList(start, end);
             contraction.removeAll(cur);
-            count++;
+            count.increment();
             if(!checker.isEntailed(contraction)) {
                 contraction.addAll(cur);
             }
@@ -78,19 +70,17 @@ public class OrderedAxiomWithWindowContractionStrategy<E> implements Contraction
         Set<OWLAxiom> contractionCopy = new HashSet<>(contraction);
         for(OWLAxiom ax : contractionCopy) {
             contraction.remove(ax);
-            count++;
+            count.increment();
             if(!checker.isEntailed(contraction)) {
                 contraction.add(ax);
             }
         }
 
-        lastEntailment = checker.getEntailment();
-        lastJustification.clear();
         return contraction;
     }
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
     }
 }
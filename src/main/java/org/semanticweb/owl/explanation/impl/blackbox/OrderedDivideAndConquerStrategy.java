@@ -2,19 +2,26 @@ package org.semanticweb.owl.explanation.impl.blackbox;
 
 import org.semanticweb.owl.explanation.api.ExplanationProgressMonitor;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.util.AxiomSubjectProviderEx;
 
-import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Author: Matthew Horridge<br>
  * The University of Manchester<br>
  * Bio-Health Informatics Group<br>
  * Date: 13/01/2011
+ * <p>
+ * A divide and conquer contraction strategy that orders the axioms before they are halved, so that the axioms
+ * that are likely to be in the justification are next to each other at the start of the list.  The axioms are
+ * ranked by their signature distance from the entailment: axioms that mention an entity in the signature of the
+ * entailment are at distance 0, axioms that mention an entity of those axioms are at distance 1, and so on, with
+ * axioms that cannot be reached last.  Built in entities do not connect axioms.  Axioms with the same subject are
+ * kept together, and the groups are ordered by their nearest axiom.  The first half of the list then holds the
+ * nearby axioms, and the halves of far away axioms are dropped with the first checks.
+ * </p>
  */
 public class OrderedDivideAndConquerStrategy<E> implements ContractionStrategy<E> {
 
@@ -22,14 +29,64 @@ public class OrderedDivideAndConquerStrategy<E> implements ContractionStrategy<E
 
     @Override
     public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
+        return delegate.doPruning(getOrderedAxioms(axioms, checker.getEntailmentSignature()), checker, progressMonitor);
+    }
+
+    @Override
+    public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ContractionHints hints, ExplanationProgressMonitor<?> progressMonitor) {
+        return delegate.doPruning(getOrderedAxioms(axioms, checker.getEntailmentSignature()), checker, hints, progressMonitor);
+    }
+
+    /**
+     * Orders axioms by their signature distance from a signature, keeping axioms with the same subject together.
+     * @param axioms The axioms
+     * @param signature The signature, normally the signature of the entailment
+     * @return The ordered axioms
+     */
+    public static LinkedHashSet<OWLAxiom> getOrderedAxioms(Set<OWLAxiom> axioms, Set<OWLEntity> signature) {
+        Map<OWLAxiom, Integer> distances = getSignatureDistances(axioms, signature);
+        List<OWLAxiom> axiomsByDistance = new ArrayList<>(axioms);
+        axiomsByDistance.sort(Comparator.comparing(ax -> distances.getOrDefault(ax, Integer.MAX_VALUE)));
+        Map<OWLObject, List<OWLAxiom>> axiomsBySubject = new LinkedHashMap<>();
+        for(OWLAxiom ax : axiomsByDistance) {
+            OWLObject subject = AxiomSubjectProviderEx.getSubject(ax);
+            axiomsBySubject.computeIfAbsent(subject, s -> new ArrayList<>()).add(ax);
+        }
         LinkedHashSet<OWLAxiom> orderedAxioms = new LinkedHashSet<>();
-        Map<OWLObject, Set<OWLAxiom>> axiomsBySubject = new HashMap<>();
+        for(List<OWLAxiom> subjectAxioms : axiomsBySubject.values()) {
+            orderedAxioms.addAll(subjectAxioms);
+        }
+        return orderedAxioms;
+    }
+
+    /**
+     * Gets the signature distance of each axiom that can be reached from a signature, by a breadth first search
+     * over the entities that axioms share.
+     */
+    private static Map<OWLAxiom, Integer> getSignatureDistances(Set<OWLAxiom> axioms, Set<OWLEntity> signature) {
+        Map<OWLEntity, List<OWLAxiom>> axiomsByEntity = new HashMap<>();
         for(OWLAxiom ax : axioms) {
-            OWLObject object = AxiomSubjectProviderEx.getSubject(ax);
-            Set<OWLAxiom> axiomsSet = axiomsBySubject.get(object);
-            axiomsBySubject.put(object, axiomsSet);
+            ax.signature()
+                    .filter(entity -> !entity.isBuiltIn())
+                    .forEach(entity -> axiomsByEntity.computeIfAbsent(entity, e -> new ArrayList<>()).add(ax));
+        }
+        Map<OWLAxiom, Integer> distances = new HashMap<>();
+        Set<OWLEntity> reachedEntities = new HashSet<>(signature);
+        List<OWLEntity> frontier = new ArrayList<>(signature);
+        for(int distance = 0; !frontier.isEmpty(); distance++) {
+            List<OWLEntity> nextFrontier = new ArrayList<>();
+            for(OWLEntity entity : frontier) {
+                for(OWLAxiom ax : axiomsByEntity.getOrDefault(entity, Collections.emptyList())) {
+                    if(distances.putIfAbsent(ax, distance) == null) {
+                        ax.signature()
+                                .filter(e -> !e.isBuiltIn() && reachedEntities.add(e))
+                                .forEach(nextFrontier::add);
+                    }
+                }
+            }
+            frontier = nextFrontier;
         }
-        return delegate.doPruning(orderedAxioms, checker, progressMonitor);
+        return distances;
     }
 
     @Override
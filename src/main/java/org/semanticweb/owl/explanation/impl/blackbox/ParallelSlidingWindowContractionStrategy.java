@@ -0,0 +1,100 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import org.semanticweb.owl.explanation.api.ExplanationProgressMonitor;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A sliding window contraction strategy that checks the removal of several windows at once.
+ * <p>
+ * The windows, and then the single axioms, are removed as by {@link SlidingWindowContractionStrategy}, but each
+ * batch of windows is checked with one batch check, which a {@link ConcurrentEntailmentChecker} spreads over its
+ * worker checkers.  The sets of a batch assume that the earlier windows of the batch can be removed, and the
+ * results are committed in window order, so the contraction is the same as with the sequential strategy, see
+ * {@link WindowRemoval#removeWindowsSpeculatively(java.util.Set, java.util.List, EntailmentChecker, int)}.
+ * </p>
+ * <p>
+ * This pays off when most windows can be removed, as for a large expansion around a small justification: a whole
+ * batch of windows is then settled in about the time of one check.  Each window that cannot be removed wastes the
+ * checks of the windows after it in its batch, so when most windows cannot be removed the strategy makes up to
+ * <code>parallelism</code> times as many checks as the sequential strategy, for little gain in time.  With a
+ * checker that does not check batches concurrently there is no gain in time at all, and only the extra checks.
+ * </p>
+ */
+public class ParallelSlidingWindowContractionStrategy<E> implements ContractionStrategy<E> {
+
+    private final int windowSize;
+
+    private final int parallelism;
+
+    private final StepCounter count = new StepCounter();
+
+    public ParallelSlidingWindowContractionStrategy() {
+        this(20, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param windowSize The number of axioms in each window
+     * @param parallelism The number of windows whose removal is checked at once, which should be the parallelism of
+     * the entailment checker.  Must be at least 1.
+     */
+    public ParallelSlidingWindowContractionStrategy(int windowSize, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+        this.windowSize = windowSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
+        count.reset();
+        List<OWLAxiom> axiomList = new ArrayList<>(axioms);
+        int windowCount = axiomList.size() / windowSize;
+        Set<OWLAxiom> contraction = new HashSet<>(axioms);
+
+        List<List<OWLAxiom>> windows = new ArrayList<>(windowCount);
+        for(int windowIndex = 0; windowIndex < windowCount; windowIndex++) {
+            int start = windowIndex * windowSize;
+            int end = start + windowSize;
+            windows.add(axiomList.subList(start, end));
+        }
+        count.add(WindowRemoval.removeWindowsSpeculatively(contraction, windows, checker, parallelism));
+
+        // Slow
+        count.add(WindowRemoval.removeAxiomsSpeculatively(contraction, checker, parallelism));
+
+        return contraction;
+    }
+
+    @Override
+    public int getNumberOfSteps() {
+        return count.get();
+    }
+}
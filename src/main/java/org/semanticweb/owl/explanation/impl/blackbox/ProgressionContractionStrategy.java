@@ -0,0 +1,159 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owl.explanation.api.ExplanationProgressMonitor;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A contraction strategy that finds the axioms of a justification one at a time, each with a number of entailment
+ * checks that is logarithmic in the number of axioms that are left.
+ * <p>
+ * The axioms are put in an array, and the candidates are a prefix of it.  While the necessary axioms that have been
+ * found together with all of the candidates entail the entailment, the shortest prefix of the candidates that
+ * still entails it together with the necessary axioms is searched for: the prefixes of length 0, 1, 2, 4, 8 and so
+ * on are checked as one batch until one of them entails the entailment, and the length is then narrowed down by
+ * bisection.  The last axiom of the shortest prefix is necessary, the candidates after it can be dropped, and the
+ * candidates before it are searched next.  The contraction is finished when the necessary axioms entail the
+ * entailment on their own.  A justification of k axioms inside n axioms is therefore found with about 2k log n
+ * checks, rather than with the n checks of removing one axiom at a time.  The prefixes are index ranges of the
+ * array, so only the set of axioms for each check is created.
+ * </p>
+ * <p>
+ * The strategy uses {@link ContractionHints}: necessary axioms are not searched for, and relevant axioms are
+ * searched first.
+ * </p>
+ */
+public class ProgressionContractionStrategy<E> implements ContractionStrategy<E> {
+
+    private final StepCounter count = new StepCounter();
+
+    @Override
+    public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
+        return doPruning(axioms, checker, ContractionHints.getEmptyHints(), progressMonitor);
+    }
+
+    /**
+     * Contracts a set of axioms.  The necessary axioms of the hints start off as known to be necessary, and the
+     * relevant axioms are put at the start of the candidates, so that the prefixes that are searched are short when
+     * the justification is made up of relevant axioms.
+     */
+    @Override
+    public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ContractionHints hints, ExplanationProgressMonitor<?> progressMonitor) {
+        count.reset();
+        Set<OWLAxiom> necessaryAxioms = new HashSet<>();
+        OWLAxiom[] candidates = new OWLAxiom[axioms.size()];
+        int candidateCount = 0;
+        for (OWLAxiom ax : axioms) {
+            if (hints.getNecessaryAxioms().contains(ax)) {
+                necessaryAxioms.add(ax);
+            }
+            else if (hints.getRelevantAxioms().contains(ax)) {
+                candidates[candidateCount++] = ax;
+            }
+        }
+        for (OWLAxiom ax : axioms) {
+            if (!hints.getNecessaryAxioms().contains(ax) && !hints.getRelevantAxioms().contains(ax)) {
+                candidates[candidateCount++] = ax;
+            }
+        }
+        while (candidateCount > 0) {
+            if (progressMonitor.isCancelled()) {
+                throw new ExplanationGeneratorInterruptedException();
+            }
+            int prefixLength = getShortestEntailingPrefixLength(candidates, candidateCount, necessaryAxioms, checker);
+            if (prefixLength == 0) {
+                break;
+            }
+            necessaryAxioms.add(candidates[prefixLength - 1]);
+            candidateCount = prefixLength - 1;
+        }
+        return necessaryAxioms;
+    }
+
+    /**
+     * Gets the length of the shortest prefix of the candidates that entails the entailment together with the
+     * necessary axioms.  The necessary axioms together with all of the candidates must entail the entailment.
+     * @param candidates The array of candidates
+     * @param candidateCount The number of candidates, which are at the start of the array
+     * @param necessaryAxioms The axioms that are known to be necessary
+     * @param checker The entailment checker
+     * @return The length of the shortest prefix, which is 0 if the necessary axioms entail the entailment
+     */
+    private int getShortestEntailingPrefixLength(OWLAxiom[] candidates, int candidateCount, Set<OWLAxiom> necessaryAxioms, EntailmentChecker<E> checker) {
+        // Progression: 0, 1, 2, 4... up to, but not including, all of the candidates, which are known to entail
+        List<Integer> lengths = new ArrayList<>();
+        for (int length = 0; length < candidateCount; length = length == 0 ? 1 : length * 2) {
+            lengths.add(length);
+        }
+        List<Set<OWLAxiom>> probes = new ArrayList<>(lengths.size());
+        for (int length : lengths) {
+            probes.add(getPrefix(candidates, length, necessaryAxioms));
+        }
+        int firstEntailed = checker.isEntailed(probes, true).nextSetBit(0);
+        int lower;
+        int upper;
+        if (firstEntailed == -1) {
+            count.add(probes.size());
+            lower = lengths.get(lengths.size() - 1);
+            upper = candidateCount;
+        }
+        else {
+            count.add(firstEntailed + 1);
+            if (firstEntailed == 0) {
+                return 0;
+            }
+            lower = lengths.get(firstEntailed - 1);
+            upper = lengths.get(firstEntailed);
+        }
+        // The prefix of length lower does not entail the entailment, and the prefix of length upper does
+        while (upper - lower > 1) {
+            int middle = (lower + upper) >>> 1;
+            count.increment();
+            if (checker.isEntailed(getPrefix(candidates, middle, necessaryAxioms))) {
+                upper = middle;
+            }
+            else {
+                lower = middle;
+            }
+        }
+        return upper;
+    }
+
+    private static Set<OWLAxiom> getPrefix(OWLAxiom[] candidates, int length, Set<OWLAxiom> necessaryAxioms) {
+        Set<OWLAxiom> prefix = new HashSet<>((int) ((length + necessaryAxioms.size()) * 1.3) + 1);
+        prefix.addAll(necessaryAxioms);
+        for (int i = 0; i < length; i++) {
+            prefix.add(candidates[i]);
+        }
+        return prefix;
+    }
+
+    @Override
+    public int getNumberOfSteps() {
+        return count.get();
+    }
+}
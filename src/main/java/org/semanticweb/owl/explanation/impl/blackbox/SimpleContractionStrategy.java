@@ -35,15 +35,15 @@ import java.util.Set;
  */
 public class SimpleContractionStrategy<E> implements ContractionStrategy<E> {
 
-    private int count = 0;
+    private final StepCounter count = new StepCounter();
 
     @Override
     public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
-        count = 0;
+        count.reset();
         Set<OWLAxiom> contraction = new HashSet<>(axioms);
         for(OWLAxiom ax : axioms) {
             contraction.remove(ax);
-            count++;
+            count.increment();
             if(!checker.isEntailed(contraction)) {
                 contraction.add(ax);
             }
@@ -53,6 +53,6 @@ public class SimpleContractionStrategy<E> implements ContractionStrategy<E> {
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
     }
 }
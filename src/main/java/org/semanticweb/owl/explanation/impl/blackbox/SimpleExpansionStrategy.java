@@ -39,15 +39,15 @@ import java.util.Set;
  */
 public class SimpleExpansionStrategy<E> implements ExpansionStrategy<E> {
 
-    private int count = 0;
+    private final StepCounter count = new StepCounter();
 
     @Override
     public Set<OWLAxiom> doExpansion(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
-        count = 0;
+        count.reset();
         Set<OWLAxiom> expansion = new HashSet<>();
         for(OWLAxiom ax : axioms) {
             expansion.add(ax);
-            count++;
+            count.increment();
             if(checker.isEntailed(expansion)) {
                 return expansion;
             }
@@ -57,6 +57,6 @@ public class SimpleExpansionStrategy<E> implements ExpansionStrategy<E> {
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
     }
 }
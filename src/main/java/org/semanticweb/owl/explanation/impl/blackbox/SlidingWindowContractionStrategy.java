@@ -41,7 +41,7 @@ public class SlidingWindowContractionStrategy<E> implements ContractionStrategy<
 
     final private int windowSize;
 
-    private int count;
+    private final StepCounter count = new StepCounter();
 
     public SlidingWindowContractionStrategy() {
         windowSize = 20;
@@ -57,38 +57,28 @@ public class SlidingWindowContractionStrategy<E> implements ContractionStrategy<
 
     @Override
     public Set<OWLAxiom> doPruning(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
-        count = 0;
+        count.reset();
         List<OWLAxiom> axiomList = new ArrayList<>(axioms);
         int windowCount = axiomList.size() / windowSize;
         Set<OWLAxiom> contraction = new HashSet<>(axioms);
         
+        List<List<OWLAxiom>> windows = new ArrayList<>(windowCount);
         for(int windowIndex = 0; windowIndex < windowCount; windowIndex++) {
             int start = windowIndex * windowSize;
             int end = start + windowSize;
-            List<OWLAxiom> cur = axiomList.subList(start, end);
-            contraction.removeAll(cur);
-            count++;
-            if(!checker.isEntailed(contraction)) {
-                contraction.addAll(cur);
-            }
+            windows.add(axiomList.subList(start, end));
         }
+        count.add(WindowRemoval.removeWindows(contraction, windows, checker));
 
 
         // Slow
-        Set<OWLAxiom> contractionCopy = new HashSet<>(contraction);
-        for(OWLAxiom ax : contractionCopy) {
-            contraction.remove(ax);
-            count++;
-            if(!checker.isEntailed(contraction)) {
-                contraction.add(ax);
-            }
-        }
+        count.add(WindowRemoval.removeAxioms(contraction, checker));
 
         return contraction;
     }
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
     }
 }
@@ -0,0 +1,58 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * Counts the steps of the most recent call of an expansion or contraction strategy separately for each thread.
+ * <p>
+ * The strategies of a generator are shared by all of its calls, which may run at the same time on different
+ * threads.  Each call runs a strategy on one thread from start to finish, and the generator asks for the number of
+ * steps on that thread straight after the call, so keeping the count per thread gives each call its own count.
+ * </p>
+ */
+final class StepCounter {
+
+    private final ThreadLocal<int[]> count = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Starts counting the steps of a new call on the current thread.
+     */
+    void reset() {
+        count.get()[0] = 0;
+    }
+
+    void increment() {
+        count.get()[0]++;
+    }
+
+    void add(int steps) {
+        count.get()[0] += steps;
+    }
+
+    /**
+     * Gets the number of steps of the most recent call on the current thread.
+     */
+    int get() {
+        return count.get()[0];
+    }
+}
@@ -40,7 +40,7 @@ import java.util.function.Supplier;
  */
 public class StructuralExpansionStrategy<E> implements ExpansionStrategy<E> {
 
-    private int count = 0;
+    private final StepCounter count = new StepCounter();
     private Supplier<OWLOntologyManager> m;
 
     public StructuralExpansionStrategy(Supplier<OWLOntologyManager> m) {
@@ -50,7 +50,7 @@ public class StructuralExpansionStrategy<E> implements ExpansionStrategy<E> {
     @Override
     public Set<OWLAxiom> doExpansion(final Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
 
-        count = 0;
+        count.reset();
         try {
             OWLOntology ont = m.get().createOntology(axioms);
 
@@ -61,7 +61,7 @@ public class StructuralExpansionStrategy<E> implements ExpansionStrategy<E> {
             entailmentSignature.forEach(ent->add(expansion, ont.referencingAxioms(ent)));
 
             while (true) {
-                count++;
+                count.increment();
                 if (checker.isEntailed(expansion)) {
                     return expansion;
                 }
@@ -83,6 +83,6 @@ public class StructuralExpansionStrategy<E> implements ExpansionStrategy<E> {
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
     }
 }
@@ -10,6 +10,7 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 /*
  * Copyright (C) 2008, University of Manchester
@@ -43,131 +44,73 @@ import java.util.stream.Stream;
  */
 public class StructuralTypePriorityExpansionStrategy<E> implements ExpansionStrategy<E> {
 
-    private int count = 0;
+    /**
+     * The number of stages of the expansion that are checked in one batch.
+     */
+    private static final int BATCH_SIZE = 4;
+
+    private final StepCounter count = new StepCounter();
 
     private InitialEntailmentCheckStrategy initialEntailmentCheckStrategy = InitialEntailmentCheckStrategy.PERFORM;
 
     private Supplier<OWLOntologyManager> m;
 
     public StructuralTypePriorityExpansionStrategy(InitialEntailmentCheckStrategy initialEntailmentCheckStrategy, Supplier<OWLOntologyManager> m) {
-        this.initialEntailmentCheckStrategy = initialEntailmentCheckStrategy;
+        if (initialEntailmentCheckStrategy != null) {
+            this.initialEntailmentCheckStrategy = initialEntailmentCheckStrategy;
+        }
         this.m = m;
     }
 
     @Override
     public Set<OWLAxiom> doExpansion(Set<OWLAxiom> axioms, EntailmentChecker<E> checker, ExplanationProgressMonitor<?> progressMonitor) {
 
-        Set<OWLAxiom> expansion;
         try {
-            count = 0;
+            count.reset();
 
             if(progressMonitor.isCancelled()) {
                 throw new ExplanationGeneratorInterruptedException();
             }
 
-            count++;
+            count.increment();
             if (initialEntailmentCheckStrategy.equals(InitialEntailmentCheckStrategy.PERFORM)
                     && !checker.isEntailed(axioms)) {
                 return Collections.emptySet();
             }
 
             OWLOntology ont = m.get().createOntology(axioms);
+            ExpansionStages stages = new ExpansionStages(ont, checker.getEntailmentSignature());
 
-            expansion = new HashSet<>();
-            Set<OWLEntity> entailmentSignature = checker.getEntailmentSignature();
-            EntityFilteredDefinitionExpander expander = new EntityFilteredDefinitionExpander(ont);
-            Set<OWLEntity> expandedWithDefinition = new HashSet<>();
-            Set<OWLAxiom> addedAxioms = new HashSet<>();
-            OWLDataFactory df = ont.getOWLOntologyManager().getOWLDataFactory();
-            for(OWLEntity ent : entailmentSignature) {
-                OWLDeclarationAxiom declAx = df.getOWLDeclarationAxiom(ent);
-                expansion.add(declAx);
-                addedAxioms.add(declAx);
-            }
-
-
-//        // Initial expansion
-            for (OWLEntity ent : entailmentSignature) {
-                expandedWithDefinition.add(ent);
-                add(expansion, ent.accept(expander));
-            }
-            int size = 0;
-            Set<OWLDisjointClassesAxiom> disjointClassesAxioms = new HashSet<>();
-            Set<OWLEntity> expansionSig = new HashSet<>();
-            while (size != expansion.size()) {
+            // The stages do not depend on the outcome of the checks of earlier stages, so several stages are
+            // checked as a batch, and the first one that entails the entailment is used.
+            while (true) {
                 if(progressMonitor.isCancelled()) {
                     return Collections.emptySet();
                 }
-                size = expansion.size();
-
-                // Add in
-                Set<OWLAxiom> combined = new HashSet<>(disjointClassesAxioms.size() + expansion.size() + 50);
-                combined.addAll(expansion);
-                for(OWLDisjointClassesAxiom disjointAx : disjointClassesAxioms) {
-                    for(OWLClassExpression desc : asList(disjointAx.classExpressions())) {
-                        if(desc.isAnonymous()) {
-                            combined.add(disjointAx);
-                            break;
-                        }
-                        else {
-                            if(!expansionSig.contains(desc.asOWLClass())) {
-                                break;
-                            }
-                        }
-                        combined.add(disjointAx);
+                List<Set<OWLAxiom>> batch = new ArrayList<>(BATCH_SIZE);
+                while (batch.size() < BATCH_SIZE) {
+                    Set<OWLAxiom> stage = stages.next();
+                    if (stage == null) {
+                        break;
                     }
+                    batch.add(stage);
                 }
-                count++;
-                if (checker.isEntailed(combined)) {
-                    Set<OWLAxiom> result = new HashSet<>(checker.getEntailingAxioms(combined));
-                    result.removeAll(addedAxioms);
-                    return result;
-                }
-                // Expand more
-
-                for (OWLAxiom ax : new ArrayList<>(expansion)) {
-                    ax.signature().forEach(ent-> {
-                        if (!expandedWithDefinition.contains(ent)) {
-                            ent.accept(expander).forEach(expAx -> dealWithDisjoints(expansion, disjointClassesAxioms, expansionSig, expAx));
-                            expandedWithDefinition.add(ent);
-                        }
-                    });
-                }
-            }
-            for(OWLEntity ent : expansionSig) {
-                if (ent.isOWLClass()) {
-                    add(expansion, ont.disjointClassesAxioms(ent.asOWLClass()));
-                }
-            }
-            count++;
-            if(checker.isEntailed(expansion)) {
-                Set<OWLAxiom> result = new HashSet<>(checker.getEntailingAxioms(expansion));
-                result.removeAll(addedAxioms);
-                return result;
-            }
-            // Not worked ... now we fall back
-            // TODO: Optimise more
-            while (!expansion.containsAll(asList(ont.logicalAxioms()))) {
-                if(progressMonitor.isCancelled()) {
-                    return Collections.emptySet();
+                if (batch.isEmpty()) {
+                    return stages.expansion;
                 }
-                // Expand more
-                for (OWLAxiom ax : new ArrayList<>(expansion)) {
-                    ax.signature()
-                        .forEach(ent -> add(expansion, ont.referencingAxioms(ent)));
-                }
-                count++;
-                if (checker.isEntailed(expansion)) {
-                    Set<OWLAxiom> result = new HashSet<>(checker.getEntailingAxioms(expansion));
-                    result.removeAll(addedAxioms);
+                int firstEntailed = checker.isEntailed(batch, true).nextSetBit(0);
+                if (firstEntailed != -1) {
+                    count.add(firstEntailed + 1);
+                    Set<OWLAxiom> result = new HashSet<>(checker.getEntailingAxioms(batch.get(firstEntailed)));
+                    result.removeAll(stages.addedAxioms);
                     return result;
                 }
+                count.add(batch.size());
             }
         }
         catch (OWLOntologyCreationException e) {
             throw new RuntimeException(e);
         }
-        return expansion;
     }
 
     protected void dealWithDisjoints(Set<OWLAxiom> expansion,Set<OWLDisjointClassesAxiom> disjointClassesAxioms,Set<OWLEntity> expansionSig, OWLAxiom expAx) {
@@ -183,7 +126,109 @@ public class StructuralTypePriorityExpansionStrategy<E> implements ExpansionStra
 
     @Override
     public int getNumberOfSteps() {
-        return count;
+        return count.get();
+    }
+
+    /**
+     * Generates the sets of axioms that are checked, in order.  Class definitions are added first, with disjoint
+     * classes axioms held back until all of their classes are in the expansion.  Once definitions no longer add
+     * anything, the held back disjoint classes axioms are added, and after that all axioms that reference the
+     * signature of the expansion are added at each stage.
+     */
+    private class ExpansionStages {
+
+        private final OWLOntology ont;
+
+        private final List<OWLLogicalAxiom> logicalAxioms;
+
+        private final EntityFilteredDefinitionExpander expander;
+
+        private final Set<OWLAxiom> expansion = new HashSet<>();
+
+        private final Set<OWLAxiom> addedAxioms = new HashSet<>();
+
+        private final Set<OWLEntity> expandedWithDefinition = new HashSet<>();
+
+        private final Set<OWLDisjointClassesAxiom> disjointClassesAxioms = new HashSet<>();
+
+        private final Set<OWLEntity> expansionSig = new HashSet<>();
+
+        private boolean expandingDefinitions = true;
+
+        private int size = 0;
+
+        public ExpansionStages(OWLOntology ont, Set<OWLEntity> entailmentSignature) {
+            this.ont = ont;
+            this.logicalAxioms = asList(ont.logicalAxioms());
+            this.expander = new EntityFilteredDefinitionExpander(ont);
+            OWLDataFactory df = ont.getOWLOntologyManager().getOWLDataFactory();
+            for(OWLEntity ent : entailmentSignature) {
+                OWLDeclarationAxiom declAx = df.getOWLDeclarationAxiom(ent);
+                expansion.add(declAx);
+                addedAxioms.add(declAx);
+            }
+            // Initial expansion
+            for (OWLEntity ent : entailmentSignature) {
+                expandedWithDefinition.add(ent);
+                add(expansion, ent.accept(expander));
+            }
+        }
+
+        /**
+         * Gets the next set of axioms to check.
+         * @return The set of axioms, or <code>null</code> if every axiom has been added
+         */
+        public Set<OWLAxiom> next() {
+            if (expandingDefinitions) {
+                if (size != expansion.size()) {
+                    size = expansion.size();
+                    // Add in
+                    Set<OWLAxiom> combined = new HashSet<>(disjointClassesAxioms.size() + expansion.size() + 50);
+                    combined.addAll(expansion);
+                    for(OWLDisjointClassesAxiom disjointAx : disjointClassesAxioms) {
+                        for(OWLClassExpression desc : asList(disjointAx.classExpressions())) {
+                            if(desc.isAnonymous()) {
+                                combined.add(disjointAx);
+                                break;
+                            }
+                            else {
+                                if(!expansionSig.contains(desc.asOWLClass())) {
+                                    break;
+                                }
+                            }
+                            combined.add(disjointAx);
+                        }
+                    }
+                    // Expand more
+                    for (OWLAxiom ax : new ArrayList<>(expansion)) {
+                        ax.signature().forEach(ent-> {
+                            if (!expandedWithDefinition.contains(ent)) {
+                                ent.accept(expander).forEach(expAx -> dealWithDisjoints(expansion, disjointClassesAxioms, expansionSig, expAx));
+                                expandedWithDefinition.add(ent);
+                            }
+                        });
+                    }
+                    return combined;
+                }
+                expandingDefinitions = false;
+                for(OWLEntity ent : expansionSig) {
+                    if (ent.isOWLClass()) {
+                        add(expansion, ont.disjointClassesAxioms(ent.asOWLClass()));
+                    }
+                }
+                return new HashSet<>(expansion);
+            }
+            // Not worked ... now we fall back
+            if (expansion.containsAll(logicalAxioms)) {
+                return null;
+            }
+            // Expand more
+            for (OWLAxiom ax : new ArrayList<>(expansion)) {
+                ax.signature()
+                    .forEach(ent -> add(expansion, ont.referencingAxioms(ent)));
+            }
+            return new HashSet<>(expansion);
+        }
     }
 
     private class EntityFilteredDefinitionExpander implements OWLEntityVisitorEx<Stream<? extends OWLAxiom>> {
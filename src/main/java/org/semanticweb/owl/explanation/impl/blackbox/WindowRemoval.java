@@ -0,0 +1,158 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * Removes windows of axioms from a set of axioms for as long as the set still entails the entailment, using batches
+ * of entailment checks.
+ * <p>
+ * Removing the windows one after another, and putting a window back if the entailment is lost, can be done in
+ * batches: the sets without each of the next few windows are checked as one batch, and only the first set that
+ * still entails the entailment is needed.  The windows before it cannot be removed, and because entailment is
+ * monotonic they cannot be removed after any later window has been removed either.  The result, and the number of
+ * steps, is therefore the same as when the windows are removed one at a time.
+ * </p>
+ */
+final class WindowRemoval {
+
+    /**
+     * The number of windows that are checked in one batch.
+     */
+    private static final int BATCH_SIZE = 8;
+
+    private WindowRemoval() {
+    }
+
+    /**
+     * Removes the windows that can be removed.
+     * @param contraction The set of axioms to remove the windows from.  This is modified.
+     * @param windows The windows, in the order in which they should be tried
+     * @param checker The entailment checker
+     * @return The number of steps, which is the number of windows whose removal was tried
+     */
+    public static <E> int removeWindows(Set<OWLAxiom> contraction, List<? extends Collection<OWLAxiom>> windows, EntailmentChecker<E> checker) {
+        int steps = 0;
+        int next = 0;
+        while (next < windows.size()) {
+            int batchEnd = Math.min(next + BATCH_SIZE, windows.size());
+            List<Set<OWLAxiom>> candidates = new ArrayList<>(batchEnd - next);
+            for (int i = next; i < batchEnd; i++) {
+                Set<OWLAxiom> candidate = new HashSet<>(contraction);
+                candidate.removeAll(windows.get(i));
+                candidates.add(candidate);
+            }
+            int firstEntailed = checker.isEntailed(candidates, true).nextSetBit(0);
+            if (firstEntailed == -1) {
+                steps += candidates.size();
+                next = batchEnd;
+            }
+            else {
+                steps += firstEntailed + 1;
+                contraction.removeAll(windows.get(next + firstEntailed));
+                next += firstEntailed + 1;
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Removes the windows that can be removed, checking the removal of several windows at once.  Each batch is
+     * checked in full, so that a {@link ConcurrentEntailmentChecker} can check all of its sets at the same time.
+     * The checks of a batch speculate that the earlier windows of the batch can all be removed: the i-th set of the
+     * batch is the contraction without the first i windows.  These sets get smaller along the batch, so because
+     * entailment is monotonic the sets that keep the entailment come first.  If the first j sets keep the
+     * entailment, the first j windows are removed, which is what removing them one at a time would have done, and
+     * window j + 1 cannot be removed.  The checks of the windows after it assumed that window j + 1 would be
+     * removed, so those windows are checked again in the next batch.  The result is therefore the same as when the
+     * windows are removed one at a time.
+     * <p>
+     * When most windows can be removed, as is usual for the output of an expansion, each batch settles all of its
+     * windows, so the batches take about as long as single checks and no more checks are made than one at a time.
+     * Each window that cannot be removed throws away the checks of the rest of its batch though, so when few windows
+     * can be removed this makes up to <code>batchSize</code> times as many checks as removing them one at a time,
+     * and only gains time if the checker checks the sets of a batch concurrently.
+     * </p>
+     * @param contraction The set of axioms to remove the windows from.  This is modified.
+     * @param windows The windows, in the order in which they should be tried
+     * @param checker The entailment checker
+     * @param batchSize The number of windows that are checked at once
+     * @return The number of steps, which is the number of checks that were made
+     */
+    public static <E> int removeWindowsSpeculatively(Set<OWLAxiom> contraction, List<? extends Collection<OWLAxiom>> windows, EntailmentChecker<E> checker, int batchSize) {
+        int steps = 0;
+        int next = 0;
+        while (next < windows.size()) {
+            int batchEnd = Math.min(next + batchSize, windows.size());
+            List<Set<OWLAxiom>> candidates = new ArrayList<>(batchEnd - next);
+            Set<OWLAxiom> candidate = new HashSet<>(contraction);
+            for (int i = next; i < batchEnd; i++) {
+                candidate.removeAll(windows.get(i));
+                candidates.add(new HashSet<>(candidate));
+            }
+            BitSet entailed = checker.isEntailed(candidates, false);
+            steps += candidates.size();
+            int removable = entailed.nextClearBit(0);
+            for (int i = 0; i < removable; i++) {
+                contraction.removeAll(windows.get(next + i));
+            }
+            // The window after the removable ones cannot be removed, and the checks of the windows after it are
+            // invalid
+            next += Math.min(removable + 1, candidates.size());
+        }
+        return steps;
+    }
+
+    /**
+     * Removes the single axioms that can be removed, in the iteration order of the set.
+     * @param contraction The set of axioms.  This is modified.
+     * @param checker The entailment checker
+     * @return The number of steps
+     */
+    public static <E> int removeAxioms(Set<OWLAxiom> contraction, EntailmentChecker<E> checker) {
+        List<Set<OWLAxiom>> windows = new ArrayList<>(contraction.size());
+        for (OWLAxiom ax : contraction) {
+            windows.add(Collections.singleton(ax));
+        }
+        return removeWindows(contraction, windows, checker);
+    }
+
+    /**
+     * Removes the single axioms that can be removed, in the iteration order of the set, checking the removal of
+     * several axioms at once.  See {@link #removeWindowsSpeculatively(Set, List, EntailmentChecker, int)}.
+     * @param contraction The set of axioms.  This is modified.
+     * @param checker The entailment checker
+     * @param batchSize The number of axioms whose removal is checked at once
+     * @return The number of steps
+     */
+    public static <E> int removeAxiomsSpeculatively(Set<OWLAxiom> contraction, EntailmentChecker<E> checker, int batchSize) {
+        List<Set<OWLAxiom>> windows = new ArrayList<>(contraction.size());
+        for (OWLAxiom ax : contraction) {
+            windows.add(Collections.singleton(ax));
+        }
+        return removeWindowsSpeculatively(contraction, windows, checker, batchSize);
+    }
+}
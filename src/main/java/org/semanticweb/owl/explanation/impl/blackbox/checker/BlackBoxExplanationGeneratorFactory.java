@@ -67,6 +67,7 @@ public class BlackBoxExplanationGeneratorFactory<E> implements ExplanationGenera
                 configuration.getCheckerFactory(),
                 configuration.getExpansionStrategy(),
                 configuration.getContractionStrategy(),
+                configuration.getConstructionStrategy(),
                 progressMonitor,
                 configuration.getOntologyManagerSupplier());
     }
@@ -83,6 +84,7 @@ public class BlackBoxExplanationGeneratorFactory<E> implements ExplanationGenera
                 configuration.getCheckerFactory(),
                 configuration.getExpansionStrategy(),
                 configuration.getContractionStrategy(),
+                configuration.getConstructionStrategy(),
                 progressMonitor,
                 configuration.getOntologyManagerSupplier());
     }
@@ -11,7 +11,9 @@ import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /*
@@ -48,9 +50,7 @@ public class ConsistencyEntailmentChecker implements org.semanticweb.owl.explana
 
     private OWLReasonerFactory reasonerFactory;
 
-    private int counter;
-
-    private boolean consistent = false;
+    private final AtomicInteger counter = new AtomicInteger();
 
     private long timeout = Long.MAX_VALUE;
 
@@ -70,12 +70,12 @@ public class ConsistencyEntailmentChecker implements org.semanticweb.owl.explana
 
     @Override
     public int getCounter() {
-        return counter;
+        return counter.get();
     }
 
     @Override
     public void resetCounter() {
-        counter = 0;
+        counter.set(0);
     }
 
     @Override
@@ -111,7 +111,7 @@ public class ConsistencyEntailmentChecker implements org.semanticweb.owl.explana
         try {
 //        System.out.print("Checking entailment....");
             transmitter.recordMeasurement(info, "input size", axiom.size());
-            counter++;
+            counter.incrementAndGet();
             timer.start();
             OWLOntology ont = m.get().createOntology(axiom);
             SimpleConfiguration config = new SimpleConfiguration(timeout);
@@ -121,7 +121,7 @@ public class ConsistencyEntailmentChecker implements org.semanticweb.owl.explana
             loadTimer.stop();
             transmitter.recordTiming(info, "load time", timer);
             checkTimer.start();
-            consistent = r.isConsistent();
+            boolean consistent = r.isConsistent();
             checkTimer.stop();
             timer.stop();
             transmitter.recordTiming(info, "check time", checkTimer);
@@ -151,6 +151,11 @@ public class ConsistencyEntailmentChecker implements org.semanticweb.owl.explana
 
     @Override
     public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
-        return null;
+        if (!isEntailed(axioms)) {
+            return Collections.emptySet();
+        }
+        Set<OWLAxiom> logicalAxioms = new HashSet<>();
+        axioms.stream().filter(OWLAxiom::isLogicalAxiom).forEach(logicalAxioms::add);
+        return logicalAxioms;
     }
 }
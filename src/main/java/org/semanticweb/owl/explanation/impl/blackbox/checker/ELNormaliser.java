@@ -0,0 +1,298 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import org.semanticweb.owlapi.model.*;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.*;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * Normalises EL axioms into the rules that the completion rules of the EL++ calculus work on, and reports each
+ * rule to a {@link RuleHandler} together with the axiom that it comes from.
+ * <p>
+ * Every class expression that occurs in the axioms or in a query is given a number, and complex class expressions
+ * are defined in terms of their parts: an intersection is a subclass of each of its operands and a superclass of
+ * their intersection, and an existential restriction both implies and is implied by the restriction.  These
+ * definitions hold in every ontology, so they are reported without an axiom.  The axioms then become told
+ * subsumptions between numbers, binary and wider intersections of numbers, and sub-roles and chains of two roles.
+ * </p>
+ * <p>
+ * Object properties may have sub-properties, equivalent properties, property chains and be transitive.  Ranges,
+ * nominals, self restrictions, reflexive properties, data properties and the top and bottom object properties are
+ * not supported; see {@link #isSupported(OWLAxiom)}.  A normaliser is not thread-safe.
+ * </p>
+ */
+public class ELNormaliser {
+
+    /**
+     * The number of <code>owl:Thing</code>.
+     */
+    public static final int TOP = 0;
+
+    /**
+     * The number of <code>owl:Nothing</code>.
+     */
+    public static final int BOTTOM = 1;
+
+    private final OWLDataFactory df;
+
+    private final RuleHandler handler;
+
+    private final Map<OWLClassExpression, Integer> conceptIds = new HashMap<>();
+
+    private final Map<OWLObjectPropertyExpression, Integer> roleIds = new HashMap<>();
+
+    private int nextConceptId = 0;
+
+    private int nextRoleId = 0;
+
+    public ELNormaliser(OWLDataFactory df, RuleHandler handler) {
+        this.df = df;
+        this.handler = handler;
+        conceptIds.put(df.getOWLThing(), newConcept());
+        conceptIds.put(df.getOWLNothing(), newConcept());
+    }
+
+    /**
+     * Determines whether an axiom can be normalised.  Axioms that are not logical axioms are supported, and are
+     * ignored.
+     * @param ax The axiom
+     * @return <code>true</code> if the axiom is supported, otherwise <code>false</code>
+     */
+    public static boolean isSupported(OWLAxiom ax) {
+        if (!ax.isLogicalAxiom()) {
+            return true;
+        }
+        if (ax instanceof OWLSubClassOfAxiom) {
+            OWLSubClassOfAxiom subClassAx = (OWLSubClassOfAxiom) ax;
+            return isSupported(subClassAx.getSubClass()) && isSupported(subClassAx.getSuperClass());
+        }
+        if (ax instanceof OWLEquivalentClassesAxiom) {
+            return ((OWLEquivalentClassesAxiom) ax).classExpressions().allMatch(ELNormaliser::isSupported);
+        }
+        if (ax instanceof OWLDisjointClassesAxiom) {
+            return ((OWLDisjointClassesAxiom) ax).classExpressions().allMatch(ELNormaliser::isSupported);
+        }
+        if (ax instanceof OWLObjectPropertyDomainAxiom) {
+            OWLObjectPropertyDomainAxiom domainAx = (OWLObjectPropertyDomainAxiom) ax;
+            return isSupported(domainAx.getProperty()) && isSupported(domainAx.getDomain());
+        }
+        if (ax instanceof OWLSubObjectPropertyOfAxiom) {
+            OWLSubObjectPropertyOfAxiom subPropertyAx = (OWLSubObjectPropertyOfAxiom) ax;
+            return isSupported(subPropertyAx.getSubProperty()) && isSupported(subPropertyAx.getSuperProperty());
+        }
+        if (ax instanceof OWLEquivalentObjectPropertiesAxiom) {
+            return ((OWLEquivalentObjectPropertiesAxiom) ax).properties().allMatch(ELNormaliser::isSupported);
+        }
+        if (ax instanceof OWLSubPropertyChainOfAxiom) {
+            OWLSubPropertyChainOfAxiom chainAx = (OWLSubPropertyChainOfAxiom) ax;
+            return chainAx.getPropertyChain().stream().allMatch(ELNormaliser::isSupported) && isSupported(chainAx.getSuperProperty());
+        }
+        if (ax instanceof OWLTransitiveObjectPropertyAxiom) {
+            return isSupported(((OWLTransitiveObjectPropertyAxiom) ax).getProperty());
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether a class expression can be normalised.
+     * @param ce The class expression
+     * @return <code>true</code> if the class expression is a class, an intersection or an existential restriction
+     * whose parts are supported, otherwise <code>false</code>
+     */
+    public static boolean isSupported(OWLClassExpression ce) {
+        if (ce.isOWLClass()) {
+            return true;
+        }
+        if (ce instanceof OWLObjectIntersectionOf) {
+            return ((OWLObjectIntersectionOf) ce).operands().allMatch(ELNormaliser::isSupported);
+        }
+        if (ce instanceof OWLObjectSomeValuesFrom) {
+            OWLObjectSomeValuesFrom some = (OWLObjectSomeValuesFrom) ce;
+            return isSupported(some.getProperty()) && isSupported(some.getFiller());
+        }
+        return false;
+    }
+
+    private static boolean isSupported(OWLObjectPropertyExpression property) {
+        return property.isOWLObjectProperty() && !property.isOWLTopObjectProperty() && !property.isOWLBottomObjectProperty();
+    }
+
+    /**
+     * Normalises an axiom, reporting its rules with the axiom as their source.
+     * @param ax The axiom, which must be supported
+     */
+    public void addAxiom(OWLAxiom ax) {
+        if (!ax.isLogicalAxiom()) {
+            return;
+        }
+        if (ax instanceof OWLSubClassOfAxiom) {
+            OWLSubClassOfAxiom subClassAx = (OWLSubClassOfAxiom) ax;
+            handler.addToldSubsumer(getConceptId(subClassAx.getSubClass()), getConceptId(subClassAx.getSuperClass()), ax);
+        }
+        else if (ax instanceof OWLEquivalentClassesAxiom) {
+            List<OWLClassExpression> classExpressions = asList(((OWLEquivalentClassesAxiom) ax).classExpressions());
+            for (OWLClassExpression first : classExpressions) {
+                for (OWLClassExpression second : classExpressions) {
+                    if (!first.equals(second)) {
+                        handler.addToldSubsumer(getConceptId(first), getConceptId(second), ax);
+                    }
+                }
+            }
+        }
+        else if (ax instanceof OWLDisjointClassesAxiom) {
+            List<OWLClassExpression> classExpressions = asList(((OWLDisjointClassesAxiom) ax).classExpressions());
+            for (int i = 0; i < classExpressions.size(); i++) {
+                for (int j = i + 1; j < classExpressions.size(); j++) {
+                    handler.addIntersection(new int[]{getConceptId(classExpressions.get(i)), getConceptId(classExpressions.get(j))}, BOTTOM, ax);
+                }
+            }
+        }
+        else if (ax instanceof OWLObjectPropertyDomainAxiom) {
+            OWLObjectPropertyDomainAxiom domainAx = (OWLObjectPropertyDomainAxiom) ax;
+            OWLClassExpression some = df.getOWLObjectSomeValuesFrom(domainAx.getProperty(), df.getOWLThing());
+            handler.addToldSubsumer(getConceptId(some), getConceptId(domainAx.getDomain()), ax);
+        }
+        else if (ax instanceof OWLSubObjectPropertyOfAxiom) {
+            OWLSubObjectPropertyOfAxiom subPropertyAx = (OWLSubObjectPropertyOfAxiom) ax;
+            handler.addSuperRole(getRoleId(subPropertyAx.getSubProperty()), getRoleId(subPropertyAx.getSuperProperty()), ax);
+        }
+        else if (ax instanceof OWLEquivalentObjectPropertiesAxiom) {
+            List<OWLObjectPropertyExpression> properties = asList(((OWLEquivalentObjectPropertiesAxiom) ax).properties());
+            for (OWLObjectPropertyExpression first : properties) {
+                for (OWLObjectPropertyExpression second : properties) {
+                    if (!first.equals(second)) {
+                        handler.addSuperRole(getRoleId(first), getRoleId(second), ax);
+                    }
+                }
+            }
+        }
+        else if (ax instanceof OWLSubPropertyChainOfAxiom) {
+            OWLSubPropertyChainOfAxiom chainAx = (OWLSubPropertyChainOfAxiom) ax;
+            List<OWLObjectPropertyExpression> chain = chainAx.getPropertyChain();
+            int superRole = getRoleId(chainAx.getSuperProperty());
+            if (chain.size() == 1) {
+                handler.addSuperRole(getRoleId(chain.get(0)), superRole, ax);
+            }
+            else {
+                // Longer chains are split into chains of two roles with fresh roles in between
+                int first = getRoleId(chain.get(0));
+                for (int i = 1; i < chain.size() - 1; i++) {
+                    int fresh = nextRoleId++;
+                    handler.addChain(first, getRoleId(chain.get(i)), fresh, ax);
+                    first = fresh;
+                }
+                handler.addChain(first, getRoleId(chain.get(chain.size() - 1)), superRole, ax);
+            }
+        }
+        else if (ax instanceof OWLTransitiveObjectPropertyAxiom) {
+            int role = getRoleId(((OWLTransitiveObjectPropertyAxiom) ax).getProperty());
+            handler.addChain(role, role, role, ax);
+        }
+        else {
+            throw new IllegalArgumentException("Unsupported axiom: " + ax);
+        }
+    }
+
+    /**
+     * Gets the number of a class expression, numbering it and reporting its definition in terms of its parts if it
+     * has not been seen before.
+     * @param ce The class expression, which must be supported
+     * @return The number
+     */
+    public int getConceptId(OWLClassExpression ce) {
+        Integer id = conceptIds.get(ce);
+        if (id != null) {
+            return id;
+        }
+        if (ce instanceof OWLObjectIntersectionOf) {
+            List<OWLClassExpression> operands = asList(((OWLObjectIntersectionOf) ce).operands());
+            int[] operandIds = new int[operands.size()];
+            for (int i = 0; i < operandIds.length; i++) {
+                operandIds[i] = getConceptId(operands.get(i));
+            }
+            id = newConcept();
+            for (int operandId : operandIds) {
+                handler.addToldSubsumer(id, operandId, null);
+            }
+            handler.addIntersection(operandIds, id, null);
+        }
+        else if (ce instanceof OWLObjectSomeValuesFrom) {
+            OWLObjectSomeValuesFrom some = (OWLObjectSomeValuesFrom) ce;
+            int role = getRoleId(some.getProperty());
+            int filler = getConceptId(some.getFiller());
+            id = newConcept();
+            handler.addExistential(id, role, filler);
+        }
+        else if (ce.isOWLClass()) {
+            id = newConcept();
+        }
+        else {
+            throw new IllegalArgumentException("Unsupported class expression: " + ce);
+        }
+        conceptIds.put(ce, id);
+        return id;
+    }
+
+    private int newConcept() {
+        int id = nextConceptId++;
+        handler.addConcept(id);
+        return id;
+    }
+
+    private int getRoleId(OWLObjectPropertyExpression property) {
+        return roleIds.computeIfAbsent(property, p -> nextRoleId++);
+    }
+
+    /**
+     * Receives the rules of a normalisation.  The axiom of a rule is <code>null</code> if the rule defines a
+     * complex class expression, and so holds without any axioms.
+     */
+    public interface RuleHandler {
+
+        /**
+         * Called when a concept is numbered.  Concepts are numbered from 0 upwards, and a concept is numbered
+         * before any rule mentions it.
+         * @param concept The number of the concept
+         */
+        void addConcept(int concept);
+
+        void addToldSubsumer(int sub, int sup, OWLAxiom axiom);
+
+        void addIntersection(int[] operands, int conclusion, OWLAxiom axiom);
+
+        /**
+         * Called when a concept is defined to be an existential restriction.
+         * @param concept The number of the existential restriction
+         * @param role The role of the restriction
+         * @param filler The number of the filler of the restriction
+         */
+        void addExistential(int concept, int role, int filler);
+
+        void addSuperRole(int sub, int sup, OWLAxiom axiom);
+
+        void addChain(int first, int second, int sup, OWLAxiom axiom);
+    }
+}
@@ -0,0 +1,187 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An entailment checker that answers checks on sets of EL axioms with an {@link ELSaturationEntailmentChecker},
+ * and passes all other checks on to a fallback checker, which is normally a reasoner based checker.
+ * <p>
+ * Checks are routed one at a time, so the EL checks of an explanation can be answered in process even if the
+ * module that is being explained contains axioms outside of EL.  Modules are extracted by the fallback checker.
+ * The number of checks that were answered by each checker is transmitted as telemetry when the checker is
+ * disposed of.
+ * </p>
+ */
+public class ELRoutingEntailmentChecker implements EntailmentChecker<OWLAxiom> {
+
+    private final EntailmentChecker<OWLAxiom> fallbackChecker;
+
+    /**
+     * The checker for EL checks, which is <code>null</code> if the entailment is not supported by saturation.
+     */
+    private final ELSaturationEntailmentChecker elChecker;
+
+    private final AtomicInteger elCheckCount = new AtomicInteger();
+
+    private final AtomicInteger fallbackCheckCount = new AtomicInteger();
+
+    public ELRoutingEntailmentChecker(EntailmentChecker<OWLAxiom> fallbackChecker, Supplier<OWLOntologyManager> m) {
+        this.fallbackChecker = fallbackChecker;
+        OWLAxiom entailment = fallbackChecker.getEntailment();
+        if (ELSaturationEntailmentChecker.isSupportedEntailment(entailment)) {
+            elChecker = new ELSaturationEntailmentChecker(entailment, m, fallbackChecker.isUseModularisation());
+        }
+        else {
+            elChecker = null;
+        }
+    }
+
+    public EntailmentChecker<OWLAxiom> getFallbackChecker() {
+        return fallbackChecker;
+    }
+
+    /**
+     * Gets the number of checks that were answered by saturation.
+     * @return The number of EL checks
+     */
+    public int getELCheckCount() {
+        return elCheckCount.get();
+    }
+
+    /**
+     * Gets the number of checks that were passed on to the fallback checker.
+     * @return The number of fallback checks
+     */
+    public int getFallbackCheckCount() {
+        return fallbackCheckCount.get();
+    }
+
+    private boolean isEL(Set<OWLAxiom> axioms) {
+        return elChecker != null && ELSaturationEntailmentChecker.isSupported(axioms);
+    }
+
+    @Override
+    public int getCounter() {
+        return fallbackChecker.getCounter() + (elChecker != null ? elChecker.getCounter() : 0);
+    }
+
+    @Override
+    public void resetCounter() {
+        fallbackChecker.resetCounter();
+        if (elChecker != null) {
+            elChecker.resetCounter();
+        }
+    }
+
+    @Override
+    public OWLAxiom getEntailment() {
+        return fallbackChecker.getEntailment();
+    }
+
+    @Override
+    public Set<OWLEntity> getEntailmentSignature() {
+        return fallbackChecker.getEntailmentSignature();
+    }
+
+    @Override
+    public Set<OWLEntity> getSeedSignature() {
+        return fallbackChecker.getSeedSignature();
+    }
+
+    @Override
+    public boolean isEntailed(Set<OWLAxiom> axioms) {
+        if (isEL(axioms)) {
+            elCheckCount.incrementAndGet();
+            return elChecker.isEntailed(axioms);
+        }
+        fallbackCheckCount.incrementAndGet();
+        return fallbackChecker.isEntailed(axioms);
+    }
+
+    /**
+     * Answers a batch by saturation if every set in the batch is a set of EL axioms, and otherwise passes the
+     * whole batch on to the fallback checker, which may be able to check the sets concurrently.
+     */
+    @Override
+    public BitSet isEntailed(List<Set<OWLAxiom>> axiomSets, boolean firstEntailedOnly) {
+        for (Set<OWLAxiom> axioms : axiomSets) {
+            if (!isEL(axioms)) {
+                fallbackCheckCount.addAndGet(axiomSets.size());
+                return fallbackChecker.isEntailed(axiomSets, firstEntailedOnly);
+            }
+        }
+        return EntailmentChecker.super.isEntailed(axiomSets, firstEntailedOnly);
+    }
+
+    @Override
+    public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
+        if (isEL(axioms)) {
+            return elChecker.getEntailingAxioms(axioms);
+        }
+        return fallbackChecker.getEntailingAxioms(axioms);
+    }
+
+    @Override
+    public Set<OWLAxiom> getModule(Set<OWLAxiom> axioms) {
+        return fallbackChecker.getModule(axioms);
+    }
+
+    @Override
+    public String getModularisationTypeDescription() {
+        return fallbackChecker.getModularisationTypeDescription();
+    }
+
+    @Override
+    public boolean isUseModularisation() {
+        return fallbackChecker.isUseModularisation();
+    }
+
+    @Override
+    public void dispose() {
+        TelemetryInfo info = new DefaultTelemetryInfo("elrouting");
+        TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        try {
+            transmitter.beginTransmission(info);
+            transmitter.recordMeasurement(info, "el checks", elCheckCount.get());
+            transmitter.recordMeasurement(info, "fallback checks", fallbackCheckCount.get());
+        }
+        finally {
+            transmitter.endTransmission(info);
+            fallbackChecker.dispose();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import java.util.function.Supplier;
+
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentCheckerFactory;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A factory for {@link ELRoutingEntailmentChecker}s, which answer checks on EL axioms by saturation and pass the
+ * other checks on to the checkers of a fallback factory.
+ */
+public class ELRoutingEntailmentCheckerFactory implements EntailmentCheckerFactory<OWLAxiom> {
+
+    private EntailmentCheckerFactory<OWLAxiom> fallbackFactory;
+
+    private Supplier<OWLOntologyManager> m;
+
+    /**
+     * Creates a factory whose checks that are outside of EL are answered by {@link SatisfiabilityEntailmentChecker}s.
+     */
+    public ELRoutingEntailmentCheckerFactory(OWLReasonerFactory reasonerFactory, Supplier<OWLOntologyManager> m) {
+        this(new SatisfiabilityEntailmentCheckerFactory(reasonerFactory, m), m);
+    }
+
+    public ELRoutingEntailmentCheckerFactory(EntailmentCheckerFactory<OWLAxiom> fallbackFactory, Supplier<OWLOntologyManager> m) {
+        this.fallbackFactory = fallbackFactory;
+        this.m = m;
+    }
+
+    @Override
+    public EntailmentChecker<OWLAxiom> createEntailementChecker(OWLAxiom entailment) {
+        return new ELRoutingEntailmentChecker(fallbackFactory.createEntailementChecker(entailment), m);
+    }
+
+    @Override
+    public void dispose() {
+        fallbackFactory.dispose();
+    }
+}
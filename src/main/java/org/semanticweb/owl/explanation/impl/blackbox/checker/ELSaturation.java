@@ -0,0 +1,316 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import org.semanticweb.owlapi.model.*;
+
+import java.util.*;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * Decides subsumption between class expressions with respect to a set of EL axioms using the completion rules of
+ * the EL++ calculus.
+ * <p>
+ * The axioms are normalised by an {@link ELNormaliser}, whose rules are told subsumptions between numbers, binary
+ * and wider intersections of numbers, and existential restrictions on numbers.  The source axioms of the rules are
+ * not needed to decide subsumption, and are ignored.  A query is answered by saturating the context of the
+ * subclass: the set of its subsumers and its links to the contexts of the fillers of its existential restrictions.
+ * Contexts are only created for classes that are reachable from the subclass, and saturation stops as soon as the
+ * superclass or <code>owl:Nothing</code> is derived for the subclass.
+ * </p>
+ * <p>
+ * See {@link ELNormaliser#isSupported(OWLAxiom)} for the axioms that are supported.  A saturation is not
+ * thread-safe.
+ * </p>
+ */
+class ELSaturation implements ELNormaliser.RuleHandler {
+
+    private static final int TOP = ELNormaliser.TOP;
+
+    private static final int BOTTOM = ELNormaliser.BOTTOM;
+
+    private final ELNormaliser normaliser;
+
+    /**
+     * For each concept, the concepts that it is told to be subsumed by.
+     */
+    private final List<List<Integer>> toldSubsumers = new ArrayList<>();
+
+    /**
+     * For each concept, the intersections that it is an operand of.
+     */
+    private final List<List<Intersection>> intersectionsByOperand = new ArrayList<>();
+
+    /**
+     * For each concept, the role and filler of each existential restriction that it is subsumed by.
+     */
+    private final List<List<int[]>> existentialSubsumers = new ArrayList<>();
+
+    /**
+     * For each concept, the role and the subsumer of each existential restriction with the concept as its filler
+     * that is subsumed by something.
+     */
+    private final List<List<int[]>> existentialsByFiller = new ArrayList<>();
+
+    /**
+     * For each role, the filler and the subsumer of each existential restriction on the role that is subsumed by
+     * something.
+     */
+    private final Map<Integer, List<int[]>> existentialsByRole = new HashMap<>();
+
+    private final Map<Integer, List<Integer>> superRoles = new HashMap<>();
+
+    /**
+     * For each role, the second role and the super role of each chain of two roles that the role comes first in.
+     */
+    private final Map<Integer, List<int[]>> chainsByFirstRole = new HashMap<>();
+
+    /**
+     * For each role, the first role and the super role of each chain of two roles that the role comes second in.
+     */
+    private final Map<Integer, List<int[]>> chainsBySecondRole = new HashMap<>();
+
+    private final Map<Integer, Context> contexts = new HashMap<>();
+
+    private final Deque<Context> conceptTaskContexts = new ArrayDeque<>();
+
+    private final Deque<Integer> conceptTaskConcepts = new ArrayDeque<>();
+
+    private final Deque<Link> linkTasks = new ArrayDeque<>();
+
+    public ELSaturation(OWLDataFactory df) {
+        normaliser = new ELNormaliser(df, this);
+    }
+
+    /**
+     * Adds an axiom to this saturation.  Axioms must be added before any query is answered.
+     * @param ax The axiom, which must be supported
+     */
+    public void addAxiom(OWLAxiom ax) {
+        normaliser.addAxiom(ax);
+    }
+
+    /**
+     * Determines whether one class expression is subsumed by another with respect to the axioms that have been
+     * added.
+     * @param subClass The subclass, which must be supported
+     * @param superClass The superclass, which must be supported
+     * @return <code>true</code> if the subclass is subsumed by the superclass, otherwise <code>false</code>
+     */
+    public boolean isSubsumedBy(OWLClassExpression subClass, OWLClassExpression superClass) {
+        int sub = normaliser.getConceptId(subClass);
+        int sup = normaliser.getConceptId(superClass);
+        contexts.clear();
+        conceptTaskContexts.clear();
+        conceptTaskConcepts.clear();
+        linkTasks.clear();
+        Context root = getContext(sub);
+        while (!conceptTaskContexts.isEmpty() || !linkTasks.isEmpty()) {
+            if (root.subsumers.get(sup) || root.subsumers.get(BOTTOM)) {
+                return true;
+            }
+            if (!conceptTaskContexts.isEmpty()) {
+                processConcept(conceptTaskContexts.poll(), conceptTaskConcepts.poll());
+            }
+            else {
+                processLink(linkTasks.poll());
+            }
+        }
+        return root.subsumers.get(sup) || root.subsumers.get(BOTTOM);
+    }
+
+    private void processConcept(Context context, int concept) {
+        if (context.subsumers.get(concept)) {
+            return;
+        }
+        context.subsumers.set(concept);
+        for (int subsumer : toldSubsumers.get(concept)) {
+            addConceptTask(context, subsumer);
+        }
+        for (Intersection intersection : intersectionsByOperand.get(concept)) {
+            if (intersection.isSatisfiedBy(context.subsumers)) {
+                addConceptTask(context, intersection.conclusion);
+            }
+        }
+        for (int[] existential : existentialSubsumers.get(concept)) {
+            linkTasks.add(new Link(context, existential[0], getContext(existential[1])));
+        }
+        if (concept == BOTTOM) {
+            for (Set<Context> predecessors : context.predecessors.values()) {
+                for (Context predecessor : predecessors) {
+                    addConceptTask(predecessor, BOTTOM);
+                }
+            }
+        }
+        for (int[] existential : existentialsByFiller.get(concept)) {
+            for (Context predecessor : context.getPredecessors(existential[0])) {
+                addConceptTask(predecessor, existential[1]);
+            }
+        }
+    }
+
+    private void processLink(Link link) {
+        Context source = link.source;
+        Context target = link.target;
+        if (!source.getSuccessors(link.role).add(target)) {
+            return;
+        }
+        target.predecessors.computeIfAbsent(link.role, r -> new HashSet<>()).add(source);
+        if (target.subsumers.get(BOTTOM)) {
+            addConceptTask(source, BOTTOM);
+        }
+        for (int[] existential : existentialsByRole.getOrDefault(link.role, Collections.emptyList())) {
+            if (target.subsumers.get(existential[0])) {
+                addConceptTask(source, existential[1]);
+            }
+        }
+        for (int superRole : superRoles.getOrDefault(link.role, Collections.emptyList())) {
+            linkTasks.add(new Link(source, superRole, target));
+        }
+        for (int[] chain : chainsByFirstRole.getOrDefault(link.role, Collections.emptyList())) {
+            for (Context next : target.getSuccessors(chain[0])) {
+                linkTasks.add(new Link(source, chain[1], next));
+            }
+        }
+        for (int[] chain : chainsBySecondRole.getOrDefault(link.role, Collections.emptyList())) {
+            for (Context previous : source.getPredecessors(chain[0])) {
+                linkTasks.add(new Link(previous, chain[1], target));
+            }
+        }
+    }
+
+    private void addConceptTask(Context context, int concept) {
+        if (!context.subsumers.get(concept)) {
+            conceptTaskContexts.add(context);
+            conceptTaskConcepts.add(concept);
+        }
+    }
+
+    private Context getContext(int concept) {
+        Context context = contexts.get(concept);
+        if (context == null) {
+            context = new Context();
+            contexts.put(concept, context);
+            addConceptTask(context, concept);
+            addConceptTask(context, TOP);
+        }
+        return context;
+    }
+
+    @Override
+    public void addConcept(int concept) {
+        toldSubsumers.add(new ArrayList<>(2));
+        intersectionsByOperand.add(new ArrayList<>(1));
+        existentialSubsumers.add(new ArrayList<>(1));
+        existentialsByFiller.add(new ArrayList<>(1));
+    }
+
+    @Override
+    public void addToldSubsumer(int sub, int sup, OWLAxiom axiom) {
+        toldSubsumers.get(sub).add(sup);
+    }
+
+    @Override
+    public void addIntersection(int[] operands, int conclusion, OWLAxiom axiom) {
+        Intersection intersection = new Intersection(operands, conclusion);
+        for (int operand : operands) {
+            intersectionsByOperand.get(operand).add(intersection);
+        }
+    }
+
+    @Override
+    public void addExistential(int concept, int role, int filler) {
+        existentialSubsumers.get(concept).add(new int[]{role, filler});
+        existentialsByFiller.get(filler).add(new int[]{role, concept});
+        existentialsByRole.computeIfAbsent(role, r -> new ArrayList<>()).add(new int[]{filler, concept});
+    }
+
+    @Override
+    public void addSuperRole(int sub, int sup, OWLAxiom axiom) {
+        superRoles.computeIfAbsent(sub, r -> new ArrayList<>()).add(sup);
+    }
+
+    @Override
+    public void addChain(int first, int second, int sup, OWLAxiom axiom) {
+        chainsByFirstRole.computeIfAbsent(first, r -> new ArrayList<>()).add(new int[]{second, sup});
+        chainsBySecondRole.computeIfAbsent(second, r -> new ArrayList<>()).add(new int[]{first, sup});
+    }
+
+    /**
+     * An intersection of concepts that is subsumed by a concept.
+     */
+    private static class Intersection {
+
+        private final int[] operands;
+
+        private final int conclusion;
+
+        public Intersection(int[] operands, int conclusion) {
+            this.operands = operands;
+            this.conclusion = conclusion;
+        }
+
+        public boolean isSatisfiedBy(BitSet subsumers) {
+            for (int operand : operands) {
+                if (!subsumers.get(operand)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The subsumers of a concept and its links to the contexts of the fillers of its existential restrictions.
+     */
+    private static class Context {
+
+        private final BitSet subsumers = new BitSet();
+
+        private final Map<Integer, Set<Context>> successors = new HashMap<>();
+
+        private final Map<Integer, Set<Context>> predecessors = new HashMap<>();
+
+        public Set<Context> getSuccessors(int role) {
+            return successors.computeIfAbsent(role, r -> new HashSet<>());
+        }
+
+        public Set<Context> getPredecessors(int role) {
+            return predecessors.getOrDefault(role, Collections.emptySet());
+        }
+    }
+
+    private static class Link {
+
+        private final Context source;
+
+        private final int role;
+
+        private final Context target;
+
+        public Link(Context source, int role, Context target) {
+            this.source = source;
+            this.role = role;
+            this.target = target;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTimer;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.*;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An entailment checker that decides subsumption and unsatisfiability entailments over sets of EL axioms in
+ * process, by saturating the axioms with the EL++ completion rules, rather than by creating a reasoner for each
+ * check.
+ * <p>
+ * The checker only answers checks where the entailment and all of the axioms are supported by the saturation; see
+ * {@link #isSupportedEntailment(OWLAxiom)} and {@link #isSupported(Set)}.  {@link ELRoutingEntailmentChecker}
+ * passes the other checks on to a reasoner based checker.  Each check uses a saturation of its own, so a checker
+ * may be shared between threads.
+ * </p>
+ */
+public class ELSaturationEntailmentChecker implements EntailmentChecker<OWLAxiom> {
+
+    private final OWLSubClassOfAxiom entailment;
+
+    private final Supplier<OWLOntologyManager> m;
+
+    private final OWLDataFactory df;
+
+    private final boolean useModularisation;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * Constructs a checker for an entailment.
+     * @param entailment The entailment, which must be supported; see {@link #isSupportedEntailment(OWLAxiom)}
+     * @param m A supplier of ontology managers, used for module extraction
+     * @param useModularisation Whether or not modules should be extracted from the input axioms
+     * @throws IllegalArgumentException if the entailment is not supported
+     */
+    public ELSaturationEntailmentChecker(OWLAxiom entailment, Supplier<OWLOntologyManager> m, boolean useModularisation) {
+        if (!isSupportedEntailment(entailment)) {
+            throw new IllegalArgumentException("Unsupported entailment: " + entailment);
+        }
+        this.entailment = (OWLSubClassOfAxiom) entailment;
+        this.m = m;
+        this.df = m.get().getOWLDataFactory();
+        this.useModularisation = useModularisation;
+    }
+
+    /**
+     * Determines whether an entailment can be checked by saturation.
+     * @param entailment The entailment
+     * @return <code>true</code> if the entailment is a subclass axiom between EL class expressions, which includes
+     * unsatisfiability entailments whose superclass is <code>owl:Nothing</code>
+     */
+    public static boolean isSupportedEntailment(OWLAxiom entailment) {
+        return entailment instanceof OWLSubClassOfAxiom && ELNormaliser.isSupported(entailment);
+    }
+
+    /**
+     * Determines whether a set of axioms can be saturated.
+     * @param axioms The axioms
+     * @return <code>true</code> if every logical axiom in the set is an EL axiom that the saturation supports
+     */
+    public static boolean isSupported(Set<OWLAxiom> axioms) {
+        for (OWLAxiom ax : axioms) {
+            if (!ELNormaliser.isSupported(ax)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getCounter() {
+        return counter.get();
+    }
+
+    @Override
+    public void resetCounter() {
+        counter.set(0);
+    }
+
+    @Override
+    public OWLAxiom getEntailment() {
+        return entailment;
+    }
+
+    @Override
+    public Set<OWLEntity> getEntailmentSignature() {
+        return asSet(entailment.signature());
+    }
+
+    @Override
+    public Set<OWLEntity> getSeedSignature() {
+        return asSet(entailment.getSubClass().signature());
+    }
+
+    @Override
+    public boolean isEntailed(Set<OWLAxiom> axioms) {
+        TelemetryTimer totalTimer = new TelemetryTimer();
+        TelemetryInfo info = new DefaultTelemetryInfo("entailmentcheck", false, totalTimer);
+        final TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        transmitter.beginTransmission(info);
+        boolean entailed = true;
+        try {
+            transmitter.recordMeasurement(info, "input size", axioms.size());
+            totalTimer.start();
+            if (axioms.contains(entailment)) {
+                return true;
+            }
+            counter.incrementAndGet();
+            ELSaturation saturation = new ELSaturation(df);
+            for (OWLAxiom ax : axioms) {
+                saturation.addAxiom(ax);
+            }
+            entailed = saturation.isSubsumedBy(entailment.getSubClass(), entailment.getSuperClass());
+            return entailed;
+        }
+        finally {
+            totalTimer.stop();
+            transmitter.recordMeasurement(info, "entailed", entailed);
+            transmitter.recordTiming(info, "time", totalTimer);
+            transmitter.endTransmission(info);
+        }
+    }
+
+    /**
+     * Gets the logical axioms of a set of axioms if they entail the entailment.  As a saturation is cheap, the
+     * axioms are checked again rather than remembering the result of the last check.
+     */
+    @Override
+    public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
+        if (axioms.contains(entailment)) {
+            return Collections.singleton(entailment);
+        }
+        Set<OWLAxiom> entailingAxioms = new HashSet<>();
+        if (isEntailed(axioms)) {
+            axioms.stream().filter(OWLAxiom::isLogicalAxiom).forEach(entailingAxioms::add);
+        }
+        return entailingAxioms;
+    }
+
+    @Override
+    public Set<OWLAxiom> getModule(Set<OWLAxiom> axioms) {
+        if (!useModularisation) {
+            return axioms;
+        }
+        if (axioms.isEmpty()) {
+            return Collections.emptySet();
+        }
+        SyntacticLocalityModuleExtractor extractor = new SyntacticLocalityModuleExtractor(m.get(), axioms.stream(), ModuleType.STAR);
+        return extractor.extract(getEntailmentSignature());
+    }
+
+    @Override
+    public String getModularisationTypeDescription() {
+        return useModularisation ? ModuleType.STAR.toString() : "none";
+    }
+
+    @Override
+    public boolean isUseModularisation() {
+        return useModularisation;
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -0,0 +1,101 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import java.util.Collections;
+import java.util.Set;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * The ways in which a {@link SatisfiabilityEntailmentChecker} can ask a reasoner whether its entailment holds.
+ * Each check loads the checked axioms, declarations for the signature of the class expression that the entailment
+ * is converted to, and an axiom that makes a fresh naming class a subclass of that class expression into an
+ * ontology, together with any support axioms of the mode.  Which mode is fastest depends on the reasoner and on the
+ * type of entailment, see {@link EntailmentCheckModeCalibrator}.
+ */
+public enum EntailmentCheckMode {
+
+    /**
+     * Asks whether the class expression that the entailment is converted to is unsatisfiable.
+     */
+    SATISFIABILITY {
+        @Override
+        boolean isEntailed(OWLReasoner reasoner, OWLAxiom entailment, OWLClassExpression unsatDesc) {
+            return !reasoner.isSatisfiable(unsatDesc);
+        }
+    },
+
+    /**
+     * Asks the reasoner whether the entailment itself is entailed.  If the reasoner does not support entailment
+     * checks of the type of the entailment the check is made as in {@link #SATISFIABILITY} mode.
+     */
+    DIRECT {
+        @Override
+        boolean isEntailed(OWLReasoner reasoner, OWLAxiom entailment, OWLClassExpression unsatDesc) {
+            if (!reasoner.isEntailmentCheckingSupported(entailment.getAxiomType())) {
+                return SATISFIABILITY.isEntailed(reasoner, entailment, unsatDesc);
+            }
+            return reasoner.isEntailed(entailment);
+        }
+    },
+
+    /**
+     * Asserts that a fresh individual is an instance of the naming class and asks whether the ontology is
+     * inconsistent, which it is exactly when the class expression that the entailment is converted to is
+     * unsatisfiable, or when the checked axioms are inconsistent and so entail everything.
+     */
+    CONSISTENCY {
+        @Override
+        Set<OWLAxiom> getSupportAxioms(OWLClass namingCls, OWLDataFactory df) {
+            OWLNamedIndividual ind = df.getOWLNamedIndividual(IRI.create(namingCls.getIRI() + "Individual"));
+            return Collections.singleton(df.getOWLClassAssertionAxiom(namingCls, ind));
+        }
+
+        @Override
+        boolean isEntailed(OWLReasoner reasoner, OWLAxiom entailment, OWLClassExpression unsatDesc) {
+            return !reasoner.isConsistent();
+        }
+    };
+
+    /**
+     * Gets the axioms, besides the naming axiom and declarations, that must be in the ontology that is checked in
+     * this mode.
+     * @param namingCls The naming class of the check
+     * @param df A data factory
+     * @return The support axioms, which are empty by default
+     */
+    Set<OWLAxiom> getSupportAxioms(OWLClass namingCls, OWLDataFactory df) {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Asks a reasoner whether an entailment holds.
+     * @param reasoner A reasoner for an ontology that contains the checked axioms and the support axioms
+     * @param entailment The entailment
+     * @param unsatDesc The class expression that is unsatisfiable exactly when the entailment holds
+     * @return <code>true</code> if the entailment holds, otherwise <code>false</code>
+     */
+    abstract boolean isEntailed(OWLReasoner reasoner, OWLAxiom entailment, OWLClassExpression unsatDesc);
+}
@@ -0,0 +1,185 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.AxiomType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * Chooses the {@link EntailmentCheckMode} that {@link SatisfiabilityEntailmentChecker}s use for each type of
+ * entailment.  The first checks of entailments of a type are made in every candidate mode, and the time that each
+ * mode takes is recorded.  The answer of the {@link EntailmentCheckMode#SATISFIABILITY} mode is the answer of such
+ * a check, and a mode that gives a different answer or fails is no longer a candidate for the type.  Once a number
+ * of checks have been sampled, the candidate that took the least time in total is used for the remaining checks of
+ * entailments of the type.
+ * <p>
+ * A calibrator is meant to be shared by the checkers that use one reasoner factory, such as the checkers that are
+ * created by one {@link SatisfiabilityEntailmentCheckerFactory}, so that the calibration is made once for each type
+ * of entailment in a run.  It may be shared between threads.  The choice of mode for each type is transmitted as
+ * telemetry.
+ * </p>
+ */
+public class EntailmentCheckModeCalibrator {
+
+    /**
+     * The number of checks that are sampled for each type of entailment by default.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 3;
+
+    private final int sampleSize;
+
+    private final Set<EntailmentCheckMode> candidateModes;
+
+    private final Map<AxiomType<?>, Calibration> calibrations = new HashMap<>();
+
+    public EntailmentCheckModeCalibrator() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    public EntailmentCheckModeCalibrator(int sampleSize) {
+        this(sampleSize, EnumSet.allOf(EntailmentCheckMode.class));
+    }
+
+    /**
+     * @param sampleSize The number of checks that are made in every candidate mode before a mode is chosen for a
+     * type of entailment
+     * @param candidateModes The modes that may be chosen.  The {@link EntailmentCheckMode#SATISFIABILITY} mode is
+     * always a candidate, because its answers are the ones that the other modes are compared with.
+     */
+    public EntailmentCheckModeCalibrator(int sampleSize, Collection<EntailmentCheckMode> candidateModes) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sampleSize must be at least 1");
+        }
+        this.sampleSize = sampleSize;
+        this.candidateModes = EnumSet.of(EntailmentCheckMode.SATISFIABILITY);
+        this.candidateModes.addAll(candidateModes);
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Gets the mode that has been chosen for a type of entailment.
+     * @param type The type of entailment
+     * @return The chosen mode, or <code>null</code> if checks of entailments of the type are still being sampled
+     */
+    public synchronized EntailmentCheckMode getSelectedMode(AxiomType<?> type) {
+        Calibration calibration = calibrations.get(type);
+        return calibration == null ? null : calibration.selectedMode;
+    }
+
+    /**
+     * Gets the modes in which the next sampled check of an entailment of a type should be made.  The order of the
+     * modes is rotated from sample to sample, so that no mode is always the first to run.
+     * @param type The type of entailment
+     * @return The modes, which always include the {@link EntailmentCheckMode#SATISFIABILITY} mode
+     */
+    synchronized List<EntailmentCheckMode> getModesToSample(AxiomType<?> type) {
+        Calibration calibration = getCalibration(type);
+        List<EntailmentCheckMode> modes = new ArrayList<>(calibration.remainingModes);
+        int rotation = calibration.sampleCount % modes.size();
+        List<EntailmentCheckMode> rotated = new ArrayList<>(modes.subList(rotation, modes.size()));
+        rotated.addAll(modes.subList(0, rotation));
+        return rotated;
+    }
+
+    /**
+     * Records the times that the modes took to make one check of an entailment of a type, and chooses a mode for the
+     * type once enough checks have been recorded.
+     * @param type The type of entailment
+     * @param timings The time in nanoseconds that each mode that gave the right answer took
+     * @param failedModes The modes that failed or gave the wrong answer
+     */
+    synchronized void recordSample(AxiomType<?> type, Map<EntailmentCheckMode, Long> timings, Set<EntailmentCheckMode> failedModes) {
+        Calibration calibration = getCalibration(type);
+        if (calibration.selectedMode != null) {
+            // Another thread finished the calibration while this sample was being taken
+            return;
+        }
+        calibration.remainingModes.removeAll(failedModes);
+        for (Map.Entry<EntailmentCheckMode, Long> timing : timings.entrySet()) {
+            calibration.totalTimes.merge(timing.getKey(), timing.getValue(), Long::sum);
+        }
+        calibration.sampleCount++;
+        if (calibration.sampleCount >= sampleSize || calibration.remainingModes.size() == 1) {
+            selectMode(type, calibration);
+        }
+    }
+
+    private Calibration getCalibration(AxiomType<?> type) {
+        return calibrations.computeIfAbsent(type, t -> new Calibration(candidateModes));
+    }
+
+    private void selectMode(AxiomType<?> type, Calibration calibration) {
+        EntailmentCheckMode fastestMode = EntailmentCheckMode.SATISFIABILITY;
+        for (EntailmentCheckMode mode : calibration.remainingModes) {
+            if (calibration.totalTimes.getOrDefault(mode, Long.MAX_VALUE) < calibration.totalTimes.getOrDefault(fastestMode, Long.MAX_VALUE)) {
+                fastestMode = mode;
+            }
+        }
+        calibration.selectedMode = fastestMode;
+
+        TelemetryInfo info = new DefaultTelemetryInfo("entailmentcheckcalibration");
+        TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        transmitter.beginTransmission(info);
+        transmitter.recordMeasurement(info, "entailment type", type.getName());
+        transmitter.recordMeasurement(info, "sample size", calibration.sampleCount);
+        for (Map.Entry<EntailmentCheckMode, Long> totalTime : calibration.totalTimes.entrySet()) {
+            if (calibration.remainingModes.contains(totalTime.getKey())) {
+                transmitter.recordMeasurement(info, totalTime.getKey() + " time", totalTime.getValue());
+            }
+        }
+        transmitter.recordMeasurement(info, "selected mode", fastestMode.toString());
+        transmitter.endTransmission(info);
+    }
+
+    /**
+     * The state of the calibration for one type of entailment.
+     */
+    private static class Calibration {
+
+        private final Set<EntailmentCheckMode> remainingModes;
+
+        private final Map<EntailmentCheckMode, Long> totalTimes = new EnumMap<>(EntailmentCheckMode.class);
+
+        private int sampleCount = 0;
+
+        private EntailmentCheckMode selectedMode = null;
+
+        public Calibration(Set<EntailmentCheckMode> candidateModes) {
+            this.remainingModes = EnumSet.copyOf(candidateModes);
+        }
+    }
+}
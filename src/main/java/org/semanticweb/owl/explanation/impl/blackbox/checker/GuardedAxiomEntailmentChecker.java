@@ -0,0 +1,351 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import org.semanticweb.owl.explanation.api.ExplanationException;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTimer;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.*;
+
+import java.util.*;
+import java.util.function.Supplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An entailment checker that loads the axioms that it is asked about into a single reasoner, and that answers each
+ * entailment check with one satisfiability query against that reasoner.
+ * <p>
+ * Each axiom is converted, in the same way as by {@link SatisfiabilityEntailmentChecker}, into a class expression
+ * <code>C</code> that is unsatisfiable exactly when the axiom holds, and is then loaded as the guarded axiom
+ * <code>C and (topObjectProperty some S) SubClassOf owl:Nothing</code>, where <code>S</code> is a fresh selector
+ * class for the axiom.  The guarded axiom only has an effect in models where some individual is an instance of its
+ * selector, in which case it is equivalent to the original axiom.  Whether a set of axioms entails the entailment
+ * is then the question of whether the entailment's own unsatisfiable class expression is still unsatisfiable when
+ * it is intersected with <code>topObjectProperty some S</code> for the selector of each axiom in the set.  Selectors
+ * of axioms that are not in the set can be empty, which switches these axioms off.
+ * </p>
+ * <p>
+ * The guarded axioms are built for the module that is extracted by this checker, so that a generator builds the
+ * reasoner once per explanation.  If a check refers to an axiom that has not been loaded, the reasoner is rebuilt
+ * with the axiom added.  The conversion is only exact for class axioms, assertions and the property axioms that
+ * can be written as class axioms.  Checks on sets that contain other axioms, such as sub-property or transitivity
+ * axioms, are passed to a {@link SatisfiabilityEntailmentChecker}.  The reasoner must support the top object
+ * property.
+ * </p>
+ * <p>
+ * A checker may be shared between threads, but as all of the checks use the same reasoner they take turns.
+ * </p>
+ */
+public class GuardedAxiomEntailmentChecker implements EntailmentChecker<OWLAxiom> {
+
+    private static final String SELECTOR_PREFIX = "owlapi:explanation:selector";
+
+    private final OWLAxiom entailment;
+
+    private final OWLReasonerFactory reasonerFactory;
+
+    private final long timeOutMS;
+
+    private final OWLOntologyManager man;
+
+    /**
+     * Converts axioms, extracts modules, and performs the checks that cannot be answered by the guarded reasoner.
+     */
+    private final SatisfiabilityEntailmentChecker delegate;
+
+    /**
+     * The selector expression for each axiom that is loaded into the guarded reasoner.
+     */
+    private final Map<OWLAxiom, OWLClassExpression> selectors = new HashMap<>();
+
+    /**
+     * The axioms that the guarded reasoner should be built for when it is next built.
+     */
+    private final Set<OWLAxiom> pendingAxioms = new HashSet<>();
+
+    private OWLOntology guardedOntology;
+
+    private OWLReasoner guardedReasoner;
+
+    private final Set<OWLAxiom> lastAxioms = new HashSet<>();
+
+    private final Set<OWLAxiom> lastEntailingAxioms = new HashSet<>();
+
+    private int counter = 0;
+
+    private int numberOfReasonerBuilds = 0;
+
+    public GuardedAxiomEntailmentChecker(OWLReasonerFactory reasonerFactory, OWLAxiom entailment, Supplier<OWLOntologyManager> m) {
+        this(reasonerFactory, entailment, m, true, Long.MAX_VALUE);
+    }
+
+    public GuardedAxiomEntailmentChecker(OWLReasonerFactory reasonerFactory, OWLAxiom entailment, Supplier<OWLOntologyManager> m, boolean useModularisation, long timeOutMS) {
+        this.entailment = entailment;
+        this.reasonerFactory = reasonerFactory;
+        this.timeOutMS = timeOutMS;
+        this.man = m.get();
+        this.delegate = new SatisfiabilityEntailmentChecker(reasonerFactory, entailment, m, useModularisation, timeOutMS, true);
+    }
+
+    @Override
+    public synchronized int getCounter() {
+        return counter;
+    }
+
+    @Override
+    public synchronized void resetCounter() {
+        counter = 0;
+    }
+
+    /**
+     * Gets the number of times that the guarded reasoner has been built.
+     * @return The number of reasoners that have been created for guarded axioms
+     */
+    public synchronized int getNumberOfReasonerBuilds() {
+        return numberOfReasonerBuilds;
+    }
+
+    @Override
+    public OWLAxiom getEntailment() {
+        return entailment;
+    }
+
+    @Override
+    public Set<OWLEntity> getEntailmentSignature() {
+        return delegate.getEntailmentSignature();
+    }
+
+    @Override
+    public Set<OWLEntity> getSeedSignature() {
+        return delegate.getSeedSignature();
+    }
+
+    @Override
+    public synchronized Set<OWLAxiom> getModule(Set<OWLAxiom> axioms) {
+        Set<OWLAxiom> module = delegate.getModule(axioms);
+        if (guardedReasoner == null) {
+            pendingAxioms.addAll(module);
+        }
+        return module;
+    }
+
+    @Override
+    public String getModularisationTypeDescription() {
+        return delegate.getModularisationTypeDescription();
+    }
+
+    @Override
+    public boolean isUseModularisation() {
+        return delegate.isUseModularisation();
+    }
+
+    @Override
+    public synchronized boolean isEntailed(Set<OWLAxiom> axioms) {
+        TelemetryTimer totalTimer = new TelemetryTimer();
+        TelemetryTimer entailmentCheckTimer = new TelemetryTimer();
+        TelemetryInfo info = new DefaultTelemetryInfo("entailmentcheck", false, totalTimer, entailmentCheckTimer);
+        final TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        transmitter.beginTransmission(info);
+        boolean entailed = true;
+        boolean guarded = false;
+        try {
+            transmitter.recordMeasurement(info, "input size", axioms.size());
+            totalTimer.start();
+            lastEntailingAxioms.clear();
+            lastAxioms.clear();
+            lastAxioms.addAll(axioms);
+            if (axioms.contains(entailment)) {
+                lastEntailingAxioms.add(entailment);
+                return true;
+            }
+            counter++;
+            guarded = prepareGuardedReasoner(axioms);
+            entailmentCheckTimer.start();
+            if (guarded) {
+                entailed = !guardedReasoner.isSatisfiable(getQuery(axioms));
+                if (entailed) {
+                    axioms.stream().filter(OWLAxiom::isLogicalAxiom).forEach(lastEntailingAxioms::add);
+                }
+            }
+            else {
+                entailed = delegate.isEntailed(axioms);
+                if (entailed) {
+                    lastEntailingAxioms.addAll(delegate.getEntailingAxioms(axioms));
+                }
+            }
+            entailmentCheckTimer.stop();
+            return entailed;
+        }
+        catch (OWLOntologyCreationException e) {
+            throw new ExplanationException(e);
+        }
+        catch (TimeOutException e) {
+            transmitter.recordMeasurement(info, "reasoner time out", true);
+            throw e;
+        }
+        catch (ExplanationGeneratorInterruptedException e) {
+            transmitter.recordMeasurement(info, "interrupted", true);
+            throw e;
+        }
+        catch (RuntimeException e) {
+            // The state of the guarded reasoner is unknown, so start afresh on the next check
+            disposeGuardedReasoner();
+            transmitter.recordException(info, e);
+            throw e;
+        }
+        finally {
+            totalTimer.stop();
+            transmitter.recordTiming(info, "satisfiability check time", entailmentCheckTimer);
+            transmitter.recordMeasurement(info, "guarded", guarded);
+            transmitter.recordMeasurement(info, "entailed", entailed);
+            transmitter.recordTiming(info, "time", totalTimer);
+            transmitter.endTransmission(info);
+        }
+    }
+
+    /**
+     * Makes sure that the guarded reasoner contains guarded versions of the specified axioms, if this is possible.
+     * @return <code>true</code> if the check can be answered by the guarded reasoner, or <code>false</code> if
+     * some of the axioms cannot be guarded
+     */
+    private boolean prepareGuardedReasoner(Set<OWLAxiom> axioms) throws OWLOntologyCreationException {
+        boolean rebuild = guardedReasoner == null;
+        for (OWLAxiom ax : axioms) {
+            if (!ax.isLogicalAxiom() || selectors.containsKey(ax)) {
+                continue;
+            }
+            if (!isGuardable(ax)) {
+                return false;
+            }
+            rebuild = true;
+        }
+        if (rebuild) {
+            pendingAxioms.addAll(selectors.keySet());
+            pendingAxioms.addAll(axioms);
+            buildGuardedReasoner();
+        }
+        return true;
+    }
+
+    private void buildGuardedReasoner() throws OWLOntologyCreationException {
+        disposeGuardedReasoner();
+        OWLDataFactory df = man.getOWLDataFactory();
+        OWLObjectProperty topProperty = df.getOWLTopObjectProperty();
+        Set<OWLAxiom> guardedAxioms = new HashSet<>();
+        for (OWLAxiom ax : pendingAxioms) {
+            if (!ax.isLogicalAxiom() || !isGuardable(ax)) {
+                continue;
+            }
+            OWLClassExpression converted = delegate.getSatisfiabilityConversion(ax);
+            OWLClass selectorCls = df.getOWLClass(IRI.create(SELECTOR_PREFIX + selectors.size()));
+            OWLClassExpression selector = df.getOWLObjectSomeValuesFrom(topProperty, selectorCls);
+            selectors.put(ax, selector);
+            guardedAxioms.add(df.getOWLDeclarationAxiom(selectorCls));
+            guardedAxioms.add(df.getOWLSubClassOfAxiom(df.getOWLObjectIntersectionOf(converted, selector), df.getOWLNothing()));
+        }
+        pendingAxioms.clear();
+        delegate.getUnsatisfiableClassExpression().signature()
+                .filter(ent -> !ent.isBuiltIn())
+                .forEach(ent -> guardedAxioms.add(df.getOWLDeclarationAxiom(ent)));
+        for (OWLEntity freshEntity : delegate.getFreshEntities()) {
+            guardedAxioms.add(df.getOWLDeclarationAxiom(freshEntity));
+        }
+        guardedOntology = man.createOntology(guardedAxioms);
+        guardedReasoner = reasonerFactory.createReasoner(guardedOntology, new SimpleConfiguration(new NullReasonerProgressMonitor(), FreshEntityPolicy.ALLOW, timeOutMS, IndividualNodeSetPolicy.BY_SAME_AS));
+        numberOfReasonerBuilds++;
+    }
+
+    private OWLClassExpression getQuery(Set<OWLAxiom> axioms) {
+        Set<OWLClassExpression> conjuncts = new HashSet<>();
+        conjuncts.add(delegate.getUnsatisfiableClassExpression());
+        for (OWLAxiom ax : axioms) {
+            OWLClassExpression selector = selectors.get(ax);
+            if (selector != null) {
+                conjuncts.add(selector);
+            }
+        }
+        if (conjuncts.size() == 1) {
+            return delegate.getUnsatisfiableClassExpression();
+        }
+        return man.getOWLDataFactory().getOWLObjectIntersectionOf(conjuncts);
+    }
+
+    /**
+     * Determines whether the satisfiability conversion of an axiom, read as a general class inclusion, is
+     * equivalent to the axiom.
+     */
+    private static boolean isGuardable(OWLAxiom ax) {
+        if (ax instanceof OWLEquivalentClassesAxiom) {
+            return ((OWLEquivalentClassesAxiom) ax).classExpressions().count() == 2;
+        }
+        if (ax instanceof OWLDisjointClassesAxiom) {
+            return ((OWLDisjointClassesAxiom) ax).classExpressions().count() == 2;
+        }
+        return ax instanceof OWLSubClassOfAxiom
+                || ax instanceof OWLClassAssertionAxiom
+                || ax instanceof OWLObjectPropertyAssertionAxiom
+                || ax instanceof OWLDataPropertyAssertionAxiom
+                || ax instanceof OWLNegativeObjectPropertyAssertionAxiom
+                || ax instanceof OWLNegativeDataPropertyAssertionAxiom
+                || ax instanceof OWLObjectPropertyDomainAxiom
+                || ax instanceof OWLObjectPropertyRangeAxiom
+                || ax instanceof OWLDataPropertyDomainAxiom
+                || ax instanceof OWLDataPropertyRangeAxiom
+                || ax instanceof OWLFunctionalObjectPropertyAxiom
+                || ax instanceof OWLFunctionalDataPropertyAxiom
+                || ax instanceof OWLInverseFunctionalObjectPropertyAxiom
+                || ax instanceof OWLReflexiveObjectPropertyAxiom
+                || ax instanceof OWLIrreflexiveObjectPropertyAxiom;
+    }
+
+    @Override
+    public synchronized Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
+        if (!axioms.equals(lastAxioms)) {
+            isEntailed(axioms);
+        }
+        return new HashSet<>(lastEntailingAxioms);
+    }
+
+    private void disposeGuardedReasoner() {
+        if (guardedReasoner != null) {
+            guardedReasoner.dispose();
+            guardedReasoner = null;
+        }
+        if (guardedOntology != null) {
+            man.removeOntology(guardedOntology);
+            guardedOntology = null;
+        }
+        selectors.clear();
+    }
+
+    @Override
+    public synchronized void dispose() {
+        disposeGuardedReasoner();
+        pendingAxioms.clear();
+        delegate.dispose();
+    }
+}
@@ -0,0 +1,62 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import java.util.function.Supplier;
+
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentCheckerFactory;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A factory for {@link GuardedAxiomEntailmentChecker}s, which answer all of the entailment checks for an
+ * explanation with one reasoner.
+ */
+public class GuardedAxiomEntailmentCheckerFactory implements EntailmentCheckerFactory<OWLAxiom> {
+
+    private OWLReasonerFactory reasonerFactory;
+
+    private boolean useModularisation;
+
+    private long entailmentCheckTimeOutMS = Long.MAX_VALUE;
+
+    private Supplier<OWLOntologyManager> m;
+
+    public GuardedAxiomEntailmentCheckerFactory(OWLReasonerFactory reasonerFactory, Supplier<OWLOntologyManager> m) {
+        this(reasonerFactory, true, Long.MAX_VALUE, m);
+    }
+
+    public GuardedAxiomEntailmentCheckerFactory(OWLReasonerFactory reasonerFactory, boolean useModularisation, long entailmentCheckTimeOutMS, Supplier<OWLOntologyManager> m) {
+        this.reasonerFactory = reasonerFactory;
+        this.useModularisation = useModularisation;
+        this.entailmentCheckTimeOutMS = entailmentCheckTimeOutMS;
+        this.m = m;
+    }
+
+    @Override
+    public EntailmentChecker<OWLAxiom> createEntailementChecker(OWLAxiom entailment) {
+        return new GuardedAxiomEntailmentChecker(reasonerFactory, entailment, m, useModularisation, entailmentCheckTimeOutMS);
+    }
+}
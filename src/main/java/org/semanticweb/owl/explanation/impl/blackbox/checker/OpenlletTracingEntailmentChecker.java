@@ -0,0 +1,335 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import openllet.aterm.ATermAppl;
+import openllet.core.KnowledgeBase;
+import openllet.core.OpenlletOptions;
+import openllet.owlapi.AxiomConverter;
+import openllet.owlapi.OpenlletReasoner;
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.semanticweb.owl.explanation.api.ExplanationException;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTimer;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An entailment checker that checks entailments with Openllet, and that asks Openllet which axioms took part in
+ * the clash that closed the tableau, so that {@link #getEntailingAxioms(Set)} returns a small set of axioms
+ * rather than all of the logical axioms that were checked.  An expansion strategy can then hand a set that is
+ * close to a justification over to contraction.
+ * <p>
+ * Entailments are converted into unsatisfiability checks in the same way as by
+ * {@link SatisfiabilityEntailmentChecker}; an inconsistent set of axioms entails everything, and the axioms that
+ * take part in the inconsistency are returned.  Openllet reports the axioms of its knowledge base, which are
+ * mapped back onto the axioms that were checked.  If this is not possible for all of the traced axioms, or if
+ * the traced axioms do not entail the entailment by themselves, all of the logical axioms are returned.
+ * </p>
+ * <p>
+ * Openllet is an optional dependency, which must be on the class path to use this checker.  Openllet only records
+ * which axioms a clash depends on when its global <code>OpenlletOptions.USE_TRACING</code> option is on, which
+ * slows down every Openllet reasoner in the process.  The checker therefore does not switch tracing on itself:
+ * callers that want small entailing sets call {@link #setTracingEnabled(boolean)} before checking.  While tracing
+ * is off, entailment checks still work, and all of the logical axioms are returned as the entailing axioms.
+ * A checker may be shared between threads.  As with {@link SatisfiabilityEntailmentChecker}, changes to the
+ * ontology manager that the checker takes from its supplier are made while holding the lock of the manager, so
+ * checkers that share a manager take turns to change it.
+ * </p>
+ */
+public class OpenlletTracingEntailmentChecker implements EntailmentChecker<OWLAxiom> {
+
+    private final OWLAxiom entailment;
+
+    private final long timeOutMS;
+
+    private final OWLOntologyManager man;
+
+    /**
+     * Converts the entailment and extracts modules.
+     */
+    private final SatisfiabilityEntailmentChecker delegate;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * The outcome of the most recent check.
+     */
+    private volatile CheckResult lastCheck = null;
+
+    public OpenlletTracingEntailmentChecker(OWLAxiom entailment, Supplier<OWLOntologyManager> m) {
+        this(entailment, m, true, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a tracing entailment checker.
+     * @param entailment The entailment to be checked
+     * @param m A supplier of ontology managers
+     * @param useModularisation Whether or not modules should be extracted from the input axioms
+     * @param timeOutMS The reasoner time out for each entailment check
+     */
+    public OpenlletTracingEntailmentChecker(OWLAxiom entailment, Supplier<OWLOntologyManager> m, boolean useModularisation, long timeOutMS) {
+        this.entailment = entailment;
+        this.timeOutMS = timeOutMS;
+        this.man = m.get();
+        this.delegate = new SatisfiabilityEntailmentChecker(OpenlletReasonerFactory.getInstance(), entailment, m, useModularisation, timeOutMS);
+    }
+
+    /**
+     * Switches tracing in Openllet on or off.  This sets a global Openllet option, and so affects all Openllet
+     * reasoners that are created afterwards, not only those created by tracing checkers.
+     * @param enabled <code>true</code> to switch tracing on, <code>false</code> to switch it off
+     */
+    public static void setTracingEnabled(boolean enabled) {
+        OpenlletOptions.USE_TRACING = enabled;
+    }
+
+    /**
+     * Determines whether tracing is switched on in Openllet.
+     * @return <code>true</code> if Openllet traces the axioms that clashes depend on
+     */
+    public static boolean isTracingEnabled() {
+        return OpenlletOptions.USE_TRACING;
+    }
+
+    @Override
+    public int getCounter() {
+        return counter.get();
+    }
+
+    @Override
+    public void resetCounter() {
+        counter.set(0);
+    }
+
+    @Override
+    public OWLAxiom getEntailment() {
+        return entailment;
+    }
+
+    @Override
+    public Set<OWLEntity> getEntailmentSignature() {
+        return delegate.getEntailmentSignature();
+    }
+
+    @Override
+    public Set<OWLEntity> getSeedSignature() {
+        return delegate.getSeedSignature();
+    }
+
+    @Override
+    public Set<OWLAxiom> getModule(Set<OWLAxiom> axioms) {
+        return delegate.getModule(axioms);
+    }
+
+    @Override
+    public String getModularisationTypeDescription() {
+        return delegate.getModularisationTypeDescription();
+    }
+
+    @Override
+    public boolean isUseModularisation() {
+        return delegate.isUseModularisation();
+    }
+
+    @Override
+    public boolean isEntailed(Set<OWLAxiom> axioms) {
+        CheckResult result = check(axioms);
+        lastCheck = result;
+        return result.entailed;
+    }
+
+    /**
+     * Gets the traced axioms of a set of axioms that entails the entailment.  If the traced axioms are fewer than
+     * the logical axioms in the set, they are checked on their own first, and are only returned if they entail the
+     * entailment.
+     */
+    @Override
+    public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
+        CheckResult result = lastCheck;
+        if (result == null || !result.axioms.equals(axioms)) {
+            result = check(axioms);
+        }
+        if (result.entailed && !result.verified) {
+            CheckResult tracedResult = check(result.entailingAxioms);
+            if (tracedResult.entailed) {
+                result = new CheckResult(axioms, true, tracedResult.entailingAxioms, true);
+            }
+            else {
+                result = new CheckResult(axioms, true, getLogicalAxioms(axioms), true);
+            }
+        }
+        lastCheck = result;
+        return result.entailingAxioms;
+    }
+
+    /**
+     * Performs an entailment check with a fresh Openllet reasoner, and traces the axioms that the check depends on.
+     */
+    private CheckResult check(Set<OWLAxiom> axioms) {
+        TelemetryTimer totalTimer = new TelemetryTimer();
+        TelemetryTimer entailmentCheckTimer = new TelemetryTimer();
+        TelemetryInfo info = new DefaultTelemetryInfo("entailmentcheck", false, totalTimer, entailmentCheckTimer);
+        final TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        transmitter.beginTransmission(info);
+        boolean entailed = true;
+        try {
+            transmitter.recordMeasurement(info, "input size", axioms.size());
+            totalTimer.start();
+            if (axioms.contains(entailment)) {
+                return new CheckResult(axioms, true, Collections.singleton(entailment), true);
+            }
+            OWLClassExpression unsatDesc = delegate.getUnsatisfiableClassExpression();
+            OWLOntology ont;
+            OpenlletReasoner reasoner;
+            synchronized (man) {
+                ont = man.createOntology(axioms);
+                OWLDataFactory df = man.getOWLDataFactory();
+                unsatDesc.signature()
+                        .filter(ent -> !ent.isBuiltIn() && !ont.containsEntityInSignature(ent))
+                        .forEach(ent -> ont.add(df.getOWLDeclarationAxiom(ent)));
+                for (OWLEntity freshEntity : delegate.getFreshEntities()) {
+                    ont.add(df.getOWLDeclarationAxiom(freshEntity));
+                }
+                reasoner = OpenlletReasonerFactory.getInstance().createNonBufferingReasoner(ont, new SimpleConfiguration(new NullReasonerProgressMonitor(), FreshEntityPolicy.ALLOW, timeOutMS, IndividualNodeSetPolicy.BY_SAME_AS));
+            }
+            try {
+                counter.incrementAndGet();
+                entailmentCheckTimer.start();
+                KnowledgeBase kb = reasoner.getKB();
+                boolean tracing = isTracingEnabled();
+                kb.setDoExplanation(tracing);
+                entailed = !kb.isConsistent() || !kb.isSatisfiable(reasoner.term(unsatDesc));
+                entailmentCheckTimer.stop();
+                if (!entailed) {
+                    return new CheckResult(axioms, false, Collections.emptySet(), true);
+                }
+                if (!tracing) {
+                    return new CheckResult(axioms, true, getLogicalAxioms(axioms), true);
+                }
+                Set<OWLAxiom> tracedAxioms = getTracedAxioms(kb, axioms);
+                transmitter.recordMeasurement(info, "traced size", tracedAxioms.size());
+                Set<OWLAxiom> logicalAxioms = getLogicalAxioms(axioms);
+                if (tracedAxioms.size() < logicalAxioms.size()) {
+                    return new CheckResult(axioms, true, tracedAxioms, false);
+                }
+                return new CheckResult(axioms, true, logicalAxioms, true);
+            }
+            finally {
+                synchronized (man) {
+                    reasoner.dispose();
+                    man.removeOntology(ont);
+                }
+            }
+        }
+        catch (OWLOntologyCreationException e) {
+            throw new ExplanationException(e);
+        }
+        catch (TimeOutException e) {
+            transmitter.recordMeasurement(info, "reasoner time out", true);
+            throw e;
+        }
+        catch (ExplanationGeneratorInterruptedException e) {
+            transmitter.recordMeasurement(info, "interrupted", true);
+            throw e;
+        }
+        catch (RuntimeException e) {
+            transmitter.recordException(info, e);
+            throw e;
+        }
+        finally {
+            totalTimer.stop();
+            transmitter.recordTiming(info, "satisfiability check time", entailmentCheckTimer);
+            transmitter.recordMeasurement(info, "entailed", entailed);
+            transmitter.recordTiming(info, "time", totalTimer);
+            transmitter.endTransmission(info);
+        }
+    }
+
+    /**
+     * Maps the explanation of the last check of a knowledge base back onto the checked axioms.
+     * @return The traced axioms, or all of the logical axioms if some traced axiom is not one of the checked axioms
+     */
+    private Set<OWLAxiom> getTracedAxioms(KnowledgeBase kb, Set<OWLAxiom> axioms) {
+        Set<ATermAppl> explanation = kb.getExplanationSet();
+        if (explanation == null || explanation.isEmpty()) {
+            return getLogicalAxioms(axioms);
+        }
+        AxiomConverter converter = new AxiomConverter(kb, man.getOWLDataFactory());
+        Set<OWLAxiom> tracedAxioms = new HashSet<>();
+        for (ATermAppl term : explanation) {
+            OWLAxiom ax = converter.convert(term);
+            if (ax == null || !axioms.contains(ax)) {
+                return getLogicalAxioms(axioms);
+            }
+            if (ax.isLogicalAxiom()) {
+                tracedAxioms.add(ax);
+            }
+        }
+        return tracedAxioms;
+    }
+
+    private static Set<OWLAxiom> getLogicalAxioms(Set<OWLAxiom> axioms) {
+        Set<OWLAxiom> logicalAxioms = new HashSet<>();
+        axioms.stream().filter(OWLAxiom::isLogicalAxiom).forEach(logicalAxioms::add);
+        return logicalAxioms;
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    /**
+     * The outcome of an entailment check.  The entailing axioms of a check are verified if they are known to entail
+     * the entailment, which is not the case for traced axioms that have not been checked on their own.
+     */
+    private static class CheckResult {
+
+        private final Set<OWLAxiom> axioms;
+
+        private final boolean entailed;
+
+        private final Set<OWLAxiom> entailingAxioms;
+
+        private final boolean verified;
+
+        public CheckResult(Set<OWLAxiom> axioms, boolean entailed, Set<OWLAxiom> entailingAxioms, boolean verified) {
+            this.axioms = new HashSet<>(axioms);
+            this.entailed = entailed;
+            this.entailingAxioms = Collections.unmodifiableSet(entailingAxioms);
+            this.verified = verified;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import java.util.function.Supplier;
+
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentCheckerFactory;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A factory for {@link OpenlletTracingEntailmentChecker}s, which need Openllet on the class path.  Tracing is not
+ * switched on by the factory; see {@link OpenlletTracingEntailmentChecker#setTracingEnabled(boolean)}.
+ */
+public class OpenlletTracingEntailmentCheckerFactory implements EntailmentCheckerFactory<OWLAxiom> {
+
+    private boolean useModularisation;
+
+    private long entailmentCheckTimeOutMS = Long.MAX_VALUE;
+
+    private Supplier<OWLOntologyManager> m;
+
+    public OpenlletTracingEntailmentCheckerFactory(Supplier<OWLOntologyManager> m) {
+        this(true, m);
+    }
+
+    public OpenlletTracingEntailmentCheckerFactory(boolean useModularisation, Supplier<OWLOntologyManager> m) {
+        this(useModularisation, Long.MAX_VALUE, m);
+    }
+
+    public OpenlletTracingEntailmentCheckerFactory(boolean useModularisation, long entailmentCheckTimeOutMS, Supplier<OWLOntologyManager> m) {
+        this.useModularisation = useModularisation;
+        this.entailmentCheckTimeOutMS = entailmentCheckTimeOutMS;
+        this.m = m;
+    }
+
+    @Override
+    public EntailmentChecker<OWLAxiom> createEntailementChecker(OWLAxiom entailment) {
+        return new OpenlletTracingEntailmentChecker(entailment, m, useModularisation, entailmentCheckTimeOutMS);
+    }
+}
@@ -0,0 +1,239 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owl.explanation.impl.blackbox.nsp.PropertyGraph;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.*;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An entailment checker that answers checks of sub-property, equivalent properties, inverse properties and
+ * transitive property entailments from a {@link PropertyGraph} of the checked axioms where it can, and passes the
+ * other checks on to a fallback checker, which is normally a reasoner based checker.
+ * <p>
+ * An entailment holds if it can be read off the graph, in which case the axioms along the paths that it is read
+ * off are its entailing axioms.  If it cannot, it does not hold if the checked axioms are hierarchy axioms only
+ * (see {@link PropertyGraph#isHierarchyOnly()}) and the entailment is not a transitive property entailment.  Any
+ * other check is passed on to the fallback checker.  The graph is kept between checks and only updated with the
+ * difference between successive sets of axioms, so explaining a property hierarchy does not create an ontology for
+ * each check.  The numbers of checks that were answered by the graph and by the fallback checker are transmitted
+ * as telemetry when the checker is disposed of.
+ * </p>
+ */
+public class RBoxEntailmentChecker implements EntailmentChecker<OWLAxiom> {
+
+    private final EntailmentChecker<OWLAxiom> fallbackChecker;
+
+    private final PropertyGraph graph = new PropertyGraph();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private final AtomicInteger graphCheckCount = new AtomicInteger();
+
+    private final AtomicInteger fallbackCheckCount = new AtomicInteger();
+
+    public RBoxEntailmentChecker(EntailmentChecker<OWLAxiom> fallbackChecker) {
+        this.fallbackChecker = fallbackChecker;
+    }
+
+    /**
+     * Determines whether an entailment can be checked with a property graph.
+     * @param entailment The entailment
+     * @return <code>true</code> if the entailment is a sub-property, equivalent properties, inverse properties or
+     * transitive property axiom, otherwise <code>false</code>
+     */
+    public static boolean isSupportedEntailment(OWLAxiom entailment) {
+        return entailment instanceof OWLSubObjectPropertyOfAxiom
+                || entailment instanceof OWLEquivalentObjectPropertiesAxiom
+                || entailment instanceof OWLInverseObjectPropertiesAxiom
+                || entailment instanceof OWLTransitiveObjectPropertyAxiom;
+    }
+
+    public EntailmentChecker<OWLAxiom> getFallbackChecker() {
+        return fallbackChecker;
+    }
+
+    /**
+     * Gets the number of checks that were answered by the property graph.
+     * @return The number of graph checks
+     */
+    public int getGraphCheckCount() {
+        return graphCheckCount.get();
+    }
+
+    /**
+     * Gets the number of checks that were passed on to the fallback checker.
+     * @return The number of fallback checks
+     */
+    public int getFallbackCheckCount() {
+        return fallbackCheckCount.get();
+    }
+
+    @Override
+    public int getCounter() {
+        return fallbackChecker.getCounter() + counter.get();
+    }
+
+    @Override
+    public void resetCounter() {
+        fallbackChecker.resetCounter();
+        counter.set(0);
+    }
+
+    @Override
+    public OWLAxiom getEntailment() {
+        return fallbackChecker.getEntailment();
+    }
+
+    @Override
+    public Set<OWLEntity> getEntailmentSignature() {
+        return fallbackChecker.getEntailmentSignature();
+    }
+
+    @Override
+    public Set<OWLEntity> getSeedSignature() {
+        return fallbackChecker.getSeedSignature();
+    }
+
+    @Override
+    public boolean isEntailed(Set<OWLAxiom> axioms) {
+        if (isSupportedEntailment(getEntailment())) {
+            synchronized (graph) {
+                graph.setAxioms(axioms);
+                if (getGraphEntailingAxioms() != null) {
+                    counter.incrementAndGet();
+                    graphCheckCount.incrementAndGet();
+                    return true;
+                }
+                if (isNonEntailmentDecidedByGraph()) {
+                    counter.incrementAndGet();
+                    graphCheckCount.incrementAndGet();
+                    return false;
+                }
+            }
+        }
+        fallbackCheckCount.incrementAndGet();
+        return fallbackChecker.isEntailed(axioms);
+    }
+
+    @Override
+    public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
+        if (isSupportedEntailment(getEntailment())) {
+            synchronized (graph) {
+                graph.setAxioms(axioms);
+                Set<OWLAxiom> entailingAxioms = getGraphEntailingAxioms();
+                if (entailingAxioms != null) {
+                    return entailingAxioms;
+                }
+            }
+        }
+        return fallbackChecker.getEntailingAxioms(axioms);
+    }
+
+    /**
+     * Gets the axioms of the paths in the graph that the entailment can be read off.
+     * @return The axioms, or <code>null</code> if the entailment cannot be read off the graph
+     */
+    private Set<OWLAxiom> getGraphEntailingAxioms() {
+        OWLAxiom entailment = getEntailment();
+        if (entailment instanceof OWLSubObjectPropertyOfAxiom) {
+            OWLSubObjectPropertyOfAxiom ax = (OWLSubObjectPropertyOfAxiom) entailment;
+            if (ax.getSuperProperty().isOWLTopObjectProperty() || ax.getSubProperty().isOWLBottomObjectProperty()) {
+                return new HashSet<>();
+            }
+            return graph.getPathAxioms(ax.getSubProperty(), ax.getSuperProperty());
+        }
+        else if (entailment instanceof OWLEquivalentObjectPropertiesAxiom) {
+            List<OWLObjectPropertyExpression> properties = asList(((OWLEquivalentObjectPropertiesAxiom) entailment).properties());
+            return getCycleAxioms(properties);
+        }
+        else if (entailment instanceof OWLInverseObjectPropertiesAxiom) {
+            OWLInverseObjectPropertiesAxiom ax = (OWLInverseObjectPropertiesAxiom) entailment;
+            return getCycleAxioms(Arrays.asList(ax.getFirstProperty(), ax.getSecondProperty().getInverseProperty()));
+        }
+        else if (entailment instanceof OWLTransitiveObjectPropertyAxiom) {
+            return graph.getTransitivityAxioms(((OWLTransitiveObjectPropertyAxiom) entailment).getProperty());
+        }
+        return null;
+    }
+
+    /**
+     * Gets the axioms of a cycle in the graph through a list of property expressions, which makes them equivalent.
+     */
+    private Set<OWLAxiom> getCycleAxioms(List<OWLObjectPropertyExpression> properties) {
+        Set<OWLAxiom> result = new HashSet<>();
+        for (int i = 0; i < properties.size(); i++) {
+            Set<OWLAxiom> pathAxioms = graph.getPathAxioms(properties.get(i), properties.get((i + 1) % properties.size()));
+            if (pathAxioms == null) {
+                return null;
+            }
+            result.addAll(pathAxioms);
+        }
+        return result;
+    }
+
+    private boolean isNonEntailmentDecidedByGraph() {
+        return graph.isHierarchyOnly() && !(getEntailment() instanceof OWLTransitiveObjectPropertyAxiom);
+    }
+
+    @Override
+    public Set<OWLAxiom> getModule(Set<OWLAxiom> axioms) {
+        return fallbackChecker.getModule(axioms);
+    }
+
+    @Override
+    public String getModularisationTypeDescription() {
+        return fallbackChecker.getModularisationTypeDescription();
+    }
+
+    @Override
+    public boolean isUseModularisation() {
+        return fallbackChecker.isUseModularisation();
+    }
+
+    @Override
+    public void dispose() {
+        TelemetryInfo info = new DefaultTelemetryInfo("rboxgraph");
+        TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        try {
+            transmitter.beginTransmission(info);
+            transmitter.recordMeasurement(info, "graph checks", graphCheckCount.get());
+            transmitter.recordMeasurement(info, "fallback checks", fallbackCheckCount.get());
+        }
+        finally {
+            transmitter.endTransmission(info);
+            fallbackChecker.dispose();
+        }
+    }
+}
@@ -12,17 +12,23 @@ import org.semanticweb.owlapi.reasoner.*;
 import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
 import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
 
-import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 /*
  * Copyright (C) 2008, University of Manchester
  *
@@ -51,9 +57,35 @@ import java.util.function.Supplier;
 /**
  * Author: Matthew Horridge<br> The University Of Manchester<br> Information Management Group<br> Date:
  * 03-Sep-2008<br><br>
+ * <p>
+ * A checker may be shared between threads.  Each check works on its own ontology and reasoner, and the results
+ * of a check are kept with the axioms that were checked, so {@link #getEntailingAxioms(Set)} answers for the
+ * axioms that it is given whatever other threads have checked in the meantime.  In incremental mode there is a
+ * single working reasoner, and checks take turns to use it.
+ * </p>
+ * <p>
+ * Each checker takes one ontology manager from the supplier that it is given, and creates and removes the
+ * ontologies of its checks in that manager.  Ontology managers need not support concurrent changes, so all
+ * changes are made while holding the lock of the manager itself.  Checkers that are given the same manager, for
+ * example by a supplier such as <code>() -&gt; sharedManager</code>, therefore take turns to change it.  Any
+ * other code that changes a shared manager while checks run must also synchronize on it, so suppliers should
+ * normally return a new manager, or a concurrent one, each time.
+ * </p>
+ * <p>
+ * By default the reasoner is asked whether the class expression that the entailment is converted to is
+ * unsatisfiable.  Other {@link EntailmentCheckMode}s may be faster for some reasoners, and the mode can either be
+ * fixed or be chosen by an {@link EntailmentCheckModeCalibrator}.
+ * </p>
  */
 public class SatisfiabilityEntailmentChecker implements EntailmentChecker<OWLAxiom> {
 
+    private static final String NAMING_CLASS_PREFIX = "owlapi:explanation:Entailment";
+
+    /**
+     * Numbers the naming classes of all checkers, so that no two checks use the same naming class.
+     */
+    private static final AtomicLong namingClassCounter = new AtomicLong();
+
     protected OWLOntologyManager man;
     
     private Supplier<OWLOntologyManager> m;
@@ -68,28 +100,111 @@ public class SatisfiabilityEntailmentChecker implements EntailmentChecker<OWLAxi
 
     private boolean useModularisation;
 
-    final private Set<OWLAxiom> lastAxioms;
+    /**
+     * The outcome of the most recent check.
+     */
+    private volatile CheckResult lastCheck = null;
 
-    final private Set<OWLAxiom> lastEntailingAxioms;
-
-    private int counter = 0;
+    private final AtomicInteger counter = new AtomicInteger();
 
     private ModuleType moduleType = ModuleType.STAR;
 
     private long timeOutMS = Long.MAX_VALUE;
 
+    private final boolean incremental;
+
+    /**
+     * The mode in which the entailment is checked if there is no calibrator.
+     */
+    private final EntailmentCheckMode checkMode;
+
+    /**
+     * Chooses the mode in which the entailment is checked, or <code>null</code> if the mode is fixed.
+     */
+    private final EntailmentCheckModeCalibrator calibrator;
+
+    /**
+     * In incremental mode, the ontology that the probe axioms are loaded into.  This is created on the first
+     * entailment check and is kept until the checker is disposed of.
+     */
+    private OWLOntology workingOntology;
+
+    /**
+     * In incremental mode, the buffering reasoner for the working ontology.
+     */
+    private OWLReasoner workingReasoner;
+
+    /**
+     * In incremental mode, the probe axioms that are currently loaded into the working ontology.
+     */
+    private final Set<OWLAxiom> workingAxioms = new HashSet<>();
+
+    /**
+     * In incremental mode, the naming axiom and declaration axioms that stay in the working ontology whatever the
+     * probe axioms are.
+     */
+    private final Set<OWLAxiom> supportAxioms = new HashSet<>();
+
+    /**
+     * Guards the working ontology and reasoner in incremental mode.
+     */
+    private final Object workingLock = new Object();
+
     public SatisfiabilityEntailmentChecker(OWLReasonerFactory reasonerFactory, OWLAxiom entailment, Supplier<OWLOntologyManager> m) {
         this(reasonerFactory, entailment, m, true, Long.MAX_VALUE);
     }
 
     public SatisfiabilityEntailmentChecker(OWLReasonerFactory reasonerFactory, OWLAxiom entailment, Supplier<OWLOntologyManager> m, boolean useModularisation, long timeOutMS) {
+        this(reasonerFactory, entailment, m, useModularisation, timeOutMS, false);
+    }
+
+    /**
+     * Constructs a satisfiability based entailment checker.
+     * @param reasonerFactory The factory used to create reasoners for the entailment checks
+     * @param entailment The entailment to be checked
+     * @param m A supplier of ontology managers
+     * @param useModularisation Whether or not modules should be extracted from the input axioms
+     * @param timeOutMS The reasoner time out for each entailment check
+     * @param incremental If <code>true</code> the checker keeps a single working ontology and buffering reasoner
+     * alive between entailment checks.  Each check then only adds and removes the axioms that differ from the
+     * previous check before flushing the reasoner.  If <code>false</code> a fresh ontology and reasoner are
+     * created for each check.  An incremental checker should be disposed of with {@link #dispose()} once it is
+     * no longer needed.
+     */
+    public SatisfiabilityEntailmentChecker(OWLReasonerFactory reasonerFactory, OWLAxiom entailment, Supplier<OWLOntologyManager> m, boolean useModularisation, long timeOutMS, boolean incremental) {
+        this(reasonerFactory, entailment, m, useModularisation, timeOutMS, incremental, EntailmentCheckMode.SATISFIABILITY);
+    }
+
+    /**
+     * Constructs a satisfiability based entailment checker that asks the reasoner for the entailment in a fixed
+     * mode.
+     * @param checkMode The mode in which the reasoner is asked for the entailment
+     * @see #SatisfiabilityEntailmentChecker(OWLReasonerFactory, OWLAxiom, Supplier, boolean, long, boolean)
+     */
+    public SatisfiabilityEntailmentChecker(OWLReasonerFactory reasonerFactory, OWLAxiom entailment, Supplier<OWLOntologyManager> m, boolean useModularisation, long timeOutMS, boolean incremental, EntailmentCheckMode checkMode) {
+        this(reasonerFactory, entailment, m, useModularisation, timeOutMS, incremental, checkMode, null);
+    }
+
+    /**
+     * Constructs a satisfiability based entailment checker that asks the reasoner for the entailment in the mode
+     * that a calibrator chooses for the type of the entailment.  While the calibrator is sampling, each check is
+     * made in every candidate mode.  The checker is not incremental.
+     * @param calibrator The calibrator, which should be shared by the checkers that use the same reasoner factory
+     * @see #SatisfiabilityEntailmentChecker(OWLReasonerFactory, OWLAxiom, Supplier, boolean, long)
+     */
+    public SatisfiabilityEntailmentChecker(OWLReasonerFactory reasonerFactory, OWLAxiom entailment, Supplier<OWLOntologyManager> m, boolean useModularisation, long timeOutMS, EntailmentCheckModeCalibrator calibrator) {
+        this(reasonerFactory, entailment, m, useModularisation, timeOutMS, false, EntailmentCheckMode.SATISFIABILITY, calibrator);
+    }
+
+    private SatisfiabilityEntailmentChecker(OWLReasonerFactory reasonerFactory, OWLAxiom entailment, Supplier<OWLOntologyManager> m, boolean useModularisation, long timeOutMS, boolean incremental, EntailmentCheckMode checkMode, EntailmentCheckModeCalibrator calibrator) {
+        this.checkMode = checkMode;
+        this.calibrator = calibrator;
         this.reasonerFactory = reasonerFactory;
         this.axiom = entailment;
         this.useModularisation = useModularisation;
         this.timeOutMS = timeOutMS;
-        this.lastAxioms = new HashSet<>();
-        this.lastEntailingAxioms = new HashSet<>();
-        freshEntities = new HashSet<>();
+        this.incremental = incremental;
+        freshEntities = ConcurrentHashMap.newKeySet();
         this.man = m.get();
         this.m = m;
 
@@ -112,6 +227,10 @@ public class SatisfiabilityEntailmentChecker implements EntailmentChecker<OWLAxi
         return useModularisation;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
     @Override
     public OWLAxiom getEntailment() {
         return axiom;
@@ -126,12 +245,12 @@ public class SatisfiabilityEntailmentChecker implements EntailmentChecker<OWLAxi
 
     @Override
     public int getCounter() {
-        return counter;
+        return counter.get();
     }
 
     @Override
     public void resetCounter() {
-        counter = 0;
+        counter.set(0);
     }
 
     @Override
@@ -163,6 +282,16 @@ public class SatisfiabilityEntailmentChecker implements EntailmentChecker<OWLAxi
 
     @Override
     public boolean isEntailed(Set<OWLAxiom> axioms) {
+        CheckResult result = check(axioms);
+        lastCheck = result;
+        return result.entailed;
+    }
+
+    /**
+     * Performs an entailment check.  The check only uses state of its own, apart from the working reasoner in
+     * incremental mode.
+     */
+    private CheckResult check(Set<OWLAxiom> axioms) {
 
         TelemetryTimer totalTimer = new TelemetryTimer();
         TelemetryTimer moduleTimer = new TelemetryTimer();
@@ -177,53 +306,50 @@ public class SatisfiabilityEntailmentChecker implements EntailmentChecker<OWLAxi
             transmitter.recordMeasurement(info, "input size", axioms.size());
             totalTimer.start();
 
-            lastEntailingAxioms.clear();
-            lastAxioms.clear();
-            lastAxioms.addAll(axioms);
+            Set<OWLAxiom> entailingAxioms = new HashSet<>();
 
             if (axioms.contains(axiom)) {
-                lastEntailingAxioms.add(axiom);
-                return true;
+                entailingAxioms.add(axiom);
+                return new CheckResult(axioms, true, entailingAxioms);
             }
 
-
-
-            OWLOntology ont = man.createOntology(axioms);
-            toSave = ont;
-            // Previously, I had coded the checker so that we broke out if the
-            // signature of the unsatDesc was not totally contained in set of axioms.
-            // However, if a GCI was in the set of axioms, for example an object
-            // property domain checker, then this could cause erronous results.  We
-            // now add in the signature using declaration axioms.
-
-            OWLDataFactory df=man.getOWLDataFactory();
-            unsatDesc.signature()
-                .filter(ent->!ent.isBuiltIn() && !ont.containsEntityInSignature(ent))
-                .forEach(ent -> ont.add(df.getOWLDeclarationAxiom(ent)));
-
-            String clsName = "Entailment" + System.currentTimeMillis();
-            OWLClass namingCls = man.getOWLDataFactory().getOWLClass(IRI.create(clsName));
-            OWLAxiom namingAxiom = man.getOWLDataFactory().getOWLSubClassOfAxiom(namingCls, unsatDesc);
-            man.addAxiom(ont, namingAxiom);
-            for (OWLEntity freshEntity : freshEntities) {
-                man.addAxiom(ont, man.getOWLDataFactory().getOWLDeclarationAxiom(freshEntity));
+            if (incremental) {
+                counter.incrementAndGet();
+                entailmentCheckTimer.start();
+                synchronized (workingLock) {
+                    try {
+                        entailed = isEntailedIncrementally(axioms);
+                    }
+                    catch (RuntimeException e) {
+                        // The state of the working reasoner is unknown, so start afresh on the next check
+                        toSave = workingOntology;
+                        disposeWorkingReasoner();
+                        throw e;
+                    }
+                }
+                entailmentCheckTimer.stop();
+                if (entailed) {
+                    axioms.stream().filter(OWLAxiom::isLogicalAxiom).forEach(entailingAxioms::add);
+                }
+                return new CheckResult(axioms, entailed, entailingAxioms);
             }
 
-            // Do the actual entailment check
-            counter++;
+
+            EntailmentCheckMode mode = getCheckMode();
+            transmitter.recordMeasurement(info, "check mode", mode != null ? mode.toString() : "calibrating");
+            counter.incrementAndGet();
             entailmentCheckTimer.start();
-            OWLReasoner reasoner = reasonerFactory.createReasoner(ont, new SimpleConfiguration(new NullReasonerProgressMonitor(), FreshEntityPolicy.ALLOW, timeOutMS, IndividualNodeSetPolicy.BY_SAME_AS));
-            entailed = !reasoner.isSatisfiable(unsatDesc);
+            if (mode != null) {
+                entailed = isEntailedInFreshReasoner(axioms, mode);
+            }
+            else {
+                entailed = isEntailedWhileCalibrating(axioms);
+            }
             entailmentCheckTimer.stop();
-
-
-            reasoner.dispose();
-            man.removeOntology(ont);
             if (entailed) {
-                lastEntailingAxioms.remove(namingAxiom);
-                add(lastEntailingAxioms, ont.logicalAxioms());
+                axioms.stream().filter(OWLAxiom::isLogicalAxiom).forEach(entailingAxioms::add);
             }
-            return entailed;
+            return new CheckResult(axioms, entailed, entailingAxioms);
         }
         catch (OWLOntologyCreationException e) {
             throw new ExplanationException(e);
@@ -238,13 +364,7 @@ public class SatisfiabilityEntailmentChecker implements EntailmentChecker<OWLAxi
         }
         catch (RuntimeException e) {
             if (toSave != null) {
-                try (FileOutputStream out = new FileOutputStream(new File("/tmp/lasterror.owl"))) {
-                    toSave.saveOntology(out);
-                } catch (OWLOntologyStorageException e1) {
-                    e1.printStackTrace();
-                } catch (IOException e1) {
-                    e1.printStackTrace();
-                }
+                saveLastError(toSave);
             }
             transmitter.recordException(info, e);
             throw e;
@@ -259,14 +379,249 @@ public class SatisfiabilityEntailmentChecker implements EntailmentChecker<OWLAxi
     }
 
 
+    /**
+     * Gets the mode in which the entailment is checked.
+     * @return The mode, or <code>null</code> if the checker has a calibrator that has not yet chosen a mode for the
+     * type of the entailment
+     */
+    public EntailmentCheckMode getCheckMode() {
+        if (calibrator != null) {
+            return calibrator.getSelectedMode(axiom.getAxiomType());
+        }
+        return checkMode;
+    }
+
+    /**
+     * Checks for the entailment using a fresh ontology and reasoner, which are disposed of after the check.
+     * @param axioms The probe axioms
+     * @param mode The mode in which the reasoner is asked for the entailment
+     * @return <code>true</code> if the probe axioms entail the entailment, otherwise <code>false</code>
+     */
+    private boolean isEntailedInFreshReasoner(Set<OWLAxiom> axioms, EntailmentCheckMode mode) throws OWLOntologyCreationException {
+        OWLOntology ont;
+        OWLReasoner reasoner;
+        synchronized (man) {
+            ont = man.createOntology(axioms);
+            // Previously, I had coded the checker so that we broke out if the
+            // signature of the unsatDesc was not totally contained in set of axioms.
+            // However, if a GCI was in the set of axioms, for example an object
+            // property domain checker, then this could cause erronous results.  We
+            // now add in the signature using declaration axioms.
+
+            OWLDataFactory df = man.getOWLDataFactory();
+            unsatDesc.signature()
+                .filter(ent -> !ent.isBuiltIn() && !ont.containsEntityInSignature(ent))
+                .forEach(ent -> ont.add(df.getOWLDeclarationAxiom(ent)));
+
+            OWLClass namingCls = createNamingClass(df);
+            man.addAxiom(ont, df.getOWLSubClassOfAxiom(namingCls, unsatDesc));
+            man.addAxioms(ont, mode.getSupportAxioms(namingCls, df).stream());
+            for (OWLEntity freshEntity : freshEntities) {
+                man.addAxiom(ont, df.getOWLDeclarationAxiom(freshEntity));
+            }
+            reasoner = reasonerFactory.createReasoner(ont, new SimpleConfiguration(new NullReasonerProgressMonitor(), FreshEntityPolicy.ALLOW, timeOutMS, IndividualNodeSetPolicy.BY_SAME_AS));
+        }
+        try {
+            return mode.isEntailed(reasoner, axiom, unsatDesc);
+        }
+        catch (TimeOutException e) {
+            throw e;
+        }
+        catch (ExplanationGeneratorInterruptedException e) {
+            throw e;
+        }
+        catch (RuntimeException e) {
+            saveLastError(ont);
+            throw e;
+        }
+        finally {
+            synchronized (man) {
+                reasoner.dispose();
+                man.removeOntology(ont);
+            }
+        }
+    }
+
+    /**
+     * Checks for the entailment in each of the modes that the calibrator samples, and passes the times that they
+     * took to the calibrator.  The answer is the answer of the {@link EntailmentCheckMode#SATISFIABILITY} mode.
+     * @param axioms The probe axioms
+     * @return <code>true</code> if the probe axioms entail the entailment, otherwise <code>false</code>
+     */
+    private boolean isEntailedWhileCalibrating(Set<OWLAxiom> axioms) throws OWLOntologyCreationException {
+        AxiomType<?> type = axiom.getAxiomType();
+        Map<EntailmentCheckMode, Boolean> answers = new EnumMap<>(EntailmentCheckMode.class);
+        Map<EntailmentCheckMode, Long> timings = new EnumMap<>(EntailmentCheckMode.class);
+        Set<EntailmentCheckMode> failedModes = EnumSet.noneOf(EntailmentCheckMode.class);
+        for (EntailmentCheckMode mode : calibrator.getModesToSample(type)) {
+            long start = System.nanoTime();
+            try {
+                answers.put(mode, isEntailedInFreshReasoner(axioms, mode));
+                timings.put(mode, System.nanoTime() - start);
+            }
+            catch (ExplanationGeneratorInterruptedException e) {
+                throw e;
+            }
+            catch (RuntimeException e) {
+                if (mode == EntailmentCheckMode.SATISFIABILITY) {
+                    throw e;
+                }
+                failedModes.add(mode);
+            }
+        }
+        boolean entailed = answers.get(EntailmentCheckMode.SATISFIABILITY);
+        for (Map.Entry<EntailmentCheckMode, Boolean> answer : answers.entrySet()) {
+            if (answer.getValue() != entailed) {
+                failedModes.add(answer.getKey());
+                timings.remove(answer.getKey());
+            }
+        }
+        calibrator.recordSample(type, timings, failedModes);
+        return entailed;
+    }
+
+    private static void saveLastError(OWLOntology ont) {
+        try (FileOutputStream out = new FileOutputStream(new File("/tmp/lasterror.owl"))) {
+            ont.saveOntology(out);
+        } catch (OWLOntologyStorageException e1) {
+            e1.printStackTrace();
+        } catch (IOException e1) {
+            e1.printStackTrace();
+        }
+    }
+
+    /**
+     * Checks for the entailment using the working ontology and reasoner, creating them if necessary.
+     * @param axioms The probe axioms
+     * @return <code>true</code> if the probe axioms entail the entailment, otherwise <code>false</code>
+     */
+    private boolean isEntailedIncrementally(Set<OWLAxiom> axioms) throws OWLOntologyCreationException {
+        if (workingReasoner == null) {
+            createWorkingReasoner();
+        }
+        List<OWLAxiom> axiomsToRemove = new ArrayList<>();
+        for (OWLAxiom ax : workingAxioms) {
+            if (!axioms.contains(ax) && !supportAxioms.contains(ax)) {
+                axiomsToRemove.add(ax);
+            }
+        }
+        List<OWLAxiom> axiomsToAdd = new ArrayList<>();
+        for (OWLAxiom ax : axioms) {
+            if (!workingAxioms.contains(ax) && !supportAxioms.contains(ax)) {
+                axiomsToAdd.add(ax);
+            }
+        }
+        synchronized (man) {
+            workingOntology.removeAxioms(axiomsToRemove);
+            workingOntology.addAxioms(axiomsToAdd);
+        }
+        workingAxioms.removeAll(axiomsToRemove);
+        workingAxioms.addAll(axiomsToAdd);
+        workingReasoner.flush();
+        return checkMode.isEntailed(workingReasoner, axiom, unsatDesc);
+    }
+
+    private void createWorkingReasoner() throws OWLOntologyCreationException {
+        workingAxioms.clear();
+        supportAxioms.clear();
+        OWLDataFactory df = man.getOWLDataFactory();
+        unsatDesc.signature()
+            .filter(ent -> !ent.isBuiltIn())
+            .forEach(ent -> supportAxioms.add(df.getOWLDeclarationAxiom(ent)));
+        OWLClass namingCls = createNamingClass(df);
+        supportAxioms.add(df.getOWLSubClassOfAxiom(namingCls, unsatDesc));
+        supportAxioms.addAll(checkMode.getSupportAxioms(namingCls, df));
+        for (OWLEntity freshEntity : freshEntities) {
+            supportAxioms.add(df.getOWLDeclarationAxiom(freshEntity));
+        }
+        synchronized (man) {
+            workingOntology = man.createOntology(supportAxioms);
+            workingReasoner = reasonerFactory.createReasoner(workingOntology, new SimpleConfiguration(new NullReasonerProgressMonitor(), FreshEntityPolicy.ALLOW, timeOutMS, IndividualNodeSetPolicy.BY_SAME_AS));
+        }
+    }
+
+    /**
+     * Creates a class that is not used by any other check, to name the class expression that is tested for
+     * satisfiability.
+     */
+    private static OWLClass createNamingClass(OWLDataFactory df) {
+        return df.getOWLClass(IRI.create(NAMING_CLASS_PREFIX + namingClassCounter.incrementAndGet()));
+    }
+
+    private void disposeWorkingReasoner() {
+        synchronized (man) {
+            if (workingReasoner != null) {
+                workingReasoner.dispose();
+                workingReasoner = null;
+            }
+            if (workingOntology != null) {
+                man.removeOntology(workingOntology);
+                workingOntology = null;
+            }
+        }
+        workingAxioms.clear();
+        supportAxioms.clear();
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (workingLock) {
+            disposeWorkingReasoner();
+        }
+    }
+
+    /**
+     * Gets the class expression whose unsatisfiability this checker tests for.
+     * @return The class expression that is unsatisfiable exactly when the entailment holds
+     */
+    OWLClassExpression getUnsatisfiableClassExpression() {
+        return unsatDesc;
+    }
+
+    /**
+     * Converts an axiom into a class expression that is unsatisfiable exactly when the axiom is entailed, in the
+     * same way that the entailment of this checker is converted.  Any fresh classes that the conversion uses are
+     * added to the fresh entities of this checker.
+     * @param ax The axiom
+     * @return The class expression
+     * @throws UnsupportedAxiomTypeException if the axiom cannot be converted
+     */
+    OWLClassExpression getSatisfiabilityConversion(OWLAxiom ax) {
+        return ax.accept(new SatisfiabilityConverter());
+    }
+
+    Set<OWLEntity> getFreshEntities() {
+        return freshEntities;
+    }
+
     @Override
     public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
-        if (!axioms.equals(lastAxioms)) {
-            isEntailed(axioms);
+        CheckResult result = lastCheck;
+        if (result == null || !result.axioms.equals(axioms)) {
+            result = check(axioms);
+            lastCheck = result;
         }
-        return lastEntailingAxioms;
+        return result.entailingAxioms;
     }
 
+    /**
+     * The outcome of an entailment check, which is kept so that the entailing axioms for the most recent check can
+     * be asked for without checking again.
+     */
+    private static class CheckResult {
+
+        private final Set<OWLAxiom> axioms;
+
+        private final boolean entailed;
+
+        private final Set<OWLAxiom> entailingAxioms;
+
+        public CheckResult(Set<OWLAxiom> axioms, boolean entailed, Set<OWLAxiom> entailingAxioms) {
+            this.axioms = new HashSet<>(axioms);
+            this.entailed = entailed;
+            this.entailingAxioms = Collections.unmodifiableSet(entailingAxioms);
+        }
+    }
 
 
     private class SatisfiabilityConverter implements OWLAxiomVisitorEx<OWLClassExpression> {
@@ -45,6 +45,12 @@ public class SatisfiabilityEntailmentCheckerFactory implements EntailmentChecker
 
     private Supplier<OWLOntologyManager> m;
 
+    private boolean incremental = false;
+
+    private EntailmentCheckMode checkMode = EntailmentCheckMode.SATISFIABILITY;
+
+    private EntailmentCheckModeCalibrator calibrator = null;
+
     public SatisfiabilityEntailmentCheckerFactory(OWLReasonerFactory reasonerFactory, Supplier<OWLOntologyManager> m) {
         this(reasonerFactory, true, m);
     }
@@ -69,8 +75,40 @@ public class SatisfiabilityEntailmentCheckerFactory implements EntailmentChecker
         this.m = m;
     }
 
+    /**
+     * @param incremental If <code>true</code> the checkers created by this factory keep a single working ontology
+     * and reasoner alive between entailment checks, and only apply the difference between successive sets of
+     * axioms.  See {@link SatisfiabilityEntailmentChecker}.
+     */
+    public SatisfiabilityEntailmentCheckerFactory(OWLReasonerFactory reasonerFactory, boolean useModularisation, long entailmentCheckTimeOutMS, boolean incremental, Supplier<OWLOntologyManager> m) {
+        this(reasonerFactory, useModularisation, entailmentCheckTimeOutMS, m);
+        this.incremental = incremental;
+    }
+
+    /**
+     * @param checkMode The mode in which the checkers created by this factory ask the reasoner for their
+     * entailments.  See {@link EntailmentCheckMode}.
+     */
+    public SatisfiabilityEntailmentCheckerFactory(OWLReasonerFactory reasonerFactory, boolean useModularisation, long entailmentCheckTimeOutMS, boolean incremental, EntailmentCheckMode checkMode, Supplier<OWLOntologyManager> m) {
+        this(reasonerFactory, useModularisation, entailmentCheckTimeOutMS, incremental, m);
+        this.checkMode = checkMode;
+    }
+
+    /**
+     * @param calibrator Chooses the mode in which the checkers created by this factory ask the reasoner for their
+     * entailments.  The calibrator is shared by all of the checkers, so each type of entailment is calibrated once.
+     * See {@link EntailmentCheckModeCalibrator}.
+     */
+    public SatisfiabilityEntailmentCheckerFactory(OWLReasonerFactory reasonerFactory, boolean useModularisation, long entailmentCheckTimeOutMS, EntailmentCheckModeCalibrator calibrator, Supplier<OWLOntologyManager> m) {
+        this(reasonerFactory, useModularisation, entailmentCheckTimeOutMS, m);
+        this.calibrator = calibrator;
+    }
+
     @Override
     public EntailmentChecker<OWLAxiom> createEntailementChecker(OWLAxiom entailment) {
-        return new SatisfiabilityEntailmentChecker(reasonerFactory, entailment, m, useModularisation, entailmentCheckTimeOutMS);
+        if (calibrator != null) {
+            return new SatisfiabilityEntailmentChecker(reasonerFactory, entailment, m, useModularisation, entailmentCheckTimeOutMS, calibrator);
+        }
+        return new SatisfiabilityEntailmentChecker(reasonerFactory, entailment, m, useModularisation, entailmentCheckTimeOutMS, incremental, checkMode);
     }
 }
@@ -0,0 +1,152 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A dense, int indexed set of axioms.  The axioms that a hitting set tree is built over are interned into a
+ * universe so that paths, closed paths and explanations can be represented as {@link BitSet}s over the indexes of
+ * their axioms, rather than as sets of axioms that have to be hashed and copied for every node in the tree.
+ * <p>
+ * Axioms are given indexes in the order in which they are first seen, starting from zero.  Axioms that are not in
+ * the universe when it is created are added the first time that their index is asked for.
+ * </p>
+ * <p>
+ * A universe may be shared by threads that build a hitting set tree in parallel.  Looking up indexes and axioms
+ * does not lock; adding a new axiom does.
+ * </p>
+ */
+public class AxiomUniverse {
+
+    private final Map<OWLAxiom, Integer> indexes;
+
+    /**
+     * The axioms by index.  The array is replaced by a larger copy when it is full.
+     */
+    private volatile OWLAxiom[] axioms;
+
+    private volatile int size = 0;
+
+    public AxiomUniverse(Collection<? extends OWLAxiom> axioms) {
+        this.indexes = new ConcurrentHashMap<>(axioms.size() * 2);
+        this.axioms = new OWLAxiom[Math.max(16, axioms.size())];
+        for (OWLAxiom ax : axioms) {
+            getIndex(ax);
+        }
+    }
+
+    /**
+     * Gets the number of axioms in this universe.
+     * @return The number of axioms.  The axioms have the indexes 0 to size() - 1.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the index of an axiom, adding the axiom to this universe if it is not already in it.
+     * @param axiom The axiom
+     * @return The index of the axiom
+     */
+    public int getIndex(OWLAxiom axiom) {
+        Integer index = indexes.get(axiom);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = indexes.get(axiom);
+            if (index == null) {
+                index = size;
+                if (index == axioms.length) {
+                    axioms = Arrays.copyOf(axioms, index * 2);
+                }
+                axioms[index] = axiom;
+                size = index + 1;
+                // The axiom is published last, so that any thread that sees the index also sees the axiom
+                indexes.put(axiom, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Gets the index of an axiom without adding the axiom to this universe.
+     * @param axiom The axiom
+     * @return The index of the axiom, or -1 if the axiom is not in this universe
+     */
+    public int getIndexIfPresent(OWLAxiom axiom) {
+        Integer index = indexes.get(axiom);
+        return index != null ? index : -1;
+    }
+
+    public OWLAxiom getAxiom(int index) {
+        return axioms[index];
+    }
+
+    /**
+     * Gets the set of indexes of some axioms.  Any axioms that are not in this universe are added to it.
+     * @param axioms The axioms
+     * @return A bit set that has the indexes of the axioms set
+     */
+    public BitSet toBitSet(Collection<? extends OWLAxiom> axioms) {
+        BitSet bitSet = new BitSet(size);
+        for (OWLAxiom ax : axioms) {
+            bitSet.set(getIndex(ax));
+        }
+        return bitSet;
+    }
+
+    /**
+     * Gets the axioms whose indexes are set in a bit set.
+     * @param bitSet The bit set
+     * @return The set of axioms
+     */
+    public Set<OWLAxiom> toAxioms(BitSet bitSet) {
+        Set<OWLAxiom> result = new HashSet<>(bitSet.cardinality() * 2);
+        OWLAxiom[] axioms = this.axioms;
+        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+            result.add(axioms[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Determines whether one set of axiom indexes is a subset of another.  Neither set is copied, because this is
+     * asked once per cached explanation on every path of a hitting set tree.
+     */
+    public static boolean isSubset(BitSet subset, BitSet superset) {
+        if (subset.length() > superset.length()) {
+            return false;
+        }
+        for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+            if (!superset.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -43,8 +43,9 @@ public class BreadthFirstStrategy<E> implements HittingSetTreeConstructionStrate
             throw new ExplanationGeneratorInterruptedException();
         }
 
-        List<HittingSetTreeNode<E>> queue = new ArrayList<>();
+        List<HittingSetTreeNode<E>> queue = new LinkedList<>();
         queue.add(hittingSetTree.getRoot());
+        hittingSetTree.addOpenPath(hittingSetTree.getRoot().getPath());
         boolean b = true;
         while (b) {
             b = buildHittingSetTree(hittingSetTree, limit, handler, queue);
@@ -55,39 +56,37 @@ public class BreadthFirstStrategy<E> implements HittingSetTreeConstructionStrate
     }
 
     public boolean buildHittingSetTree(HittingSetTree<E> hittingSetTree, int limit, ExplanationGeneratorMediator<E> handler, List<HittingSetTreeNode<E>> queue) {
+        AxiomUniverse axiomUniverse = hittingSetTree.getAxiomUniverse();
         while (!queue.isEmpty()) {
             if (hittingSetTree.getProgressMonitor().isCancelled()) {
                 throw new ExplanationGeneratorInterruptedException();
             }
             HittingSetTreeNode<E> currentNode = queue.remove(0);
+            hittingSetTree.removeOpenPath(currentNode.getPath());
 
-            Set<OWLAxiom> nodeAxioms = currentNode.getExplanation().getAxioms();
-            for (OWLAxiom ax : nodeAxioms) {
+            BitSet nodeAxioms = hittingSetTree.getExplanationAxioms(currentNode.getExplanation());
+            for (int axIndex = nodeAxioms.nextSetBit(0); axIndex >= 0; axIndex = nodeAxioms.nextSetBit(axIndex + 1)) {
                 if (hittingSetTree.getProgressMonitor().isCancelled()) {
                     throw new ExplanationGeneratorInterruptedException();
                 }
 
-                Set<OWLAxiom> pathContents = new HashSet<>(currentNode.getPathToRoot());
-
                 // Extend the path contents
-                pathContents.add(ax);
+                BitSet pathContents = (BitSet) currentNode.getPath().clone();
+                pathContents.set(axIndex);
 
                 if (!hittingSetTree.containsClosedPath(pathContents)) {
                     // Add the path - this checks to see if we are already exploring this path.  If we are,
                     // we don't need to explore it again.
                     if (hittingSetTree.addExploredPath(pathContents)) {
                         // The path hadn't already been explored
-                        // Remove all axioms in the path.
-                        for (OWLAxiom pathAx : pathContents) {
-                            handler.removeAxiom(pathAx);
-                        }
-
                         // See if we can reuse a justification.
-                        Explanation<E> expl = getNonIntersectingExplanation(hittingSetTree, pathContents);
+                        Explanation<E> expl = hittingSetTree.getNonIntersectingExplanation(pathContents);
                         boolean reuse = true;
                         if (expl == null) {
                             reuse = false;
                             hittingSetTree.incrementNumberOfNodesWithCallsToFindOne();
+                            // Remove all axioms in the path.
+                            handler.setPath(pathContents);
                             expl = handler.generateExplanation(currentNode.getExplanation().getEntailment());
                             hittingSetTree.addExplanation(expl);
                             if (hittingSetTree.getExplanations().size() == limit) {
@@ -100,18 +99,15 @@ public class BreadthFirstStrategy<E> implements HittingSetTreeConstructionStrate
                         }
 
                         if (!expl.isEmpty()) {
-                            HittingSetTreeNode<E> hittingSetTreeNode = new HittingSetTreeNode<>(ax, currentNode, expl, reuse);
+                            OWLAxiom ax = axiomUniverse.getAxiom(axIndex);
+                            HittingSetTreeNode<E> hittingSetTreeNode = new HittingSetTreeNode<>(ax, currentNode, expl, reuse, pathContents);
                             currentNode.addChild(ax, hittingSetTreeNode);
                             queue.add(hittingSetTreeNode);
+                            hittingSetTree.addOpenPath(pathContents);
                         }
                         else {
                             // Save some space - don't add empty leaf nodes
-                            hittingSetTree.addClosedPath(new HashSet<>(pathContents));
-                        }
-
-                        // Add path contents back in
-                        for (OWLAxiom pathAx : pathContents) {
-                            handler.addAxiom(pathAx);
+                            hittingSetTree.addClosedPath(pathContents);
                         }
                     }
                 }
@@ -119,32 +115,4 @@ public class BreadthFirstStrategy<E> implements HittingSetTreeConstructionStrate
         }
         return false;
     }
-
-    private Explanation<E> getNonIntersectingExplanation(HittingSetTree<E> hittingSetTree, Set<OWLAxiom> pathContents) {
-
-
-        List<Explanation<E>> explanations = hittingSetTree.getSortedExplanations();
-
-        // Choose an explanation that contains axioms that are contained in other openFromFolder paths
-
-        Explanation<E> currentCandidate = null;
-
-
-        for (Explanation<E> existingExpl : explanations) {
-            boolean overlaps = false;
-            // Does the explanation intersect with out current path? If not, we can reuse it
-            for (OWLAxiom pathAx : pathContents) {
-                if (existingExpl.contains(pathAx)) {
-                    // Overlap
-                    overlaps = true;
-                    break;
-                }
-            }
-            if (!overlaps) {
-                return existingExpl;
-            }
-        }
-        return currentCandidate;
-
-    }
 }
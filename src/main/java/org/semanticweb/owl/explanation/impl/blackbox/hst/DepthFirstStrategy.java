@@ -1,10 +1,12 @@
 package org.semanticweb.owl.explanation.impl.blackbox.hst;
 
 import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
 import org.semanticweb.owlapi.model.OWLAxiom;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
 /*
  * Copyright (C) 2010, University of Manchester
  *
@@ -33,60 +35,106 @@ import java.util.Set;
  * The University of Manchester<br>
  * Information Management Group<br>
  * Date: 18-Feb-2010
+ * <p>
+ * The tree is built with an explicit stack rather than by recursion, so deep trees do not use up the call stack.
+ * The stack holds one entry for each node on the current path, so it is bounded by the length of the longest path
+ * rather than growing with the width of the tree, as the queue of a breadth first construction does.  A single
+ * path is extended by one axiom when the construction moves down an edge and shortened by one axiom when it moves
+ * back up, and a copy of the path is only made for paths that have not been explored before.
+ * </p>
+ * <p>
+ * Finished subtrees are not released: every node stays linked into the tree and every explored path is recorded,
+ * as with {@link BreadthFirstStrategy}, so the memory used by the tree itself is the same.
+ * </p>
  */
 public class DepthFirstStrategy<E> implements HittingSetTreeConstructionStrategy<E> {
 
 
     @Override
     public void constructTree(HittingSetTree<E> hittingSetTree, int limit, ExplanationGeneratorMediator<E> handler) {
-        buildHittingSetTree(hittingSetTree, limit, handler, hittingSetTree.getRoot());
-    }
-
-    public void buildHittingSetTree(HittingSetTree<E> hittingSetTree, int limit, ExplanationGeneratorMediator<E> handler, HittingSetTreeNode<E> currentNode) {
-        for (OWLAxiom ax : currentNode.getExplanation().getAxioms()) {
-            handler.removeAxiom(ax);
-            Set<OWLAxiom> pathContents = new HashSet<>(currentNode.getPathToRoot());
-            pathContents.add(ax);
-            if (hittingSetTree.addExploredPath(pathContents)) {
-                // Look to reuse a justification
-                Explanation<E> expl = getNonIntersectingExplanation(hittingSetTree, pathContents);
-                boolean reuse = true;
-                if (expl == null) {
-                    reuse = false;
-                    expl = handler.generateExplanation(currentNode.getExplanation().getEntailment());
-                    hittingSetTree.addExplanation(expl);
-                    if(hittingSetTree.getExplanations().size() == limit) {
-                        return;
-                    }
-                }
-                if (!expl.isEmpty()) {
-                    HittingSetTreeNode<E> hittingSetTreeNode = new HittingSetTreeNode<>(ax, currentNode, expl, reuse);
-                    currentNode.addChild(ax, hittingSetTreeNode);
-                    buildHittingSetTree(hittingSetTree, limit, handler, hittingSetTreeNode);
+        checkCancelled(hittingSetTree);
+        AxiomUniverse axiomUniverse = hittingSetTree.getAxiomUniverse();
+        // The path to the node on the top of the stack
+        BitSet path = new BitSet();
+        Deque<StackEntry<E>> stack = new ArrayDeque<>();
+        stack.push(new StackEntry<>(hittingSetTree.getRoot(), -1, hittingSetTree.getExplanationAxioms(hittingSetTree.getRoot().getExplanation())));
+        while (!stack.isEmpty()) {
+            checkCancelled(hittingSetTree);
+            StackEntry<E> entry = stack.peek();
+            int axIndex = entry.nodeAxioms.nextSetBit(entry.nextAxiom);
+            if (axIndex < 0) {
+                // All of the children of the node have been built
+                stack.pop();
+                if (entry.edgeAxiom != -1) {
+                    path.clear(entry.edgeAxiom);
                 }
-                else {
-                  hittingSetTree.addClosedPath(new HashSet<>(pathContents));
+                continue;
+            }
+            entry.nextAxiom = axIndex + 1;
+            path.set(axIndex);
+            if (hittingSetTree.containsClosedPath(path) || hittingSetTree.isExplored(path)) {
+                path.clear(axIndex);
+                continue;
+            }
+            BitSet pathContents = (BitSet) path.clone();
+            hittingSetTree.addExploredPath(pathContents);
+            // Look to reuse a justification
+            HittingSetTreeNode<E> currentNode = entry.node;
+            Explanation<E> expl = hittingSetTree.getNonIntersectingExplanation(pathContents);
+            boolean reuse = true;
+            if (expl == null) {
+                reuse = false;
+                hittingSetTree.incrementNumberOfNodesWithCallsToFindOne();
+                handler.setPath(pathContents);
+                expl = handler.generateExplanation(currentNode.getExplanation().getEntailment());
+                hittingSetTree.addExplanation(expl);
+                if(hittingSetTree.getExplanations().size() == limit) {
+                    return;
                 }
             }
-            handler.addAxiom(ax);
+            else {
+                hittingSetTree.incrementNumberOfNodesWithReusedJustifications();
+            }
+            if (!expl.isEmpty()) {
+                OWLAxiom ax = axiomUniverse.getAxiom(axIndex);
+                HittingSetTreeNode<E> hittingSetTreeNode = new HittingSetTreeNode<>(ax, currentNode, expl, reuse, pathContents);
+                currentNode.addChild(ax, hittingSetTreeNode);
+                // Move down the edge - the axiom stays on the path until the child has been finished
+                stack.push(new StackEntry<>(hittingSetTreeNode, axIndex, hittingSetTree.getExplanationAxioms(expl)));
+            }
+            else {
+                hittingSetTree.addClosedPath(pathContents);
+                path.clear(axIndex);
+            }
         }
     }
 
-    private Explanation<E> getNonIntersectingExplanation(HittingSetTree<E> hittingSetTree, Set<OWLAxiom> pathContents) {
-        for (Explanation<E> existingExpl : hittingSetTree.getExplanations()) {
-            boolean overlaps = false;
-            // Does the explanation intersect with out current path? If not, we can reuse it
-            for (OWLAxiom pathAx : pathContents) {
-                if (existingExpl.contains(pathAx)) {
-                    // Overlap
-                    overlaps = true;
-                    break;
-                }
-            }
-            if (!overlaps) {
-                return existingExpl;
-            }
+    private void checkCancelled(HittingSetTree<E> hittingSetTree) {
+        if (hittingSetTree.getProgressMonitor().isCancelled()) {
+            throw new ExplanationGeneratorInterruptedException();
+        }
+    }
+
+    /**
+     * A node whose children are being built, along with the next axiom of its explanation to build a child for.
+     */
+    private static class StackEntry<E> {
+
+        private final HittingSetTreeNode<E> node;
+
+        /**
+         * The index of the axiom that labels the edge to the node, or -1 for the root.
+         */
+        private final int edgeAxiom;
+
+        private final BitSet nodeAxioms;
+
+        private int nextAxiom = 0;
+
+        public StackEntry(HittingSetTreeNode<E> node, int edgeAxiom, BitSet nodeAxioms) {
+            this.node = node;
+            this.edgeAxiom = edgeAxiom;
+            this.nodeAxioms = nodeAxioms;
         }
-        return null;
     }
 }
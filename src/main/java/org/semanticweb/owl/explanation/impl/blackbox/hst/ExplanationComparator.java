@@ -37,21 +37,10 @@ public class ExplanationComparator<E> implements Comparator<Explanation<E>> {
 
     @Override
     public int compare(Explanation<E> o1, Explanation<E> o2) {
-        if(o1.equals(o2)) {
-            return 0;
-        }
         int size1 = o1.getAxioms().size();
-        int size2 = o1.getAxioms().size();
-        // We want the smallest one to come first
-        int sizeDifference = size2 - size1;
-        if(sizeDifference != 0) {
-            return sizeDifference;
-        }
-        // Same size
-
-        // Now we would prefer ones that contained
-        
-
-        return -1;
+        int size2 = o2.getAxioms().size();
+        // We want the smallest one to come first.  Explanations of the same size are preferred according to the
+        // paths that are open in the tree, which is done by the JustificationIndex.
+        return Integer.compare(size1, size2);
     }
 }
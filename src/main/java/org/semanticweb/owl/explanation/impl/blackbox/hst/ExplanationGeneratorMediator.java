@@ -3,6 +3,8 @@ package org.semanticweb.owl.explanation.impl.blackbox.hst;
 import org.semanticweb.owl.explanation.api.Explanation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 
+import java.util.BitSet;
+
 /*
  * Copyright (C) 2010, University of Manchester
  *
@@ -39,4 +41,67 @@ public interface ExplanationGeneratorMediator<E> {
     void removeAxiom(OWLAxiom axiom);
 
     void addAxiom(OWLAxiom axiom);
+
+    /**
+     * Gets the universe that the axioms in paths are indexed in.
+     * @return The axiom universe.  Explanations that are generated by this mediator only contain axioms from this
+     * universe.
+     */
+    AxiomUniverse getAxiomUniverse();
+
+    /**
+     * Switches the working axioms to the axioms that are not on a path in one step.  Any axioms that were removed
+     * by a previous path, or by calls to {@link #removeAxiom(OWLAxiom)}, are added back.
+     * @param path The indexes, in the axiom universe, of the axioms on the path.  An empty path restores all
+     * axioms.
+     */
+    void setPath(BitSet path);
+
+    /**
+     * Gets the axioms that explanations are drawn from.
+     * @return The indexes, in the axiom universe, of the axioms.  The bit set must not be modified.
+     */
+    BitSet getModuleAxioms();
+
+    /**
+     * Determines whether a set of axioms entails an entailment.  The working axioms are not changed.
+     * @param entailment The entailment
+     * @param axioms The indexes, in the axiom universe, of the axioms
+     * @return <code>true</code> if the axioms entail the entailment, otherwise <code>false</code>
+     */
+    boolean isEntailed(E entailment, BitSet axioms);
+
+    /**
+     * Creates a mediator that generates explanations from the same axioms as this one, using the same axiom
+     * universe, but that has its own working axioms and its own entailment checker.  Worker mediators allow
+     * explanations to be generated for different paths on different threads at the same time.
+     * @return The worker mediator.  It should be disposed of when it is no longer needed.
+     */
+    ExplanationGeneratorMediator<E> createWorkerMediator();
+
+    /**
+     * Gives the worker mediators that have been created by this mediator a copy of the explanations that this
+     * mediator currently knows about, which they reuse until the next update.  Worker mediators do not keep the
+     * explanations that they generate themselves, so what they reuse does not depend on the order in which they
+     * run.
+     */
+    default void updateWorkerMediators() {
+    }
+
+    /**
+     * Records an explanation that a worker mediator generated for a path, so that this mediator knows about it as
+     * if it had generated it itself.
+     * @param path The indexes, in the axiom universe, of the axioms on the path.
+     * @param explanation The explanation, which may be empty.
+     */
+    default void recordExplanation(BitSet path, Explanation<E> explanation) {
+    }
+
+    /**
+     * Releases any resources, such as entailment checkers, that are held by a worker mediator.  This may be called
+     * on one thread while the worker is generating an explanation on another, in which case the worker gives up the
+     * explanation as soon as it can and releases its resources when it stops, without this call waiting for it.
+     */
+    default void dispose() {
+    }
 }
@@ -0,0 +1,290 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+/**
+ * A breadth first construction strategy that builds a hitting set DAG, in the style of Greiner, Smith and
+ * Wilkerson, rather than a tree.
+ * <p>
+ * Nodes are indexed by the set of axioms on their path.  When an edge leads to a path that already has a node, the
+ * edge is pointed at that node rather than a new node being created, so paths that are reached by removing the same
+ * axioms in a different order are only explored once, and the child path is only allocated for paths that have
+ * not been seen before.  As in {@link BreadthFirstStrategy}, paths that contain a closed path are not extended and
+ * explanations that do not intersect a path are reused.
+ * </p>
+ * <p>
+ * When an explanation is found that is a strict subset of the explanation that labels an existing node, the node is
+ * relabelled with the smaller explanation, the larger explanation is dropped, and the edges of the node that are
+ * labelled with axioms that are not in the smaller explanation are removed, together with any nodes that are no
+ * longer reachable from the root.  Explanations produced by a minimising contraction strategy never contain each
+ * other, so this only happens when the contraction strategy returns sets that are not minimal.
+ * </p>
+ */
+public class HittingSetDagStrategy<E> implements HittingSetTreeConstructionStrategy<E> {
+
+    /**
+     * The numbers of relabelled and pruned nodes of the most recent construction on each thread.  A strategy may
+     * be shared by the calls of a generator that run at the same time, so the numbers are kept per thread.
+     */
+    private final ThreadLocal<int[]> lastConstruction = ThreadLocal.withInitial(() -> new int[2]);
+
+    /**
+     * Gets the number of nodes that were relabelled with a smaller explanation in the most recent construction on
+     * the calling thread.
+     * @return The number of relabelled nodes
+     */
+    public int getNumberOfRelabelledNodes() {
+        return lastConstruction.get()[0];
+    }
+
+    /**
+     * Gets the number of nodes that were pruned because they could no longer be reached from the root in the most
+     * recent construction on the calling thread.
+     * @return The number of pruned nodes
+     */
+    public int getNumberOfPrunedNodes() {
+        return lastConstruction.get()[1];
+    }
+
+    @Override
+    public void constructTree(HittingSetTree<E> hittingSetTree, int limit, ExplanationGeneratorMediator<E> handler) {
+        checkCancelled(hittingSetTree);
+        TelemetryInfo info = new DefaultTelemetryInfo("hsdag");
+        TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        HittingSetDag dag = new HittingSetDag(hittingSetTree);
+        try {
+            transmitter.beginTransmission(info);
+            dag.construct(limit, handler);
+        }
+        finally {
+            int[] numbers = lastConstruction.get();
+            numbers[0] = dag.numberOfRelabelledNodes;
+            numbers[1] = dag.numberOfPrunedNodes;
+            transmitter.recordMeasurement(info, "number of shared nodes", dag.numberOfSharedNodes);
+            transmitter.recordMeasurement(info, "number of relabelled nodes", dag.numberOfRelabelledNodes);
+            transmitter.recordMeasurement(info, "number of pruned nodes", dag.numberOfPrunedNodes);
+            transmitter.endTransmission(info);
+        }
+    }
+
+    private static void checkCancelled(HittingSetTree<?> hittingSetTree) {
+        if (hittingSetTree.getProgressMonitor().isCancelled()) {
+            throw new ExplanationGeneratorInterruptedException();
+        }
+    }
+
+    /**
+     * The state of the DAG while it is being built.
+     */
+    private class HittingSetDag {
+
+        private final HittingSetTree<E> hittingSetTree;
+
+        private final AxiomUniverse axiomUniverse;
+
+        private final Map<BitSet, HittingSetTreeNode<E>> nodesByPath = new HashMap<>();
+
+        /**
+         * For each node, the number of edges that lead to it.
+         */
+        private final Map<HittingSetTreeNode<E>, Integer> numberOfParents = new IdentityHashMap<>();
+
+        private final Map<Explanation<E>, List<HittingSetTreeNode<E>>> nodesByExplanation = new HashMap<>();
+
+        /**
+         * The nodes whose children have not been generated yet.
+         */
+        private final Set<HittingSetTreeNode<E>> openNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final Set<HittingSetTreeNode<E>> prunedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final Deque<HittingSetTreeNode<E>> queue = new ArrayDeque<>();
+
+        private int numberOfSharedNodes = 0;
+
+        private int numberOfRelabelledNodes = 0;
+
+        private int numberOfPrunedNodes = 0;
+
+        public HittingSetDag(HittingSetTree<E> hittingSetTree) {
+            this.hittingSetTree = hittingSetTree;
+            this.axiomUniverse = hittingSetTree.getAxiomUniverse();
+        }
+
+        public void construct(int limit, ExplanationGeneratorMediator<E> handler) {
+            HittingSetTreeNode<E> root = hittingSetTree.getRoot();
+            nodesByPath.put(root.getPath(), root);
+            addLabelledNode(root);
+            open(root);
+            BitSet pathContents = new BitSet();
+            while (!queue.isEmpty()) {
+                checkCancelled(hittingSetTree);
+                HittingSetTreeNode<E> currentNode = queue.poll();
+                if (prunedNodes.contains(currentNode)) {
+                    continue;
+                }
+                openNodes.remove(currentNode);
+                hittingSetTree.removeOpenPath(currentNode.getPath());
+                BitSet nodeAxioms = hittingSetTree.getExplanationAxioms(currentNode.getExplanation());
+                for (int axIndex = nodeAxioms.nextSetBit(0); axIndex >= 0; axIndex = nodeAxioms.nextSetBit(axIndex + 1)) {
+                    checkCancelled(hittingSetTree);
+                    if (prunedNodes.contains(currentNode)) {
+                        break;
+                    }
+                    if (!hittingSetTree.getExplanationAxioms(currentNode.getExplanation()).get(axIndex)) {
+                        // The node has been relabelled with an explanation that does not contain the axiom
+                        continue;
+                    }
+                    // Build the child path in a scratch bit set, so that paths that already have a node are not
+                    // allocated
+                    pathContents.clear();
+                    pathContents.or(currentNode.getPath());
+                    pathContents.set(axIndex);
+                    if (hittingSetTree.containsClosedPath(pathContents)) {
+                        continue;
+                    }
+                    OWLAxiom ax = axiomUniverse.getAxiom(axIndex);
+                    HittingSetTreeNode<E> existingNode = nodesByPath.get(pathContents);
+                    if (existingNode != null) {
+                        hittingSetTree.addExploredPath(existingNode.getPath());
+                        currentNode.addChild(ax, existingNode);
+                        numberOfParents.merge(existingNode, 1, Integer::sum);
+                        numberOfSharedNodes++;
+                        continue;
+                    }
+                    BitSet childPath = (BitSet) pathContents.clone();
+                    hittingSetTree.addExploredPath(childPath);
+                    Explanation<E> expl = hittingSetTree.getNonIntersectingExplanation(childPath);
+                    boolean reuse = true;
+                    if (expl == null) {
+                        reuse = false;
+                        hittingSetTree.incrementNumberOfNodesWithCallsToFindOne();
+                        handler.setPath(childPath);
+                        expl = handler.generateExplanation(currentNode.getExplanation().getEntailment());
+                        if (!expl.isEmpty()) {
+                            relabelSupersets(expl);
+                        }
+                        hittingSetTree.addExplanation(expl);
+                        if (hittingSetTree.getExplanations().size() == limit) {
+                            return;
+                        }
+                        if (prunedNodes.contains(currentNode) || !hittingSetTree.getExplanationAxioms(currentNode.getExplanation()).get(axIndex)) {
+                            // Relabelling removed the current node, or the edge that the child would be added to
+                            continue;
+                        }
+                    }
+                    else {
+                        hittingSetTree.incrementNumberOfNodesWithReusedJustifications();
+                    }
+                    if (!expl.isEmpty()) {
+                        HittingSetTreeNode<E> childNode = new HittingSetTreeNode<>(ax, currentNode, expl, reuse, childPath);
+                        currentNode.addChild(ax, childNode);
+                        nodesByPath.put(childPath, childNode);
+                        numberOfParents.put(childNode, 1);
+                        addLabelledNode(childNode);
+                        open(childNode);
+                    }
+                    else {
+                        hittingSetTree.addClosedPath(childPath);
+                    }
+                }
+            }
+        }
+
+        private void open(HittingSetTreeNode<E> node) {
+            queue.add(node);
+            openNodes.add(node);
+            hittingSetTree.addOpenPath(node.getPath());
+        }
+
+        private void addLabelledNode(HittingSetTreeNode<E> node) {
+            nodesByExplanation.computeIfAbsent(node.getExplanation(), e -> new ArrayList<>()).add(node);
+        }
+
+        /**
+         * Relabels the nodes that are labelled with a strict superset of a new explanation, and removes the edges
+         * of these nodes that are labelled with axioms that are not in the new explanation.
+         */
+        private void relabelSupersets(Explanation<E> explanation) {
+            BitSet axioms = axiomUniverse.toBitSet(explanation.getAxioms());
+            int size = axioms.cardinality();
+            List<Explanation<E>> supersets = new ArrayList<>();
+            for (Explanation<E> labelExplanation : nodesByExplanation.keySet()) {
+                BitSet labelAxioms = hittingSetTree.getExplanationAxioms(labelExplanation);
+                if (labelAxioms.cardinality() > size && AxiomUniverse.isSubset(axioms, labelAxioms)) {
+                    supersets.add(labelExplanation);
+                }
+            }
+            for (Explanation<E> superset : supersets) {
+                BitSet removedAxioms = (BitSet) hittingSetTree.getExplanationAxioms(superset).clone();
+                removedAxioms.andNot(axioms);
+                hittingSetTree.removeExplanation(superset);
+                for (HittingSetTreeNode<E> node : nodesByExplanation.remove(superset)) {
+                    if (prunedNodes.contains(node)) {
+                        continue;
+                    }
+                    node.setExplanation(explanation);
+                    addLabelledNode(node);
+                    numberOfRelabelledNodes++;
+                    for (int i = removedAxioms.nextSetBit(0); i >= 0; i = removedAxioms.nextSetBit(i + 1)) {
+                        HittingSetTreeNode<E> child = node.removeChild(axiomUniverse.getAxiom(i));
+                        if (child != null) {
+                            removeParent(child);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Removes one of the edges that lead to a node, and prunes the node if it can no longer be reached.
+         */
+        private void removeParent(HittingSetTreeNode<E> node) {
+            int remainingParents = numberOfParents.merge(node, -1, Integer::sum);
+            if (remainingParents > 0) {
+                return;
+            }
+            prunedNodes.add(node);
+            numberOfPrunedNodes++;
+            numberOfParents.remove(node);
+            nodesByPath.remove(node.getPath());
+            hittingSetTree.removeCurrentPath(node.getPath());
+            if (openNodes.remove(node)) {
+                hittingSetTree.removeOpenPath(node.getPath());
+            }
+            for (HittingSetTreeNode<E> child : node.getChildren()) {
+                removeParent(child);
+            }
+        }
+    }
+}
@@ -4,7 +4,6 @@ import org.semanticweb.owl.explanation.api.Explanation;
 import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
 import org.semanticweb.owl.explanation.api.ExplanationProgressMonitor;
 import org.semanticweb.owl.explanation.telemetry.*;
-import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.reasoner.TimeOutException;
 
 import java.io.OutputStream;
@@ -42,20 +41,26 @@ public class HittingSetTree<E> implements TelemetryObject {
 
     private HittingSetTreeNode<E> root;
 
-    private Set<Set<OWLAxiom>> closedPaths = new HashSet<>();
+    private SetTrie closedPaths = new SetTrie();
 
-    private List<Explanation<E>> explanations = new ArrayList<>();
 
     private ExplanationProgressMonitor<E> progressMonitor;
 
-    private Set<Set<OWLAxiom>> exploredPaths = new HashSet<>();
-
-    private ExplanationComparator<E> explanationComparator = new ExplanationComparator<>();
+    private Set<BitSet> exploredPaths = new HashSet<>();
 
     private int treeSize = 0;
 
     private HashSet<Explanation<E>> allFoundExplanations = new HashSet<>();
 
+    /**
+     * The found explanations, indexed by the axioms that they contain.
+     */
+    private JustificationIndex<E> justificationIndex = new JustificationIndex<>();
+
+    private AxiomUniverse axiomUniverse;
+
+    private E entailment;
+
     private HittingSetTreeConstructionStrategy<E> strategy;
 
     private int numberOfNodesWithCallsToFindOne = 0;
@@ -106,12 +111,19 @@ public class HittingSetTree<E> implements TelemetryObject {
         try {
             transmitter.recordMeasurement(info, "construction strategy", strategy.getClass().getName());
             hstTimer.start();
+            axiomUniverse = generatorMediator.getAxiomUniverse();
+            this.entailment = entailment;
+            if (!strategy.isRootExplanationRequired()) {
+                strategy.constructTree(this, limit, generatorMediator);
+                foundAll = true;
+                return;
+            }
             numberOfNodesWithCallsToFindOne = 1;
             Explanation<E> firstExplanation = generatorMediator.generateExplanation(entailment);
             root = new HittingSetTreeNode<>(firstExplanation);
             treeSize = 1;
             addExplanation(firstExplanation);
-            if (explanations.size() >= limit) {
+            if (justificationIndex.size() >= limit) {
                 return;
             }
             strategy.constructTree(this, limit, generatorMediator);
@@ -132,6 +144,8 @@ public class HittingSetTree<E> implements TelemetryObject {
             throw e;
         }
         finally {
+            // Restore any axioms that were removed for the last path that was explored
+            generatorMediator.setPath(new BitSet());
             hstTimer.stop();
             transmitter.recordMeasurement(info, "number of nodes", treeSize);
             transmitter.recordMeasurement(info, "number of nodes with calls to findone", numberOfNodesWithCallsToFindOne);
@@ -149,24 +163,46 @@ public class HittingSetTree<E> implements TelemetryObject {
     }
 
 
-    public Set<Set<OWLAxiom>> getExploredPaths() {
+    public Set<BitSet> getExploredPaths() {
         return exploredPaths;
     }
 
+    /**
+     * Gets the entailment that this tree is being built for.
+     * @return The entailment
+     */
+    public E getEntailment() {
+        return entailment;
+    }
+
+    public AxiomUniverse getAxiomUniverse() {
+        return axiomUniverse;
+    }
+
     public ExplanationProgressMonitor<E> getProgressMonitor() {
         return progressMonitor;
     }
 
     public void addExplanation(Explanation<E> explanation) {
         if (!explanation.isEmpty() && allFoundExplanations.add(explanation)) {
-            explanations.add(explanation);
-            Collections.sort(explanations, explanationComparator);
+            justificationIndex.add(explanation, axiomUniverse.toBitSet(explanation.getAxioms()));
             progressMonitor.foundExplanation(null, explanation, allFoundExplanations);
         }
     }
 
+    /**
+     * Removes an explanation that has turned out not to be minimal, because an explanation that is a strict subset
+     * of it has been found.
+     * @param explanation The explanation to remove
+     */
+    public void removeExplanation(Explanation<E> explanation) {
+        if (allFoundExplanations.remove(explanation)) {
+            justificationIndex.remove(explanation);
+        }
+    }
+
     public List<Explanation<E>> getSortedExplanations() {
-        return explanations;
+        return justificationIndex.getSortedExplanations();
     }
 
     public Set<Explanation<E>> getExplanations() {
@@ -177,42 +213,102 @@ public class HittingSetTree<E> implements TelemetryObject {
         return root;
     }
 
-    public boolean containsClosedPath(Set<OWLAxiom> path) {
-        for(Set<OWLAxiom> closedPath : closedPaths) {
-            if(closedPath.size() <= path.size() && path.containsAll(closedPath)) {
-                numberOfEarlyTerminatedPaths++;
-                return true;
-            }
+    /**
+     * Gets the axioms of an explanation that has been added to this tree.
+     * @param explanation The explanation
+     * @return The indexes of the axioms of the explanation in the axiom universe.  The bit set is shared and must
+     * not be modified.
+     */
+    public BitSet getExplanationAxioms(Explanation<E> explanation) {
+        BitSet axioms = justificationIndex.getAxioms(explanation);
+        if (axioms == null) {
+            axioms = axiomUniverse.toBitSet(explanation.getAxioms());
+        }
+        return axioms;
+    }
+
+    /**
+     * Gets an explanation that has already been found and that does not contain any of the axioms on a path.
+     * Such an explanation can be reused for the node at the end of the path.  Explanations whose axioms lie on
+     * the open paths of the tree are preferred.
+     * @param path The path
+     * @return The explanation, or <code>null</code> if every explanation found so far intersects the path
+     * @see #addOpenPath(BitSet)
+     */
+    public Explanation<E> getNonIntersectingExplanation(BitSet path) {
+        return justificationIndex.getNonIntersectingExplanation(path);
+    }
+
+    /**
+     * Records that a node has been added to the tree whose children have not yet been generated.
+     * @param path The path to the node
+     */
+    public void addOpenPath(BitSet path) {
+        justificationIndex.addOpenPath(path);
+    }
+
+    /**
+     * Records that the children of a node that was recorded as open are being generated.
+     * @param path The path to the node
+     */
+    public void removeOpenPath(BitSet path) {
+        justificationIndex.removeOpenPath(path);
+    }
+
+    /**
+     * Determines whether a path contains a closed path, without recording the path as terminated early.
+     * @param path The path
+     * @return <code>true</code> if some closed path is a subset of the path
+     */
+    public boolean isClosed(BitSet path) {
+        return closedPaths.containsSubsetOf(path);
+    }
+
+    /**
+     * Determines whether a path has already been explored.
+     * @param path The path
+     * @return <code>true</code> if the path has been explored
+     */
+    public boolean isExplored(BitSet path) {
+        return exploredPaths.contains(path);
+    }
+
+    public boolean containsClosedPath(BitSet path) {
+        if(closedPaths.containsSubsetOf(path)) {
+            numberOfEarlyTerminatedPaths++;
+            return true;
         }
         return false;
     }
 
-    public boolean addExploredPath(Set<OWLAxiom> currentPath) {
+    public boolean addExploredPath(BitSet currentPath) {
         treeSize++;
         boolean added = exploredPaths.add(currentPath);
+        int pathSize = currentPath.cardinality();
         if(added) {
-            summedPathSize += currentPath.size();
+            summedPathSize += pathSize;
         }
         else {
             numberOfEarlyTerminatedPaths++;
         }
-        if (currentPath.size() > exploredPathMaxLength) {
-            exploredPathMaxLength = currentPath.size();
+        if (pathSize > exploredPathMaxLength) {
+            exploredPathMaxLength = pathSize;
         }
         return added;
     }
 
-    public void removeCurrentPath(Set<OWLAxiom> currentPath) {
+    public void removeCurrentPath(BitSet currentPath) {
         exploredPaths.remove(currentPath);
     }
 
-    public void addClosedPath(Set<OWLAxiom> pathContents) {
+    public void addClosedPath(BitSet pathContents) {
         if (closedPaths.add(pathContents)) {
-            if (pathContents.size() < closedPathMinLength) {
-                closedPathMinLength = pathContents.size();
+            int pathSize = pathContents.cardinality();
+            if (pathSize < closedPathMinLength) {
+                closedPathMinLength = pathSize;
             }
-            if (pathContents.size() > closedPathMaxLength) {
-                closedPathMaxLength = pathContents.size();
+            if (pathSize > closedPathMaxLength) {
+                closedPathMaxLength = pathSize;
             }
         }
     }
@@ -32,4 +32,24 @@ public interface HittingSetTreeConstructionStrategy<E> {
 
     void constructTree(HittingSetTree<E> hittingSetTree, int explanationLimit, ExplanationGeneratorMediator<E> generator);
 
+    /**
+     * Determines whether the tree should generate an explanation for its root before the strategy is asked to
+     * construct the rest of the tree.
+     * @return <code>true</code> if the root explanation should be generated by the tree, or <code>false</code> if
+     * the strategy generates all explanations itself, in which case the tree has no root.
+     */
+    default boolean isRootExplanationRequired() {
+        return true;
+    }
+
+    /**
+     * Determines whether the strategy relies on the mediator generating the same explanation for a path whenever
+     * it is asked, whatever explanations it has generated before.  If it does, the mediator should not use what it
+     * has learned from earlier explanations, such as contraction hints, to generate new ones.
+     * @return <code>true</code> if explanations must be repeatable, otherwise <code>false</code>
+     */
+    default boolean isRepeatableExplanationsRequired() {
+        return false;
+    }
+
 }
\ No newline at end of file
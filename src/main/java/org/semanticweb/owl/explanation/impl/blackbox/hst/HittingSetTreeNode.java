@@ -4,6 +4,8 @@ import org.semanticweb.owl.explanation.api.Explanation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 /*
  * Copyright (C) 2010, University of Manchester
@@ -48,21 +50,29 @@ public class HittingSetTreeNode<E> {
 
     private boolean reuse;
 
-    public HittingSetTreeNode(OWLAxiom parentEdgeLabel, HittingSetTreeNode<E> parentNode, Explanation<E> explanation, boolean reuse) {
+    /**
+     * The indexes of the axioms on the path from the root to this node.
+     */
+    private BitSet path;
+
+    public HittingSetTreeNode(OWLAxiom parentEdgeLabel, HittingSetTreeNode<E> parentNode, Explanation<E> explanation, boolean reuse, BitSet path) {
         this.parentEdgeLabel = parentEdgeLabel;
         this.parentNode = parentNode;
         this.explanation = explanation;
         this.reuse = reuse;
+        this.path = path;
     }
 
     public HittingSetTreeNode(Explanation<E> explanation) {
         this.explanation = explanation;
+        this.path = new BitSet();
     }
 
-    public HittingSetTreeNode(OWLAxiom parentEdgeLabel, HittingSetTreeNode<E> parentNode, boolean reuse) {
+    public HittingSetTreeNode(OWLAxiom parentEdgeLabel, HittingSetTreeNode<E> parentNode, boolean reuse, BitSet path) {
         this.parentEdgeLabel = parentEdgeLabel;
         this.parentNode = parentNode;
         this.reuse = reuse;
+        this.path = path;
     }
 
     public boolean isReuse() {
@@ -82,20 +92,52 @@ public class HittingSetTreeNode<E> {
         children.add(node);
     }
 
+    public List<OWLAxiom> getEdgeLabels() {
+        return edgeLabels;
+    }
 
+    /**
+     * Removes the edge with the specified label from this node.
+     * @param edgeLabel The label of the edge
+     * @return The child at the end of the edge, or <code>null</code> if this node does not have an edge with the
+     * specified label
+     */
+    public HittingSetTreeNode<E> removeChild(OWLAxiom edgeLabel) {
+        int index = edgeLabels.indexOf(edgeLabel);
+        if (index == -1) {
+            return null;
+        }
+        edgeLabels.remove(index);
+        return children.remove(index);
+    }
 
-    public List<OWLAxiom> getPathToRoot() {
-        List<OWLAxiom> path = new ArrayList<>();
-        getPathToRoot(this, path);
+    /**
+     * Replaces the explanation that labels this node.  This is used when a node of a hitting set DAG is relabelled
+     * with a smaller explanation.
+     * @param explanation The new explanation
+     */
+    public void setExplanation(Explanation<E> explanation) {
+        this.explanation = explanation;
+    }
+
+
+
+    /**
+     * Gets the indexes of the axioms on the path from the root to this node.  The bit set is shared and must not be
+     * modified.
+     * @return The path as a bit set over the axiom universe of the tree
+     */
+    public BitSet getPath() {
         return path;
     }
 
-    private void getPathToRoot(HittingSetTreeNode<E> node, List<OWLAxiom> path) {
-        OWLAxiom parentLabel = node.parentEdgeLabel;
-        if(parentLabel != null) {
-            path.add(0, parentLabel);
-            getPathToRoot(node.parentNode, path);
+    public List<OWLAxiom> getPathToRoot() {
+        List<OWLAxiom> path = new ArrayList<>();
+        for (HittingSetTreeNode<E> node = this; node.parentEdgeLabel != null; node = node.parentNode) {
+            path.add(node.parentEdgeLabel);
         }
+        Collections.reverse(path);
+        return path;
     }
 
 
@@ -0,0 +1,221 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import org.semanticweb.owl.explanation.api.Explanation;
+
+import java.util.*;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An index of the explanations that have been found while building a hitting set tree.
+ * <p>
+ * Each explanation is given an id in the order in which it is added.  The index maps each axiom, by its index in the
+ * {@link AxiomUniverse} of the tree, to the ids of the explanations that contain it.  The explanations that can be
+ * reused for a path are then all explanations minus the explanations that contain some axiom on the path, which
+ * is computed with one bit set difference per path axiom.
+ * </p>
+ * <p>
+ * The index also counts how many open paths each axiom lies on.  Open paths are the paths to nodes that have been
+ * added to the tree but whose children have not been generated yet.  When there is a choice of reusable
+ * explanations, the one whose axioms lie on the most open paths is preferred, because the children that it
+ * gives rise to are more likely to repeat paths that are already being explored.
+ * </p>
+ */
+public class JustificationIndex<E> {
+
+    private final List<Explanation<E>> explanations = new ArrayList<>();
+
+    private final List<BitSet> explanationAxioms = new ArrayList<>();
+
+    private final Map<Explanation<E>, Integer> ids = new HashMap<>();
+
+    /**
+     * The explanations, ordered by size.
+     */
+    private final List<Explanation<E>> sortedExplanations = new ArrayList<>();
+
+    private final ExplanationComparator<E> explanationComparator = new ExplanationComparator<>();
+
+    /**
+     * The ids of all of the explanations in this index.
+     */
+    private final BitSet allIds = new BitSet();
+
+    /**
+     * For each axiom index, the ids of the explanations that contain the axiom.
+     */
+    private final List<BitSet> postings = new ArrayList<>();
+
+    /**
+     * For each axiom index, the number of open paths that the axiom lies on.
+     */
+    private int[] openPathCounts = new int[0];
+
+    private int numberOfOpenPaths = 0;
+
+    /**
+     * Adds an explanation to this index.
+     * @param explanation The explanation
+     * @param axioms The indexes of the axioms of the explanation
+     */
+    public void add(Explanation<E> explanation, BitSet axioms) {
+        if (ids.containsKey(explanation)) {
+            return;
+        }
+        int id = explanations.size();
+        explanations.add(explanation);
+        explanationAxioms.add(axioms);
+        ids.put(explanation, id);
+        allIds.set(id);
+        for (int i = axioms.nextSetBit(0); i >= 0; i = axioms.nextSetBit(i + 1)) {
+            while (postings.size() <= i) {
+                postings.add(null);
+            }
+            BitSet posting = postings.get(i);
+            if (posting == null) {
+                posting = new BitSet();
+                postings.set(i, posting);
+            }
+            posting.set(id);
+        }
+        int pos = Collections.binarySearch(sortedExplanations, explanation, explanationComparator);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        else {
+            // Keep explanations of the same size in the order in which they were found
+            while (pos < sortedExplanations.size() && explanationComparator.compare(sortedExplanations.get(pos), explanation) == 0) {
+                pos++;
+            }
+        }
+        sortedExplanations.add(pos, explanation);
+    }
+
+    /**
+     * Removes an explanation from this index.  The id of the explanation is not reused.
+     * @param explanation The explanation
+     * @return <code>true</code> if the explanation was in this index, otherwise <code>false</code>
+     */
+    public boolean remove(Explanation<E> explanation) {
+        Integer id = ids.remove(explanation);
+        if (id == null) {
+            return false;
+        }
+        // The postings still refer to the id, but the id is no longer a candidate for reuse
+        allIds.clear(id);
+        sortedExplanations.remove(explanation);
+        return true;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Gets the axioms of an explanation in this index.
+     * @param explanation The explanation
+     * @return The indexes of the axioms of the explanation, or <code>null</code> if the explanation is not in this
+     * index
+     */
+    public BitSet getAxioms(Explanation<E> explanation) {
+        Integer id = ids.get(explanation);
+        return id != null ? explanationAxioms.get(id) : null;
+    }
+
+    /**
+     * Gets the explanations in this index, smallest first.
+     * @return The explanations
+     */
+    public List<Explanation<E>> getSortedExplanations() {
+        return sortedExplanations;
+    }
+
+    /**
+     * Records that a path is open.
+     * @param path The path
+     */
+    public void addOpenPath(BitSet path) {
+        updateOpenPathCounts(path, 1);
+        numberOfOpenPaths++;
+    }
+
+    /**
+     * Records that a path that was previously recorded as open is no longer open.
+     * @param path The path
+     */
+    public void removeOpenPath(BitSet path) {
+        updateOpenPathCounts(path, -1);
+        numberOfOpenPaths--;
+    }
+
+    private void updateOpenPathCounts(BitSet path, int delta) {
+        if (path.length() > openPathCounts.length) {
+            openPathCounts = Arrays.copyOf(openPathCounts, Math.max(path.length(), openPathCounts.length * 2));
+        }
+        for (int i = path.nextSetBit(0); i >= 0; i = path.nextSetBit(i + 1)) {
+            openPathCounts[i] += delta;
+        }
+    }
+
+    /**
+     * Gets an explanation that does not contain any of the axioms on a path.  If there is more than one such
+     * explanation then the one whose axioms lie on the most open paths is chosen, with ties going to the smallest
+     * explanation and then to the explanation that was found first.
+     * @param path The path
+     * @return The explanation, or <code>null</code> if every explanation in this index intersects the path
+     */
+    public Explanation<E> getNonIntersectingExplanation(BitSet path) {
+        BitSet candidates = (BitSet) allIds.clone();
+        for (int i = path.nextSetBit(0); i >= 0 && i < postings.size(); i = path.nextSetBit(i + 1)) {
+            BitSet posting = postings.get(i);
+            if (posting != null) {
+                candidates.andNot(posting);
+                if (candidates.isEmpty()) {
+                    return null;
+                }
+            }
+        }
+        int bestId = -1;
+        int bestScore = -1;
+        int bestSize = Integer.MAX_VALUE;
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            BitSet axioms = explanationAxioms.get(id);
+            int score = numberOfOpenPaths == 0 ? 0 : getOpenPathScore(axioms);
+            int size = axioms.cardinality();
+            if (score > bestScore || (score == bestScore && size < bestSize)) {
+                bestId = id;
+                bestScore = score;
+                bestSize = size;
+            }
+        }
+        return bestId != -1 ? explanations.get(bestId) : null;
+    }
+
+    private int getOpenPathScore(BitSet axioms) {
+        int score = 0;
+        for (int i = axioms.nextSetBit(0); i >= 0 && i < openPathCounts.length; i = axioms.nextSetBit(i + 1)) {
+            score += openPathCounts[i];
+        }
+        return score;
+    }
+}
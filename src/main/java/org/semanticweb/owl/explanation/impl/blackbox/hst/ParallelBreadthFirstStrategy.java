@@ -0,0 +1,256 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+import java.util.concurrent.*;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A breadth first construction strategy that generates the explanations for the nodes of the frontier of the tree
+ * on several threads at once.
+ * <p>
+ * The tree is built in rounds.  In each round the strategy looks ahead along the queue of open nodes and works out
+ * which edges will need a new explanation, given the closed paths, explored paths and explanations that are known
+ * at the start of the round.  The explanations for these edges are generated speculatively by worker threads, each
+ * of which has its own {@link ExplanationGeneratorMediator#createWorkerMediator() worker mediator}.  The workers
+ * only reuse the explanations that were known at the start of the round, so a speculative explanation does not
+ * depend on which of the other speculative explanations happened to be generated first.  The round is then
+ * committed on the calling thread by replaying the sequential breadth first algorithm over the same edges, in the
+ * same order, taking the speculative explanations where the sequential algorithm would generate one and only then
+ * recording them with the mediator.  Closed paths and explanations only ever grow, so an edge that is pruned or
+ * that can reuse an explanation at the start of a round can also be pruned or reuse an explanation when it is
+ * committed, and an edge whose speculative explanation turns out not to be needed is simply skipped.  The tree,
+ * and therefore the set of explanations, is the same as the one built by {@link BreadthFirstStrategy} from
+ * repeatable explanations, also when the construction stops at an explanation limit.  The strategy requires
+ * repeatable explanations (see {@link #isRepeatableExplanationsRequired()}), so with an explanation limit it may
+ * find other explanations first than a breadth first strategy whose mediator uses contraction hints, although
+ * without a limit both find all of them.
+ * </p>
+ * <p>
+ * Only the calling thread touches the tree and the explanations that the mediator knows about, so the closed
+ * path, explored path and explanation indexes need no locking.  The expansion and contraction strategies of the
+ * generator are shared between the workers.  When the limit is reached, or the construction stops for any other
+ * reason, the workers are disposed of without waiting for the speculative explanations that they are still
+ * generating.  They give these up at their next progress check.
+ * </p>
+ */
+public class ParallelBreadthFirstStrategy<E> implements HittingSetTreeConstructionStrategy<E> {
+
+    private final int numberOfThreads;
+
+    /**
+     * Creates a strategy that uses one worker thread per available processor.
+     */
+    public ParallelBreadthFirstStrategy() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a strategy that uses the specified number of worker threads.
+     * @param numberOfThreads The number of worker threads.  Must be at least 1.
+     */
+    public ParallelBreadthFirstStrategy(int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    /**
+     * Speculative explanations are generated in a different order to the one in which the sequential algorithm
+     * generates them, so they can only stand in for the sequential ones if they do not depend on that order.
+     */
+    @Override
+    public boolean isRepeatableExplanationsRequired() {
+        return true;
+    }
+
+    @Override
+    public void constructTree(HittingSetTree<E> hittingSetTree, int limit, ExplanationGeneratorMediator<E> handler) {
+        checkCancelled(hittingSetTree);
+        List<ExplanationGeneratorMediator<E>> allWorkers = new ArrayList<>(numberOfThreads);
+        BlockingQueue<ExplanationGeneratorMediator<E>> workers = new ArrayBlockingQueue<>(numberOfThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+            Thread thread = new Thread(runnable, "hitting-set-tree-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Explanation<E>>> pending = new ArrayList<>();
+        try {
+            for (int i = 0; i < numberOfThreads; i++) {
+                allWorkers.add(handler.createWorkerMediator());
+            }
+            workers.addAll(allWorkers);
+            List<HittingSetTreeNode<E>> queue = new ArrayList<>();
+            queue.add(hittingSetTree.getRoot());
+            hittingSetTree.addOpenPath(hittingSetTree.getRoot().getPath());
+            int head = 0;
+            while (head < queue.size()) {
+                // Look ahead and generate the explanations that will probably be needed in this round
+                Map<BitSet, Future<Explanation<E>>> speculativeExplanations = new HashMap<>();
+                handler.updateWorkerMediators();
+                int end = head;
+                while (end < queue.size() && speculativeExplanations.size() < numberOfThreads * 2) {
+                    speculate(hittingSetTree, queue.get(end), workers, executor, speculativeExplanations);
+                    end++;
+                }
+                pending.addAll(speculativeExplanations.values());
+                // Commit the round
+                for (; head < end; head++) {
+                    if (!expandNode(hittingSetTree, limit, handler, queue, queue.get(head), speculativeExplanations)) {
+                        return;
+                    }
+                }
+                cancel(pending);
+            }
+        }
+        finally {
+            cancel(pending);
+            executor.shutdown();
+            // Workers that are still generating speculative explanations give them up, rather than being waited for
+            for (ExplanationGeneratorMediator<E> worker : allWorkers) {
+                worker.dispose();
+            }
+        }
+    }
+
+    private void speculate(HittingSetTree<E> hittingSetTree, HittingSetTreeNode<E> node, BlockingQueue<ExplanationGeneratorMediator<E>> workers, ExecutorService executor, Map<BitSet, Future<Explanation<E>>> speculativeExplanations) {
+        BitSet nodeAxioms = hittingSetTree.getExplanationAxioms(node.getExplanation());
+        E entailment = node.getExplanation().getEntailment();
+        for (int axIndex = nodeAxioms.nextSetBit(0); axIndex >= 0; axIndex = nodeAxioms.nextSetBit(axIndex + 1)) {
+            checkCancelled(hittingSetTree);
+            BitSet pathContents = (BitSet) node.getPath().clone();
+            pathContents.set(axIndex);
+            if (speculativeExplanations.containsKey(pathContents)
+                    || hittingSetTree.isClosed(pathContents)
+                    || hittingSetTree.isExplored(pathContents)
+                    || hittingSetTree.getNonIntersectingExplanation(pathContents) != null) {
+                continue;
+            }
+            speculativeExplanations.put(pathContents, executor.submit(() -> {
+                ExplanationGeneratorMediator<E> worker = workers.take();
+                try {
+                    worker.setPath(pathContents);
+                    return worker.generateExplanation(entailment);
+                }
+                finally {
+                    workers.put(worker);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Generates the children of a node in exactly the same way as {@link BreadthFirstStrategy}, except that
+     * explanations are taken from the speculative explanations where possible.
+     * @return <code>false</code> if the explanation limit has been reached, otherwise <code>true</code>
+     */
+    private boolean expandNode(HittingSetTree<E> hittingSetTree, int limit, ExplanationGeneratorMediator<E> handler, List<HittingSetTreeNode<E>> queue, HittingSetTreeNode<E> currentNode, Map<BitSet, Future<Explanation<E>>> speculativeExplanations) {
+        checkCancelled(hittingSetTree);
+        hittingSetTree.removeOpenPath(currentNode.getPath());
+        AxiomUniverse axiomUniverse = hittingSetTree.getAxiomUniverse();
+        BitSet nodeAxioms = hittingSetTree.getExplanationAxioms(currentNode.getExplanation());
+        for (int axIndex = nodeAxioms.nextSetBit(0); axIndex >= 0; axIndex = nodeAxioms.nextSetBit(axIndex + 1)) {
+            checkCancelled(hittingSetTree);
+            BitSet pathContents = (BitSet) currentNode.getPath().clone();
+            pathContents.set(axIndex);
+            if (hittingSetTree.containsClosedPath(pathContents) || !hittingSetTree.addExploredPath(pathContents)) {
+                continue;
+            }
+            Explanation<E> expl = hittingSetTree.getNonIntersectingExplanation(pathContents);
+            boolean reuse = true;
+            if (expl == null) {
+                reuse = false;
+                hittingSetTree.incrementNumberOfNodesWithCallsToFindOne();
+                Future<Explanation<E>> speculativeExplanation = speculativeExplanations.remove(pathContents);
+                if (speculativeExplanation != null) {
+                    expl = getExplanation(speculativeExplanation);
+                    handler.recordExplanation(pathContents, expl);
+                }
+                else {
+                    handler.setPath(pathContents);
+                    expl = handler.generateExplanation(currentNode.getExplanation().getEntailment());
+                }
+                hittingSetTree.addExplanation(expl);
+                if (hittingSetTree.getExplanations().size() == limit) {
+                    return false;
+                }
+            }
+            else {
+                hittingSetTree.incrementNumberOfNodesWithReusedJustifications();
+            }
+            if (!expl.isEmpty()) {
+                OWLAxiom ax = axiomUniverse.getAxiom(axIndex);
+                HittingSetTreeNode<E> hittingSetTreeNode = new HittingSetTreeNode<>(ax, currentNode, expl, reuse, pathContents);
+                currentNode.addChild(ax, hittingSetTreeNode);
+                queue.add(hittingSetTreeNode);
+                hittingSetTree.addOpenPath(pathContents);
+            }
+            else {
+                hittingSetTree.addClosedPath(pathContents);
+            }
+        }
+        return true;
+    }
+
+    private Explanation<E> getExplanation(Future<Explanation<E>> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExplanationGeneratorInterruptedException();
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private void cancel(List<Future<Explanation<E>>> futures) {
+        for (Future<Explanation<E>> future : futures) {
+            future.cancel(false);
+        }
+        futures.clear();
+    }
+
+    private void checkCancelled(HittingSetTree<E> hittingSetTree) {
+        if (hittingSetTree.getProgressMonitor().isCancelled()) {
+            throw new ExplanationGeneratorInterruptedException();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import java.util.Arrays;
+import java.util.BitSet;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A set-trie that stores sets of axiom indexes and answers the questions "is any stored set a subset of this set?"
+ * and "is any stored set a superset of this set?".
+ * <p>
+ * Each stored set is inserted as the path of its elements in ascending order, so sets that share a prefix share
+ * nodes.  A subset query only follows the edges of a node that are labelled with elements of the query set, which
+ * means that the branches of the trie that cannot lead to a subset of the query are never visited.  A superset
+ * query only follows the edges that are labelled with elements no greater than the smallest element of the query
+ * set that the path has not yet passed.
+ * </p>
+ */
+public class SetTrie {
+
+    private final Node root = new Node();
+
+    private int size = 0;
+
+    /**
+     * Adds a set to this trie.
+     * @param set The set to add
+     * @return <code>true</code> if the set was not already in this trie, otherwise <code>false</code>
+     */
+    public boolean add(BitSet set) {
+        Node node = root;
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            node = node.getOrAddChild(i);
+        }
+        if (node.endOfSet) {
+            return false;
+        }
+        node.endOfSet = true;
+        size++;
+        return true;
+    }
+
+    /**
+     * Determines whether this trie contains a set that is a subset of, or equal to, the specified set.
+     * @param set The set
+     * @return <code>true</code> if some stored set is a subset of the specified set, otherwise <code>false</code>
+     */
+    public boolean containsSubsetOf(BitSet set) {
+        return containsSubsetOf(root, set);
+    }
+
+    private static boolean containsSubsetOf(Node node, BitSet set) {
+        if (node.endOfSet) {
+            return true;
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            if (set.get(node.keys[i]) && containsSubsetOf(node.children[i], set)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets a stored set that is a subset of, or equal to, the specified set.
+     * @param set The set
+     * @return A copy of a stored subset of the specified set, or <code>null</code> if no stored set is a subset of
+     * the specified set
+     */
+    public BitSet getSubsetOf(BitSet set) {
+        BitSet subset = new BitSet();
+        if (getSubsetOf(root, set, subset)) {
+            return subset;
+        }
+        return null;
+    }
+
+    private static boolean getSubsetOf(Node node, BitSet set, BitSet subset) {
+        if (node.endOfSet) {
+            return true;
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            if (set.get(node.keys[i]) && getSubsetOf(node.children[i], set, subset)) {
+                subset.set(node.keys[i]);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether this trie contains a set that is a superset of, or equal to, the specified set.
+     * @param set The set
+     * @return <code>true</code> if some stored set is a superset of the specified set, otherwise <code>false</code>
+     */
+    public boolean containsSupersetOf(BitSet set) {
+        return containsSupersetOf(root, set, set.nextSetBit(0));
+    }
+
+    /**
+     * @param next The smallest element of the set that is not on the path to the node, or -1 if every element is
+     */
+    private static boolean containsSupersetOf(Node node, BitSet set, int next) {
+        if (next < 0) {
+            // Sets are never removed, so every leaf ends a set
+            return node.endOfSet || node.childCount > 0;
+        }
+        for (int i = 0; i < node.childCount && node.keys[i] <= next; i++) {
+            int childNext = node.keys[i] == next ? set.nextSetBit(next + 1) : next;
+            if (containsSupersetOf(node.children[i], set, childNext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of sets in this trie.
+     * @return The number of sets
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static class Node {
+
+        private static final int[] NO_KEYS = new int[0];
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        /**
+         * The elements that label the edges to the children, in ascending order.
+         */
+        private int[] keys = NO_KEYS;
+
+        private Node[] children = NO_CHILDREN;
+
+        private int childCount = 0;
+
+        private boolean endOfSet = false;
+
+        public Node getOrAddChild(int key) {
+            int pos = Arrays.binarySearch(keys, 0, childCount, key);
+            if (pos >= 0) {
+                return children[pos];
+            }
+            int insertionPoint = -pos - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertionPoint, keys, insertionPoint + 1, childCount - insertionPoint);
+            System.arraycopy(children, insertionPoint, children, insertionPoint + 1, childCount - insertionPoint);
+            Node child = new Node();
+            keys[insertionPoint] = key;
+            children[insertionPoint] = child;
+            childCount++;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+
+import java.util.*;
+/*
+ * Copyright (C) 2010, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A construction strategy that finds explanations in order of increasing size, so that the first k explanations
+ * that it finds are k smallest explanations of the entailment.
+ * <p>
+ * The strategy works on the dual of the hitting set tree.  Every explanation contains at least one axiom from every
+ * repair (a minimal set of axioms whose removal breaks the entailment), and the smallest set of axioms that hits
+ * every repair and that does not contain an explanation that has already been found is the smallest explanation
+ * that has not been found yet.  The strategy therefore keeps a set of known repairs and repeatedly computes a
+ * smallest candidate that hits them.  If the candidate entails the entailment it is the next explanation.  If it
+ * does not, a repair that the candidate misses is computed with the FastDiag algorithm, which needs a number of
+ * entailment checks that is logarithmic in the size of the module for each axiom in the repair, and the search
+ * continues.
+ * </p>
+ * <p>
+ * The search for candidates is bounded by a maximum explanation size.  Branches that could only lead to larger
+ * explanations are never explored, and the construction stops once there are no more explanations within the
+ * bound.
+ * </p>
+ */
+public class SmallestFirstStrategy<E> implements HittingSetTreeConstructionStrategy<E> {
+
+    private final int maxExplanationSize;
+
+    /**
+     * Creates a strategy that finds explanations of any size.
+     */
+    public SmallestFirstStrategy() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a strategy that only finds explanations up to a maximum size.
+     * @param maxExplanationSize The maximum number of axioms in an explanation
+     */
+    public SmallestFirstStrategy(int maxExplanationSize) {
+        this.maxExplanationSize = maxExplanationSize;
+    }
+
+    public int getMaxExplanationSize() {
+        return maxExplanationSize;
+    }
+
+    @Override
+    public boolean isRootExplanationRequired() {
+        return false;
+    }
+
+    @Override
+    public void constructTree(HittingSetTree<E> hittingSetTree, int limit, ExplanationGeneratorMediator<E> generator) {
+        E entailment = hittingSetTree.getEntailment();
+        AxiomUniverse axiomUniverse = hittingSetTree.getAxiomUniverse();
+        BitSet moduleAxioms = generator.getModuleAxioms();
+        if (!generator.isEntailed(entailment, moduleAxioms)) {
+            return;
+        }
+        List<BitSet> repairs = new ArrayList<>();
+        SetTrie foundExplanations = new SetTrie();
+        int maxSize = Math.min(maxExplanationSize, moduleAxioms.cardinality());
+        for (int size = 0; size <= maxSize; size++) {
+            // Candidates that cannot be extended to a hitting set within the current size
+            Set<BitSet> failedCandidates = new HashSet<>();
+            while (true) {
+                checkCancelled(hittingSetTree);
+                BitSet candidate = findHittingSet(new BitSet(), size, repairs, foundExplanations, failedCandidates);
+                if (candidate == null) {
+                    break;
+                }
+                if (generator.isEntailed(entailment, candidate)) {
+                    if (candidate.isEmpty()) {
+                        // A tautology does not have any explanations
+                        return;
+                    }
+                    hittingSetTree.incrementNumberOfNodesWithCallsToFindOne();
+                    foundExplanations.add(candidate);
+                    hittingSetTree.addExplanation(new Explanation<>(entailment, axiomUniverse.toAxioms(candidate)));
+                    if (hittingSetTree.getExplanations().size() >= limit) {
+                        return;
+                    }
+                }
+                else {
+                    List<Integer> removableAxioms = new ArrayList<>();
+                    for (int i = moduleAxioms.nextSetBit(0); i >= 0; i = moduleAxioms.nextSetBit(i + 1)) {
+                        if (!candidate.get(i)) {
+                            removableAxioms.add(i);
+                        }
+                    }
+                    repairs.add(computeRepair(hittingSetTree, generator, entailment, false, removableAxioms, moduleAxioms));
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches for a set of axioms that hits every repair, that does not contain a found explanation and that has
+     * at most budget more axioms than the current candidate.
+     */
+    private BitSet findHittingSet(BitSet candidate, int budget, List<BitSet> repairs, SetTrie foundExplanations, Set<BitSet> failedCandidates) {
+        if (failedCandidates.contains(candidate)) {
+            return null;
+        }
+        // Find the smallest repair that the candidate misses, and a lower bound on the number of axioms that have
+        // to be added, which is the number of pairwise disjoint repairs that the candidate misses.
+        BitSet smallestUnhitRepair = null;
+        int smallestUnhitRepairSize = Integer.MAX_VALUE;
+        BitSet disjointRepairs = new BitSet();
+        int lowerBound = 0;
+        for (BitSet repair : repairs) {
+            if (!repair.intersects(candidate)) {
+                int repairSize = repair.cardinality();
+                if (repairSize < smallestUnhitRepairSize) {
+                    smallestUnhitRepair = repair;
+                    smallestUnhitRepairSize = repairSize;
+                }
+                if (!repair.intersects(disjointRepairs)) {
+                    disjointRepairs.or(repair);
+                    lowerBound++;
+                }
+            }
+        }
+        if (smallestUnhitRepair == null) {
+            return candidate;
+        }
+        if (lowerBound > budget) {
+            failedCandidates.add(candidate);
+            return null;
+        }
+        for (int i = smallestUnhitRepair.nextSetBit(0); i >= 0; i = smallestUnhitRepair.nextSetBit(i + 1)) {
+            BitSet extendedCandidate = (BitSet) candidate.clone();
+            extendedCandidate.set(i);
+            if (foundExplanations.containsSubsetOf(extendedCandidate)) {
+                // Any superset of a found explanation is not minimal
+                continue;
+            }
+            BitSet hittingSet = findHittingSet(extendedCandidate, budget - 1, repairs, foundExplanations, failedCandidates);
+            if (hittingSet != null) {
+                return hittingSet;
+            }
+        }
+        failedCandidates.add(candidate);
+        return null;
+    }
+
+    /**
+     * Computes a minimal subset of the candidates whose removal from all axioms breaks the entailment, using the
+     * FastDiag algorithm.
+     * @param removedAxiomsNonEmpty Whether some axioms have been removed from all axioms, so that it is worth
+     * checking whether the entailment still holds
+     * @param candidates The axioms that may be in the repair
+     * @param allAxioms The axioms that are not yet known to be outside of the repair
+     * @return The repair
+     */
+    private BitSet computeRepair(HittingSetTree<E> hittingSetTree, ExplanationGeneratorMediator<E> generator, E entailment, boolean removedAxiomsNonEmpty, List<Integer> candidates, BitSet allAxioms) {
+        checkCancelled(hittingSetTree);
+        if (removedAxiomsNonEmpty && !generator.isEntailed(entailment, allAxioms)) {
+            return new BitSet();
+        }
+        if (candidates.size() == 1) {
+            BitSet repair = new BitSet();
+            repair.set(candidates.get(0));
+            return repair;
+        }
+        int half = candidates.size() / 2;
+        List<Integer> firstHalf = candidates.subList(0, half);
+        List<Integer> secondHalf = candidates.subList(half, candidates.size());
+        BitSet withoutFirstHalf = (BitSet) allAxioms.clone();
+        for (int i : firstHalf) {
+            withoutFirstHalf.clear(i);
+        }
+        BitSet firstRepair = computeRepair(hittingSetTree, generator, entailment, true, secondHalf, withoutFirstHalf);
+        BitSet withoutFirstRepair = (BitSet) allAxioms.clone();
+        withoutFirstRepair.andNot(firstRepair);
+        BitSet secondRepair = computeRepair(hittingSetTree, generator, entailment, !firstRepair.isEmpty(), firstHalf, withoutFirstRepair);
+        BitSet repair = (BitSet) firstRepair.clone();
+        repair.or(secondRepair);
+        return repair;
+    }
+
+    private void checkCancelled(HittingSetTree<E> hittingSetTree) {
+        if (hittingSetTree.getProgressMonitor().isCancelled()) {
+            throw new ExplanationGeneratorInterruptedException();
+        }
+    }
+}
@@ -2,12 +2,12 @@ package org.semanticweb.owl.explanation.impl.blackbox.nsp;
 
 import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
 import org.semanticweb.owlapi.model.*;
-import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
 
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 /*
  * Copyright (C) 2008, University of Manchester
  *
@@ -36,29 +36,40 @@ import java.util.function.Supplier;
 /**
  * Author: Matthew Horridge<br> The University Of Manchester<br> Information Management Group<br> Date:
  * 03-Sep-2008<br><br>
+ * <p>
+ * Checks whether a property is non-simple with a {@link PropertyGraph}, which is kept between checks and only
+ * updated with the difference between successive sets of axioms, so that no ontology is built for a check.  The
+ * entailing axioms of a set are the axioms of a path from a composite property to the property.
+ * </p>
  */
 public class NonSimplePropertyEntailmentChecker implements EntailmentChecker<OWLObjectPropertyExpression> {
 
     private OWLObjectPropertyExpression prop;
 
-    private int counter = 0;
+    private final AtomicInteger counter = new AtomicInteger();
 
-    private Supplier<OWLOntologyManager> m;
+    private final PropertyGraph graph = new PropertyGraph();
 
-    public NonSimplePropertyEntailmentChecker(OWLObjectPropertyExpression prop, Supplier<OWLOntologyManager> m) {
+    public NonSimplePropertyEntailmentChecker(OWLObjectPropertyExpression prop) {
         this.prop = prop;
-        this.m = m;
+    }
+
+    /**
+     * @param m Not used, since checks do not create ontologies
+     */
+    public NonSimplePropertyEntailmentChecker(OWLObjectPropertyExpression prop, Supplier<OWLOntologyManager> m) {
+        this(prop);
     }
 
 
     @Override
     public int getCounter() {
-        return counter;
+        return counter.get();
     }
 
     @Override
     public void resetCounter() {
-        counter = 0;
+        counter.set(0);
     }
 
     @Override
@@ -80,20 +91,20 @@ public class NonSimplePropertyEntailmentChecker implements EntailmentChecker<OWL
 
     @Override
     public boolean isEntailed(Set<OWLAxiom> axioms) {
-        try {
-            counter++;
-            OWLOntology ont = m.get().createOntology(axioms);
-            OWLObjectPropertyManager propman = new OWLObjectPropertyManager(ont);
-            return propman.isNonSimple(prop);
-        }
-        catch (OWLOntologyCreationException e) {
-            throw new OWLRuntimeException(e);
+        counter.incrementAndGet();
+        synchronized (graph) {
+            graph.setAxioms(axioms);
+            return graph.isNonSimple(prop);
         }
     }
 
     @Override
     public Set<OWLAxiom> getEntailingAxioms(Set<OWLAxiom> axioms) {
-        return axioms;
+        synchronized (graph) {
+            graph.setAxioms(axioms);
+            Set<OWLAxiom> nonSimplicityAxioms = graph.getNonSimplicityAxioms(prop);
+            return nonSimplicityAxioms != null ? nonSimplicityAxioms : axioms;
+        }
     }
 
     @Override
@@ -115,6 +126,9 @@ public class NonSimplePropertyEntailmentChecker implements EntailmentChecker<OWL
             else if(ax instanceof OWLTransitiveObjectPropertyAxiom) {
                 module.add(ax);
             }
+            else if(ax instanceof OWLSymmetricObjectPropertyAxiom) {
+                module.add(ax);
+            }
         }
         return module;
     }
@@ -0,0 +1,337 @@
+package org.semanticweb.owl.explanation.impl.blackbox.nsp;
+
+import org.semanticweb.owlapi.model.*;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.*;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An in-memory graph of the object property hierarchy of a set of axioms, which answers non-simplicity and
+ * sub-property questions by reachability.
+ * <p>
+ * The graph follows the definitions of the OWL 2 structural specification.  Each sub-property, equivalent
+ * properties, inverse properties or symmetric property axiom adds edges from sub-properties to super-properties,
+ * and every edge between two property expressions is mirrored by an edge between their inverses.  Transitive
+ * properties and the super-properties of property chains of more than one property are composite, as are the top
+ * and bottom object properties.  A property is non-simple if a composite property reaches it.  Each edge and each
+ * composite property remembers the axioms that it stems from, so that the axioms along a path can be given as the
+ * axioms that a result depends on.
+ * </p>
+ * <p>
+ * Axioms can be added and removed one at a time, or the graph can be brought into line with a new set of axioms by
+ * {@link #setAxioms(Set)}, which only applies the difference to the current set.  A graph is not safe for use by
+ * several threads at once.
+ * </p>
+ */
+public class PropertyGraph {
+
+    private final Set<OWLAxiom> axioms = new HashSet<>();
+
+    /**
+     * Maps each property expression to its direct super-properties, and each edge to the axioms that it stems from.
+     */
+    private final Map<OWLObjectPropertyExpression, Map<OWLObjectPropertyExpression, Set<OWLAxiom>>> superProperties = new HashMap<>();
+
+    /**
+     * The reverse of {@link #superProperties}.
+     */
+    private final Map<OWLObjectPropertyExpression, Map<OWLObjectPropertyExpression, Set<OWLAxiom>>> subProperties = new HashMap<>();
+
+    /**
+     * Maps property expressions that are the super-property of a chain to the chain axioms.
+     */
+    private final Map<OWLObjectPropertyExpression, Set<OWLAxiom>> chainAxioms = new HashMap<>();
+
+    private final Map<OWLObjectPropertyExpression, Set<OWLAxiom>> transitiveAxioms = new HashMap<>();
+
+    /**
+     * The number of logical axioms in the graph that are not sub-property, equivalent properties, inverse
+     * properties, symmetric property or transitive property axioms over named properties and their inverses.
+     */
+    private int otherAxiomCount = 0;
+
+    public Set<OWLAxiom> getAxioms() {
+        return Collections.unmodifiableSet(axioms);
+    }
+
+    /**
+     * Replaces the axioms in the graph with a set of axioms, by removing the axioms that are not in the set and adding
+     * the ones that are not in the graph.
+     * @param axioms The new axioms
+     */
+    public void setAxioms(Set<OWLAxiom> axioms) {
+        List<OWLAxiom> removed = new ArrayList<>();
+        for (OWLAxiom ax : this.axioms) {
+            if (!axioms.contains(ax)) {
+                removed.add(ax);
+            }
+        }
+        for (OWLAxiom ax : removed) {
+            removeAxiom(ax);
+        }
+        for (OWLAxiom ax : axioms) {
+            addAxiom(ax);
+        }
+    }
+
+    public void addAxiom(OWLAxiom ax) {
+        if (axioms.add(ax)) {
+            update(ax, true);
+        }
+    }
+
+    public void removeAxiom(OWLAxiom ax) {
+        if (axioms.remove(ax)) {
+            update(ax, false);
+        }
+    }
+
+    /**
+     * Determines whether the graph only contains hierarchy axioms.  The sub-properties that such a set of axioms
+     * entails are exactly those that can be reached in the graph.
+     * @return <code>true</code> if every logical axiom in the graph is a sub-property, equivalent properties,
+     * inverse properties, symmetric property or transitive property axiom, and none mentions the top or bottom object
+     * property, otherwise <code>false</code>
+     */
+    public boolean isHierarchyOnly() {
+        return otherAxiomCount == 0 && chainAxioms.isEmpty();
+    }
+
+    /**
+     * Determines whether a property expression is non-simple.
+     * @param property The property expression
+     * @return <code>true</code> if the property is non-simple
+     */
+    public boolean isNonSimple(OWLObjectPropertyExpression property) {
+        return getNonSimplicityAxioms(property) != null;
+    }
+
+    /**
+     * Gets the axioms that make a property expression non-simple, which are the axioms of a path to the property
+     * from a composite property, together with an axiom that makes that property composite.
+     * @param property The property expression
+     * @return The axioms, or <code>null</code> if the property is simple
+     */
+    public Set<OWLAxiom> getNonSimplicityAxioms(OWLObjectPropertyExpression property) {
+        OWLObjectPropertyExpression target = property.getSimplified();
+        // Breadth first search for composite properties from the property down to its sub-properties
+        Map<OWLObjectPropertyExpression, OWLAxiom> edgeAxioms = new HashMap<>();
+        Map<OWLObjectPropertyExpression, OWLObjectPropertyExpression> superPropertyOnPath = new HashMap<>();
+        Deque<OWLObjectPropertyExpression> queue = new ArrayDeque<>();
+        Set<OWLObjectPropertyExpression> visited = new HashSet<>();
+        queue.add(target);
+        visited.add(target);
+        while (!queue.isEmpty()) {
+            OWLObjectPropertyExpression current = queue.poll();
+            OWLAxiom compositeAxiom = getCompositeAxiom(current);
+            if (compositeAxiom != null || current.isOWLTopObjectProperty() || current.isOWLBottomObjectProperty()) {
+                Set<OWLAxiom> result = new HashSet<>();
+                if (compositeAxiom != null) {
+                    result.add(compositeAxiom);
+                }
+                for (OWLObjectPropertyExpression p = current; !p.equals(target); p = superPropertyOnPath.get(p)) {
+                    result.add(edgeAxioms.get(p));
+                }
+                return result;
+            }
+            for (Map.Entry<OWLObjectPropertyExpression, Set<OWLAxiom>> edge : getEdges(subProperties, current).entrySet()) {
+                if (visited.add(edge.getKey())) {
+                    edgeAxioms.put(edge.getKey(), edge.getValue().iterator().next());
+                    superPropertyOnPath.put(edge.getKey(), current);
+                    queue.add(edge.getKey());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the axioms of a path from one property expression up to another.
+     * @param subProperty The property expression at the start of the path
+     * @param superProperty The property expression at the end of the path
+     * @return The axioms of the path, which are empty if the two properties are the same, or <code>null</code> if
+     * there is no such path
+     */
+    public Set<OWLAxiom> getPathAxioms(OWLObjectPropertyExpression subProperty, OWLObjectPropertyExpression superProperty) {
+        OWLObjectPropertyExpression source = subProperty.getSimplified();
+        OWLObjectPropertyExpression target = superProperty.getSimplified();
+        Map<OWLObjectPropertyExpression, OWLAxiom> edgeAxioms = new HashMap<>();
+        Map<OWLObjectPropertyExpression, OWLObjectPropertyExpression> subPropertyOnPath = new HashMap<>();
+        Deque<OWLObjectPropertyExpression> queue = new ArrayDeque<>();
+        Set<OWLObjectPropertyExpression> visited = new HashSet<>();
+        queue.add(source);
+        visited.add(source);
+        while (!queue.isEmpty()) {
+            OWLObjectPropertyExpression current = queue.poll();
+            if (current.equals(target)) {
+                Set<OWLAxiom> result = new HashSet<>();
+                for (OWLObjectPropertyExpression p = current; !p.equals(source); p = subPropertyOnPath.get(p)) {
+                    result.add(edgeAxioms.get(p));
+                }
+                return result;
+            }
+            for (Map.Entry<OWLObjectPropertyExpression, Set<OWLAxiom>> edge : getEdges(superProperties, current).entrySet()) {
+                if (visited.add(edge.getKey())) {
+                    edgeAxioms.put(edge.getKey(), edge.getValue().iterator().next());
+                    subPropertyOnPath.put(edge.getKey(), current);
+                    queue.add(edge.getKey());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the axioms that make a property expression transitive, which are a transitive property axiom for a
+     * property that is equivalent to it in the graph, and the axioms of the paths between the two.
+     * @param property The property expression
+     * @return The axioms, or <code>null</code> if no property that is equivalent to the property is transitive
+     */
+    public Set<OWLAxiom> getTransitivityAxioms(OWLObjectPropertyExpression property) {
+        for (Map.Entry<OWLObjectPropertyExpression, Set<OWLAxiom>> entry : transitiveAxioms.entrySet()) {
+            Set<OWLAxiom> pathUp = getPathAxioms(property, entry.getKey());
+            if (pathUp == null) {
+                continue;
+            }
+            Set<OWLAxiom> pathDown = getPathAxioms(entry.getKey(), property);
+            if (pathDown == null) {
+                continue;
+            }
+            Set<OWLAxiom> result = new HashSet<>(pathUp);
+            result.addAll(pathDown);
+            result.add(entry.getValue().iterator().next());
+            return result;
+        }
+        return null;
+    }
+
+    private OWLAxiom getCompositeAxiom(OWLObjectPropertyExpression property) {
+        Set<OWLAxiom> axioms = chainAxioms.get(property);
+        if (axioms == null) {
+            axioms = transitiveAxioms.get(property);
+        }
+        return axioms != null ? axioms.iterator().next() : null;
+    }
+
+    private void update(OWLAxiom ax, boolean add) {
+        if (!ax.isLogicalAxiom()) {
+            return;
+        }
+        boolean hierarchyAxiom = true;
+        if (ax instanceof OWLSubObjectPropertyOfAxiom) {
+            OWLSubObjectPropertyOfAxiom subAx = (OWLSubObjectPropertyOfAxiom) ax;
+            updateEdge(subAx.getSubProperty(), subAx.getSuperProperty(), ax, add);
+        }
+        else if (ax instanceof OWLEquivalentObjectPropertiesAxiom) {
+            List<OWLObjectPropertyExpression> properties = asList(((OWLEquivalentObjectPropertiesAxiom) ax).properties());
+            for (OWLObjectPropertyExpression first : properties) {
+                for (OWLObjectPropertyExpression second : properties) {
+                    if (!first.equals(second)) {
+                        updateEdge(first, second, ax, add);
+                    }
+                }
+            }
+        }
+        else if (ax instanceof OWLInverseObjectPropertiesAxiom) {
+            OWLInverseObjectPropertiesAxiom invAx = (OWLInverseObjectPropertiesAxiom) ax;
+            OWLObjectPropertyExpression first = invAx.getFirstProperty();
+            OWLObjectPropertyExpression second = invAx.getSecondProperty();
+            updateEdge(first, second.getInverseProperty(), ax, add);
+            updateEdge(second.getInverseProperty(), first, ax, add);
+        }
+        else if (ax instanceof OWLSymmetricObjectPropertyAxiom) {
+            OWLObjectPropertyExpression property = ((OWLSymmetricObjectPropertyAxiom) ax).getProperty();
+            updateEdge(property, property.getInverseProperty(), ax, add);
+        }
+        else if (ax instanceof OWLTransitiveObjectPropertyAxiom) {
+            OWLObjectPropertyExpression property = ((OWLTransitiveObjectPropertyAxiom) ax).getProperty();
+            updateMark(transitiveAxioms, property, ax, add);
+            updateMark(transitiveAxioms, property.getInverseProperty(), ax, add);
+        }
+        else if (ax instanceof OWLSubPropertyChainOfAxiom && ((OWLSubPropertyChainOfAxiom) ax).getPropertyChain().size() > 1) {
+            OWLObjectPropertyExpression property = ((OWLSubPropertyChainOfAxiom) ax).getSuperProperty();
+            updateMark(chainAxioms, property, ax, add);
+            updateMark(chainAxioms, property.getInverseProperty(), ax, add);
+        }
+        else {
+            hierarchyAxiom = false;
+        }
+        if (!hierarchyAxiom || ax.objectPropertiesInSignature().anyMatch(p -> p.isOWLTopObjectProperty() || p.isOWLBottomObjectProperty())) {
+            otherAxiomCount += add ? 1 : -1;
+        }
+    }
+
+    /**
+     * Adds or removes an axiom of the edge between two property expressions, and of the edge between their inverses.
+     */
+    private void updateEdge(OWLObjectPropertyExpression subProperty, OWLObjectPropertyExpression superProperty, OWLAxiom ax, boolean add) {
+        OWLObjectPropertyExpression sub = subProperty.getSimplified();
+        OWLObjectPropertyExpression sup = superProperty.getSimplified();
+        OWLObjectPropertyExpression subInverse = sub.getInverseProperty().getSimplified();
+        OWLObjectPropertyExpression supInverse = sup.getInverseProperty().getSimplified();
+        updateEdgeAxioms(superProperties, sub, sup, ax, add);
+        updateEdgeAxioms(subProperties, sup, sub, ax, add);
+        updateEdgeAxioms(superProperties, subInverse, supInverse, ax, add);
+        updateEdgeAxioms(subProperties, supInverse, subInverse, ax, add);
+    }
+
+    private static void updateEdgeAxioms(Map<OWLObjectPropertyExpression, Map<OWLObjectPropertyExpression, Set<OWLAxiom>>> edges, OWLObjectPropertyExpression from, OWLObjectPropertyExpression to, OWLAxiom ax, boolean add) {
+        if (add) {
+            edges.computeIfAbsent(from, k -> new HashMap<>()).computeIfAbsent(to, k -> new HashSet<>()).add(ax);
+        }
+        else {
+            Map<OWLObjectPropertyExpression, Set<OWLAxiom>> targets = edges.get(from);
+            if (targets == null) {
+                return;
+            }
+            Set<OWLAxiom> edgeAxioms = targets.get(to);
+            if (edgeAxioms != null && edgeAxioms.remove(ax) && edgeAxioms.isEmpty()) {
+                targets.remove(to);
+                if (targets.isEmpty()) {
+                    edges.remove(from);
+                }
+            }
+        }
+    }
+
+    private static void updateMark(Map<OWLObjectPropertyExpression, Set<OWLAxiom>> marks, OWLObjectPropertyExpression property, OWLAxiom ax, boolean add) {
+        OWLObjectPropertyExpression simplified = property.getSimplified();
+        if (add) {
+            marks.computeIfAbsent(simplified, k -> new HashSet<>()).add(ax);
+        }
+        else {
+            Set<OWLAxiom> axioms = marks.get(simplified);
+            if (axioms != null && axioms.remove(ax) && axioms.isEmpty()) {
+                marks.remove(simplified);
+            }
+        }
+    }
+
+    private static Map<OWLObjectPropertyExpression, Set<OWLAxiom>> getEdges(Map<OWLObjectPropertyExpression, Map<OWLObjectPropertyExpression, Set<OWLAxiom>>> edges, OWLObjectPropertyExpression from) {
+        Map<OWLObjectPropertyExpression, Set<OWLAxiom>> targets = edges.get(from);
+        return targets != null ? targets : Collections.emptyMap();
+    }
+}
@@ -0,0 +1,174 @@
+package org.semanticweb.owl.explanation.impl.el;
+
+import org.semanticweb.owl.explanation.api.*;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.ELSaturationEntailmentChecker;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTimer;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.*;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.*;
+import java.util.function.Supplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An explanation generator that computes all of the justifications for a subclass or unsatisfiability entailment
+ * over EL axioms in one traced saturation, rather than with one reasoner call per entailment check.
+ * <p>
+ * The generator extracts a locality based module for the entailment, which contains every justification.  If the
+ * entailment and the module are supported by the EL saturation (see
+ * {@link ELSaturationEntailmentChecker#isSupportedEntailment(OWLAxiom)} and
+ * {@link ELSaturationEntailmentChecker#isSupported(Set)}), the module is saturated once, every derived subsumption
+ * being labelled with the minimal sets of axioms that it follows from, and the labels of the entailment are its
+ * justifications.  Other entailments are passed on to a fallback generator, which is usually a black box
+ * generator.  Justifications are reported smallest first.
+ * </p>
+ * <p>
+ * Each call uses a saturation of its own, so a generator may be shared between threads.
+ * </p>
+ */
+public class ELPinpointingExplanationGenerator implements ExplanationGenerator<OWLAxiom> {
+
+    private final Set<OWLAxiom> workingAxioms;
+
+    private final ExplanationGeneratorFactory<OWLAxiom> fallbackFactory;
+
+    private final ExplanationProgressMonitor<OWLAxiom> progressMonitor;
+
+    private final Supplier<OWLOntologyManager> m;
+
+    private ExplanationGenerator<OWLAxiom> fallbackGenerator;
+
+    /**
+     * Constructs a pinpointing explanation generator.
+     * @param axioms The axioms that provide the source axioms for the explanations
+     * @param fallbackFactory A factory for the generator that explains entailments that cannot be pinpointed by
+     * saturation, or <code>null</code> if such entailments should not be explained
+     * @param progressMonitor A progress monitor - may be <code>null</code>
+     * @param m A supplier of ontology managers, used for module extraction
+     */
+    public ELPinpointingExplanationGenerator(Set<? extends OWLAxiom> axioms, ExplanationGeneratorFactory<OWLAxiom> fallbackFactory, ExplanationProgressMonitor<OWLAxiom> progressMonitor, Supplier<OWLOntologyManager> m) {
+        this.workingAxioms = new HashSet<>(axioms);
+        this.fallbackFactory = fallbackFactory;
+        if (progressMonitor != null) {
+            this.progressMonitor = progressMonitor;
+        }
+        else {
+            this.progressMonitor = new NullExplanationProgressMonitor<>();
+        }
+        this.m = m;
+    }
+
+    @Override
+    public Set<Explanation<OWLAxiom>> getExplanations(OWLAxiom entailment) throws ExplanationException {
+        return getExplanations(entailment, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Set<Explanation<OWLAxiom>> getExplanations(OWLAxiom entailment, int limit) throws ExplanationException {
+        if (!ELSaturationEntailmentChecker.isSupportedEntailment(entailment)) {
+            return getFallbackGenerator(entailment).getExplanations(entailment, limit);
+        }
+        Set<OWLAxiom> module = extractModule(entailment);
+        if (!ELSaturationEntailmentChecker.isSupported(module)) {
+            return getFallbackGenerator(entailment).getExplanations(entailment, limit);
+        }
+        return pinpoint((OWLSubClassOfAxiom) entailment, module, limit);
+    }
+
+    /**
+     * Gets an iterator over the explanations for an entailment.  Entailments that can be pinpointed have all of
+     * their explanations computed up front, whereas the iterator of the fallback generator is used for the others.
+     */
+    @Override
+    public ExplanationIterator<OWLAxiom> getExplanationIterator(OWLAxiom entailment) throws ExplanationException {
+        if (!ELSaturationEntailmentChecker.isSupportedEntailment(entailment) || !ELSaturationEntailmentChecker.isSupported(extractModule(entailment))) {
+            return getFallbackGenerator(entailment).getExplanationIterator(entailment);
+        }
+        return ExplanationGenerator.super.getExplanationIterator(entailment);
+    }
+
+    private Set<Explanation<OWLAxiom>> pinpoint(OWLSubClassOfAxiom entailment, Set<OWLAxiom> module, int limit) {
+        TelemetryTimer saturationTimer = new TelemetryTimer();
+        TelemetryInfo info = new DefaultTelemetryInfo("pinpointing", saturationTimer);
+        TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        try {
+            transmitter.beginTransmission(info);
+            transmitter.recordMeasurement(info, "entailment", entailment.toString());
+            transmitter.recordMeasurement(info, "input size", workingAxioms.size());
+            transmitter.recordMeasurement(info, "module size", module.size());
+            saturationTimer.start();
+            TracingELSaturation saturation = new TracingELSaturation(m.get().getOWLDataFactory());
+            for (OWLAxiom ax : module) {
+                saturation.addAxiom(ax);
+            }
+            Set<Set<OWLAxiom>> justifications = saturation.pinpoint(entailment.getSubClass(), entailment.getSuperClass(), progressMonitor::isCancelled);
+            saturationTimer.stop();
+            transmitter.recordTiming(info, "saturation time", saturationTimer);
+            transmitter.recordMeasurement(info, "justifications", justifications.size());
+
+            List<Set<OWLAxiom>> sortedJustifications = new ArrayList<>(justifications);
+            sortedJustifications.sort(Comparator.comparingInt(Set::size));
+            Set<Explanation<OWLAxiom>> explanations = new LinkedHashSet<>();
+            for (Set<OWLAxiom> justification : sortedJustifications) {
+                if (explanations.size() >= limit) {
+                    break;
+                }
+                Explanation<OWLAxiom> explanation = new Explanation<>(entailment, justification);
+                explanations.add(explanation);
+                progressMonitor.foundExplanation(this, explanation, new HashSet<>(explanations));
+                if (progressMonitor.isCancelled()) {
+                    break;
+                }
+            }
+            return explanations;
+        }
+        finally {
+            transmitter.endTransmission(info);
+        }
+    }
+
+    private Set<OWLAxiom> extractModule(OWLAxiom entailment) {
+        if (workingAxioms.isEmpty()) {
+            return Collections.emptySet();
+        }
+        SyntacticLocalityModuleExtractor extractor = new SyntacticLocalityModuleExtractor(m.get(), workingAxioms.stream(), ModuleType.STAR);
+        return extractor.extract(asSet(entailment.signature()));
+    }
+
+    private synchronized ExplanationGenerator<OWLAxiom> getFallbackGenerator(OWLAxiom entailment) {
+        if (fallbackFactory == null) {
+            throw new UnsupportedEntailmentException("Entailment cannot be explained by EL pinpointing: " + entailment);
+        }
+        if (fallbackGenerator == null) {
+            fallbackGenerator = fallbackFactory.createExplanationGenerator(workingAxioms, progressMonitor);
+        }
+        return fallbackGenerator;
+    }
+}
@@ -0,0 +1,80 @@
+package org.semanticweb.owl.explanation.impl.el;
+
+import org.semanticweb.owl.explanation.api.ExplanationGenerator;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorFactory;
+import org.semanticweb.owl.explanation.api.ExplanationProgressMonitor;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A factory that creates explanation generators which pinpoint the justifications for EL entailments in one
+ * traced saturation, and which pass other entailments on to generators created by a fallback factory.
+ */
+public class ELPinpointingExplanationGeneratorFactory implements ExplanationGeneratorFactory<OWLAxiom> {
+
+    private final ExplanationGeneratorFactory<OWLAxiom> fallbackFactory;
+
+    private final Supplier<OWLOntologyManager> m;
+
+    /**
+     * @param fallbackFactory The factory for generators that explain entailments which cannot be pinpointed, or
+     * <code>null</code> if such entailments should not be explained
+     * @param m A supplier of ontology managers
+     */
+    public ELPinpointingExplanationGeneratorFactory(ExplanationGeneratorFactory<OWLAxiom> fallbackFactory, Supplier<OWLOntologyManager> m) {
+        this.fallbackFactory = fallbackFactory;
+        this.m = m;
+    }
+
+    @Override
+    public ExplanationGenerator<OWLAxiom> createExplanationGenerator(OWLOntology ontology) {
+        return createExplanationGenerator(ontology, null);
+    }
+
+    @Override
+    public ExplanationGenerator<OWLAxiom> createExplanationGenerator(OWLOntology ontology, ExplanationProgressMonitor<OWLAxiom> progressMonitor) {
+        Set<OWLAxiom> axioms = new HashSet<>(ontology.getLogicalAxiomCount());
+        ontology.importsClosure()
+            .forEach(ont->add(axioms, ont.logicalAxioms()));
+        return createExplanationGenerator(axioms, progressMonitor);
+    }
+
+    @Override
+    public ExplanationGenerator<OWLAxiom> createExplanationGenerator(Set<? extends OWLAxiom> axioms) {
+        return createExplanationGenerator(axioms, null);
+    }
+
+    @Override
+    public ExplanationGenerator<OWLAxiom> createExplanationGenerator(Set<? extends OWLAxiom> axioms, ExplanationProgressMonitor<OWLAxiom> progressMonitor) {
+        return new ELPinpointingExplanationGenerator(axioms, fallbackFactory, progressMonitor, m);
+    }
+}
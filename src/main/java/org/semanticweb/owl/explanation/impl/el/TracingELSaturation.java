@@ -0,0 +1,485 @@
+package org.semanticweb.owl.explanation.impl.el;
+
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.ELNormaliser;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * Saturates a set of EL axioms with the EL++ completion rules, and labels every derived subsumption and link with
+ * the minimal sets of axioms that it can be derived from.
+ * <p>
+ * The axioms are normalised by the same {@link ELNormaliser} as the saturation that backs
+ * {@link org.semanticweb.owl.explanation.impl.blackbox.checker.ELSaturationEntailmentChecker}.  The definitions of
+ * complex class expressions hold in every ontology, so they carry no axioms, whereas each rule that comes from an
+ * axiom carries the index of that axiom.  When a rule fires, the label of its conclusion is the union of the labels of its premises and its
+ * own axiom, and a conclusion keeps only those labels that are not supersets of one of its other labels.  Rules are
+ * fired again for every new label of a premise, so that, once saturation has finished, the labels of a subsumption
+ * are the disjuncts of the minimal disjunctive normal form of its pinpointing formula: the justifications of the
+ * subsumption.
+ * </p>
+ * <p>
+ * The number of labels may be exponential in the number of axioms, in which case so is the number of
+ * justifications.  A saturation is not thread-safe.
+ * </p>
+ */
+class TracingELSaturation implements ELNormaliser.RuleHandler {
+
+    private static final int TOP = ELNormaliser.TOP;
+
+    private static final int BOTTOM = ELNormaliser.BOTTOM;
+
+    /**
+     * The axiom index of the rules that define complex class expressions, which hold without any axioms.
+     */
+    private static final int NO_AXIOM = -1;
+
+    private final ELNormaliser normaliser;
+
+    private final List<OWLAxiom> axioms = new ArrayList<>();
+
+    private final Map<OWLAxiom, Integer> axiomIndexes = new HashMap<>();
+
+    /**
+     * For each concept, the concept and the axiom of each subsumption of the concept.
+     */
+    private final List<List<int[]>> toldSubsumers = new ArrayList<>();
+
+    private final List<List<Intersection>> intersectionsByOperand = new ArrayList<>();
+
+    /**
+     * For each concept, the role and filler of the existential restriction that the concept stands for.
+     */
+    private final List<List<int[]>> existentialSubsumers = new ArrayList<>();
+
+    /**
+     * For each concept, the role and the number of each existential restriction with the concept as its filler.
+     */
+    private final List<List<int[]>> existentialsByFiller = new ArrayList<>();
+
+    /**
+     * For each role, the filler and the number of each existential restriction on the role.
+     */
+    private final Map<Integer, List<int[]>> existentialsByRole = new HashMap<>();
+
+    /**
+     * For each role, the super role and the axiom of each sub-property axiom of the role.
+     */
+    private final Map<Integer, List<int[]>> superRoles = new HashMap<>();
+
+    /**
+     * For each role, the second role, the super role and the axiom of each chain of two roles that the role comes
+     * first in.
+     */
+    private final Map<Integer, List<int[]>> chainsByFirstRole = new HashMap<>();
+
+    /**
+     * For each role, the first role, the super role and the axiom of each chain of two roles that the role comes
+     * second in.
+     */
+    private final Map<Integer, List<int[]>> chainsBySecondRole = new HashMap<>();
+
+    private final Map<Integer, Context> contexts = new HashMap<>();
+
+    private final Deque<ConceptTask> conceptTasks = new ArrayDeque<>();
+
+    private final Deque<LinkTask> linkTasks = new ArrayDeque<>();
+
+    public TracingELSaturation(OWLDataFactory df) {
+        normaliser = new ELNormaliser(df, this);
+    }
+
+    /**
+     * Adds an axiom to this saturation.  Axioms must be added before any subsumption is pinpointed.
+     * @param ax The axiom, which must be supported by the EL saturation; see
+     * {@link org.semanticweb.owl.explanation.impl.blackbox.checker.ELSaturationEntailmentChecker#isSupported(Set)}
+     */
+    public void addAxiom(OWLAxiom ax) {
+        if (!ax.isLogicalAxiom()) {
+            return;
+        }
+        axiomIndexes.computeIfAbsent(ax, a -> {
+            axioms.add(a);
+            return axioms.size() - 1;
+        });
+        normaliser.addAxiom(ax);
+    }
+
+    /**
+     * Computes the minimal sets of the added axioms that entail that one class expression is subsumed by another.
+     * @param subClass The subclass
+     * @param superClass The superclass
+     * @param cancelled Polled while saturating, so that a long saturation can be abandoned
+     * @return The minimal sets of axioms, which will be empty if the subsumption does not hold.  The set contains
+     * one empty set if the subsumption holds without any axioms.
+     * @throws ExplanationGeneratorInterruptedException if saturation is cancelled
+     */
+    public Set<Set<OWLAxiom>> pinpoint(OWLClassExpression subClass, OWLClassExpression superClass, BooleanSupplier cancelled) {
+        int sub = normaliser.getConceptId(subClass);
+        int sup = normaliser.getConceptId(superClass);
+        contexts.clear();
+        conceptTasks.clear();
+        linkTasks.clear();
+        Context root = getContext(sub);
+        int processed = 0;
+        while (!conceptTasks.isEmpty() || !linkTasks.isEmpty()) {
+            if (++processed % 1024 == 0 && cancelled.getAsBoolean()) {
+                throw new ExplanationGeneratorInterruptedException();
+            }
+            if (!conceptTasks.isEmpty()) {
+                processConcept(conceptTasks.poll());
+            }
+            else {
+                processLink(linkTasks.poll());
+            }
+        }
+        Labels labels = new Labels();
+        for (BitSet label : root.getLabels(sup)) {
+            labels.add(label);
+        }
+        for (BitSet label : root.getLabels(BOTTOM)) {
+            labels.add(label);
+        }
+        Set<Set<OWLAxiom>> result = new HashSet<>();
+        for (BitSet label : labels) {
+            Set<OWLAxiom> justification = new HashSet<>();
+            for (int i = label.nextSetBit(0); i >= 0; i = label.nextSetBit(i + 1)) {
+                justification.add(axioms.get(i));
+            }
+            result.add(justification);
+        }
+        return result;
+    }
+
+    private void processConcept(ConceptTask task) {
+        Context context = task.context;
+        int concept = task.concept;
+        BitSet label = task.label;
+        if (!context.subsumers.computeIfAbsent(concept, c -> new Labels()).add(label)) {
+            return;
+        }
+        for (int[] subsumer : toldSubsumers.get(concept)) {
+            addConceptTask(context, subsumer[0], union(label, null, subsumer[1]));
+        }
+        for (Intersection intersection : intersectionsByOperand.get(concept)) {
+            List<Collection<BitSet>> otherLabels = new ArrayList<>(intersection.operands.length);
+            boolean satisfied = true;
+            boolean skipped = false;
+            for (int operand : intersection.operands) {
+                if (operand == concept && !skipped) {
+                    // This operand is the premise that has the new label
+                    skipped = true;
+                    continue;
+                }
+                Collection<BitSet> operandLabels = context.getLabels(operand);
+                if (operandLabels.isEmpty()) {
+                    satisfied = false;
+                    break;
+                }
+                otherLabels.add(operandLabels);
+            }
+            if (satisfied) {
+                addIntersectionConclusions(context, intersection, otherLabels, 0, union(label, null, intersection.axiom));
+            }
+        }
+        for (int[] existential : existentialSubsumers.get(concept)) {
+            addLinkTask(context, existential[0], getContext(existential[1]), label);
+        }
+        if (concept == BOTTOM) {
+            for (Map<Context, Labels> predecessors : context.predecessors.values()) {
+                for (Map.Entry<Context, Labels> predecessor : predecessors.entrySet()) {
+                    for (BitSet linkLabel : predecessor.getValue()) {
+                        addConceptTask(predecessor.getKey(), BOTTOM, union(linkLabel, label, NO_AXIOM));
+                    }
+                }
+            }
+        }
+        for (int[] existential : existentialsByFiller.get(concept)) {
+            for (Map.Entry<Context, Labels> predecessor : context.getPredecessors(existential[0]).entrySet()) {
+                for (BitSet linkLabel : predecessor.getValue()) {
+                    addConceptTask(predecessor.getKey(), existential[1], union(linkLabel, label, NO_AXIOM));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the conclusion of an intersection for every combination of one label of each of the remaining operands.
+     */
+    private void addIntersectionConclusions(Context context, Intersection intersection, List<Collection<BitSet>> otherLabels, int index, BitSet label) {
+        if (index == otherLabels.size()) {
+            addConceptTask(context, intersection.conclusion, label);
+            return;
+        }
+        for (BitSet operandLabel : otherLabels.get(index)) {
+            addIntersectionConclusions(context, intersection, otherLabels, index + 1, union(label, operandLabel, NO_AXIOM));
+        }
+    }
+
+    private void processLink(LinkTask task) {
+        Context source = task.source;
+        int role = task.role;
+        Context target = task.target;
+        BitSet label = task.label;
+        Labels linkLabels = source.getSuccessors(role).get(target);
+        if (linkLabels == null) {
+            linkLabels = new Labels();
+            source.getSuccessors(role).put(target, linkLabels);
+            target.predecessors.computeIfAbsent(role, r -> new HashMap<>()).put(source, linkLabels);
+        }
+        if (!linkLabels.add(label)) {
+            return;
+        }
+        for (BitSet bottomLabel : target.getLabels(BOTTOM)) {
+            addConceptTask(source, BOTTOM, union(label, bottomLabel, NO_AXIOM));
+        }
+        for (int[] existential : existentialsByRole.getOrDefault(role, Collections.emptyList())) {
+            for (BitSet fillerLabel : target.getLabels(existential[0])) {
+                addConceptTask(source, existential[1], union(label, fillerLabel, NO_AXIOM));
+            }
+        }
+        for (int[] superRole : superRoles.getOrDefault(role, Collections.emptyList())) {
+            addLinkTask(source, superRole[0], target, union(label, null, superRole[1]));
+        }
+        for (int[] chain : chainsByFirstRole.getOrDefault(role, Collections.emptyList())) {
+            for (Map.Entry<Context, Labels> next : target.getSuccessors(chain[0]).entrySet()) {
+                for (BitSet nextLabel : next.getValue()) {
+                    addLinkTask(source, chain[1], next.getKey(), union(label, nextLabel, chain[2]));
+                }
+            }
+        }
+        for (int[] chain : chainsBySecondRole.getOrDefault(role, Collections.emptyList())) {
+            for (Map.Entry<Context, Labels> previous : source.getPredecessors(chain[0]).entrySet()) {
+                for (BitSet previousLabel : previous.getValue()) {
+                    addLinkTask(previous.getKey(), chain[1], target, union(previousLabel, label, chain[2]));
+                }
+            }
+        }
+    }
+
+    private void addConceptTask(Context context, int concept, BitSet label) {
+        Labels labels = context.subsumers.get(concept);
+        if (labels == null || !labels.isSubsumed(label)) {
+            conceptTasks.add(new ConceptTask(context, concept, label));
+        }
+    }
+
+    private void addLinkTask(Context source, int role, Context target, BitSet label) {
+        Labels labels = source.getSuccessors(role).get(target);
+        if (labels == null || !labels.isSubsumed(label)) {
+            linkTasks.add(new LinkTask(source, role, target, label));
+        }
+    }
+
+    private static BitSet union(BitSet first, BitSet second, int axiom) {
+        BitSet union = (BitSet) first.clone();
+        if (second != null) {
+            union.or(second);
+        }
+        if (axiom != NO_AXIOM) {
+            union.set(axiom);
+        }
+        return union;
+    }
+
+    private Context getContext(int concept) {
+        Context context = contexts.get(concept);
+        if (context == null) {
+            context = new Context();
+            contexts.put(concept, context);
+            addConceptTask(context, concept, new BitSet());
+            addConceptTask(context, TOP, new BitSet());
+        }
+        return context;
+    }
+
+    @Override
+    public void addConcept(int concept) {
+        toldSubsumers.add(new ArrayList<>(2));
+        intersectionsByOperand.add(new ArrayList<>(1));
+        existentialSubsumers.add(new ArrayList<>(1));
+        existentialsByFiller.add(new ArrayList<>(1));
+    }
+
+    @Override
+    public void addToldSubsumer(int sub, int sup, OWLAxiom axiom) {
+        toldSubsumers.get(sub).add(new int[]{sup, getAxiomIndex(axiom)});
+    }
+
+    @Override
+    public void addIntersection(int[] operands, int conclusion, OWLAxiom axiom) {
+        Intersection intersection = new Intersection(operands, conclusion, getAxiomIndex(axiom));
+        for (int operand : operands) {
+            intersectionsByOperand.get(operand).add(intersection);
+        }
+    }
+
+    @Override
+    public void addExistential(int concept, int role, int filler) {
+        existentialSubsumers.get(concept).add(new int[]{role, filler});
+        existentialsByFiller.get(filler).add(new int[]{role, concept});
+        existentialsByRole.computeIfAbsent(role, r -> new ArrayList<>()).add(new int[]{filler, concept});
+    }
+
+    @Override
+    public void addSuperRole(int sub, int sup, OWLAxiom axiom) {
+        superRoles.computeIfAbsent(sub, r -> new ArrayList<>()).add(new int[]{sup, getAxiomIndex(axiom)});
+    }
+
+    @Override
+    public void addChain(int first, int second, int sup, OWLAxiom axiom) {
+        int axiomIndex = getAxiomIndex(axiom);
+        chainsByFirstRole.computeIfAbsent(first, r -> new ArrayList<>()).add(new int[]{second, sup, axiomIndex});
+        chainsBySecondRole.computeIfAbsent(second, r -> new ArrayList<>()).add(new int[]{first, sup, axiomIndex});
+    }
+
+    private int getAxiomIndex(OWLAxiom axiom) {
+        return axiom != null ? axiomIndexes.get(axiom) : NO_AXIOM;
+    }
+
+    /**
+     * The minimal labels of a subsumption or a link.  No label is a subset of another label.
+     */
+    private static class Labels implements Iterable<BitSet> {
+
+        private final List<BitSet> labels = new ArrayList<>(1);
+
+        /**
+         * Determines whether a label is a superset of one of these labels.
+         */
+        public boolean isSubsumed(BitSet label) {
+            for (BitSet existing : labels) {
+                if (isSubset(existing, label)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds a label, removing any labels that are supersets of it.
+         * @return <code>true</code> if the label was added, or <code>false</code> if it is a superset of one of
+         * these labels
+         */
+        public boolean add(BitSet label) {
+            if (isSubsumed(label)) {
+                return false;
+            }
+            labels.removeIf(existing -> isSubset(label, existing));
+            labels.add(label);
+            return true;
+        }
+
+        private static boolean isSubset(BitSet subset, BitSet superset) {
+            BitSet difference = (BitSet) subset.clone();
+            difference.andNot(superset);
+            return difference.isEmpty();
+        }
+
+        @Override
+        public Iterator<BitSet> iterator() {
+            return labels.iterator();
+        }
+    }
+
+    /**
+     * An intersection of concepts that is subsumed by a concept, either by definition or because of an axiom.
+     */
+    private static class Intersection {
+
+        private final int[] operands;
+
+        private final int conclusion;
+
+        private final int axiom;
+
+        public Intersection(int[] operands, int conclusion, int axiom) {
+            this.operands = operands;
+            this.conclusion = conclusion;
+            this.axiom = axiom;
+        }
+    }
+
+    /**
+     * The labelled subsumers of a concept and its labelled links to the contexts of the fillers of its existential
+     * restrictions.
+     */
+    private static class Context {
+
+        private final Map<Integer, Labels> subsumers = new HashMap<>();
+
+        private final Map<Integer, Map<Context, Labels>> successors = new HashMap<>();
+
+        private final Map<Integer, Map<Context, Labels>> predecessors = new HashMap<>();
+
+        public Collection<BitSet> getLabels(int concept) {
+            Labels labels = subsumers.get(concept);
+            return labels != null ? labels.labels : Collections.emptyList();
+        }
+
+        public Map<Context, Labels> getSuccessors(int role) {
+            return successors.computeIfAbsent(role, r -> new HashMap<>());
+        }
+
+        public Map<Context, Labels> getPredecessors(int role) {
+            return predecessors.getOrDefault(role, Collections.emptyMap());
+        }
+    }
+
+    private static class ConceptTask {
+
+        private final Context context;
+
+        private final int concept;
+
+        private final BitSet label;
+
+        public ConceptTask(Context context, int concept, BitSet label) {
+            this.context = context;
+            this.concept = concept;
+            this.label = label;
+        }
+    }
+
+    private static class LinkTask {
+
+        private final Context source;
+
+        private final int role;
+
+        private final Context target;
+
+        private final BitSet label;
+
+        public LinkTask(Context source, int role, Context target, BitSet label) {
+            this.source = source;
+            this.role = role;
+            this.target = target;
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.semanticweb.owl.explanation.impl.equivalence;
+
+import org.semanticweb.owl.explanation.api.*;
+import org.semanticweb.owl.explanation.telemetry.DefaultTelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryInfo;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTimer;
+import org.semanticweb.owl.explanation.telemetry.TelemetryTransmitter;
+import org.semanticweb.owlapi.model.*;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.*;
+import java.util.function.Supplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * An explanation generator that explains an equivalent classes entailment through the subclass entailments that
+ * it is made up of, rather than through the union concept that an equivalence is turned into by a satisfiability
+ * check.
+ * <p>
+ * The classes <code>C1, ..., Cn</code> of an equivalence are equivalent exactly when
+ * <code>SubClassOf(C1 C2), ..., SubClassOf(Cn C1)</code> hold, so a set of axioms entails the equivalence exactly when it contains a
+ * justification for each of these subclass entailments.  The justifications for the equivalence are therefore the
+ * minimal unions of one justification for each subclass entailment.  All of the subclass entailments have the
+ * signature of the equivalence, so their locality based module is extracted once, and one delegate generator over
+ * the module explains all of them.  Other entailments are explained by a delegate generator over all of the
+ * axioms.  Justifications are reported smallest first.
+ * </p>
+ * <p>
+ * Each call uses delegate generators of its own, so a generator may be shared between threads if the delegate
+ * factory's generators may be.
+ * </p>
+ */
+public class EquivalentClassesSplittingExplanationGenerator implements ExplanationGenerator<OWLAxiom> {
+
+    private final Set<OWLAxiom> workingAxioms;
+
+    private final ExplanationGeneratorFactory<OWLAxiom> delegateFactory;
+
+    private final ExplanationProgressMonitor<OWLAxiom> progressMonitor;
+
+    private final Supplier<OWLOntologyManager> m;
+
+    /**
+     * Constructs a splitting explanation generator.
+     * @param axioms The axioms that provide the source axioms for the explanations
+     * @param delegateFactory A factory for the generators that explain the subclass entailments, and any
+     * entailment that is not an equivalent classes axiom
+     * @param progressMonitor A progress monitor - may be <code>null</code>
+     * @param m A supplier of ontology managers, used for module extraction
+     */
+    public EquivalentClassesSplittingExplanationGenerator(Set<? extends OWLAxiom> axioms, ExplanationGeneratorFactory<OWLAxiom> delegateFactory, ExplanationProgressMonitor<OWLAxiom> progressMonitor, Supplier<OWLOntologyManager> m) {
+        this.workingAxioms = new HashSet<>(axioms);
+        this.delegateFactory = delegateFactory;
+        if (progressMonitor != null) {
+            this.progressMonitor = progressMonitor;
+        }
+        else {
+            this.progressMonitor = new NullExplanationProgressMonitor<>();
+        }
+        this.m = m;
+    }
+
+    @Override
+    public Set<Explanation<OWLAxiom>> getExplanations(OWLAxiom entailment) throws ExplanationException {
+        return getExplanations(entailment, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Set<Explanation<OWLAxiom>> getExplanations(OWLAxiom entailment, int limit) throws ExplanationException {
+        if (!isSplittable(entailment)) {
+            return delegateFactory.createExplanationGenerator(workingAxioms, progressMonitor).getExplanations(entailment, limit);
+        }
+        return explainSplit((OWLEquivalentClassesAxiom) entailment, limit);
+    }
+
+    /**
+     * Gets an iterator over the explanations for an entailment.  Equivalent classes entailments have all of their
+     * explanations computed up front, whereas the iterator of a delegate generator is used for the others.
+     */
+    @Override
+    public ExplanationIterator<OWLAxiom> getExplanationIterator(OWLAxiom entailment) throws ExplanationException {
+        if (!isSplittable(entailment)) {
+            return delegateFactory.createExplanationGenerator(workingAxioms, progressMonitor).getExplanationIterator(entailment);
+        }
+        return ExplanationGenerator.super.getExplanationIterator(entailment);
+    }
+
+    private static boolean isSplittable(OWLAxiom entailment) {
+        return entailment instanceof OWLEquivalentClassesAxiom && ((OWLEquivalentClassesAxiom) entailment).classExpressions().count() > 1;
+    }
+
+    /**
+     * Gets the subclass entailments that an equivalent classes axiom is made up of, which go round its classes.
+     * @param entailment The equivalent classes axiom
+     * @param df A data factory
+     * @return The subclass axioms
+     */
+    public static List<OWLSubClassOfAxiom> getSubClassEntailments(OWLEquivalentClassesAxiom entailment, OWLDataFactory df) {
+        List<OWLClassExpression> classes = asList(entailment.classExpressions());
+        List<OWLSubClassOfAxiom> result = new ArrayList<>(classes.size());
+        if (classes.size() == 2) {
+            result.add(df.getOWLSubClassOfAxiom(classes.get(0), classes.get(1)));
+            result.add(df.getOWLSubClassOfAxiom(classes.get(1), classes.get(0)));
+            return result;
+        }
+        for (int i = 0; i < classes.size(); i++) {
+            result.add(df.getOWLSubClassOfAxiom(classes.get(i), classes.get((i + 1) % classes.size())));
+        }
+        return result;
+    }
+
+    private Set<Explanation<OWLAxiom>> explainSplit(OWLEquivalentClassesAxiom entailment, int limit) {
+        TelemetryTimer timer = new TelemetryTimer();
+        TelemetryInfo info = new DefaultTelemetryInfo("equivalencesplitting", timer);
+        TelemetryTransmitter transmitter = TelemetryTransmitter.getTransmitter();
+        try {
+            transmitter.beginTransmission(info);
+            transmitter.recordMeasurement(info, "entailment", entailment.toString());
+            transmitter.recordMeasurement(info, "input size", workingAxioms.size());
+            timer.start();
+            Set<OWLAxiom> module = extractModule(entailment);
+            transmitter.recordMeasurement(info, "module size", module.size());
+            ExplanationGenerator<OWLAxiom> delegate = delegateFactory.createExplanationGenerator(module, new CancellationMonitor());
+
+            Set<Set<OWLAxiom>> justifications = Collections.singleton(Collections.emptySet());
+            for (OWLSubClassOfAxiom subClassEntailment : getSubClassEntailments(entailment, m.get().getOWLDataFactory())) {
+                if (progressMonitor.isCancelled()) {
+                    throw new ExplanationGeneratorInterruptedException();
+                }
+                Set<Set<OWLAxiom>> subClassJustifications = new HashSet<>();
+                for (Explanation<OWLAxiom> expl : delegate.getExplanations(subClassEntailment)) {
+                    subClassJustifications.add(expl.getAxioms());
+                }
+                transmitter.recordMeasurement(info, "justifications for " + subClassEntailment, subClassJustifications.size());
+                justifications = combine(justifications, subClassJustifications);
+                if (justifications.isEmpty()) {
+                    break;
+                }
+            }
+            timer.stop();
+            transmitter.recordTiming(info, "time", timer);
+            transmitter.recordMeasurement(info, "justifications", justifications.size());
+
+            List<Set<OWLAxiom>> sortedJustifications = new ArrayList<>(justifications);
+            sortedJustifications.sort(Comparator.comparingInt(Set::size));
+            Set<Explanation<OWLAxiom>> explanations = new LinkedHashSet<>();
+            for (Set<OWLAxiom> justification : sortedJustifications) {
+                if (explanations.size() >= limit) {
+                    break;
+                }
+                Explanation<OWLAxiom> explanation = new Explanation<>(entailment, justification);
+                explanations.add(explanation);
+                progressMonitor.foundExplanation(this, explanation, new HashSet<>(explanations));
+                if (progressMonitor.isCancelled()) {
+                    break;
+                }
+            }
+            return explanations;
+        }
+        finally {
+            transmitter.endTransmission(info);
+        }
+    }
+
+    /**
+     * Combines the justifications for some of the subclass entailments with the justifications for another one,
+     * into the minimal unions of one justification from each.
+     */
+    private static Set<Set<OWLAxiom>> combine(Set<Set<OWLAxiom>> justifications, Set<Set<OWLAxiom>> subClassJustifications) {
+        List<Set<OWLAxiom>> unions = new ArrayList<>();
+        for (Set<OWLAxiom> justification : justifications) {
+            for (Set<OWLAxiom> subClassJustification : subClassJustifications) {
+                Set<OWLAxiom> union = new HashSet<>(justification);
+                union.addAll(subClassJustification);
+                unions.add(union);
+            }
+        }
+        // Smaller unions first, so that a union only needs to be compared with the minimal unions that are kept
+        unions.sort(Comparator.comparingInt(Set::size));
+        Set<Set<OWLAxiom>> minimalUnions = new HashSet<>();
+        for (Set<OWLAxiom> union : unions) {
+            boolean minimal = true;
+            for (Set<OWLAxiom> minimalUnion : minimalUnions) {
+                if (union.containsAll(minimalUnion)) {
+                    minimal = false;
+                    break;
+                }
+            }
+            if (minimal) {
+                minimalUnions.add(union);
+            }
+        }
+        return minimalUnions;
+    }
+
+    private Set<OWLAxiom> extractModule(OWLAxiom entailment) {
+        if (workingAxioms.isEmpty()) {
+            return Collections.emptySet();
+        }
+        SyntacticLocalityModuleExtractor extractor = new SyntacticLocalityModuleExtractor(m.get(), workingAxioms.stream(), ModuleType.STAR);
+        return extractor.extract(asSet(entailment.signature()));
+    }
+
+    /**
+     * Passes cancellation on to the delegate generator without reporting the justifications for the subclass
+     * entailments as explanations of the equivalence.
+     */
+    private class CancellationMonitor implements ExplanationProgressMonitor<OWLAxiom> {
+
+        @Override
+        public void foundExplanation(ExplanationGenerator<OWLAxiom> generator, Explanation<OWLAxiom> explanation, Set<Explanation<OWLAxiom>> allFoundExplanations) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return progressMonitor.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.semanticweb.owl.explanation.impl.equivalence;
+
+import org.semanticweb.owl.explanation.api.ExplanationGenerator;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorFactory;
+import org.semanticweb.owl.explanation.api.ExplanationProgressMonitor;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+/*
+ * Copyright (C) 2008, University of Manchester
+ *
+ * Modifications to the initial code base are copyright of their
+ * respective authors, or their employers as appropriate.  Authorship
+ * of the modifications may be determined from the ChangeLog placed at
+ * the end of this file.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+/**
+ * A factory for {@link EquivalentClassesSplittingExplanationGenerator}s.
+ */
+public class EquivalentClassesSplittingExplanationGeneratorFactory implements ExplanationGeneratorFactory<OWLAxiom> {
+
+    private final ExplanationGeneratorFactory<OWLAxiom> delegateFactory;
+
+    private final Supplier<OWLOntologyManager> m;
+
+    /**
+     * @param delegateFactory The factory for generators that explain the subclass entailments of an equivalence,
+     * and any other entailment
+     * @param m A supplier of ontology managers
+     */
+    public EquivalentClassesSplittingExplanationGeneratorFactory(ExplanationGeneratorFactory<OWLAxiom> delegateFactory, Supplier<OWLOntologyManager> m) {
+        this.delegateFactory = delegateFactory;
+        this.m = m;
+    }
+
+    @Override
+    public ExplanationGenerator<OWLAxiom> createExplanationGenerator(OWLOntology ontology) {
+        return createExplanationGenerator(ontology, null);
+    }
+
+    @Override
+    public ExplanationGenerator<OWLAxiom> createExplanationGenerator(OWLOntology ontology, ExplanationProgressMonitor<OWLAxiom> progressMonitor) {
+        Set<OWLAxiom> axioms = new HashSet<>(ontology.getLogicalAxiomCount());
+        ontology.importsClosure()
+            .forEach(ont->add(axioms, ont.logicalAxioms()));
+        return createExplanationGenerator(axioms, progressMonitor);
+    }
+
+    @Override
+    public ExplanationGenerator<OWLAxiom> createExplanationGenerator(Set<? extends OWLAxiom> axioms) {
+        return createExplanationGenerator(axioms, null);
+    }
+
+    @Override
+    public ExplanationGenerator<OWLAxiom> createExplanationGenerator(Set<? extends OWLAxiom> axioms, ExplanationProgressMonitor<OWLAxiom> progressMonitor) {
+        return new EquivalentClassesSplittingExplanationGenerator(axioms, delegateFactory, progressMonitor, m);
+    }
+}
@@ -0,0 +1,50 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.api.NullExplanationProgressMonitor;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntailmentChecker;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class AdaptiveWindowContractionStrategy_TestCase {
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private Set<OWLAxiom> justification;
+
+    private Set<OWLAxiom> axioms;
+
+    private OWLAxiom entailment;
+
+    @Before
+    public void setUp() {
+        ChainFixture fixture = new ChainFixture(4, 80, true);
+        justification = fixture.getJustification();
+        axioms = fixture.getAxioms();
+        entailment = fixture.getEntailment();
+    }
+
+    @Test
+    public void shouldCarryLearnedWindowSizeToNextContraction() {
+        EntailmentChecker<OWLAxiom> checker = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE);
+        AdaptiveWindowContractionStrategy<OWLAxiom> strategy = new AdaptiveWindowContractionStrategy<>(2, 2);
+        assertThat(strategy.doPruning(axioms, checker, new NullExplanationProgressMonitor<>()), is(justification));
+        int firstSteps = strategy.getNumberOfSteps();
+        assertThat(firstSteps, lessThan(axioms.size()));
+        assertThat(strategy.getLearnedWindowSize(), greaterThan(2));
+        assertThat(strategy.doPruning(axioms, checker, new NullExplanationProgressMonitor<>()), is(justification));
+        assertThat(strategy.getNumberOfSteps(), lessThan(firstSteps));
+    }
+}
@@ -9,13 +9,29 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.ExplanationIterator;
 import org.semanticweb.owl.explanation.api.NullExplanationProgressMonitor;
+import org.semanticweb.owl.explanation.api.ProgressMonitorExplanationIterator;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.BlackBoxExplanationGeneratorFactory;
 import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntailmentCheckerFactory;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.BreadthFirstStrategy;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.DepthFirstStrategy;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.HittingSetDagStrategy;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.HittingSetTreeConstructionStrategy;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.ParallelBreadthFirstStrategy;
+import org.semanticweb.owl.explanation.impl.blackbox.hst.SmallestFirstStrategy;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -36,6 +52,16 @@ public class BlackBoxExplanationGenerator2_TestCase {
 
     private OWLDataFactory df=OWLManager.getOWLDataFactory();
 
+    private OWLClass A;
+
+    private OWLClass B;
+
+    private OWLClass C;
+
+    private OWLClass D;
+
+    private OWLClass E;
+
     private OWLAxiom entailment;
 
     private OWLAxiom ASubClassOfB;
@@ -47,9 +73,11 @@ public class BlackBoxExplanationGenerator2_TestCase {
     @Before
     public void setUp() {
 
-        OWLClass A = df.getOWLClass(IRI.create("http://example.com/A"));
-        OWLClass B = df.getOWLClass(IRI.create("http://example.com/B"));
-        OWLClass C = df.getOWLClass(IRI.create("http://example.com/C"));
+        A = df.getOWLClass(IRI.create("http://example.com/A"));
+        B = df.getOWLClass(IRI.create("http://example.com/B"));
+        C = df.getOWLClass(IRI.create("http://example.com/C"));
+        D = df.getOWLClass(IRI.create("http://example.com/D"));
+        E = df.getOWLClass(IRI.create("http://example.com/E"));
 
 
         ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
@@ -72,6 +100,18 @@ public class BlackBoxExplanationGenerator2_TestCase {
 
     }
 
+    private BlackBoxExplanationGenerator2<OWLAxiom> createGenerator(Set<OWLAxiom> axioms, ContractionStrategy<OWLAxiom> contractionStrategy, HittingSetTreeConstructionStrategy<OWLAxiom> constructionStrategy) {
+        return new BlackBoxExplanationGenerator2<>(
+                axioms,
+                new SatisfiabilityEntailmentCheckerFactory(reasonerFactory, m),
+                new StructuralExpansionStrategy<>(m),
+                contractionStrategy,
+                constructionStrategy,
+                new NullExplanationProgressMonitor<OWLAxiom>(),
+                m
+        );
+    }
+
     @Test
     public void test() {
         Set<Explanation<OWLAxiom>> explanations = generator.getExplanations(entailment);
@@ -82,4 +122,184 @@ public class BlackBoxExplanationGenerator2_TestCase {
         assertThat(explanation.getAxioms(), containsInAnyOrder(ASubClassOfB, BSubClassOfC));
     }
 
+    /**
+     * Four justifications, two of which share the axiom B SubClassOf C.
+     */
+    private Set<OWLAxiom> getAxiomsWithSeveralJustifications() {
+        return Sets.newHashSet(ASubClassOfB, BSubClassOfC,
+                df.getOWLSubClassOfAxiom(A, D), df.getOWLSubClassOfAxiom(D, B),
+                df.getOWLSubClassOfAxiom(A, E), df.getOWLSubClassOfAxiom(E, B), df.getOWLSubClassOfAxiom(E, C));
+    }
+
+    @Test
+    public void shouldFindAllExplanationsInParallel() {
+        Set<OWLAxiom> axioms = getAxiomsWithSeveralJustifications();
+        Set<Explanation<OWLAxiom>> expected = createGenerator(axioms, new SimpleContractionStrategy<>(), new BreadthFirstStrategy<>()).getExplanations(entailment);
+        Set<Explanation<OWLAxiom>> explanations = createGenerator(axioms, new SimpleContractionStrategy<>(), new ParallelBreadthFirstStrategy<>(2)).getExplanations(entailment);
+        assertThat(expected.size(), is(4));
+        assertThat(explanations, is(expected));
+    }
+
+    @Test
+    public void shouldFindSameExplanationsInParallelWithLimit() {
+        Set<OWLAxiom> axioms = getAxiomsWithSeveralJustifications();
+        for (int limit = 1; limit <= 4; limit++) {
+            Set<Explanation<OWLAxiom>> expected = createGenerator(axioms, new SimpleContractionStrategy<>(), new BreadthFirstStrategy<>()).getExplanations(entailment, limit);
+            for (int run = 0; run < 5; run++) {
+                Set<Explanation<OWLAxiom>> explanations = createGenerator(axioms, new SimpleContractionStrategy<>(), new ParallelBreadthFirstStrategy<>(4)).getExplanations(entailment, limit);
+                assertThat(explanations, is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindAllExplanationsDepthFirst() {
+        Set<OWLAxiom> axioms = getAxiomsWithSeveralJustifications();
+        Set<Explanation<OWLAxiom>> expected = createGenerator(axioms, new SimpleContractionStrategy<>(), new BreadthFirstStrategy<>()).getExplanations(entailment);
+        Configuration<OWLAxiom> config = new Configuration<>(new SatisfiabilityEntailmentCheckerFactory(reasonerFactory, m), new DepthFirstStrategy<>(), new NullExplanationProgressMonitor<>(), m);
+        Set<Explanation<OWLAxiom>> explanations = new BlackBoxExplanationGeneratorFactory<>(config).createExplanationGenerator(axioms).getExplanations(entailment);
+        assertThat(explanations, is(expected));
+    }
+
+    @Test
+    public void shouldFindAllExplanationsWithHittingSetDag() {
+        OWLAxiom ASubClassOfD = df.getOWLSubClassOfAxiom(A, D);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        OWLAxiom DSubClassOfB = df.getOWLSubClassOfAxiom(D, B);
+        BlackBoxExplanationGenerator2<OWLAxiom> dagGenerator = createGenerator(
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, ASubClassOfD, DSubClassOfC, DSubClassOfB),
+                new SimpleContractionStrategy<>(),
+                new HittingSetDagStrategy<>());
+        Set<Explanation<OWLAxiom>> explanations = dagGenerator.getExplanations(entailment);
+        assertThat(explanations, containsInAnyOrder(
+                new Explanation<>(entailment, Sets.newHashSet(ASubClassOfB, BSubClassOfC)),
+                new Explanation<>(entailment, Sets.newHashSet(ASubClassOfD, DSubClassOfC)),
+                new Explanation<>(entailment, Sets.newHashSet(ASubClassOfD, DSubClassOfB, BSubClassOfC))));
+    }
+
+    @Test
+    public void shouldFindAllExplanationsWithContractionHints() {
+        Set<OWLAxiom> axioms = getAxiomsWithSeveralJustifications();
+        Set<Explanation<OWLAxiom>> expected = createGenerator(axioms, new SimpleContractionStrategy<>(), new BreadthFirstStrategy<>()).getExplanations(entailment);
+        for (ContractionStrategy<OWLAxiom> contractionStrategy : Arrays.<ContractionStrategy<OWLAxiom>>asList(new DivideAndConquerContractionStrategy<>(), new ProgressionContractionStrategy<>())) {
+            BlackBoxExplanationGenerator2<OWLAxiom> hintedGenerator = createGenerator(axioms, contractionStrategy, new BreadthFirstStrategy<>());
+            assertThat(hintedGenerator.getExplanations(entailment), is(expected));
+        }
+        assertThat(expected, containsInAnyOrder(
+                new Explanation<>(entailment, Sets.newHashSet(ASubClassOfB, BSubClassOfC)),
+                new Explanation<>(entailment, Sets.newHashSet(df.getOWLSubClassOfAxiom(A, D), df.getOWLSubClassOfAxiom(D, B), BSubClassOfC)),
+                new Explanation<>(entailment, Sets.newHashSet(df.getOWLSubClassOfAxiom(A, E), df.getOWLSubClassOfAxiom(E, B), BSubClassOfC)),
+                new Explanation<>(entailment, Sets.newHashSet(df.getOWLSubClassOfAxiom(A, E), df.getOWLSubClassOfAxiom(E, C)))));
+    }
+
+    @Test
+    public void shouldFindSmallestExplanationFirst() {
+        OWLAxiom ASubClassOfD = df.getOWLSubClassOfAxiom(A, D);
+        OWLAxiom DSubClassOfE = df.getOWLSubClassOfAxiom(D, E);
+        OWLAxiom ESubClassOfC = df.getOWLSubClassOfAxiom(E, C);
+        BlackBoxExplanationGenerator2<OWLAxiom> smallestFirstGenerator = createGenerator(
+                Sets.newHashSet(ASubClassOfD, DSubClassOfE, ESubClassOfC, ASubClassOfB, BSubClassOfC),
+                new SimpleContractionStrategy<>(),
+                new SmallestFirstStrategy<>());
+        Set<Explanation<OWLAxiom>> explanations = smallestFirstGenerator.getExplanations(entailment, 1);
+        assertThat(explanations, containsInAnyOrder(new Explanation<>(entailment, Sets.newHashSet(ASubClassOfB, BSubClassOfC))));
+    }
+
+    @Test
+    public void shouldStreamExplanationsFromIterator() {
+        OWLAxiom ASubClassOfD = df.getOWLSubClassOfAxiom(A, D);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        BlackBoxExplanationGenerator2<OWLAxiom> streamingGenerator = createGenerator(
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, ASubClassOfD, DSubClassOfC),
+                new SimpleContractionStrategy<>(),
+                new BreadthFirstStrategy<>());
+        Set<Explanation<OWLAxiom>> explanations = new HashSet<>();
+        try (ExplanationIterator<OWLAxiom> iterator = streamingGenerator.getExplanationIterator(entailment)) {
+            while (iterator.hasNext()) {
+                explanations.add(iterator.next());
+            }
+        }
+        assertThat(explanations, containsInAnyOrder(
+                new Explanation<>(entailment, Sets.newHashSet(ASubClassOfB, BSubClassOfC)),
+                new Explanation<>(entailment, Sets.newHashSet(ASubClassOfD, DSubClassOfC))));
+        try (ExplanationIterator<OWLAxiom> iterator = streamingGenerator.getExplanationIterator(entailment)) {
+            assertThat(iterator.hasNext(), is(true));
+            iterator.next();
+            iterator.close();
+            assertThat(iterator.hasNext(), is(false));
+        }
+    }
+
+    @Test
+    public void shouldStopGeneratorOfAbandonedIterator() throws InterruptedException {
+        Set<Thread> threadsBefore = getIteratorThreads();
+        pullOneExplanationAndAbandonIterator();
+        Set<Thread> generatorThreads = getIteratorThreads();
+        generatorThreads.removeAll(threadsBefore);
+        assertThat(generatorThreads.size(), is(1));
+        Thread generatorThread = generatorThreads.iterator().next();
+        for (int i = 0; i < 20 && generatorThread.isAlive(); i++) {
+            System.gc();
+            generatorThread.join(ProgressMonitorExplanationIterator.ABANDONED_CHECK_INTERVAL_MILLIS);
+        }
+        assertThat(generatorThread.isAlive(), is(false));
+    }
+
+    private void pullOneExplanationAndAbandonIterator() {
+        OWLAxiom ASubClassOfD = df.getOWLSubClassOfAxiom(A, D);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        BlackBoxExplanationGenerator2<OWLAxiom> streamingGenerator = createGenerator(
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, ASubClassOfD, DSubClassOfC),
+                new SimpleContractionStrategy<>(),
+                new BreadthFirstStrategy<>());
+        ExplanationIterator<OWLAxiom> iterator = streamingGenerator.getExplanationIterator(entailment);
+        assertThat(iterator.hasNext(), is(true));
+        iterator.next();
+    }
+
+    private static Set<Thread> getIteratorThreads() {
+        Set<Thread> threads = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("explanation-iterator")) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
+    @Test
+    public void shouldExplainConcurrentlyWithSharedGenerator() throws Exception {
+        OWLAxiom ASubClassOfD = df.getOWLSubClassOfAxiom(A, D);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        OWLAxiom BSubClassOfD = df.getOWLSubClassOfAxiom(B, D);
+        OWLAxiom otherEntailment = df.getOWLSubClassOfAxiom(A, D);
+        BlackBoxExplanationGenerator2<OWLAxiom> sharedGenerator = createGenerator(
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, ASubClassOfD, DSubClassOfC, BSubClassOfD),
+                new SimpleContractionStrategy<>(),
+                new BreadthFirstStrategy<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Set<Explanation<OWLAxiom>>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                OWLAxiom ax = i % 2 == 0 ? entailment : otherEntailment;
+                results.add(executor.submit(() -> sharedGenerator.getExplanations(ax)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                if (i % 2 == 0) {
+                    assertThat(results.get(i).get(), containsInAnyOrder(
+                            new Explanation<>(entailment, Sets.newHashSet(ASubClassOfB, BSubClassOfC)),
+                            new Explanation<>(entailment, Sets.newHashSet(ASubClassOfD, DSubClassOfC)),
+                            new Explanation<>(entailment, Sets.newHashSet(ASubClassOfB, BSubClassOfD, DSubClassOfC))));
+                }
+                else {
+                    assertThat(results.get(i).get(), containsInAnyOrder(
+                            new Explanation<>(otherEntailment, Sets.newHashSet(ASubClassOfD)),
+                            new Explanation<>(otherEntailment, Sets.newHashSet(ASubClassOfB, BSubClassOfD))));
+                }
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntailmentChecker;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class CachingEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private CachingEntailmentChecker<OWLAxiom> checker;
+
+    private OWLAxiom ASubClassOfB;
+
+    private OWLAxiom BSubClassOfC;
+
+    private OWLAxiom CSubClassOfD;
+
+    @Before
+    public void setUp() {
+        OWLClass A = df.getOWLClass(IRI.create("http://example.com/A"));
+        OWLClass B = df.getOWLClass(IRI.create("http://example.com/B"));
+        OWLClass C = df.getOWLClass(IRI.create("http://example.com/C"));
+        OWLClass D = df.getOWLClass(IRI.create("http://example.com/D"));
+        ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        CSubClassOfD = df.getOWLSubClassOfAxiom(C, D);
+        OWLAxiom entailment = df.getOWLSubClassOfAxiom(A, C);
+        checker = new CachingEntailmentChecker<>(new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldAnswerSupersetOfEntailingSetFromCache() {
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, BSubClassOfC)), is(true));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD)), is(true));
+        assertThat(checker.getMissCount(), is(1));
+        assertThat(checker.getHitCount(), is(1));
+        assertThat(checker.getCounter(), is(1));
+    }
+
+    @Test
+    public void shouldAnswerSubsetOfNonEntailingSetFromCache() {
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, CSubClassOfD)), is(false));
+        assertThat(checker.isEntailed(Collections.singleton(CSubClassOfD)), is(false));
+        assertThat(checker.getMissCount(), is(1));
+        assertThat(checker.getHitCount(), is(1));
+        assertThat(checker.getCounter(), is(1));
+    }
+
+    @Test
+    public void shouldReturnCachedEntailingAxioms() {
+        checker.isEntailed(Sets.newHashSet(ASubClassOfB, BSubClassOfC));
+        assertThat(checker.getEntailingAxioms(Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD)), is(Sets.newHashSet(ASubClassOfB, BSubClassOfC)));
+    }
+}
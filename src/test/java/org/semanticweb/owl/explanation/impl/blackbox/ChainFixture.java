@@ -0,0 +1,57 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Test data for contraction strategies: a chain of subclass axioms A0 -> A1 -> ... -> An, which is the only
+ * justification for A0 -> An, hidden among noise axioms Bi -> X.
+ */
+class ChainFixture {
+
+    private final OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private final Set<OWLAxiom> justification = new HashSet<>();
+
+    private final Set<OWLAxiom> axioms;
+
+    private final OWLAxiom entailment;
+
+    /**
+     * @param chainLength The number of axioms in the chain
+     * @param noiseSize The number of noise axioms
+     * @param connectedNoise <code>true</code> if the noise axioms have classes from the chain as their
+     * superclasses, so that they share signature with the justification, or <code>false</code> if they are
+     * disconnected from it
+     */
+    ChainFixture(int chainLength, int noiseSize, boolean connectedNoise) {
+        for (int i = 0; i < chainLength; i++) {
+            justification.add(df.getOWLSubClassOfAxiom(getClass("A" + i), getClass("A" + (i + 1))));
+        }
+        axioms = new HashSet<>(justification);
+        for (int i = 0; i < noiseSize; i++) {
+            OWLClass superClass = connectedNoise ? getClass("A" + (i % chainLength)) : getClass("C" + i);
+            axioms.add(df.getOWLSubClassOfAxiom(getClass("B" + i), superClass));
+        }
+        entailment = df.getOWLSubClassOfAxiom(getClass("A0"), getClass("A" + chainLength));
+    }
+
+    private OWLClass getClass(String name) {
+        return df.getOWLClass(IRI.create("http://example.com/" + name));
+    }
+
+    Set<OWLAxiom> getJustification() {
+        return new HashSet<>(justification);
+    }
+
+    Set<OWLAxiom> getAxioms() {
+        return new HashSet<>(axioms);
+    }
+
+    OWLAxiom getEntailment() {
+        return entailment;
+    }
+}
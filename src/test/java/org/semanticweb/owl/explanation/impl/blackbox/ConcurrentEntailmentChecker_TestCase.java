@@ -0,0 +1,98 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntailmentCheckerFactory;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+
+public class ConcurrentEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private ConcurrentEntailmentCheckerFactory<OWLAxiom> checkerFactory;
+
+    private EntailmentChecker<OWLAxiom> checker;
+
+    private OWLAxiom ASubClassOfB;
+
+    private OWLAxiom BSubClassOfC;
+
+    private OWLAxiom CSubClassOfD;
+
+    @Before
+    public void setUp() {
+        OWLClass A = df.getOWLClass(IRI.create("http://example.com/A"));
+        OWLClass B = df.getOWLClass(IRI.create("http://example.com/B"));
+        OWLClass C = df.getOWLClass(IRI.create("http://example.com/C"));
+        OWLClass D = df.getOWLClass(IRI.create("http://example.com/D"));
+        ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        CSubClassOfD = df.getOWLSubClassOfAxiom(C, D);
+        OWLAxiom entailment = df.getOWLSubClassOfAxiom(A, C);
+        EntailmentCheckerFactory<OWLAxiom> delegate = new SatisfiabilityEntailmentCheckerFactory(new OpenlletReasonerFactory(), false, m);
+        checkerFactory = new ConcurrentEntailmentCheckerFactory<>(delegate, 2);
+        checker = checkerFactory.createEntailementChecker(entailment);
+    }
+
+    @After
+    public void tearDown() {
+        checker.dispose();
+        checkerFactory.dispose();
+    }
+
+    @Test
+    public void shouldCheckEverySetInBatch() {
+        List<Set<OWLAxiom>> axiomSets = Arrays.asList(
+                Sets.newHashSet(ASubClassOfB, CSubClassOfD),
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC),
+                Sets.newHashSet(BSubClassOfC, CSubClassOfD),
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD));
+        BitSet entailed = checker.isEntailed(axiomSets, false);
+        assertThat(entailed.get(0), is(false));
+        assertThat(entailed.get(1), is(true));
+        assertThat(entailed.get(2), is(false));
+        assertThat(entailed.get(3), is(true));
+        assertThat(checker.getCounter(), is(4));
+    }
+
+    @Test
+    public void shouldOnlyReportFirstEntailingSet() {
+        List<Set<OWLAxiom>> axiomSets = Arrays.asList(
+                Sets.newHashSet(ASubClassOfB, CSubClassOfD),
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC),
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD));
+        BitSet entailed = checker.isEntailed(axiomSets, true);
+        assertThat(entailed.cardinality(), is(1));
+        assertThat(entailed.nextSetBit(0), is(1));
+    }
+
+    @Test
+    public void shouldGetEntailingAxiomsOfBatchSetWithoutCheckingAgain() {
+        Set<OWLAxiom> entailingSet = Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD);
+        List<Set<OWLAxiom>> axiomSets = Arrays.asList(
+                Sets.newHashSet(ASubClassOfB, CSubClassOfD),
+                entailingSet);
+        checker.isEntailed(axiomSets, true);
+        int counter = checker.getCounter();
+        assertThat(checker.getEntailingAxioms(entailingSet), hasItems(ASubClassOfB, BSubClassOfC));
+        assertThat(checker.getCounter(), is(counter));
+    }
+}
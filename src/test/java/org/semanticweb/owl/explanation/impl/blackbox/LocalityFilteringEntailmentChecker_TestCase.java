@@ -0,0 +1,89 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.ConsistencyEntailmentChecker;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntailmentChecker;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class LocalityFilteringEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private OWLClass A;
+
+    private OWLClass B;
+
+    private OWLClass C;
+
+    private OWLAxiom ASubClassOfB;
+
+    private OWLAxiom BSubClassOfC;
+
+    @Before
+    public void setUp() {
+        A = df.getOWLClass(IRI.create("http://example.com/A"));
+        B = df.getOWLClass(IRI.create("http://example.com/B"));
+        C = df.getOWLClass(IRI.create("http://example.com/C"));
+        ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+    }
+
+    private LocalityFilteringEntailmentChecker<OWLAxiom> createChecker(OWLAxiom entailment) {
+        return new LocalityFilteringEntailmentChecker<>(new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldAnswerDisconnectedSetWithoutDelegate() {
+        LocalityFilteringEntailmentChecker<OWLAxiom> checker = createChecker(df.getOWLSubClassOfAxiom(A, C));
+        assertThat(checker.isEntailed(Collections.singleton(BSubClassOfC)), is(false));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, BSubClassOfC)), is(true));
+        assertThat(checker.getFilteredCount(), is(1));
+        assertThat(checker.getDelegatedCount(), is(1));
+        // The delegate is asked once whether the empty set entails the entailment
+        assertThat(checker.getCounter(), is(2));
+    }
+
+    @Test
+    public void shouldDelegateTautologies() {
+        OWLClassExpression AAndB = df.getOWLObjectIntersectionOf(A, B);
+        LocalityFilteringEntailmentChecker<OWLAxiom> checker = createChecker(df.getOWLSubClassOfAxiom(AAndB, A));
+        assertThat(checker.isEntailed(Collections.singleton(BSubClassOfC)), is(true));
+        assertThat(checker.getFilteredCount(), is(0));
+    }
+
+    @Test
+    public void shouldFilterBatches() {
+        LocalityFilteringEntailmentChecker<OWLAxiom> checker = createChecker(df.getOWLSubClassOfAxiom(A, C));
+        BitSet result = checker.isEntailed(Arrays.asList(Collections.singleton(BSubClassOfC), Sets.newHashSet(ASubClassOfB, BSubClassOfC)), false);
+        assertThat(result.get(0), is(false));
+        assertThat(result.get(1), is(true));
+        assertThat(checker.getFilteredCount(), is(1));
+    }
+
+    @Test
+    public void shouldNotFilterInconsistentSets() {
+        OWLNamedIndividual a = df.getOWLNamedIndividual(IRI.create("http://example.com/a"));
+        OWLAxiom aInstanceOfB = df.getOWLClassAssertionAxiom(B, a);
+        OWLAxiom BSubClassOfNothing = df.getOWLSubClassOfAxiom(B, df.getOWLNothing());
+        LocalityFilteringEntailmentChecker<OWLAxiom> checker = new LocalityFilteringEntailmentChecker<>(new ConsistencyEntailmentChecker(new OpenlletReasonerFactory(), m, df, Long.MAX_VALUE));
+        assertThat(checker.isEntailed(Sets.newHashSet(aInstanceOfB, BSubClassOfNothing)), is(true));
+        assertThat(checker.isEntailed(Collections.singleton(BSubClassOfNothing)), is(false));
+        assertThat(checker.getFilteredCount(), is(1));
+    }
+}
@@ -0,0 +1,90 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.api.NullExplanationProgressMonitor;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntailmentChecker;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntailmentCheckerFactory;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+
+public class ParallelSlidingWindowContractionStrategy_TestCase {
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private Set<OWLAxiom> justification;
+
+    private Set<OWLAxiom> axioms;
+
+    private OWLAxiom entailment;
+
+    @Before
+    public void setUp() {
+        ChainFixture fixture = new ChainFixture(5, 40, true);
+        justification = fixture.getJustification();
+        axioms = fixture.getAxioms();
+        entailment = fixture.getEntailment();
+    }
+
+    @Test
+    public void shouldContractToJustificationWithConcurrentChecker() {
+        ConcurrentEntailmentCheckerFactory<OWLAxiom> checkerFactory = new ConcurrentEntailmentCheckerFactory<>(new SatisfiabilityEntailmentCheckerFactory(new OpenlletReasonerFactory(), false, m), 4);
+        EntailmentChecker<OWLAxiom> checker = checkerFactory.createEntailementChecker(entailment);
+        ParallelSlidingWindowContractionStrategy<OWLAxiom> strategy = new ParallelSlidingWindowContractionStrategy<>(4, 4);
+        Set<OWLAxiom> contraction = strategy.doPruning(axioms, checker, new NullExplanationProgressMonitor<>());
+        assertThat(contraction, is(justification));
+        assertThat(strategy.getNumberOfSteps(), is(checker.getCounter()));
+        checker.dispose();
+        checkerFactory.dispose();
+    }
+
+    @Test
+    public void shouldSettleSeveralRemovableWindowsPerBatch() {
+        // Most of the windows can be removed
+        ChainFixture fixture = new ChainFixture(2, 80, true);
+        Set<OWLAxiom> justification = fixture.getJustification();
+        Set<OWLAxiom> axioms = fixture.getAxioms();
+        OWLAxiom entailment = fixture.getEntailment();
+        int[] batches = new int[1];
+        EntailmentChecker<OWLAxiom> checker = countBatches(new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE), batches);
+        SlidingWindowContractionStrategy<OWLAxiom> sequentialStrategy = new SlidingWindowContractionStrategy<>(4);
+        assertThat(sequentialStrategy.doPruning(axioms, checker, new NullExplanationProgressMonitor<>()), is(justification));
+        batches[0] = 0;
+        ParallelSlidingWindowContractionStrategy<OWLAxiom> strategy = new ParallelSlidingWindowContractionStrategy<>(4, 4);
+        assertThat(strategy.doPruning(axioms, checker, new NullExplanationProgressMonitor<>()), is(justification));
+        // Each batch runs in about the time of a single check with a concurrent checker
+        assertThat(batches[0] * 2, lessThan(sequentialStrategy.getNumberOfSteps()));
+    }
+
+    /**
+     * Wraps a checker so that its batch checks are counted.
+     */
+    @SuppressWarnings("unchecked")
+    private static EntailmentChecker<OWLAxiom> countBatches(EntailmentChecker<OWLAxiom> checker, int[] batches) {
+        return (EntailmentChecker<OWLAxiom>) Proxy.newProxyInstance(EntailmentChecker.class.getClassLoader(), new Class<?>[]{EntailmentChecker.class}, (proxy, method, args) -> {
+            if (method.getName().equals("isEntailed") && args[0] instanceof List) {
+                batches[0]++;
+            }
+            try {
+                return method.invoke(checker, args);
+            }
+            catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package org.semanticweb.owl.explanation.impl.blackbox;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.api.NullExplanationProgressMonitor;
+import org.semanticweb.owl.explanation.impl.blackbox.checker.SatisfiabilityEntailmentChecker;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class ProgressionContractionStrategy_TestCase {
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private Set<OWLAxiom> justification;
+
+    private Set<OWLAxiom> axioms;
+
+    private OWLAxiom entailment;
+
+    @Before
+    public void setUp() {
+        ChainFixture fixture = new ChainFixture(5, 60, true);
+        justification = fixture.getJustification();
+        axioms = fixture.getAxioms();
+        entailment = fixture.getEntailment();
+    }
+
+    @Test
+    public void shouldFindJustificationWithFewerChecksThanAxioms() {
+        EntailmentChecker<OWLAxiom> checker = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE);
+        ProgressionContractionStrategy<OWLAxiom> strategy = new ProgressionContractionStrategy<>();
+        Set<OWLAxiom> contraction = strategy.doPruning(axioms, checker, new NullExplanationProgressMonitor<>());
+        assertThat(contraction, is(justification));
+        assertThat(strategy.getNumberOfSteps(), is(checker.getCounter()));
+        assertThat(strategy.getNumberOfSteps(), lessThan(axioms.size()));
+    }
+
+    @Test
+    public void shouldUseFewerChecksWithHints() {
+        EntailmentChecker<OWLAxiom> checker = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE);
+        ProgressionContractionStrategy<OWLAxiom> strategy = new ProgressionContractionStrategy<>();
+        strategy.doPruning(axioms, checker, new NullExplanationProgressMonitor<>());
+        int stepsWithoutHints = strategy.getNumberOfSteps();
+        Iterator<OWLAxiom> justificationIterator = justification.iterator();
+        Set<OWLAxiom> necessaryAxioms = Sets.newHashSet(justificationIterator.next(), justificationIterator.next());
+        ContractionHints hints = new ContractionHints(new HashSet<>(justification), necessaryAxioms);
+        Set<OWLAxiom> contraction = strategy.doPruning(axioms, checker, hints, new NullExplanationProgressMonitor<>());
+        assertThat(contraction, is(justification));
+        assertThat(strategy.getNumberOfSteps(), lessThan(stepsWithoutHints));
+    }
+
+    @Test
+    public void shouldCountStepsOfEachThreadSeparately() throws Exception {
+        EntailmentChecker<OWLAxiom> checker = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE);
+        ProgressionContractionStrategy<OWLAxiom> strategy = new ProgressionContractionStrategy<>();
+        strategy.doPruning(axioms, checker, new NullExplanationProgressMonitor<>());
+        int steps = strategy.getNumberOfSteps();
+        int[] otherThreadSteps = new int[1];
+        Thread otherThread = new Thread(() -> {
+            strategy.doPruning(justification, checker, new NullExplanationProgressMonitor<>());
+            otherThreadSteps[0] = strategy.getNumberOfSteps();
+        });
+        otherThread.start();
+        otherThread.join();
+        assertThat(otherThreadSteps[0], lessThan(steps));
+        assertThat(strategy.getNumberOfSteps(), is(steps));
+    }
+}
@@ -0,0 +1,88 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.impl.blackbox.EntailmentChecker;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ELRoutingEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private ELRoutingEntailmentChecker checker;
+
+    private OWLClass A;
+
+    private OWLClass B;
+
+    private OWLClass C;
+
+    private OWLClass D;
+
+    private OWLObjectProperty R;
+
+    private OWLObjectProperty S;
+
+    @Before
+    public void setUp() {
+        A = df.getOWLClass(IRI.create("http://example.com/A"));
+        B = df.getOWLClass(IRI.create("http://example.com/B"));
+        C = df.getOWLClass(IRI.create("http://example.com/C"));
+        D = df.getOWLClass(IRI.create("http://example.com/D"));
+        R = df.getOWLObjectProperty(IRI.create("http://example.com/R"));
+        S = df.getOWLObjectProperty(IRI.create("http://example.com/S"));
+        EntailmentChecker<OWLAxiom> fallback = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), df.getOWLSubClassOfAxiom(A, C), m, false, Long.MAX_VALUE);
+        checker = new ELRoutingEntailmentChecker(fallback, m);
+    }
+
+    @After
+    public void tearDown() {
+        checker.dispose();
+    }
+
+    @Test
+    public void shouldSaturateExistentialsThroughPropertyChains() {
+        OWLAxiom ASubClassOfRSomeRSomeB = df.getOWLSubClassOfAxiom(A, df.getOWLObjectSomeValuesFrom(R, df.getOWLObjectSomeValuesFrom(R, B)));
+        OWLAxiom RRSubPropertyOfS = df.getOWLSubPropertyChainOfAxiom(Arrays.asList(R, R), S);
+        OWLAxiom SSomeBSubClassOfC = df.getOWLSubClassOfAxiom(df.getOWLObjectSomeValuesFrom(S, B), C);
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfRSomeRSomeB, RRSubPropertyOfS, SSomeBSubClassOfC)), is(true));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfRSomeRSomeB, SSomeBSubClassOfC)), is(false));
+        assertThat(checker.getELCheckCount(), is(2));
+        assertThat(checker.getFallbackCheckCount(), is(0));
+    }
+
+    @Test
+    public void shouldEntailSubsumptionOfUnsatisfiableClass() {
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom ASubClassOfRSomeD = df.getOWLSubClassOfAxiom(A, df.getOWLObjectSomeValuesFrom(R, D));
+        OWLAxiom RDomainD = df.getOWLObjectPropertyDomainAxiom(R, D);
+        OWLAxiom BDisjointWithD = df.getOWLDisjointClassesAxiom(B, D);
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, ASubClassOfRSomeD, RDomainD, BDisjointWithD)), is(true));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, ASubClassOfRSomeD, BDisjointWithD)), is(false));
+        assertThat(checker.getFallbackCheckCount(), is(0));
+    }
+
+    @Test
+    public void shouldFallBackForAxiomsOutsideEL() {
+        OWLAxiom ASubClassOfBOrD = df.getOWLSubClassOfAxiom(A, df.getOWLObjectUnionOf(B, D));
+        OWLAxiom BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfBOrD, BSubClassOfC, DSubClassOfC)), is(true));
+        assertThat(checker.getELCheckCount(), is(0));
+        assertThat(checker.getFallbackCheckCount(), is(1));
+    }
+}
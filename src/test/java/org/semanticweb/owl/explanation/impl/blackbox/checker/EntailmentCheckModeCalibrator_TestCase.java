@@ -0,0 +1,71 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class EntailmentCheckModeCalibrator_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private OWLClass A;
+
+    private OWLClass B;
+
+    private OWLClass C;
+
+    private OWLAxiom ASubClassOfB;
+
+    private OWLAxiom BSubClassOfC;
+
+    @Before
+    public void setUp() {
+        A = df.getOWLClass(IRI.create("http://example.com/A"));
+        B = df.getOWLClass(IRI.create("http://example.com/B"));
+        C = df.getOWLClass(IRI.create("http://example.com/C"));
+        ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+    }
+
+    @Test
+    public void shouldSelectModeAfterSampling() {
+        EntailmentCheckModeCalibrator calibrator = new EntailmentCheckModeCalibrator(2);
+        SatisfiabilityEntailmentChecker checker = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), df.getOWLSubClassOfAxiom(A, C), m, false, Long.MAX_VALUE, calibrator);
+        Set<OWLAxiom> axioms = Sets.newHashSet(ASubClassOfB, BSubClassOfC);
+        assertThat(checker.getCheckMode(), is(nullValue()));
+        assertThat(checker.isEntailed(axioms), is(true));
+        assertThat(checker.isEntailed(Collections.singleton(ASubClassOfB)), is(false));
+        assertThat(calibrator.getSelectedMode(AxiomType.SUBCLASS_OF), is(notNullValue()));
+        assertThat(checker.getCheckMode(), is(calibrator.getSelectedMode(AxiomType.SUBCLASS_OF)));
+        assertThat(checker.isEntailed(axioms), is(true));
+        assertThat(checker.getEntailingAxioms(axioms), is(axioms));
+        assertThat(checker.getCounter(), is(3));
+        assertThat(calibrator.getSelectedMode(AxiomType.DISJOINT_CLASSES), is(nullValue()));
+    }
+
+    @Test
+    public void shouldAgreeInEachMode() {
+        OWLNamedIndividual a = df.getOWLNamedIndividual(IRI.create("http://example.com/a"));
+        OWLAxiom aInstanceOfA = df.getOWLClassAssertionAxiom(A, a);
+        OWLAxiom entailment = df.getOWLClassAssertionAxiom(C, a);
+        for (EntailmentCheckMode mode : EntailmentCheckMode.values()) {
+            SatisfiabilityEntailmentChecker checker = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE, false, mode);
+            assertThat(mode.toString(), checker.isEntailed(Sets.newHashSet(aInstanceOfA, ASubClassOfB, BSubClassOfC)), is(true));
+            assertThat(mode.toString(), checker.isEntailed(Sets.newHashSet(aInstanceOfA, BSubClassOfC)), is(false));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class GuardedAxiomEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private GuardedAxiomEntailmentChecker checker;
+
+    private OWLAxiom ASubClassOfB;
+
+    private OWLAxiom BSubClassOfC;
+
+    private OWLAxiom BDisjointWithC;
+
+    private OWLAxiom RDomainC;
+
+    private OWLAxiom ASubClassOfRSomeD;
+
+    @Before
+    public void setUp() {
+        OWLClass A = df.getOWLClass(IRI.create("http://example.com/A"));
+        OWLClass B = df.getOWLClass(IRI.create("http://example.com/B"));
+        OWLClass C = df.getOWLClass(IRI.create("http://example.com/C"));
+        OWLClass D = df.getOWLClass(IRI.create("http://example.com/D"));
+        OWLObjectProperty R = df.getOWLObjectProperty(IRI.create("http://example.com/R"));
+        ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        BDisjointWithC = df.getOWLDisjointClassesAxiom(B, C);
+        RDomainC = df.getOWLObjectPropertyDomainAxiom(R, C);
+        ASubClassOfRSomeD = df.getOWLSubClassOfAxiom(A, df.getOWLObjectSomeValuesFrom(R, D));
+        checker = new GuardedAxiomEntailmentChecker(new OpenlletReasonerFactory(), df.getOWLSubClassOfAxiom(A, C), m, false, Long.MAX_VALUE);
+        checker.getModule(Sets.newHashSet(ASubClassOfB, BSubClassOfC, BDisjointWithC, RDomainC, ASubClassOfRSomeD));
+    }
+
+    @After
+    public void tearDown() {
+        checker.dispose();
+    }
+
+    @Test
+    public void shouldAnswerChecksOnSubsetsOfTheModuleWithOneReasoner() {
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, BSubClassOfC)), is(true));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB)), is(false));
+        assertThat(checker.isEntailed(Sets.newHashSet(RDomainC, ASubClassOfRSomeD)), is(true));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, RDomainC)), is(false));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, BSubClassOfC, BDisjointWithC)), is(true));
+        assertThat(checker.isEntailed(Collections.emptySet()), is(false));
+        assertThat(checker.getNumberOfReasonerBuilds(), is(1));
+    }
+
+    @Test
+    public void shouldFallBackForAxiomsThatCannotBeGuarded() {
+        OWLObjectProperty R = df.getOWLObjectProperty(IRI.create("http://example.com/R"));
+        OWLObjectProperty S = df.getOWLObjectProperty(IRI.create("http://example.com/S"));
+        OWLAxiom SDomainC = df.getOWLObjectPropertyDomainAxiom(S, df.getOWLClass(IRI.create("http://example.com/C")));
+        OWLAxiom RSubPropertyOfS = df.getOWLSubObjectPropertyOfAxiom(R, S);
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfRSomeD, RSubPropertyOfS, SDomainC)), is(true));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfRSomeD, SDomainC)), is(false));
+    }
+}
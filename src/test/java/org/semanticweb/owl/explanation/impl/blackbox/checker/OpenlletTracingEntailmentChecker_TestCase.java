@@ -0,0 +1,86 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import com.google.common.collect.Sets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class OpenlletTracingEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private OWLClass A;
+
+    private OWLClass B;
+
+    private OWLClass C;
+
+    private OWLClass D;
+
+    private OWLClass E;
+
+    private boolean tracingEnabled;
+
+    @Before
+    public void setUp() {
+        tracingEnabled = OpenlletTracingEntailmentChecker.isTracingEnabled();
+        OpenlletTracingEntailmentChecker.setTracingEnabled(true);
+        A = df.getOWLClass(IRI.create("http://example.com/A"));
+        B = df.getOWLClass(IRI.create("http://example.com/B"));
+        C = df.getOWLClass(IRI.create("http://example.com/C"));
+        D = df.getOWLClass(IRI.create("http://example.com/D"));
+        E = df.getOWLClass(IRI.create("http://example.com/E"));
+    }
+
+    @After
+    public void tearDown() {
+        OpenlletTracingEntailmentChecker.setTracingEnabled(tracingEnabled);
+    }
+
+    @Test
+    public void shouldReturnTracedAxiomsAsEntailingAxioms() {
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom BEquivalentToCAndD = df.getOWLEquivalentClassesAxiom(B, df.getOWLObjectIntersectionOf(C, D));
+        OWLAxiom ASubClassOfE = df.getOWLSubClassOfAxiom(A, E);
+        OWLAxiom ESubClassOfD = df.getOWLSubClassOfAxiom(E, D);
+        OWLAxiom DSubClassOfE = df.getOWLSubClassOfAxiom(D, E);
+        Set<OWLAxiom> axioms = Sets.newHashSet(ASubClassOfB, BEquivalentToCAndD, ASubClassOfE, ESubClassOfD, DSubClassOfE);
+        OpenlletTracingEntailmentChecker checker = new OpenlletTracingEntailmentChecker(df.getOWLSubClassOfAxiom(A, C), m, false, Long.MAX_VALUE);
+        assertThat(checker.isEntailed(axioms), is(true));
+        assertThat(checker.getEntailingAxioms(axioms), is(Sets.newHashSet(ASubClassOfB, BEquivalentToCAndD)));
+    }
+
+    @Test
+    public void shouldReturnAllLogicalAxiomsWithoutTracing() {
+        OpenlletTracingEntailmentChecker.setTracingEnabled(false);
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        OWLAxiom DSubClassOfE = df.getOWLSubClassOfAxiom(D, E);
+        Set<OWLAxiom> axioms = Sets.newHashSet(ASubClassOfB, BSubClassOfC, DSubClassOfE);
+        OpenlletTracingEntailmentChecker checker = new OpenlletTracingEntailmentChecker(df.getOWLSubClassOfAxiom(A, C), m, false, Long.MAX_VALUE);
+        assertThat(checker.isEntailed(axioms), is(true));
+        assertThat(checker.getEntailingAxioms(axioms), is(axioms));
+        assertThat(OpenlletTracingEntailmentChecker.isTracingEnabled(), is(false));
+    }
+
+    @Test
+    public void shouldNotEntailWithoutClash() {
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        Set<OWLAxiom> axioms = Sets.newHashSet(ASubClassOfB, DSubClassOfC);
+        OpenlletTracingEntailmentChecker checker = new OpenlletTracingEntailmentChecker(df.getOWLSubClassOfAxiom(A, C), m, false, Long.MAX_VALUE);
+        assertThat(checker.isEntailed(axioms), is(false));
+        assertThat(checker.getEntailingAxioms(axioms), is(empty()));
+    }
+}
@@ -0,0 +1,77 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class RBoxEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private OWLObjectProperty P;
+
+    private OWLObjectProperty Q;
+
+    private OWLObjectProperty R;
+
+    private OWLObjectProperty S;
+
+    @Before
+    public void setUp() {
+        P = df.getOWLObjectProperty(IRI.create("http://example.com/P"));
+        Q = df.getOWLObjectProperty(IRI.create("http://example.com/Q"));
+        R = df.getOWLObjectProperty(IRI.create("http://example.com/R"));
+        S = df.getOWLObjectProperty(IRI.create("http://example.com/S"));
+    }
+
+    private RBoxEntailmentChecker createChecker(OWLAxiom entailment) {
+        return new RBoxEntailmentChecker(new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldAnswerSubPropertyThroughInversesFromGraph() {
+        OWLAxiom PSubPropertyOfQ = df.getOWLSubObjectPropertyOfAxiom(P, Q);
+        OWLAxiom QInverseOfR = df.getOWLInverseObjectPropertiesAxiom(Q, R);
+        OWLAxiom SSubPropertyOfP = df.getOWLSubObjectPropertyOfAxiom(S, P);
+        RBoxEntailmentChecker checker = createChecker(df.getOWLSubObjectPropertyOfAxiom(df.getOWLObjectInverseOf(P), R));
+        Set<OWLAxiom> axioms = Sets.newHashSet(PSubPropertyOfQ, QInverseOfR, SSubPropertyOfP);
+        assertThat(checker.isEntailed(axioms), is(true));
+        assertThat(checker.getEntailingAxioms(axioms), is(Sets.newHashSet(PSubPropertyOfQ, QInverseOfR)));
+        assertThat(checker.isEntailed(Sets.newHashSet(PSubPropertyOfQ, SSubPropertyOfP)), is(false));
+        assertThat(checker.getGraphCheckCount(), is(2));
+        assertThat(checker.getFallbackCheckCount(), is(0));
+    }
+
+    @Test
+    public void shouldAnswerTransitivityOfEquivalentPropertyFromGraph() {
+        OWLAxiom PEquivalentToQ = df.getOWLEquivalentObjectPropertiesAxiom(P, Q);
+        OWLAxiom QTransitive = df.getOWLTransitiveObjectPropertyAxiom(Q);
+        RBoxEntailmentChecker checker = createChecker(df.getOWLTransitiveObjectPropertyAxiom(P));
+        assertThat(checker.isEntailed(Sets.newHashSet(PEquivalentToQ, QTransitive)), is(true));
+        assertThat(checker.getFallbackCheckCount(), is(0));
+    }
+
+    @Test
+    public void shouldFallBackForAxiomsOutsideHierarchy() {
+        OWLClass A = df.getOWLClass(IRI.create("http://example.com/A"));
+        OWLAxiom PDomainNothing = df.getOWLObjectPropertyDomainAxiom(P, df.getOWLNothing());
+        OWLAxiom QRangeA = df.getOWLObjectPropertyRangeAxiom(Q, A);
+        RBoxEntailmentChecker checker = createChecker(df.getOWLSubObjectPropertyOfAxiom(P, Q));
+        assertThat(checker.isEntailed(Sets.newHashSet(PDomainNothing, QRangeA)), is(true));
+        assertThat(checker.isEntailed(Sets.newHashSet(QRangeA)), is(false));
+        assertThat(checker.getFallbackCheckCount(), is(2));
+    }
+}
@@ -0,0 +1,195 @@
+package org.semanticweb.owl.explanation.impl.blackbox.checker;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class SatisfiabilityEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private OWLClass A;
+
+    private OWLClass B;
+
+    private OWLClass C;
+
+    private OWLClass D;
+
+    private OWLAxiom ASubClassOfB;
+
+    private OWLAxiom BSubClassOfC;
+
+    private OWLAxiom CSubClassOfD;
+
+    private OWLAxiom ASubClassOfC;
+
+    private OWLAxiom entailment;
+
+    @Before
+    public void setUp() {
+        A = df.getOWLClass(IRI.create("http://example.com/A"));
+        B = df.getOWLClass(IRI.create("http://example.com/B"));
+        C = df.getOWLClass(IRI.create("http://example.com/C"));
+        D = df.getOWLClass(IRI.create("http://example.com/D"));
+        ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        CSubClassOfD = df.getOWLSubClassOfAxiom(C, D);
+        ASubClassOfC = df.getOWLSubClassOfAxiom(A, C);
+        entailment = df.getOWLSubClassOfAxiom(A, D);
+    }
+
+    @Test
+    public void shouldAgreeWithNonIncrementalChecker() {
+        List<Set<OWLAxiom>> probes = Arrays.asList(
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD),
+                Sets.newHashSet(ASubClassOfB, CSubClassOfD),
+                Sets.newHashSet(ASubClassOfB, CSubClassOfD, ASubClassOfC),
+                Sets.newHashSet(ASubClassOfC),
+                Collections.emptySet(),
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD, ASubClassOfC),
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC));
+        SatisfiabilityEntailmentChecker incremental = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE, true);
+        SatisfiabilityEntailmentChecker fresh = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, m, false, Long.MAX_VALUE, false);
+        for (Set<OWLAxiom> probe : probes) {
+            assertThat(probe.toString(), incremental.isEntailed(probe), is(fresh.isEntailed(probe)));
+        }
+        assertThat(incremental.isIncremental(), is(true));
+        assertThat(incremental.getCounter(), is(probes.size()));
+        incremental.dispose();
+    }
+
+    @Test
+    public void shouldRecoverAfterReasonerFailure() {
+        FailingReasonerFactory reasonerFactory = new FailingReasonerFactory();
+        SatisfiabilityEntailmentChecker checker = new SatisfiabilityEntailmentChecker(reasonerFactory, entailment, m, false, Long.MAX_VALUE, true);
+        Set<OWLAxiom> entailing = Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD);
+        assertThat(checker.isEntailed(entailing), is(true));
+        reasonerFactory.failNextFlush = true;
+        try {
+            checker.isEntailed(Sets.newHashSet(ASubClassOfB, CSubClassOfD));
+            throw new AssertionError("Expected the reasoner failure to be passed on");
+        }
+        catch (IllegalStateException e) {
+            // Expected
+        }
+        assertThat(reasonerFactory.disposed, is(1));
+        assertThat(checker.isEntailed(Sets.newHashSet(ASubClassOfB, CSubClassOfD)), is(false));
+        assertThat(checker.isEntailed(entailing), is(true));
+        assertThat(reasonerFactory.created, is(2));
+        checker.dispose();
+        assertThat(reasonerFactory.disposed, is(2));
+        assertThat(checker.isEntailed(entailing), is(true));
+        assertThat(reasonerFactory.created, is(3));
+        checker.dispose();
+    }
+
+    @Test
+    public void shouldShareOntologyManagerBetweenCheckersOnSeveralThreads() throws Exception {
+        OWLOntologyManager sharedManager = OWLManager.createOWLOntologyManager();
+        Set<OWLAxiom> entailing = Sets.newHashSet(ASubClassOfB, BSubClassOfC, CSubClassOfD);
+        Set<OWLAxiom> nonEntailing = Sets.newHashSet(ASubClassOfB, CSubClassOfD);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Set<OWLAxiom> probe = i % 2 == 0 ? entailing : nonEntailing;
+                futures.add(executor.submit(() -> {
+                    SatisfiabilityEntailmentChecker checker = new SatisfiabilityEntailmentChecker(new OpenlletReasonerFactory(), entailment, () -> sharedManager, false, Long.MAX_VALUE);
+                    return checker.isEntailed(probe);
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get(), is(i % 2 == 0));
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertThat(sharedManager.ontologies().count(), is(0L));
+    }
+
+    /**
+     * Creates Openllet reasoners that can be told to fail on their next flush, and counts how many reasoners are
+     * created and disposed of.
+     */
+    private static class FailingReasonerFactory implements OWLReasonerFactory {
+
+        private final OpenlletReasonerFactory delegate = new OpenlletReasonerFactory();
+
+        private boolean failNextFlush = false;
+
+        private int created = 0;
+
+        private int disposed = 0;
+
+        @Override
+        public String getReasonerName() {
+            return delegate.getReasonerName();
+        }
+
+        @Override
+        public OWLReasoner createNonBufferingReasoner(OWLOntology ontology) {
+            return wrap(delegate.createNonBufferingReasoner(ontology));
+        }
+
+        @Override
+        public OWLReasoner createReasoner(OWLOntology ontology) {
+            return wrap(delegate.createReasoner(ontology));
+        }
+
+        @Override
+        public OWLReasoner createNonBufferingReasoner(OWLOntology ontology, OWLReasonerConfiguration config) {
+            return wrap(delegate.createNonBufferingReasoner(ontology, config));
+        }
+
+        @Override
+        public OWLReasoner createReasoner(OWLOntology ontology, OWLReasonerConfiguration config) {
+            return wrap(delegate.createReasoner(ontology, config));
+        }
+
+        private OWLReasoner wrap(OWLReasoner reasoner) {
+            created++;
+            return (OWLReasoner) Proxy.newProxyInstance(OWLReasoner.class.getClassLoader(), new Class<?>[]{OWLReasoner.class}, (proxy, method, args) -> {
+                if (method.getName().equals("flush") && failNextFlush) {
+                    failNextFlush = false;
+                    throw new IllegalStateException("Reasoner failure");
+                }
+                if (method.getName().equals("dispose")) {
+                    disposed++;
+                }
+                try {
+                    return method.invoke(reasoner, args);
+                }
+                catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
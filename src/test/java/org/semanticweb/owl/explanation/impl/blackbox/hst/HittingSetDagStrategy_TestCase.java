@@ -0,0 +1,136 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import com.google.common.collect.Sets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.NullExplanationProgressMonitor;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class HittingSetDagStrategy_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private OWLAxiom entailment;
+
+    private OWLAxiom XAxiom;
+
+    private Set<OWLAxiom> justification1;
+
+    private Set<OWLAxiom> justification2;
+
+    private AxiomUniverse universe;
+
+    @Before
+    public void setUp() {
+        OWLClass A = df.getOWLClass(IRI.create("http://example.com/A"));
+        OWLClass B = df.getOWLClass(IRI.create("http://example.com/B"));
+        OWLClass C = df.getOWLClass(IRI.create("http://example.com/C"));
+        OWLClass D = df.getOWLClass(IRI.create("http://example.com/D"));
+        OWLClass X = df.getOWLClass(IRI.create("http://example.com/X"));
+        entailment = df.getOWLSubClassOfAxiom(A, C);
+        XAxiom = df.getOWLSubClassOfAxiom(A, X);
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        OWLAxiom ASubClassOfD = df.getOWLSubClassOfAxiom(A, D);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        justification1 = Sets.newHashSet(ASubClassOfB, BSubClassOfC);
+        justification2 = Sets.newHashSet(ASubClassOfD, DSubClassOfC);
+        // The padding axiom has the lowest index, so that its edge from the root is explored first
+        universe = new AxiomUniverse(Arrays.asList(XAxiom, ASubClassOfB, BSubClassOfC, ASubClassOfD, DSubClassOfC));
+    }
+
+    @Test
+    public void shouldRelabelNodeAndPruneEdgeWhenSmallerExplanationIsFound() {
+        HittingSetDagStrategy<OWLAxiom> strategy = new HittingSetDagStrategy<>();
+        HittingSetTree<OWLAxiom> tree = new HittingSetTree<>(strategy, new NullExplanationProgressMonitor<>());
+        tree.buildHittingSetTree(entailment, Integer.MAX_VALUE, new NonMinimalMediator());
+        assertThat(tree.getExplanations(), containsInAnyOrder(
+                new Explanation<>(entailment, justification1),
+                new Explanation<>(entailment, justification2)));
+        // The root was labelled with justification 1 plus the padding axiom
+        assertThat(tree.getRoot().getExplanation(), is(new Explanation<>(entailment, justification1)));
+        assertThat(tree.getRoot().getEdgeLabels(), not(hasItem(XAxiom)));
+        assertThat(strategy.getNumberOfRelabelledNodes(), is(1));
+        // The node at the end of the padding axiom edge, which had no children yet
+        assertThat(strategy.getNumberOfPrunedNodes(), is(1));
+    }
+
+    /**
+     * A mediator that stands in for a contraction strategy that does not always minimise.  While the padding axiom
+     * is available it is added to justification 1, and justification 2 is preferred once the padding axiom has
+     * been removed.
+     */
+    private class NonMinimalMediator implements ExplanationGeneratorMediator<OWLAxiom> {
+
+        private BitSet path = new BitSet();
+
+        @Override
+        public Explanation<OWLAxiom> generateExplanation(OWLAxiom entailment) {
+            boolean paddingAvailable = !path.get(universe.getIndex(XAxiom));
+            if (paddingAvailable && isAvailable(justification1)) {
+                Set<OWLAxiom> padded = Sets.newHashSet(justification1);
+                padded.add(XAxiom);
+                return new Explanation<>(entailment, padded);
+            }
+            if (isAvailable(justification2)) {
+                return new Explanation<>(entailment, justification2);
+            }
+            if (isAvailable(justification1)) {
+                return new Explanation<>(entailment, justification1);
+            }
+            return Explanation.getEmptyExplanation(entailment);
+        }
+
+        private boolean isAvailable(Set<OWLAxiom> axioms) {
+            return !universe.toBitSet(axioms).intersects(path);
+        }
+
+        @Override
+        public void removeAxiom(OWLAxiom axiom) {
+            path.set(universe.getIndex(axiom));
+        }
+
+        @Override
+        public void addAxiom(OWLAxiom axiom) {
+            path.clear(universe.getIndex(axiom));
+        }
+
+        @Override
+        public AxiomUniverse getAxiomUniverse() {
+            return universe;
+        }
+
+        @Override
+        public void setPath(BitSet path) {
+            this.path = (BitSet) path.clone();
+        }
+
+        @Override
+        public BitSet getModuleAxioms() {
+            BitSet moduleAxioms = new BitSet();
+            moduleAxioms.set(0, universe.size());
+            return moduleAxioms;
+        }
+
+        @Override
+        public boolean isEntailed(OWLAxiom entailment, BitSet axioms) {
+            return AxiomUniverse.isSubset(universe.toBitSet(justification1), axioms)
+                    || AxiomUniverse.isSubset(universe.toBitSet(justification2), axioms);
+        }
+
+        @Override
+        public ExplanationGeneratorMediator<OWLAxiom> createWorkerMediator() {
+            return new NonMinimalMediator();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import com.google.common.collect.Sets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class JustificationIndex_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private AxiomUniverse universe;
+
+    private OWLAxiom entailment;
+
+    private Explanation<OWLAxiom> ab;
+
+    private Explanation<OWLAxiom> cd;
+
+    private Explanation<OWLAxiom> e;
+
+    private JustificationIndex<OWLAxiom> index;
+
+    @Before
+    public void setUp() {
+        OWLClass A = df.getOWLClass(IRI.create("http://example.com/A"));
+        OWLClass B = df.getOWLClass(IRI.create("http://example.com/B"));
+        OWLClass C = df.getOWLClass(IRI.create("http://example.com/C"));
+        OWLClass D = df.getOWLClass(IRI.create("http://example.com/D"));
+        OWLClass E = df.getOWLClass(IRI.create("http://example.com/E"));
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom BSubClassOfE = df.getOWLSubClassOfAxiom(B, E);
+        OWLAxiom ASubClassOfC = df.getOWLSubClassOfAxiom(A, C);
+        OWLAxiom CSubClassOfE = df.getOWLSubClassOfAxiom(C, E);
+        OWLAxiom ASubClassOfD = df.getOWLSubClassOfAxiom(A, D);
+        entailment = df.getOWLSubClassOfAxiom(A, E);
+        universe = new AxiomUniverse(Arrays.asList(ASubClassOfB, BSubClassOfE, ASubClassOfC, CSubClassOfE, ASubClassOfD, entailment));
+        ab = new Explanation<>(entailment, Sets.newHashSet(ASubClassOfB, BSubClassOfE));
+        cd = new Explanation<>(entailment, Sets.newHashSet(ASubClassOfC, CSubClassOfE));
+        e = new Explanation<>(entailment, Collections.singleton(entailment));
+        index = new JustificationIndex<>();
+        for (Explanation<OWLAxiom> expl : Arrays.asList(ab, cd, e)) {
+            index.add(expl, universe.toBitSet(expl.getAxioms()));
+        }
+    }
+
+    @Test
+    public void shouldExcludeExplanationsThatIntersectPath() {
+        BitSet path = universe.toBitSet(Sets.newHashSet(ab.getAxioms().iterator().next(), entailment));
+        assertThat(index.getNonIntersectingExplanation(path), is(cd));
+        path.or(universe.toBitSet(cd.getAxioms()));
+        assertThat(index.getNonIntersectingExplanation(path), is(nullValue()));
+    }
+
+    @Test
+    public void shouldPreferSmallestExplanationWithoutOpenPaths() {
+        assertThat(index.getNonIntersectingExplanation(new BitSet()), is(e));
+        assertThat(index.getSortedExplanations().get(0), is(e));
+    }
+
+    @Test
+    public void shouldPreferExplanationOnMostOpenPaths() {
+        BitSet openPath = universe.toBitSet(cd.getAxioms());
+        index.addOpenPath(openPath);
+        assertThat(index.getNonIntersectingExplanation(new BitSet()), is(cd));
+        index.removeOpenPath(openPath);
+        assertThat(index.getNonIntersectingExplanation(new BitSet()), is(e));
+    }
+
+    @Test
+    public void shouldRemoveEqualExplanation() {
+        Explanation<OWLAxiom> equalToE = new Explanation<>(entailment, Collections.singleton(entailment));
+        assertThat(index.remove(equalToE), is(true));
+        assertThat(index.size(), is(2));
+        assertThat(index.getAxioms(e), is(nullValue()));
+        assertThat(index.getSortedExplanations(), not(hasItem(e)));
+        assertThat(index.getNonIntersectingExplanation(new BitSet()), is(not(e)));
+    }
+}
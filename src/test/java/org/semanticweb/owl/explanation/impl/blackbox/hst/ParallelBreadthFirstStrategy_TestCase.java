@@ -0,0 +1,157 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import com.google.common.collect.Sets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.ExplanationGeneratorInterruptedException;
+import org.semanticweb.owl.explanation.api.NullExplanationProgressMonitor;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ParallelBreadthFirstStrategy_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private OWLAxiom entailment;
+
+    private OWLAxiom ASubClassOfB;
+
+    private Set<OWLAxiom> justification1;
+
+    private Set<OWLAxiom> justification2;
+
+    private AxiomUniverse universe;
+
+    /**
+     * Counted down when a worker gets stuck generating an explanation.
+     */
+    private CountDownLatch stuckWorkerStarted = new CountDownLatch(1);
+
+    /**
+     * Counted down when a worker that is stuck generating an explanation gives it up.
+     */
+    private CountDownLatch stuckWorkerStopped = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        OWLClass A = df.getOWLClass(IRI.create("http://example.com/A"));
+        OWLClass B = df.getOWLClass(IRI.create("http://example.com/B"));
+        OWLClass C = df.getOWLClass(IRI.create("http://example.com/C"));
+        OWLClass D = df.getOWLClass(IRI.create("http://example.com/D"));
+        entailment = df.getOWLSubClassOfAxiom(A, C);
+        ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        OWLAxiom ASubClassOfD = df.getOWLSubClassOfAxiom(A, D);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        justification1 = Sets.newHashSet(ASubClassOfB, BSubClassOfC);
+        justification2 = Sets.newHashSet(ASubClassOfD, DSubClassOfC);
+        // A SubClassOf B has the lowest index, so that its edge from the root is committed first
+        universe = new AxiomUniverse(Arrays.asList(ASubClassOfB, BSubClassOfC, ASubClassOfD, DSubClassOfC));
+    }
+
+    @Test(timeout = 20000)
+    public void shouldNotWaitForSpeculativeExplanationsAfterLimit() throws InterruptedException {
+        HittingSetTree<OWLAxiom> tree = new HittingSetTree<>(new ParallelBreadthFirstStrategy<>(2), new NullExplanationProgressMonitor<>());
+        tree.buildHittingSetTree(entailment, 2, new StuckMediator());
+        assertThat(tree.getExplanations(), containsInAnyOrder(
+                new Explanation<>(entailment, justification1),
+                new Explanation<>(entailment, justification2)));
+        // The worker for the edge of B SubClassOf C is only stopped by being disposed of
+        assertThat(stuckWorkerStopped.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    /**
+     * A mediator that finds justification 1, then justification 2, but that gets stuck on any path that contains
+     * neither A SubClassOf B nor an axiom of justification 2, until it is disposed of.  Justification 2 is not
+     * found before a worker is stuck, so that the stuck worker is still busy when the limit is reached.
+     */
+    private class StuckMediator implements ExplanationGeneratorMediator<OWLAxiom> {
+
+        private BitSet path = new BitSet();
+
+        private volatile boolean disposed = false;
+
+        @Override
+        public Explanation<OWLAxiom> generateExplanation(OWLAxiom entailment) {
+            if (!path.isEmpty() && !path.get(universe.getIndex(ASubClassOfB)) && isAvailable(justification2)) {
+                stuckWorkerStarted.countDown();
+                while (!disposed) {
+                    Thread.yield();
+                }
+                stuckWorkerStopped.countDown();
+                throw new ExplanationGeneratorInterruptedException();
+            }
+            if (isAvailable(justification1)) {
+                return new Explanation<>(entailment, justification1);
+            }
+            if (isAvailable(justification2)) {
+                try {
+                    stuckWorkerStarted.await();
+                }
+                catch (InterruptedException e) {
+                    throw new ExplanationGeneratorInterruptedException();
+                }
+                return new Explanation<>(entailment, justification2);
+            }
+            return Explanation.getEmptyExplanation(entailment);
+        }
+
+        private boolean isAvailable(Set<OWLAxiom> axioms) {
+            return !universe.toBitSet(axioms).intersects(path);
+        }
+
+        @Override
+        public void removeAxiom(OWLAxiom axiom) {
+            path.set(universe.getIndex(axiom));
+        }
+
+        @Override
+        public void addAxiom(OWLAxiom axiom) {
+            path.clear(universe.getIndex(axiom));
+        }
+
+        @Override
+        public AxiomUniverse getAxiomUniverse() {
+            return universe;
+        }
+
+        @Override
+        public void setPath(BitSet path) {
+            this.path = (BitSet) path.clone();
+        }
+
+        @Override
+        public BitSet getModuleAxioms() {
+            BitSet moduleAxioms = new BitSet();
+            moduleAxioms.set(0, universe.size());
+            return moduleAxioms;
+        }
+
+        @Override
+        public boolean isEntailed(OWLAxiom entailment, BitSet axioms) {
+            return AxiomUniverse.isSubset(universe.toBitSet(justification1), axioms)
+                    || AxiomUniverse.isSubset(universe.toBitSet(justification2), axioms);
+        }
+
+        @Override
+        public ExplanationGeneratorMediator<OWLAxiom> createWorkerMediator() {
+            return new StuckMediator();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.semanticweb.owl.explanation.impl.blackbox.hst;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SetTrie_TestCase {
+
+    private SetTrie trie;
+
+    @Before
+    public void setUp() {
+        trie = new SetTrie();
+        trie.add(bits(1, 4));
+        trie.add(bits(2, 3, 7));
+        trie.add(bits(5));
+    }
+
+    @Test
+    public void shouldNotAddSetTwice() {
+        assertThat(trie.add(bits(2, 3, 7)), is(false));
+        assertThat(trie.size(), is(3));
+    }
+
+    @Test
+    public void shouldFindStoredSubset() {
+        assertThat(trie.containsSubsetOf(bits(0, 1, 2, 4)), is(true));
+        assertThat(trie.containsSubsetOf(bits(2, 3, 7)), is(true));
+        assertThat(trie.containsSubsetOf(bits(5, 9)), is(true));
+    }
+
+    @Test
+    public void shouldNotFindSubsetWhenNoneIsStored() {
+        assertThat(trie.containsSubsetOf(bits(1, 2, 3)), is(false));
+        assertThat(trie.containsSubsetOf(bits(4, 7)), is(false));
+        assertThat(trie.containsSubsetOf(new BitSet()), is(false));
+    }
+
+    @Test
+    public void shouldGetStoredSubset() {
+        assertThat(trie.getSubsetOf(bits(0, 2, 3, 6, 7)), is(bits(2, 3, 7)));
+        assertThat(trie.getSubsetOf(bits(1, 2, 3)), is(nullValue()));
+    }
+
+    @Test
+    public void shouldFindStoredSuperset() {
+        assertThat(trie.containsSupersetOf(bits(3, 7)), is(true));
+        assertThat(trie.containsSupersetOf(bits(2, 3, 7)), is(true));
+        assertThat(trie.containsSupersetOf(bits(4)), is(true));
+        assertThat(trie.containsSupersetOf(new BitSet()), is(true));
+    }
+
+    @Test
+    public void shouldNotFindSupersetWhenNoneIsStored() {
+        assertThat(trie.containsSupersetOf(bits(1, 5)), is(false));
+        assertThat(trie.containsSupersetOf(bits(2, 3, 6)), is(false));
+        assertThat(trie.containsSupersetOf(bits(8)), is(false));
+        assertThat(new SetTrie().containsSupersetOf(new BitSet()), is(false));
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bitSet = new BitSet();
+        for (int index : indexes) {
+            bitSet.set(index);
+        }
+        return bitSet;
+    }
+}
@@ -0,0 +1,78 @@
+package org.semanticweb.owl.explanation.impl.blackbox.nsp;
+
+import com.google.common.collect.Sets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class NonSimplePropertyEntailmentChecker_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private OWLObjectProperty P;
+
+    private OWLObjectProperty Q;
+
+    private OWLObjectProperty R;
+
+    @Before
+    public void setUp() {
+        P = df.getOWLObjectProperty(IRI.create("http://example.com/P"));
+        Q = df.getOWLObjectProperty(IRI.create("http://example.com/Q"));
+        R = df.getOWLObjectProperty(IRI.create("http://example.com/R"));
+    }
+
+    @Test
+    public void shouldFindNonSimplePropertyAsAxiomsChange() {
+        OWLAxiom PPSubPropertyOfQ = df.getOWLSubPropertyChainOfAxiom(Arrays.asList(P, P), Q);
+        OWLAxiom QSubPropertyOfR = df.getOWLSubObjectPropertyOfAxiom(Q, R);
+        OWLAxiom PTransitive = df.getOWLTransitiveObjectPropertyAxiom(P);
+        OWLAxiom PSubPropertyOfR = df.getOWLSubObjectPropertyOfAxiom(P, R);
+        NonSimplePropertyEntailmentChecker checker = new NonSimplePropertyEntailmentChecker(df.getOWLObjectInverseOf(R));
+        Set<OWLAxiom> axioms = Sets.newHashSet(PPSubPropertyOfQ, QSubPropertyOfR, PTransitive, PSubPropertyOfR);
+        assertThat(checker.isEntailed(axioms), is(true));
+        assertThat(checker.isEntailed(Sets.newHashSet(PPSubPropertyOfQ, PTransitive)), is(false));
+        assertThat(checker.isEntailed(Sets.newHashSet(PTransitive, PSubPropertyOfR)), is(true));
+        assertThat(checker.getEntailingAxioms(Sets.newHashSet(PTransitive, PSubPropertyOfR, PPSubPropertyOfQ)), is(Sets.newHashSet(PTransitive, PSubPropertyOfR)));
+    }
+
+    @Test
+    public void shouldAgreeWithPropertyManagerOnEverySubset() throws OWLOntologyCreationException {
+        List<OWLAxiom> axioms = Arrays.asList(
+                df.getOWLSubPropertyChainOfAxiom(Arrays.asList(P, Q), R),
+                df.getOWLTransitiveObjectPropertyAxiom(Q),
+                df.getOWLSubObjectPropertyOfAxiom(R, P),
+                df.getOWLInverseObjectPropertiesAxiom(P, Q),
+                df.getOWLEquivalentObjectPropertiesAxiom(Q, R),
+                df.getOWLSymmetricObjectPropertyAxiom(R));
+        List<OWLObjectPropertyExpression> props = Arrays.asList(P, Q, R,
+                df.getOWLObjectInverseOf(P), df.getOWLObjectInverseOf(Q), df.getOWLObjectInverseOf(R));
+        OWLOntologyManager man = OWLManager.createOWLOntologyManager();
+        for (int subset = 0; subset < 1 << axioms.size(); subset++) {
+            Set<OWLAxiom> selected = new HashSet<>();
+            for (int i = 0; i < axioms.size(); i++) {
+                if ((subset & 1 << i) != 0) {
+                    selected.add(axioms.get(i));
+                }
+            }
+            OWLOntology ont = man.createOntology(selected);
+            OWLObjectPropertyManager propertyManager = new OWLObjectPropertyManager(ont);
+            for (OWLObjectPropertyExpression prop : props) {
+                NonSimplePropertyEntailmentChecker checker = new NonSimplePropertyEntailmentChecker(prop);
+                assertThat(prop + " " + selected, checker.isEntailed(selected), is(propertyManager.isNonSimple(prop)));
+            }
+            man.removeOntology(ont);
+        }
+    }
+}
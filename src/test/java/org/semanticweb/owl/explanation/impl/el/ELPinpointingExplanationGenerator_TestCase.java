@@ -0,0 +1,100 @@
+package org.semanticweb.owl.explanation.impl.el;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.ExplanationGenerator;
+import org.semanticweb.owl.explanation.api.ExplanationManager;
+import org.semanticweb.owl.explanation.api.UnsupportedEntailmentException;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ELPinpointingExplanationGenerator_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private OWLClass A;
+
+    private OWLClass B;
+
+    private OWLClass C;
+
+    private OWLClass D;
+
+    private OWLObjectProperty R;
+
+    @Before
+    public void setUp() {
+        A = df.getOWLClass(IRI.create("http://example.com/A"));
+        B = df.getOWLClass(IRI.create("http://example.com/B"));
+        C = df.getOWLClass(IRI.create("http://example.com/C"));
+        D = df.getOWLClass(IRI.create("http://example.com/D"));
+        R = df.getOWLObjectProperty(IRI.create("http://example.com/R"));
+    }
+
+    @Test
+    public void shouldFindAllJustificationsSmallestFirst() {
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        OWLAxiom ASubClassOfRSomeD = df.getOWLSubClassOfAxiom(A, df.getOWLObjectSomeValuesFrom(R, D));
+        OWLAxiom RDomainC = df.getOWLObjectPropertyDomainAxiom(R, C);
+        OWLAxiom ASubClassOfCAndD = df.getOWLSubClassOfAxiom(A, df.getOWLObjectIntersectionOf(C, D));
+        OWLAxiom DSubClassOfB = df.getOWLSubClassOfAxiom(D, B);
+        ExplanationGenerator<OWLAxiom> gen = new ELPinpointingExplanationGeneratorFactory(null, m).createExplanationGenerator(
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC, ASubClassOfRSomeD, RDomainC, ASubClassOfCAndD, DSubClassOfB));
+        Set<Explanation<OWLAxiom>> explanations = gen.getExplanations(df.getOWLSubClassOfAxiom(A, C));
+        Set<Set<OWLAxiom>> justifications = new HashSet<>();
+        explanations.forEach(expl -> justifications.add(expl.getAxioms()));
+        assertThat(justifications, is(Sets.newHashSet(
+                Sets.newHashSet(ASubClassOfCAndD),
+                Sets.newHashSet(ASubClassOfB, BSubClassOfC),
+                Sets.newHashSet(ASubClassOfRSomeD, RDomainC))));
+        assertThat(explanations.iterator().next().getAxioms(), is(Sets.newHashSet(ASubClassOfCAndD)));
+    }
+
+    @Test
+    public void shouldExplainSubsumptionOfUnsatisfiableClass() {
+        OWLAxiom ASubClassOfRSomeB = df.getOWLSubClassOfAxiom(A, df.getOWLObjectSomeValuesFrom(R, B));
+        OWLAxiom BSubClassOfD = df.getOWLSubClassOfAxiom(B, D);
+        OWLAxiom BDisjointWithD = df.getOWLDisjointClassesAxiom(B, D);
+        ExplanationGenerator<OWLAxiom> gen = new ELPinpointingExplanationGeneratorFactory(null, m).createExplanationGenerator(
+                Sets.newHashSet(ASubClassOfRSomeB, BSubClassOfD, BDisjointWithD));
+        Set<Explanation<OWLAxiom>> explanations = gen.getExplanations(df.getOWLSubClassOfAxiom(A, C));
+        assertThat(explanations, hasSize(1));
+        assertThat(explanations.iterator().next().getAxioms(), is(Sets.newHashSet(ASubClassOfRSomeB, BSubClassOfD, BDisjointWithD)));
+        assertThat(gen.getExplanations(df.getOWLSubClassOfAxiom(B, C)), hasSize(1));
+        assertThat(gen.getExplanations(df.getOWLSubClassOfAxiom(D, C)), is(empty()));
+    }
+
+    @Test
+    public void shouldFallBackForAxiomsOutsideEL() {
+        OWLAxiom ASubClassOfBOrD = df.getOWLSubClassOfAxiom(A, df.getOWLObjectUnionOf(B, D));
+        OWLAxiom BSubClassOfC = df.getOWLSubClassOfAxiom(B, C);
+        OWLAxiom DSubClassOfC = df.getOWLSubClassOfAxiom(D, C);
+        ExplanationGenerator<OWLAxiom> gen = ExplanationManager.createELPinpointingExplanationGeneratorFactory(new OpenlletReasonerFactory(), m)
+                .createExplanationGenerator(Sets.newHashSet(ASubClassOfBOrD, BSubClassOfC, DSubClassOfC));
+        Set<Explanation<OWLAxiom>> explanations = gen.getExplanations(df.getOWLSubClassOfAxiom(A, C));
+        assertThat(explanations, hasSize(1));
+        assertThat(explanations.iterator().next().getAxioms(), is(Sets.newHashSet(ASubClassOfBOrD, BSubClassOfC, DSubClassOfC)));
+    }
+
+    @Test(expected = UnsupportedEntailmentException.class)
+    public void shouldThrowUnsupportedEntailmentExceptionWithoutFallback() {
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        ExplanationGenerator<OWLAxiom> gen = new ELPinpointingExplanationGeneratorFactory(null, m).createExplanationGenerator(Sets.newHashSet(ASubClassOfB));
+        gen.getExplanations(df.getOWLEquivalentClassesAxiom(A, B));
+    }
+}
@@ -0,0 +1,84 @@
+package org.semanticweb.owl.explanation.impl.equivalence;
+
+import com.google.common.collect.Sets;
+
+import openllet.owlapi.OpenlletReasonerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owl.explanation.api.Explanation;
+import org.semanticweb.owl.explanation.api.ExplanationGenerator;
+import org.semanticweb.owl.explanation.api.ExplanationManager;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class EquivalentClassesSplittingExplanationGenerator_TestCase {
+
+    private OWLDataFactory df = OWLManager.getOWLDataFactory();
+
+    private Supplier<OWLOntologyManager> m = OWLManager::createOWLOntologyManager;
+
+    private OWLClass A;
+
+    private OWLClass B;
+
+    private OWLClass C;
+
+    private OWLClass D;
+
+    @Before
+    public void setUp() {
+        A = df.getOWLClass(IRI.create("http://example.com/A"));
+        B = df.getOWLClass(IRI.create("http://example.com/B"));
+        C = df.getOWLClass(IRI.create("http://example.com/C"));
+        D = df.getOWLClass(IRI.create("http://example.com/D"));
+    }
+
+    private Set<Set<OWLAxiom>> getJustifications(Set<OWLAxiom> axioms, OWLAxiom entailment) {
+        ExplanationGenerator<OWLAxiom> gen = ExplanationManager.createEquivalentClassesSplittingExplanationGeneratorFactory(new OpenlletReasonerFactory(), m)
+                .createExplanationGenerator(axioms);
+        Set<Set<OWLAxiom>> justifications = new HashSet<>();
+        for (Explanation<OWLAxiom> expl : gen.getExplanations(entailment)) {
+            justifications.add(expl.getAxioms());
+        }
+        return justifications;
+    }
+
+    @Test
+    public void shouldCombineMinimalUnionsOfSubClassJustifications() {
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        OWLAxiom ASubClassOfC = df.getOWLSubClassOfAxiom(A, C);
+        OWLAxiom CSubClassOfB = df.getOWLSubClassOfAxiom(C, B);
+        OWLAxiom BSubClassOfA = df.getOWLSubClassOfAxiom(B, A);
+        OWLAxiom BSubClassOfCAndA = df.getOWLSubClassOfAxiom(B, df.getOWLObjectIntersectionOf(C, A));
+        OWLAxiom DSubClassOfA = df.getOWLSubClassOfAxiom(D, A);
+        Set<OWLAxiom> axioms = Sets.newHashSet(ASubClassOfB, ASubClassOfC, CSubClassOfB, BSubClassOfA, BSubClassOfCAndA, DSubClassOfA);
+        assertThat(getJustifications(axioms, df.getOWLEquivalentClassesAxiom(A, B)), is(Sets.newHashSet(
+                Sets.newHashSet(ASubClassOfB, BSubClassOfA),
+                Sets.newHashSet(ASubClassOfB, BSubClassOfCAndA),
+                Sets.newHashSet(ASubClassOfC, CSubClassOfB, BSubClassOfA),
+                Sets.newHashSet(ASubClassOfC, CSubClassOfB, BSubClassOfCAndA))));
+    }
+
+    @Test
+    public void shouldDropNonMinimalUnions() {
+        OWLAxiom AEquivalentToB = df.getOWLEquivalentClassesAxiom(A, B);
+        OWLAxiom BSubClassOfA = df.getOWLSubClassOfAxiom(B, A);
+        Set<OWLAxiom> axioms = Sets.newHashSet(AEquivalentToB, BSubClassOfA);
+        assertThat(getJustifications(axioms, df.getOWLEquivalentClassesAxiom(B, A)), is(Collections.singleton(Collections.singleton(AEquivalentToB))));
+    }
+
+    @Test
+    public void shouldNotExplainEquivalenceThatDoesNotHold() {
+        OWLAxiom ASubClassOfB = df.getOWLSubClassOfAxiom(A, B);
+        assertThat(getJustifications(Sets.newHashSet(ASubClassOfB), df.getOWLEquivalentClassesAxiom(A, B)), is(empty()));
+    }
+}